@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks through JMH's command line, adding the GC profiler so that allocation rates are reported
+ * alongside throughput.  All of JMH's options are accepted; run with {@code -h} to list them.
+ */
+public final class BenchmarkMain
+{
+    private BenchmarkMain() {}
+
+    public static void main(final String[] args) throws Exception
+    {
+        final List<String> options = new ArrayList<String>(Arrays.asList(args));
+        if (!options.contains("-prof"))
+        {
+            options.add("-prof");
+            options.add("gc");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[options.size()]));
+    }
+}
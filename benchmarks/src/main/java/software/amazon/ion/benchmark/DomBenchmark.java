@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonLoader;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.util.Equivalence;
+
+/**
+ * Measures the lite DOM: loading, encoding, comparing and hashing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DomBenchmark
+{
+    private IonLoader loader;
+    /** An equal but separately built copy of the payload, for the equivalence benchmark. */
+    private IonDatagram copy;
+
+    @Setup(Level.Trial)
+    public void setup(final PayloadState state)
+    {
+        loader = state.system.getLoader();
+        copy = loader.load(state.bytes);
+    }
+
+    @Benchmark
+    public IonDatagram load(final PayloadState state)
+    {
+        return loader.load(state.bytes);
+    }
+
+    @Benchmark
+    public byte[] getBytes(final PayloadState state)
+    {
+        return state.datagram.getBytes();
+    }
+
+    @Benchmark
+    public boolean ionEquals(final PayloadState state)
+    {
+        return Equivalence.ionEquals(state.datagram, copy);
+    }
+
+    @Benchmark
+    public int hashCodes(final PayloadState state)
+    {
+        int hash = 0;
+        for (final IonValue value : state.datagram)
+        {
+            hash += value.hashCode();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import software.amazon.ion.IonContainer;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonList;
+import software.amazon.ion.IonSexp;
+import software.amazon.ion.IonStruct;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.Timestamp;
+
+/**
+ * The representative data sets the benchmarks run over.  Each is generated from a fixed seed, so runs are
+ * comparable across builds, and is roughly a megabyte of Ion text.
+ */
+public enum Payload
+{
+    /** Many small, flat records, as in a stream of events. */
+    SMALL_STRUCTS
+    {
+        @Override
+        void fill(final IonSystem ion, final IonDatagram dg, final Random random)
+        {
+            for (int i = 0; i < 10000; i++)
+            {
+                final IonStruct struct = ion.newEmptyStruct();
+                struct.add("id", ion.newInt(random.nextInt(1000000)));
+                struct.add("name", ion.newString(word(random, 4 + random.nextInt(12))));
+                struct.add("active", ion.newBool(random.nextBoolean()));
+                struct.add("score", ion.newFloat(random.nextDouble()));
+                final IonList tags = ion.newEmptyList();
+                for (int j = random.nextInt(4); j >= 0; j--)
+                {
+                    tags.add(ion.newSymbol(TAGS[random.nextInt(TAGS.length)]));
+                }
+                struct.add("tags", tags);
+                dg.add(struct);
+            }
+        }
+    },
+
+    /** A few structs with a thousand fields each. */
+    WIDE_STRUCTS
+    {
+        @Override
+        void fill(final IonSystem ion, final IonDatagram dg, final Random random)
+        {
+            for (int i = 0; i < 20; i++)
+            {
+                final IonStruct struct = ion.newEmptyStruct();
+                for (int j = 0; j < 1000; j++)
+                {
+                    final String name = "field_" + j;
+                    if (j % 2 == 0)
+                    {
+                        struct.add(name, ion.newInt(random.nextLong()));
+                    }
+                    else
+                    {
+                        struct.add(name, ion.newString(word(random, 8)));
+                    }
+                }
+                dg.add(struct);
+            }
+        }
+    },
+
+    /** Small records buried under a hundred levels of lists, sexps and structs. */
+    DEEP_NESTING
+    {
+        @Override
+        void fill(final IonSystem ion, final IonDatagram dg, final Random random)
+        {
+            for (int i = 0; i < 200; i++)
+            {
+                IonValue value = ion.newInt(random.nextInt());
+                for (int depth = 0; depth < 100; depth++)
+                {
+                    final IonContainer container;
+                    switch (depth % 3)
+                    {
+                        case 0:
+                            container = ion.newEmptyList();
+                            ((IonList) container).add(value);
+                            break;
+                        case 1:
+                            container = ion.newEmptySexp();
+                            ((IonSexp) container).add(value);
+                            break;
+                        default:
+                            container = ion.newEmptyStruct();
+                            ((IonStruct) container).add("d" + depth, value);
+                            break;
+                    }
+                    value = container;
+                }
+                dg.add(value);
+            }
+        }
+    },
+
+    /** Strings of assorted lengths, some of them non-ASCII. */
+    STRINGS
+    {
+        @Override
+        void fill(final IonSystem ion, final IonDatagram dg, final Random random)
+        {
+            for (int i = 0; i < 5000; i++)
+            {
+                final int length = 8 << random.nextInt(7);
+                final String text = word(random, length);
+                dg.add(ion.newString(i % 4 == 0 ? text + " \u00e9t\u00e9 \u6587\u5b57" : text));
+            }
+        }
+    },
+
+    /** Records made up mostly of timestamps and decimals, as in financial data. */
+    TIMESTAMPS_AND_DECIMALS
+    {
+        @Override
+        void fill(final IonSystem ion, final IonDatagram dg, final Random random)
+        {
+            for (int i = 0; i < 10000; i++)
+            {
+                final IonStruct struct = ion.newEmptyStruct();
+                final BigDecimal seconds = BigDecimal.valueOf(random.nextInt(60000), 3);
+                struct.add("time", ion.newTimestamp(Timestamp.forSecond(
+                    2000 + random.nextInt(20), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), seconds, random.nextInt(24 * 60) - 12 * 60)));
+                struct.add("day", ion.newTimestamp(Timestamp.forDay(2016, 1 + random.nextInt(12), 1 + random.nextInt(28))));
+                struct.add("amount", ion.newDecimal(BigDecimal.valueOf(random.nextLong(), 2)));
+                struct.add("rate", ion.newDecimal(BigDecimal.valueOf(random.nextInt(100000), 5)));
+                dg.add(struct);
+            }
+        }
+    };
+
+    private static final String[] TAGS = { "red", "green", "blue", "new", "sale", "archived" };
+
+    private static final long SEED = 0x10A5EEDL;
+
+    /** Adds this payload's values to the given datagram. */
+    abstract void fill(IonSystem ion, IonDatagram dg, Random random);
+
+    /** Builds this payload. */
+    public IonDatagram build(final IonSystem ion)
+    {
+        final IonDatagram dg = ion.newDatagram();
+        fill(ion, dg, new Random(SEED));
+        return dg;
+    }
+
+    private static String word(final Random random, final int length)
+    {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+        {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.system.IonReaderBuilder;
+import software.amazon.ion.system.IonSystemBuilder;
+import software.amazon.ion.system.IonTextWriterBuilder;
+
+/**
+ * Holds a {@link Payload} in each of the forms the benchmarks start from: as a DOM, and encoded as Ion binary
+ * and Ion text.
+ */
+@State(Scope.Benchmark)
+public class PayloadState
+{
+    /** The encodings the benchmarks that read or write can be run over. */
+    public enum Format
+    {
+        BINARY,
+        TEXT
+    }
+
+    @Param
+    public Payload payload;
+
+    @Param
+    public Format format;
+
+    public IonSystem system;
+    public IonDatagram datagram;
+    /** The payload as Ion binary. */
+    public byte[] binary;
+    /** The payload in {@link #format}. */
+    public byte[] bytes;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        system = IonSystemBuilder.standard().build();
+        datagram = payload.build(system);
+        binary = datagram.getBytes();
+        if (format == Format.BINARY)
+        {
+            bytes = binary;
+        }
+        else
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final IonWriter writer = IonTextWriterBuilder.standard().build(out);
+            datagram.writeTo(writer);
+            writer.close();
+            bytes = out.toByteArray();
+        }
+    }
+
+    /** Returns a new reader over the payload in {@link #format}. */
+    public IonReader newReader()
+    {
+        return IonReaderBuilder.standard().build(bytes);
+    }
+}
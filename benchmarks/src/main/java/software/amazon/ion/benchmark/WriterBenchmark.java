@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.system.IonReaderBuilder;
+import software.amazon.ion.system.IonTextWriterBuilder;
+
+/**
+ * Measures the managed binary writer ({@code IonManagedBinaryWriter}) or the text writer, according to the
+ * payload's format.  The writer is fed from a reader over the binary form of the payload, which is the cheapest
+ * source available, so that the DOM isn't part of the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WriterBenchmark
+{
+    private IonBinaryWriterBuilder binaryBuilder;
+    private IonTextWriterBuilder textBuilder;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        binaryBuilder = IonBinaryWriterBuilder.standard().immutable();
+        textBuilder = IonTextWriterBuilder.standard().immutable();
+        out = new ByteArrayOutputStream(4 * 1024 * 1024);
+    }
+
+    @Benchmark
+    public int write(final PayloadState state) throws IOException
+    {
+        out.reset();
+        final IonWriter writer = state.format == PayloadState.Format.BINARY
+            ? binaryBuilder.build(out)
+            : textBuilder.build(out);
+        final IonReader reader = IonReaderBuilder.standard().build(state.binary);
+        writer.writeValues(reader);
+        writer.close();
+        reader.close();
+        return out.size();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+/**
+ * An {@link IonReader} facet providing the ability to move straight to a
+ * named field of a struct, skipping the fields before it.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This facet is available from binary readers.  The field name is looked up
+ * in the current symbol table once, and the fields are then matched by
+ * symbol ID, so the other fields are skipped over by their lengths without
+ * decoding their values or resolving their names.
+ */
+public interface FieldSeekingReader
+{
+    /**
+     * Positions the reader on the next field of the current struct that has
+     * the given name, as if {@link IonReader#next() next()} were called
+     * until it's reached.  Calling this again finds later fields with the
+     * same name.
+     *
+     * @param fieldName must not be null.
+     *
+     * @return the type of the field's value, or null if there are no more
+     * fields with that name, leaving the reader at the end of the struct.
+     *
+     * @throws IllegalStateException if the reader isn't in a struct.
+     */
+    public IonType nextField(String fieldName);
+}
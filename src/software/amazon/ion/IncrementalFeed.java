@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import java.nio.ByteBuffer;
+import software.amazon.ion.system.IonReaderBuilder;
+
+/**
+ * An {@link IonReader} facet that accepts Ion binary data a chunk at a time,
+ * for use with non-blocking sources such as NIO channels.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * Readers supporting this facet are created by
+ * {@link IonReaderBuilder#buildIncremental()}. Such a reader never blocks
+ * and never fails because a value has been split across chunks. Instead,
+ * a value only becomes visible once enough of it has been fed: a scalar, or
+ * an annotated value at top-level (such as a local symbol table), once all of
+ * its bytes have arrived, and any other container as soon as its header has.
+ * The reader can step into such a container and read each child once it is
+ * complete, so large containers are never held in memory whole.
+ * <p>
+ * Until the next value is visible, {@link IonReader#next()} returns null as
+ * if the reader were at the end of the stream or of the current container.
+ * {@link #isAwaitingInput()} tells the two apart. Calling {@code next()} again
+ * after feeding more data picks up where the reader left off. Moving past a
+ * container that hasn't all arrived, by calling {@code next()} or
+ * {@link IonReader#stepOut()}, works at any time: the rest of its bytes are
+ * dropped as they are fed.
+ * <p>
+ * Code that reads a whole value at once, such as
+ * {@link IonSystem#newValue(IonReader)}, doesn't know to wait, so it should
+ * only be given containers that have been fed completely.
+ * <p>
+ * Callers that know the source has ended can use
+ * {@link #hasIncompleteValue()} to detect truncated input.
+ *
+ */
+public interface IncrementalFeed
+{
+    /**
+     * Appends data to the end of this reader's input.
+     * The data is copied, so the array may be reused once this method returns.
+     *
+     * @param data must not be null.
+     * @param offset the position of the first byte to read.
+     * @param length the number of bytes to read.
+     */
+    public void feed(byte[] data, int offset, int length);
+
+
+    /**
+     * Appends the remaining content of the given buffer to the end of this
+     * reader's input, advancing its position to its limit.
+     * The data is copied, so the buffer may be reused once this method
+     * returns.
+     *
+     * @param data must not be null.
+     */
+    public void feed(ByteBuffer data);
+
+
+    /**
+     * Determines whether the input holds the start of a top-level value that
+     * is not yet complete.
+     *
+     * @return true if the data fed so far ends partway through a top-level
+     * value.
+     */
+    public boolean hasIncompleteValue();
+
+
+    /**
+     * Determines whether the last call to {@link IonReader#next()} returned
+     * null because the next value hasn't been fed yet, rather than because
+     * the current container ended.  At top-level this is always the case.
+     *
+     * @return true if feeding more data may let {@code next()} return another
+     * value at the current depth.
+     */
+    public boolean isAwaitingInput();
+}
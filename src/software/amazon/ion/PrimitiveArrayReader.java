@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+/**
+ * An {@link IonReader} facet providing the ability to read runs of numeric
+ * values from a list or s-expression straight into primitive arrays.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This facet is available from binary readers.  Each method reads the
+ * values that follow in the current sequence as if by calling
+ * {@link IonReader#next() next()} and then getting each value, but values
+ * in the input's buffer are decoded in place, without the per-value
+ * overhead of {@code next()} or boxing.  After a call, the reader is
+ * positioned before the next unread value, so {@code next()} may be used
+ * to carry on from there; for example, to read a list of unknown length in
+ * pieces:
+ * <pre>
+ *    reader.stepIn();
+ *    int count;
+ *    while ((count = arrays.nextLongs(buffer, 0, buffer.length)) &gt; 0) {
+ *        process(buffer, count);
+ *    }
+ *    reader.stepOut();
+ * </pre>
+ */
+public interface PrimitiveArrayReader
+{
+    /**
+     * Reads the int values that follow in the current sequence into an
+     * array, stopping at the end of the sequence.
+     *
+     * @param values the array to fill.
+     * @param offset the index of the array at which to put the first value.
+     * @param length the most values to read.
+     *
+     * @return the number of values read, which is less than {@code length}
+     * only if the end of the sequence was reached.
+     *
+     * @throws IllegalStateException if the reader isn't in a list or
+     * s-expression.
+     * @throws IonException if a value isn't a non-null int, or is too large
+     * for a long.
+     */
+    public int nextLongs(long[] values, int offset, int length);
+
+    /**
+     * Reads the float values that follow in the current sequence into an
+     * array, stopping at the end of the sequence.
+     *
+     * @param values the array to fill.
+     * @param offset the index of the array at which to put the first value.
+     * @param length the most values to read.
+     *
+     * @return the number of values read, which is less than {@code length}
+     * only if the end of the sequence was reached.
+     *
+     * @throws IllegalStateException if the reader isn't in a list or
+     * s-expression.
+     * @throws IonException if a value isn't a non-null float.
+     */
+    public int nextDoubles(double[] values, int offset, int length);
+
+    /**
+     * Reads the float values that follow in the current sequence into an
+     * array, narrowing each to 32 bits, stopping at the end of the sequence.
+     *
+     * @param values the array to fill.
+     * @param offset the index of the array at which to put the first value.
+     * @param length the most values to read.
+     *
+     * @return the number of values read, which is less than {@code length}
+     * only if the end of the sequence was reached.
+     *
+     * @throws IllegalStateException if the reader isn't in a list or
+     * s-expression.
+     * @throws IonException if a value isn't a non-null float.
+     */
+    public int nextFloats(float[] values, int offset, int length);
+}
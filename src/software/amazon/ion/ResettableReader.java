@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+/**
+ * An {@link IonReader} facet providing the ability to re-point the reader
+ * at new input, so that one reader can parse any number of independent
+ * messages without being reconstructed.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This facet is available from binary and text readers over byte arrays.
+ * A reset reader keeps its configuration (catalog, symbol table handling
+ * and so on) and its internal buffers, but forgets everything about its
+ * previous input, including the current symbol table.
+ * <p>
+ * A reader can only be reset onto data of the same kind as it was built
+ * for: binary readers accept binary data, and text readers accept text.
+ * Empty data is accepted by both.
+ */
+public interface ResettableReader
+{
+    /**
+     * Re-points this reader at the given data, as if it had just been built
+     * for it. The caller must call {@link IonReader#next() next()} to begin
+     * reading values.
+     * <p>
+     * The data is not copied, so it must not be modified while it's being
+     * read.
+     *
+     * @param data must not be null.
+     * @param offset the position of the first byte to read.
+     * @param length the number of bytes to read.
+     *
+     * @throws IllegalArgumentException if the data is GZIPped, or is text
+     * given to a binary reader, or is binary given to a text reader.
+     */
+    public void reset(byte[] data, int offset, int length);
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Adapts a {@link ByteBuffer}, or a read-only {@link FileChannel} mapped in
+ * successive windows, to an {@link InputStream}.
+ * <p>
+ * This exists so that {@link UnifiedInputStreamX} can page Ion text, and
+ * gzipped data, out of direct and memory-mapped buffers with bulk
+ * {@link ByteBuffer#get(byte[], int, int)} transfers, which keeps the
+ * reader's heap footprint at a few pages no matter how large the underlying
+ * region is.  Heap buffers and Ion binary never come through here; they are
+ * read in place.
+ */
+final class ByteBufferInputStream
+    extends InputStream
+{
+    /**
+     * The largest region of a file that we map at a time. Mapping in windows
+     * keeps us under the {@link Integer#MAX_VALUE} limit of a single
+     * {@link ByteBuffer} and lets earlier windows be unmapped once they are
+     * unreachable.
+     */
+    static final long MAX_MAPPED_WINDOW = 1L << 30;
+
+    private final FileChannel _channel;
+    private final long        _channelSize;
+    private long              _nextWindowStart;
+    private ByteBuffer        _buffer;
+
+    /**
+     * @param buffer is read from its position to its limit. This stream
+     * retains and mutates the buffer, so callers should pass a duplicate.
+     */
+    ByteBufferInputStream(ByteBuffer buffer)
+    {
+        buffer.getClass(); // Efficient null check
+
+        _channel = null;
+        _channelSize = 0;
+        _buffer = buffer;
+    }
+
+    /**
+     * @param channel must be readable. It is closed by {@link #close()}.
+     */
+    ByteBufferInputStream(FileChannel channel)
+        throws IOException
+    {
+        _channel = channel;
+        _channelSize = channel.size();
+        _nextWindowStart = 0;
+        _buffer = null;
+        mapNextWindow();
+    }
+
+    private boolean mapNextWindow()
+        throws IOException
+    {
+        if (_channel == null || _nextWindowStart >= _channelSize)
+        {
+            return false;
+        }
+        long size = Math.min(MAX_MAPPED_WINDOW, _channelSize - _nextWindowStart);
+        _buffer = _channel.map(MapMode.READ_ONLY, _nextWindowStart, size);
+        _nextWindowStart += size;
+        return true;
+    }
+
+    /**
+     * @return true if there are bytes available in the current window,
+     * mapping the next window if necessary.
+     */
+    private boolean ensureRemaining()
+        throws IOException
+    {
+        while (_buffer == null || !_buffer.hasRemaining())
+        {
+            if (!mapNextWindow())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int read()
+        throws IOException
+    {
+        if (!ensureRemaining())
+        {
+            return -1;
+        }
+        return _buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len)
+        throws IOException
+    {
+        if (len == 0)
+        {
+            return 0;
+        }
+        if (!ensureRemaining())
+        {
+            return -1;
+        }
+        int count = Math.min(len, _buffer.remaining());
+        _buffer.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n)
+        throws IOException
+    {
+        long skipped = 0;
+        while (skipped < n && ensureRemaining())
+        {
+            int step = (int) Math.min(n - skipped, _buffer.remaining());
+            _buffer.position(_buffer.position() + step);
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available()
+    {
+        return (_buffer == null ? 0 : _buffer.remaining());
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        _buffer = null;
+        if (_channel != null)
+        {
+            _channel.close();
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_1_0;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_SIZE;
+import static software.amazon.ion.impl.PrivateIonConstants.getLowNibble;
+import static software.amazon.ion.impl.PrivateIonConstants.getTypeCode;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import software.amazon.ion.IncrementalFeed;
+import software.amazon.ion.IonCatalog;
+
+/**
+ * A binary user reader whose input is pushed to it by the application via
+ * the {@link IncrementalFeed} facet.
+ * <p>
+ * The fed bytes are framed before the parser is allowed to see them, which
+ * is cheap since every binary value has its length up front. Scalars and
+ * top-level annotated values are released once they are complete, and
+ * other containers as soon as their headers are, followed by each of their
+ * children as it completes. The parser therefore only runs out of data
+ * between values, where "waiting for data" is just an EOF that is cleared
+ * once more values arrive. Skipping the rest of a container that hasn't all
+ * arrived drops its bytes as they come in, so they are never buffered.
+ */
+final class IonReaderBinaryIncrementalX
+    extends IonReaderBinaryUserX
+{
+    private final FeedInputStream _feed;
+
+    IonReaderBinaryIncrementalX(IonCatalog catalog,
+                                PrivateLocalSymbolTableFactory lstFactory,
+                                UnifiedInputStreamX uis,
+                                FeedInputStream feed)
+    {
+        super(catalog, lstFactory, uis, 0);
+        _feed = feed;
+    }
+
+
+    /**
+     * @return true if the current container, or the stream at top-level,
+     * continues past the data fed so far.
+     */
+    private boolean isContainerIncomplete()
+    {
+        return getDepth() == 0 || container_bytes_remaining() > 0;
+    }
+
+    /**
+     * @return true if the reader is at the end of the data fed so far,
+     * rather than at the end of a container.
+     */
+    private boolean isAwaitingInput()
+    {
+        return _eof && isContainerIncomplete();
+    }
+
+    /**
+     * Clears the EOF left by running out of data, so that the reader can
+     * read on once more has been fed.
+     */
+    private void resume()
+    {
+        _input.clear_eof();
+        if (_eof)
+        {
+            _eof = false;
+            _state = (_is_in_struct ? State.S_BEFORE_FIELD : State.S_BEFORE_TID);
+            _has_next_needed = true;
+            if (getDepth() > 0)
+            {
+                // The read that hit the end of the data still counted a byte.
+                _local_remaining = container_bytes_remaining();
+            }
+        }
+    }
+
+    @Override
+    boolean hasNext()
+    {
+        if (_feed.available() > 0 && isContainerIncomplete())
+        {
+            // We previously ran out of values; more have arrived.
+            resume();
+        }
+        return super.hasNext();
+    }
+
+    @Override
+    public void stepOut()
+    {
+        if (getDepth() > 0 && isContainerIncomplete())
+        {
+            // The skip to the end of the container may go past the data fed
+            // so far.
+            resume();
+        }
+        super.stepOut();
+    }
+
+
+    //========================================================================
+    // Facet support
+
+
+    @Override
+    public <T> T asFacet(Class<T> facetType)
+    {
+        if (facetType == IncrementalFeed.class)
+        {
+            return facetType.cast(new IncrementalFeedFacet());
+        }
+        return super.asFacet(facetType);
+    }
+
+
+    private class IncrementalFeedFacet implements IncrementalFeed
+    {
+        public void feed(byte[] data, int offset, int length)
+        {
+            if (offset < 0 || length < 0 || offset + length > data.length)
+            {
+                throw new IndexOutOfBoundsException();
+            }
+            _feed.append(data, offset, length);
+        }
+
+        public void feed(ByteBuffer data)
+        {
+            _feed.append(data);
+        }
+
+        public boolean hasIncompleteValue()
+        {
+            return _feed.hasIncompleteValue();
+        }
+
+        public boolean isAwaitingInput()
+        {
+            return IonReaderBinaryIncrementalX.this.isAwaitingInput();
+        }
+    }
+
+
+    //========================================================================
+
+
+    /**
+     * Holds the bytes fed by the application, handing them to the
+     * {@link UnifiedInputStreamX} only once they form complete values or
+     * container headers. An empty stream reports EOF rather than blocking.
+     */
+    static final class FeedInputStream
+        extends InputStream
+    {
+        private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+        /** The largest VarUInt that fits in a Java int. */
+        private static final int MAX_VAR_UINT_LENGTH = 5;
+
+        private static final int INCOMPLETE = -1;
+
+        private byte[] _bytes = new byte[INITIAL_BUFFER_SIZE];
+
+        /** The position in the whole input of {@code _bytes[0]}. */
+        private long _base;
+
+        /** Position of the next byte to be read by the parser. */
+        private int _readPos;
+
+        /** End of the released data; the parser may read to here. */
+        private int _releasedEnd;
+
+        /** End of the data fed so far. */
+        private int _writeEnd;
+
+        /** The number of bytes still to be fed that the parser has skipped. */
+        private long _discard;
+
+        /** The ends, in the whole input, of the containers being released. */
+        private long[] _containerEnds = new long[8];
+        private boolean[] _containerIsStruct = new boolean[8];
+        private int _depth;
+
+        // The results of the scan methods.
+        private long _scannedLength;
+        private int _scannedTid;
+
+
+        void append(byte[] data, int offset, int length)
+        {
+            int dropped = discard(length);
+            offset += dropped;
+            length -= dropped;
+            ensureCapacity(length);
+            System.arraycopy(data, offset, _bytes, _writeEnd, length);
+            _writeEnd += length;
+            release();
+        }
+
+        void append(ByteBuffer data)
+        {
+            int dropped = discard(data.remaining());
+            data.position(data.position() + dropped);
+            int length = data.remaining();
+            ensureCapacity(length);
+            data.get(_bytes, _writeEnd, length);
+            _writeEnd += length;
+            release();
+        }
+
+        /**
+         * Drops the start of newly fed data that the parser has already
+         * skipped.
+         *
+         * @return the number of bytes dropped.
+         */
+        private int discard(int length)
+        {
+            if (_discard == 0) return 0;
+            int dropped = (int) Math.min(_discard, length);
+            _discard -= dropped;
+            // Everything fed before was consumed, so the buffer just moves on.
+            _base += dropped;
+            return dropped;
+        }
+
+        boolean hasIncompleteValue()
+        {
+            return _writeEnd > _releasedEnd || _depth > 0 || _discard > 0;
+        }
+
+        private void ensureCapacity(int length)
+        {
+            if (_bytes.length - _writeEnd >= length) return;
+
+            // First reclaim the space already consumed by the parser.
+            int retained = _writeEnd - _readPos;
+            byte[] dest = _bytes;
+            if (dest.length - retained < length)
+            {
+                long needed = (long) retained + length;
+                if (needed > Integer.MAX_VALUE)
+                {
+                    throw new IllegalStateException("incremental input buffer overflow");
+                }
+                dest = new byte[(int) Math.max(needed, Math.min(2L * _bytes.length, Integer.MAX_VALUE))];
+            }
+            System.arraycopy(_bytes, _readPos, dest, 0, retained);
+            _bytes = dest;
+            _base += _readPos;
+            _releasedEnd -= _readPos;
+            _writeEnd -= _readPos;
+            _readPos = 0;
+        }
+
+        /**
+         * Moves {@link #_releasedEnd} past every complete value and container
+         * header.
+         */
+        private void release()
+        {
+            for (;;)
+            {
+                popFinishedContainers(_base + _releasedEnd);
+                int length = releasableLength(_releasedEnd);
+                if (length == INCOMPLETE) break;
+                _releasedEnd += length;
+            }
+        }
+
+        private void popFinishedContainers(long position)
+        {
+            while (_depth > 0 && _containerEnds[_depth - 1] <= position)
+            {
+                _depth--;
+            }
+        }
+
+        private void pushContainer(long end, boolean isStruct)
+        {
+            if (_depth == _containerEnds.length)
+            {
+                _containerEnds = Arrays.copyOf(_containerEnds, 2 * _depth);
+                _containerIsStruct = Arrays.copyOf(_containerIsStruct, 2 * _depth);
+            }
+            _containerEnds[_depth] = end;
+            _containerIsStruct[_depth] = isStruct;
+            _depth++;
+        }
+
+        /**
+         * Determines how much of the input starting at the given position
+         * can be released: a whole value (or version marker), or just the
+         * header of a container, which is then pushed so that its children
+         * are released one at a time. Top-level annotated values, such as
+         * local symbol tables, are always released whole. Malformed headers
+         * are released as-is so the parser can report them.
+         *
+         * @return the length to release, or {@link #INCOMPLETE}.
+         */
+        private int releasableLength(int pos)
+        {
+            boolean nested = (_depth > 0);
+            int p = pos;
+            if (nested && _containerIsStruct[_depth - 1])
+            {
+                p = scanVarUInt(p);
+                if (p == INCOMPLETE) return INCOMPLETE;
+                if (_scannedLength < 0) return p - pos;
+            }
+
+            if (p >= _writeEnd) return INCOMPLETE;
+            if ((_bytes[p] & 0xff) == (BINARY_VERSION_MARKER_1_0[0] & 0xff))
+            {
+                return (_writeEnd - p >= BINARY_VERSION_MARKER_SIZE
+                        ? p + BINARY_VERSION_MARKER_SIZE - pos
+                        : INCOMPLETE);
+            }
+
+            p = scanTypeDescriptor(p);
+            if (p == INCOMPLETE) return INCOMPLETE;
+            if (_scannedLength < 0) return p - pos;
+            long valueEnd = p + _scannedLength;
+            int tid = _scannedTid;
+
+            if (tid == PrivateIonConstants.tidTypedecl && nested)
+            {
+                // Look through the annotations to the wrapped value.
+                p = scanVarUInt(p);
+                if (p == INCOMPLETE) return INCOMPLETE;
+                if (_scannedLength < 0) return p - pos;
+                long annotationsEnd = p + _scannedLength;
+                if (annotationsEnd < valueEnd)
+                {
+                    if (annotationsEnd >= _writeEnd) return INCOMPLETE;
+                    p = scanTypeDescriptor((int) annotationsEnd);
+                    if (p == INCOMPLETE) return INCOMPLETE;
+                    if (_scannedLength < 0) return p - pos;
+                    tid = _scannedTid;
+                }
+            }
+
+            boolean isContainer = (tid == PrivateIonConstants.tidList
+                                   || tid == PrivateIonConstants.tidSexp
+                                   || tid == PrivateIonConstants.tidStruct);
+            long end = _base + valueEnd;
+            if (isContainer
+                && valueEnd > p
+                && (!nested || end <= _containerEnds[_depth - 1]))
+            {
+                pushContainer(end, tid == PrivateIonConstants.tidStruct);
+                return p - pos;
+            }
+            return (valueEnd <= _writeEnd ? (int) (valueEnd - pos) : INCOMPLETE);
+        }
+
+        /**
+         * Reads the type descriptor at the given position, leaving the type
+         * in {@link #_scannedTid} and the length of the body in
+         * {@link #_scannedLength}, or -1 if it can't be read.
+         *
+         * @return the position after the descriptor, or {@link #INCOMPLETE}.
+         */
+        private int scanTypeDescriptor(int pos)
+        {
+            if (pos >= _writeEnd) return INCOMPLETE;
+            int td = _bytes[pos++] & 0xff;
+            int tid = getTypeCode(td);
+            int len = getLowNibble(td);
+            _scannedTid = tid;
+            if (len == PrivateIonConstants.lnIsNull
+                || tid == PrivateIonConstants.tidBoolean)
+            {
+                _scannedLength = 0;
+                return pos;
+            }
+            if (len == PrivateIonConstants.lnIsVarLen
+                || (tid == PrivateIonConstants.tidStruct && len == 1))
+            {
+                return scanVarUInt(pos);
+            }
+            _scannedLength = len;
+            return pos;
+        }
+
+        /**
+         * Reads the VarUInt at the given position into
+         * {@link #_scannedLength}, or -1 if it's too long for the parser.
+         *
+         * @return the position after the VarUInt, or {@link #INCOMPLETE}.
+         */
+        private int scanVarUInt(int pos)
+        {
+            long value = 0;
+            for (int i = 0; i < MAX_VAR_UINT_LENGTH; i++)
+            {
+                if (pos >= _writeEnd) return INCOMPLETE;
+                int b = _bytes[pos++] & 0xff;
+                value = (value << 7) | (b & 0x7f);
+                if ((b & 0x80) != 0)
+                {
+                    _scannedLength = value;
+                    return pos;
+                }
+            }
+            // Too long for the parser; let it complain.
+            _scannedLength = -1;
+            return pos;
+        }
+
+
+        @Override
+        public int read()
+        {
+            if (_readPos >= _releasedEnd) return -1;
+            return _bytes[_readPos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+        {
+            int available = _releasedEnd - _readPos;
+            if (available <= 0) return (len == 0 ? 0 : -1);
+            if (len > available) len = available;
+            System.arraycopy(_bytes, _readPos, b, off, len);
+            _readPos += len;
+            return len;
+        }
+
+        /**
+         * Skips the given number of bytes, even past the data fed so far:
+         * the parser only skips that far to pass the rest of a container,
+         * whose bytes are then dropped as they arrive.
+         */
+        @Override
+        public long skip(long n)
+        {
+            if (n <= 0) return 0;
+            if (n <= _releasedEnd - _readPos)
+            {
+                _readPos += (int) n;
+                return n;
+            }
+            long target = _base + _readPos + n;
+            long fedEnd = _base + _writeEnd;
+            if (target <= fedEnd)
+            {
+                _readPos = (int) (target - _base);
+                _releasedEnd = _readPos;
+            }
+            else
+            {
+                _readPos = _writeEnd;
+                _releasedEnd = _writeEnd;
+                _discard = target - fedEnd;
+            }
+            popFinishedContainers(target);
+            release();
+            return n;
+        }
+
+        @Override
+        public int available()
+        {
+            return _releasedEnd - _readPos;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
+import java.nio.ByteBuffer;
 import software.amazon.ion.Decimal;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
@@ -51,6 +52,17 @@ abstract class IonReaderBinaryRawX
     static final int DEFAULT_CONTAINER_STACK_SIZE = 12; // a multiple of 3
     static final int DEFAULT_ANNOTATION_SIZE = 10;
     static final int NO_LIMIT = Integer.MIN_VALUE;
+    /** The longest VarInt or VarUInt we support, in bytes. */
+    private static final int MAX_VAR_INT_LENGTH = 5;
+
+    /** Initial size of the scratch buffer used to decode strings. */
+    private static final int DEFAULT_STRING_CHARS_SIZE = 64;
+    /** Scratch buffers larger than this aren't retained between strings. */
+    private static final int MAX_RETAINED_STRING_CHARS = 64 * 1024;
+    /** Number of entries in the string cache; must be a power of two. */
+    static final int STRING_CACHE_SIZE = 512;
+    /** Strings longer than this many bytes bypass the string cache. */
+    static final int MAX_CACHED_STRING_LENGTH = 32;
 
     protected enum State {
         S_INVALID,
@@ -95,6 +107,11 @@ abstract class IonReaderBinaryRawX
     int                 _container_top;
     long[]              _container_stack; // triples of: position, type, local_end
 
+    // reusable buffer for decoding strings, and the optional cache of
+    // recently decoded short strings (null when disabled)
+    private char[]      _string_chars = new char[DEFAULT_STRING_CHARS_SIZE];
+    private String[]    _string_cache;
+
     protected IonReaderBinaryRawX() {
     }
 
@@ -118,6 +135,18 @@ abstract class IonReaderBinaryRawX
         _position_start = -1;
     }
 
+    /**
+     * Makes this reader return the same {@link String} instance for
+     * repeated occurrences of short string and symbol text, rather than
+     * allocating a new one each time.
+     */
+    final void enableStringCache()
+    {
+        if (_string_cache == null) {
+            _string_cache = new String[STRING_CACHE_SIZE];
+        }
+    }
+
     final void re_init_raw() {
         _local_remaining = NO_LIMIT;
         _parent_tid = PrivateIonConstants.tidDATAGRAM;
@@ -175,6 +204,14 @@ abstract class IonReaderBinaryRawX
         long pos = _container_stack[(_container_top - POS_STACK_STEP) + POS_OFFSET];
         return pos;
     }
+    /**
+     * Returns how many bytes of the current container lie past the input's
+     * position. Unlike {@link #_local_remaining}, this is still right after a
+     * read has run into the end of the input.
+     */
+    final int container_bytes_remaining() {
+        return (int)(get_top_position() - getPosition());
+    }
     private final int get_top_type() {
         assert(_container_top > 0);
         long type_limit = _container_stack[(_container_top - POS_STACK_STEP) + TYPE_LIMIT_OFFSET];
@@ -445,8 +482,12 @@ abstract class IonReaderBinaryRawX
         long start_of_tid   = _input.getPosition();
         long start_of_value = start_of_tid + 1;
 
-        int td = read();
-        if (td < 0) {
+        int td;
+        if (contiguousBytes() > 0) {
+            td = contiguousByte(_input._pos);
+            consume(1);
+        }
+        else if ((td = read()) < 0) {
             return UnifiedInputStreamX.EOF;
         }
         int tid = PrivateIonConstants.getTypeCode(td);
@@ -761,6 +802,53 @@ abstract class IonReaderBinaryRawX
         }
         return _input.read();
     }
+    /**
+     * Returns how many bytes of the current value can be taken directly
+     * from the input's current page, bypassing {@link #read()}. For byte
+     * array input this is everything left in the value (or the array).
+     * Callers taking bytes this way must {@link #consume} them.
+     */
+    private final int contiguousBytes()
+    {
+        UnifiedInputStreamX input = _input;
+        if (!input._is_byte_data) return 0;
+        int avail = input._limit - input._pos;
+        if (_local_remaining != NO_LIMIT && _local_remaining < avail) {
+            avail = _local_remaining;
+        }
+        return avail;
+    }
+    /**
+     * Returns a byte of the current page, which {@link #contiguousBytes()}
+     * must have shown to be there.
+     */
+    private final int contiguousByte(int pos)
+    {
+        UnifiedInputStreamX input = _input;
+        if (input._direct != null) {
+            return input._direct.get(pos) & 0xff;
+        }
+        return input._bytes[pos] & 0xff;
+    }
+    /**
+     * Decodes a big-endian unsigned value of up to 8 bytes from the current
+     * page, which {@link #contiguousBytes()} must have shown to be there.
+     */
+    private final long contiguousBigEndian(int pos, int len)
+    {
+        UnifiedInputStreamX input = _input;
+        if (input._direct != null) {
+            return readBigEndian(input._direct, pos, len);
+        }
+        return readBigEndian(input._bytes, pos, len);
+    }
+    private final void consume(int len)
+    {
+        _input._pos += len;
+        if (_local_remaining != NO_LIMIT) {
+            _local_remaining -= len;
+        }
+    }
     private final int read(byte[] dst, int start, int len) throws IOException
     {
         if (dst == null || start < 0 || len < 0 || start + len > dst.length) {
@@ -843,6 +931,11 @@ abstract class IonReaderBinaryRawX
     {
         long    retvalue = 0;
         int b;
+        if (len <= 8 && contiguousBytes() >= len) {
+            retvalue = contiguousBigEndian(_input._pos, len);
+            consume(len);
+            return retvalue;
+        }
         switch (len) {
         default:
             throw new IonException("value too large for Java long");
@@ -928,6 +1021,10 @@ abstract class IonReaderBinaryRawX
         int b = firstByte;
         boolean isNegative = false;
 
+        if (b >= 0 && (b & 0x80) == 0 && contiguousBytes() >= MAX_VAR_INT_LENGTH - 1) {
+            return readVarIntContiguous(b);
+        }
+
         for (;;) {
             if (b < 0) throwUnexpectedEOFException();
 
@@ -972,6 +1069,60 @@ abstract class IonReaderBinaryRawX
         return retValueAsInt;
     }
 
+    /**
+     * Finishes a multi-byte VarInt whose remaining bytes are known to be in
+     * the current page.
+     */
+    private int readVarIntContiguous(int firstByte) throws IOException {
+        byte[] bytes = _input._bytes;
+        ByteBuffer direct = _input._direct;
+        int    pos   = _input._pos;
+        int    end   = pos + MAX_VAR_INT_LENGTH - 1;
+        boolean isNegative = (firstByte & 0x40) != 0;
+        long retValue = (firstByte & 0x3F);
+        int b;
+        do {
+            if (pos == end) throwVarIntOverflowException();
+            b = (direct == null) ? bytes[pos++] : direct.get(pos++);
+            retValue = (retValue << 7) | (b & 0x7F);
+        } while ((b & 0x80) == 0);
+        consume(pos - _input._pos);
+
+        if (isNegative) {
+            retValue = -retValue;
+        }
+        int retValueAsInt = (int) retValue;
+        if (retValue != ((long) retValueAsInt)) {
+            throwVarIntOverflowException();
+        }
+        return retValueAsInt;
+    }
+
+    /**
+     * Reads a VarUInt whose longest possible encoding is known to be in the
+     * current page.
+     */
+    private int readVarUIntContiguous() throws IOException {
+        byte[] bytes = _input._bytes;
+        ByteBuffer direct = _input._direct;
+        int    pos   = _input._pos;
+        int    end   = pos + MAX_VAR_INT_LENGTH;
+        long retValue = 0;
+        int b;
+        do {
+            if (pos == end) throwVarIntOverflowException();
+            b = (direct == null) ? bytes[pos++] : direct.get(pos++);
+            retValue = (retValue << 7) | (b & 0x7F);
+        } while ((b & 0x80) == 0);
+        consume(pos - _input._pos);
+
+        int retValueAsInt = (int) retValue;
+        if (retValue != ((long) retValueAsInt)) {
+            throwVarIntOverflowException();
+        }
+        return retValueAsInt;
+    }
+
     protected final int readVarUIntOrEOF() throws IOException
     {
         // VarUInt uses the high-order bit of the last octet as a marker; some (but not all) 5-byte VarUInt can fit
@@ -980,6 +1131,10 @@ abstract class IonReaderBinaryRawX
         //
         // see http://amzn.github.io/ion-docs/docs/binary.html#varuint-and-varint-fields
 
+        if (contiguousBytes() >= MAX_VAR_INT_LENGTH) {
+            return readVarUIntContiguous();
+        }
+
         long retvalue = 0;
         int  b;
         for (;;) { // fake loop to create a "goto done"
@@ -1045,6 +1200,152 @@ abstract class IonReaderBinaryRawX
             : Double.longBitsToDouble(dBits);
     }
 
+    //
+    //  bulk reads of the numeric values of a sequence, which decode
+    //  values straight out of byte array input without going through
+    //  the state machine.  Each stops before the first value it can't
+    //  decode in place, leaving it for next().
+    //
+
+    /**
+     * Moves past the current value, if any, so the input is just before
+     * the type descriptor of the next value of the current sequence.
+     *
+     * @return false if the values can't be read in place from here.
+     */
+    private final boolean prepare_bulk_read() throws IOException
+    {
+        if (_eof || !_has_next_needed || _is_in_struct) {
+            // at the end, or hasNext() has already loaded the next value
+            return false;
+        }
+        switch (_state) {
+        case S_BEFORE_VALUE:
+            skip(_value_len);
+            // fall through
+        case S_AFTER_VALUE:
+            _state = State.S_BEFORE_TID;
+            // fall through
+        case S_BEFORE_TID:
+            clear_value();
+            return true;
+        default:
+            return false;
+        }
+    }
+    private static long readBigEndian(byte[] bytes, int pos, int len)
+    {
+        long value = 0;
+        for (int end = pos + len; pos < end; pos++) {
+            value = (value << 8) | (bytes[pos] & 0xff);
+        }
+        return value;
+    }
+    private static long readBigEndian(ByteBuffer bytes, int pos, int len)
+    {
+        long value = 0;
+        for (int end = pos + len; pos < end; pos++) {
+            value = (value << 8) | (bytes.get(pos) & 0xff);
+        }
+        return value;
+    }
+    /**
+     * Reads ints that fit in a long, up to length of them.
+     * @return the number of values read.
+     */
+    final int readLongValues(long[] values, int offset, int length) throws IOException
+    {
+        if (!prepare_bulk_read()) return 0;
+        int count = 0;
+        while (count < length) {
+            int avail = contiguousBytes();
+            if (avail < 1) break;
+            int pos = _input._pos;
+            int td  = contiguousByte(pos);
+            int tid = PrivateIonConstants.getTypeCode(td);
+            int len = PrivateIonConstants.getLowNibble(td);
+            if ((tid != PrivateIonConstants.tidPosInt && tid != PrivateIonConstants.tidNegInt)
+                || len > 8 || len >= avail) {
+                // not an int, a null or long int, or not all in the buffer
+                break;
+            }
+            long magnitude = contiguousBigEndian(pos + 1, len);
+            if (tid == PrivateIonConstants.tidPosInt) {
+                if (magnitude < 0) break; // too big for a long
+                values[offset + count] = magnitude;
+            }
+            else {
+                // negative zero is an error, which next() will report; the
+                // only magnitude past Long.MAX_VALUE that fits is 2^63
+                if (magnitude == 0 || (magnitude < 0 && magnitude != Long.MIN_VALUE)) break;
+                values[offset + count] = -magnitude;
+            }
+            consume(len + 1);
+            count++;
+        }
+        return count;
+    }
+    /**
+     * @return the length of the float whose type descriptor is next, or -1
+     * if the next value isn't a float all in the buffer.
+     */
+    private final int contiguous_float_len()
+    {
+        int avail = contiguousBytes();
+        if (avail < 1) return -1;
+        int td  = contiguousByte(_input._pos);
+        int len = PrivateIonConstants.getLowNibble(td);
+        if (PrivateIonConstants.getTypeCode(td) != PrivateIonConstants.tidFloat
+            || (len != 0 && len != 4 && len != 8) || len >= avail) {
+            return -1;
+        }
+        return len;
+    }
+    private final double decode_float(int len)
+    {
+        int    pos   = _input._pos + 1;
+        double value;
+        if (len == 8) {
+            value = Double.longBitsToDouble(contiguousBigEndian(pos, 8));
+        }
+        else if (len == 4) {
+            value = Float.intBitsToFloat((int) contiguousBigEndian(pos, 4));
+        }
+        else {
+            value = 0.0d;
+        }
+        consume(len + 1);
+        return value;
+    }
+    /**
+     * Reads floats, up to length of them.
+     * @return the number of values read.
+     */
+    final int readDoubleValues(double[] values, int offset, int length) throws IOException
+    {
+        if (!prepare_bulk_read()) return 0;
+        int count = 0;
+        int len;
+        while (count < length && (len = contiguous_float_len()) >= 0) {
+            values[offset + count++] = decode_float(len);
+        }
+        return count;
+    }
+    /**
+     * Reads floats narrowed to 32 bits, up to length of them.
+     * @return the number of values read.
+     */
+    final int readFloatValues(float[] values, int offset, int length) throws IOException
+    {
+        if (!prepare_bulk_read()) return 0;
+        int count = 0;
+        int len;
+        while (count < length && (len = contiguous_float_len()) >= 0) {
+            values[offset + count++] = (float) decode_float(len);
+        }
+        return count;
+    }
+
     protected final Decimal readDecimal(int len) throws IOException
     {
         MathContext mathContext = MathContext.UNLIMITED;
@@ -1169,13 +1470,115 @@ abstract class IonReaderBinaryRawX
         // len is bytes, which is greater than or equal to java
         // chars even after utf8 to utf16 decoding nonsense
         // the char array is way faster than using string buffer
-        char[] chars = new char[len];
-        int    c, ii = 0;
+        char[] chars = _string_chars;
+        if (chars.length < len) {
+            chars = new char[len];
+            if (len <= MAX_RETAINED_STRING_CHARS) {
+                _string_chars = chars;
+            }
+        }
+        int    ii;
         int    save_limit = _local_remaining - len;
-        _local_remaining = len;
-        while (!isEOF()) {
-            c = readUnicodeScalar();
-            if (c < 0) throwUnexpectedEOFException();
+        UnifiedInputStreamX input = _input;
+        if (input._is_byte_data && input._limit - input._pos >= len) {
+            // the whole string is in the current page, so we can
+            // decode it in place rather than a byte at a time
+            if (input._direct != null) {
+                ii = decodeUTF8(input._direct, input._pos, input._pos + len, chars);
+            }
+            else {
+                ii = decodeUTF8(input._bytes, input._pos, input._pos + len, chars);
+            }
+            input._pos += len;
+        }
+        else {
+            int c;
+            ii = 0;
+            _local_remaining = len;
+            while (!isEOF()) {
+                c = readUnicodeScalar();
+                if (c < 0) throwUnexpectedEOFException();
+                if (c < 0x10000) {
+                    chars[ii++] = (char)c;
+                }
+                else { // when c is >= 0x10000 we need surrogate encoding
+                    chars[ii++] = (char)PrivateIonConstants.makeHighSurrogate(c);
+                    chars[ii++] = (char)PrivateIonConstants.makeLowSurrogate(c);
+                }
+            }
+        }
+        _local_remaining = save_limit;
+        if (_string_cache != null && len <= MAX_CACHED_STRING_LENGTH) {
+            return cachedString(chars, ii);
+        }
+        return new String(chars, 0, ii);
+    }
+    /**
+     * Returns the cached string equal to the given characters, replacing
+     * whatever previously occupied its slot on a miss.
+     */
+    private final String cachedString(char[] chars, int len)
+    {
+        int h = 0;
+        for (int ii = 0; ii < len; ii++) {
+            h = 31 * h + chars[ii];
+        }
+        int idx = (h ^ (h >>> 16)) & (STRING_CACHE_SIZE - 1);
+        String s = _string_cache[idx];
+        if (s != null && s.length() == len) {
+            int ii = 0;
+            while (ii < len && s.charAt(ii) == chars[ii]) {
+                ii++;
+            }
+            if (ii == len) return s;
+        }
+        s = new String(chars, 0, len);
+        _string_cache[idx] = s;
+        return s;
+    }
+    /**
+     * Decodes the UTF-8 bytes from pos up to end into chars, which must
+     * hold at least end - pos characters.
+     *
+     * @return the number of chars decoded.
+     */
+    private final int decodeUTF8(byte[] bytes, int pos, int end, char[] chars)
+        throws IOException
+    {
+        int ii = 0;
+        while (pos < end) {
+            // copy runs of ascii directly
+            int b = bytes[pos];
+            while (b >= 0) {
+                chars[ii++] = (char)b;
+                if (++pos == end) return ii;
+                b = bytes[pos];
+            }
+            b &= 0xff;
+            pos++;
+            int c = -1, b2, b3, b4;
+            switch(IonUTF8.getUTF8LengthFromFirstByte(b)) {
+            case 2:
+                b2 = continuationByte(bytes, pos++, end);
+                c = IonUTF8.twoByteScalar(b, b2);
+                break;
+            case 3:
+                b2 = continuationByte(bytes, pos++, end);
+                b3 = continuationByte(bytes, pos++, end);
+                c = IonUTF8.threeByteScalar(b, b2, b3);
+                break;
+            case 4:
+                b2 = continuationByte(bytes, pos++, end);
+                b3 = continuationByte(bytes, pos++, end);
+                b4 = continuationByte(bytes, pos++, end);
+                c = IonUTF8.fourByteScalar(b, b2, b3, b4);
+                if (c > 0x10FFFF) {
+                    throw new IonException("illegal utf value encountered in input utf-8 stream");
+                }
+                break;
+            default:
+                throwUTF8Exception();
+            }
             if (c < 0x10000) {
                 chars[ii++] = (char)c;
             }
@@ -1184,8 +1587,69 @@ abstract class IonReaderBinaryRawX
                 chars[ii++] = (char)PrivateIonConstants.makeLowSurrogate(c);
             }
         }
-        _local_remaining = save_limit;
-        return new String(chars, 0, ii);
+        return ii;
+    }
+    private final int continuationByte(byte[] bytes, int pos, int end)
+        throws IOException
+    {
+        int b = (pos < end) ? (bytes[pos] & 0xff) : -1;
+        if (!IonUTF8.isContinueByteUTF8(b)) throwUTF8Exception();
+        return b;
+    }
+    /** Like {@link #decodeUTF8(byte[], int, int, char[])}, for a direct page. */
+    private final int decodeUTF8(ByteBuffer bytes, int pos, int end, char[] chars)
+        throws IOException
+    {
+        int ii = 0;
+        while (pos < end) {
+            // copy runs of ascii directly
+            int b = bytes.get(pos);
+            while (b >= 0) {
+                chars[ii++] = (char)b;
+                if (++pos == end) return ii;
+                b = bytes.get(pos);
+            }
+            b &= 0xff;
+            pos++;
+            int c = -1, b2, b3, b4;
+            switch(IonUTF8.getUTF8LengthFromFirstByte(b)) {
+            case 2:
+                b2 = continuationByte(bytes, pos++, end);
+                c = IonUTF8.twoByteScalar(b, b2);
+                break;
+            case 3:
+                b2 = continuationByte(bytes, pos++, end);
+                b3 = continuationByte(bytes, pos++, end);
+                c = IonUTF8.threeByteScalar(b, b2, b3);
+                break;
+            case 4:
+                b2 = continuationByte(bytes, pos++, end);
+                b3 = continuationByte(bytes, pos++, end);
+                b4 = continuationByte(bytes, pos++, end);
+                c = IonUTF8.fourByteScalar(b, b2, b3, b4);
+                if (c > 0x10FFFF) {
+                    throw new IonException("illegal utf value encountered in input utf-8 stream");
+                }
+                break;
+            default:
+                throwUTF8Exception();
+            }
+            if (c < 0x10000) {
+                chars[ii++] = (char)c;
+            }
+            else { // when c is >= 0x10000 we need surrogate encoding
+                chars[ii++] = (char)PrivateIonConstants.makeHighSurrogate(c);
+                chars[ii++] = (char)PrivateIonConstants.makeLowSurrogate(c);
+            }
+        }
+        return ii;
+    }
+    private final int continuationByte(ByteBuffer bytes, int pos, int end)
+        throws IOException
+    {
+        int b = (pos < end) ? (bytes.get(pos) & 0xff) : -1;
+        if (!IonUTF8.isContinueByteUTF8(b)) throwUTF8Exception();
+        return b;
     }
     private final int readUnicodeScalar() throws IOException
     {
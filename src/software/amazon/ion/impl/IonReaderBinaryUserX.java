@@ -18,9 +18,14 @@ import static software.amazon.ion.SystemSymbols.ION_1_0_SID;
 import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
 
 import java.io.IOException;
+import software.amazon.ion.FieldSeekingReader;
+import software.amazon.ion.IntegerSize;
 import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
 import software.amazon.ion.IonType;
 import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.PrimitiveArrayReader;
+import software.amazon.ion.ResettableReader;
 import software.amazon.ion.SeekableReader;
 import software.amazon.ion.Span;
 import software.amazon.ion.SpanProvider;
@@ -29,9 +34,9 @@ import software.amazon.ion.SymbolToken;
 import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.impl.PrivateScalarConversions.AS_TYPE;
 import software.amazon.ion.impl.UnifiedInputStreamX.FromByteArray;
-import software.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
+import software.amazon.ion.util.IonStreamUtils;
 
-final class IonReaderBinaryUserX
+class IonReaderBinaryUserX
     extends IonReaderBinarySystemX
     implements PrivateReaderWriter
 {
@@ -40,7 +45,7 @@ final class IonReaderBinaryUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final PrivateLocalSymbolTableFactory _lstFactory;
 
     IonCatalog  _catalog;
@@ -145,15 +150,9 @@ final class IonReaderBinaryUserX
         input._pos   = (int) (pos._offset + _physical_start_offset);
         input._limit = (int) (pos._limit  + _physical_start_offset);
 
-        // TODO: these (eof and save points) should be put into
-        //       a re-init method on the input stream
+        // TODO: eof should be put into a re-init method on the input stream
         input._eof = false;
-        for (;;) {
-            SavePoint sp = input._save_points._active_stack;
-            if (sp == null) break;
-            input._save_points.savePointPopActive(sp);
-            sp.free();
-        }
+        input.clear_active_save_points();
 
         // reset the raw reader
         re_init_raw();
@@ -169,6 +168,32 @@ final class IonReaderBinaryUserX
     }
 
 
+    /**
+     * Re-points this reader, which must be reading a byte array, at the
+     * given bytes, as if it had just been created over them.
+     */
+    final void reset(byte[] bytes, int offset, int length)
+    {
+        if (IonStreamUtils.isGzip(bytes, offset, length)
+            || (length > 0 && !IonStreamUtils.isIonBinary(bytes, offset, length)))
+        {
+            throw new IllegalArgumentException("A binary reader can only be reset to binary data");
+        }
+
+        ((FromByteArray)_input).reset(bytes, offset, length);
+        _annotations.clear();
+        _physical_start_offset = offset;
+
+        re_init_raw();
+        _v.clear();
+        _position_start = -1;
+        _position_len = 0;
+
+        clear_system_value_stack();
+        init_user(_catalog);
+    }
+
+
     @Override
     public IonType next()
     {
@@ -319,6 +344,21 @@ final class IonReaderBinaryUserX
             {
                 return facetType.cast(new SeekableReaderFacet());
             }
+
+            if (facetType == ResettableReader.class)
+            {
+                return facetType.cast(new ResettableReaderFacet());
+            }
+        }
+
+        if (facetType == FieldSeekingReader.class)
+        {
+            return facetType.cast(new FieldSeekingReaderFacet());
+        }
+
+        if (facetType == PrimitiveArrayReader.class)
+        {
+            return facetType.cast(new PrimitiveArrayReaderFacet());
         }
 
         if (facetType == PrivateByteTransferReader.class)
@@ -368,6 +408,177 @@ final class IonReaderBinaryUserX
     }
 
 
+    private class ResettableReaderFacet implements ResettableReader
+    {
+        public void reset(byte[] data, int offset, int length)
+        {
+            IonReaderBinaryUserX.this.reset(data, offset, length);
+        }
+    }
+
+
+    private class FieldSeekingReaderFacet implements FieldSeekingReader
+    {
+        // The last name looked up, so that a caller seeking the same field
+        // of many structs doesn't hash it each time.
+        private String      myFieldName;
+        private SymbolTable myFieldSymbols;
+        private int         myFieldSid;
+
+        public IonType nextField(String fieldName)
+        {
+            if (! isInStruct())
+            {
+                throw new IllegalStateException("The reader isn't in a struct");
+            }
+
+            if (_symbols != myFieldSymbols || ! fieldName.equals(myFieldName))
+            {
+                myFieldSid = _symbols.findSymbol(fieldName);
+                myFieldName = fieldName;
+                myFieldSymbols = _symbols;
+            }
+            int sid = myFieldSid;
+
+            IonType t;
+            if (sid == SymbolTable.UNKNOWN_SYMBOL_ID)
+            {
+                // No field can have the name; skip to the end of the struct.
+                while (next() != null) { }
+                return null;
+            }
+            while ((t = next()) != null)
+            {
+                int fieldSid = _value_field_id;
+                if (fieldSid == sid)
+                {
+                    return t;
+                }
+                // The symbol table gives the lowest SID for the name, so
+                // only higher SIDs can be another declaration of it.
+                if (fieldSid > sid
+                    && fieldName.equals(_symbols.findKnownSymbol(fieldSid)))
+                {
+                    return t;
+                }
+            }
+            return null;
+        }
+    }
+
+
+    private class PrimitiveArrayReaderFacet implements PrimitiveArrayReader
+    {
+        // Each method decodes what it can in place, and takes any value
+        // that can't be, such as one split across input pages or one with
+        // annotations, the long way through next().
+
+        private void checkArguments(int arrayLength, int offset, int length)
+        {
+            if (offset < 0 || length < 0 || offset > arrayLength - length)
+            {
+                throw new IndexOutOfBoundsException();
+            }
+            if (getDepth() == 0 || isInStruct())
+            {
+                throw new IllegalStateException("The reader isn't in a list or s-expression");
+            }
+        }
+
+        private IonException notA(String expected, IonType actual)
+        {
+            return new IonException("Expected a non-null " + expected
+                                    + " but found " + (isNullValue() ? "a null " : "")
+                                    + actual);
+        }
+
+        public int nextLongs(long[] values, int offset, int length)
+        {
+            checkArguments(values.length, offset, length);
+            int count = 0;
+            try
+            {
+                while (count < length)
+                {
+                    count += readLongValues(values, offset + count, length - count);
+                    if (count == length) break;
+
+                    IonType t = next();
+                    if (t == null) break;
+                    if (t != IonType.INT || isNullValue())
+                    {
+                        throw notA("int", t);
+                    }
+                    if (getIntegerSize() == IntegerSize.BIG_INTEGER)
+                    {
+                        throw new IonException("Int too large for a long: " + bigIntegerValue());
+                    }
+                    values[offset + count++] = longValue();
+                }
+            }
+            catch (IOException e)
+            {
+                throw new IonException(e);
+            }
+            return count;
+        }
+
+        public int nextDoubles(double[] values, int offset, int length)
+        {
+            checkArguments(values.length, offset, length);
+            int count = 0;
+            try
+            {
+                while (count < length)
+                {
+                    count += readDoubleValues(values, offset + count, length - count);
+                    if (count == length) break;
+
+                    IonType t = next();
+                    if (t == null) break;
+                    if (t != IonType.FLOAT || isNullValue())
+                    {
+                        throw notA("float", t);
+                    }
+                    values[offset + count++] = doubleValue();
+                }
+            }
+            catch (IOException e)
+            {
+                throw new IonException(e);
+            }
+            return count;
+        }
+
+        public int nextFloats(float[] values, int offset, int length)
+        {
+            checkArguments(values.length, offset, length);
+            int count = 0;
+            try
+            {
+                while (count < length)
+                {
+                    count += readFloatValues(values, offset + count, length - count);
+                    if (count == length) break;
+
+                    IonType t = next();
+                    if (t == null) break;
+                    if (t != IonType.FLOAT || isNullValue())
+                    {
+                        throw notA("float", t);
+                    }
+                    values[offset + count++] = (float) doubleValue();
+                }
+            }
+            catch (IOException e)
+            {
+                throw new IonException(e);
+            }
+            return count;
+        }
+    }
+
+
     private class ByteTransferReaderFacet implements PrivateByteTransferReader
     {
         public void transferCurrentValue(PrivateByteTransferSink sink)
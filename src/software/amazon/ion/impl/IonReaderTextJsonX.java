@@ -0,0 +1,839 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import static software.amazon.ion.impl.PrivateScalarConversions.getValueTypeName;
+import static software.amazon.ion.util.IonTextUtils.printCodePointAsString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.Iterator;
+import software.amazon.ion.Decimal;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.SymbolToken;
+import software.amazon.ion.Timestamp;
+import software.amazon.ion.impl.IonReaderTextRawX.IonReaderTextParsingException;
+import software.amazon.ion.impl.PrivateScalarConversions.AS_TYPE;
+import software.amazon.ion.impl.PrivateScalarConversions.CantConvertException;
+import software.amazon.ion.impl.PrivateScalarConversions.ValueVariant;
+
+/**
+ * A reader of JSON text, presented as the Ion data model.
+ * <p>
+ * This recognizes only JSON: objects, arrays, strings, numbers,
+ * {@code true}, {@code false} and {@code null}, any number of them at
+ * top-level separated by whitespace.  In exchange for not handling the rest
+ * of Ion text (annotations, symbols, s-expressions, comments, long strings,
+ * timestamps, lobs, typed nulls and so on) its tokenizer is much simpler
+ * than {@link IonReaderTextRawTokensX}, and it never needs to look ahead
+ * more than one character.  Anything that isn't JSON is a syntax error.
+ * <p>
+ * Values have the types they would have as Ion text: objects are structs,
+ * arrays are lists, numbers are ints unless they have a fraction (decimal)
+ * or an exponent (float), and {@code null} is {@code null.null}.  There are
+ * never any annotations or symbol tables; field names have unknown symbol
+ * IDs.
+ */
+final class IonReaderTextJsonX
+    implements IonReader
+{
+    private static final int EOF = UnifiedInputStreamX.EOF;
+
+    private final UnifiedInputStreamX _stream;
+    private final SymbolTable         _system_symtab;
+
+    private long _line = 1;
+    private long _line_start;
+
+    /** The containers we're in; the top is {@code _containers[_depth-1]}. */
+    private IonType[] _containers = new IonType[16];
+    /** Whether the next value at each depth is the first in its container. */
+    private boolean[] _first = new boolean[16];
+    private int       _depth;
+    /** Scratch space for {@link #skip_container(boolean, boolean)}. */
+    private boolean[] _skipping = new boolean[16];
+
+    /** True when there are no more values in the current container. */
+    private boolean _eof;
+    /** True when the current container's closing bracket has been read. */
+    private boolean _container_closed;
+
+    private IonType _value_type;
+    private String  _field_name;
+    /** The contents of the current string or container are still unread. */
+    private boolean _value_pending;
+    /** For numbers, the token's text; for strings, their loaded content. */
+    private final StringBuilder _text = new StringBuilder();
+    private final ValueVariant  _v = new ValueVariant();
+
+    IonReaderTextJsonX(UnifiedInputStreamX stream)
+    {
+        _stream = stream;
+        _system_symtab = PrivateUtils.systemSymtab(1);
+        _line_start = stream.getPosition();
+    }
+
+    public <T> T asFacet(Class<T> facetType)
+    {
+        return null;
+    }
+
+    public void close()
+        throws IOException
+    {
+        _stream.close();
+    }
+
+    //=========================================================================
+    // Navigation
+
+    public IonType next()
+    {
+        if (_eof) {
+            return null;
+        }
+        try {
+            finish_value();
+            clear_value();
+
+            int c = skip_whitespace();
+            if (_depth == 0) {
+                if (c == EOF) {
+                    _eof = true;
+                    return null;
+                }
+            }
+            else {
+                IonType container = _containers[_depth - 1];
+                int closer = (container == IonType.STRUCT) ? '}' : ']';
+                if (_first[_depth - 1]) {
+                    _first[_depth - 1] = false;
+                    if (c == closer) {
+                        end_of_container();
+                        return null;
+                    }
+                }
+                else if (c == closer) {
+                    end_of_container();
+                    return null;
+                }
+                else if (c == ',') {
+                    c = skip_whitespace();
+                }
+                else {
+                    expected("',' or '" + (char) closer + "'", c);
+                }
+
+                if (container == IonType.STRUCT) {
+                    if (c != '"') {
+                        expected("a field name", c);
+                    }
+                    _text.setLength(0);
+                    load_string_contents();
+                    _field_name = _text.toString();
+                    c = skip_whitespace();
+                    if (c != ':') {
+                        expected("':'", c);
+                    }
+                    c = skip_whitespace();
+                }
+            }
+            start_value(c);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+        return _value_type;
+    }
+
+    public void stepIn()
+    {
+        if (!IonType.isContainer(_value_type) || _v.isNull()) {
+            throw new IllegalStateException("Can't step in unless positioned on a container");
+        }
+        assert _value_pending;
+        if (_depth == _containers.length) {
+            IonType[] containers = new IonType[_depth * 2];
+            System.arraycopy(_containers, 0, containers, 0, _depth);
+            _containers = containers;
+            boolean[] first = new boolean[_depth * 2];
+            System.arraycopy(_first, 0, first, 0, _depth);
+            _first = first;
+        }
+        _containers[_depth] = _value_type;
+        _first[_depth] = true;
+        _depth++;
+        _value_pending = false;
+        clear_value();
+    }
+
+    public void stepOut()
+    {
+        if (_depth < 1) {
+            throw new IllegalStateException(IonMessages.CANNOT_STEP_OUT);
+        }
+        try {
+            if (!_container_closed) {
+                finish_value();
+                skip_container(_containers[_depth - 1] == IonType.STRUCT,
+                               _first[_depth - 1]);
+            }
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+        _depth--;
+        _eof = false;
+        _container_closed = false;
+        clear_value();
+    }
+
+    public int getDepth()
+    {
+        return _depth;
+    }
+
+    public boolean isInStruct()
+    {
+        return _depth > 0 && _containers[_depth - 1] == IonType.STRUCT;
+    }
+
+    private void end_of_container()
+    {
+        _eof = true;
+        _container_closed = true;
+    }
+
+    private void clear_value()
+    {
+        _value_type = null;
+        _field_name = null;
+        _v.clear();
+    }
+
+    /** Skips whatever of the current value hasn't been read. */
+    private void finish_value() throws IOException
+    {
+        if (_value_pending) {
+            _value_pending = false;
+            if (_value_type == IonType.STRING) {
+                skip_string_contents();
+            }
+            else {
+                skip_container(_value_type == IonType.STRUCT, true);
+            }
+        }
+    }
+
+    //=========================================================================
+    // Tokenizing
+
+    private void start_value(int c) throws IOException
+    {
+        switch (c) {
+        case '{':
+            _value_type = IonType.STRUCT;
+            _value_pending = true;
+            break;
+        case '[':
+            _value_type = IonType.LIST;
+            _value_pending = true;
+            break;
+        case '"':
+            _value_type = IonType.STRING;
+            _value_pending = true;
+            break;
+        case '-':
+        case '0': case '1': case '2': case '3': case '4':
+        case '5': case '6': case '7': case '8': case '9':
+            _value_type = read_number(c);
+            break;
+        case 't':
+            read_keyword("true");
+            _value_type = IonType.BOOL;
+            _v.setValue(true);
+            break;
+        case 'f':
+            read_keyword("false");
+            _value_type = IonType.BOOL;
+            _v.setValue(false);
+            break;
+        case 'n':
+            read_keyword("null");
+            _value_type = IonType.NULL;
+            _v.setValueToNull(IonType.NULL);
+            break;
+        case EOF:
+            error("unexpected end of input");
+        default:
+            expected("a JSON value", c);
+        }
+    }
+
+    private int skip_whitespace() throws IOException
+    {
+        for (;;) {
+            int c = _stream.read();
+            switch (c) {
+            case '\n':
+                _line++;
+                _line_start = _stream.getPosition();
+                break;
+            case ' ':
+            case '\t':
+            case '\r':
+                break;
+            default:
+                return c;
+            }
+        }
+    }
+
+    /** Checks that a scalar isn't followed by more of itself. */
+    private void check_value_end() throws IOException
+    {
+        int c = _stream.read();
+        switch (c) {
+        case ' ': case '\t': case '\r': case '\n':
+        case ',': case ']': case '}':
+        case EOF:
+            _stream.unread(c);
+            return;
+        default:
+            expected("whitespace, ',', ']' or '}'", c);
+        }
+    }
+
+    private void read_keyword(String keyword) throws IOException
+    {
+        // the first character has been consumed
+        for (int i = 1; i < keyword.length(); i++) {
+            int c = _stream.read();
+            if (c != keyword.charAt(i)) {
+                error("invalid JSON literal; expected " + keyword);
+            }
+        }
+        check_value_end();
+    }
+
+    /**
+     * Reads a number into {@link #_text}, following JSON's grammar exactly.
+     */
+    private IonType read_number(int c) throws IOException
+    {
+        IonType type = IonType.INT;
+        StringBuilder text = _text;
+        text.setLength(0);
+        if (c == '-') {
+            text.append('-');
+            c = _stream.read();
+        }
+        if (c == '0') {
+            text.append('0');
+            c = _stream.read();
+        }
+        else if (c >= '1' && c <= '9') {
+            c = read_digits(c);
+        }
+        else {
+            expected("a digit", c);
+        }
+        if (c == '.') {
+            type = IonType.DECIMAL;
+            text.append('.');
+            c = _stream.read();
+            if (c < '0' || c > '9') {
+                expected("a digit", c);
+            }
+            c = read_digits(c);
+        }
+        if (c == 'e' || c == 'E') {
+            type = IonType.FLOAT;
+            text.append('e');
+            c = _stream.read();
+            if (c == '-' || c == '+') {
+                text.append((char) c);
+                c = _stream.read();
+            }
+            if (c < '0' || c > '9') {
+                expected("a digit", c);
+            }
+            c = read_digits(c);
+        }
+        _stream.unread(c);
+        check_value_end();
+        return type;
+    }
+
+    private int read_digits(int c) throws IOException
+    {
+        while (c >= '0' && c <= '9') {
+            _text.append((char) c);
+            c = _stream.read();
+        }
+        return c;
+    }
+
+    /**
+     * Appends a string's content to {@link #_text}, starting after its
+     * opening quote and consuming its closing quote.
+     */
+    private void load_string_contents() throws IOException
+    {
+        StringBuilder text = _text;
+        for (;;) {
+            int c = _stream.read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = read_escape();
+                text.append((char) c);
+            }
+            else if (c < 0x20) {
+                if (c == EOF) {
+                    error("unexpected end of input in a string");
+                }
+                error("unescaped control character in a string");
+            }
+            else if (c < 0x80 || !_stream._is_byte_data) {
+                text.append((char) c);
+            }
+            else {
+                text.appendCodePoint(read_utf8_sequence(c));
+            }
+        }
+    }
+
+    /**
+     * Like {@link #load_string_contents()}, and just as strict about control
+     * characters, escapes and UTF-8, but without keeping the content.
+     */
+    private void skip_string_contents() throws IOException
+    {
+        for (;;) {
+            int c = _stream.read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                read_escape();
+            }
+            else if (c < 0x20) {
+                if (c == EOF) {
+                    error("unexpected end of input in a string");
+                }
+                error("unescaped control character in a string");
+            }
+            else if (c >= 0x80 && _stream._is_byte_data) {
+                read_utf8_sequence(c);
+            }
+        }
+    }
+
+    private int read_escape() throws IOException
+    {
+        int c = _stream.read();
+        switch (c) {
+        case '"':  return '"';
+        case '\\': return '\\';
+        case '/':  return '/';
+        case 'b':  return '\b';
+        case 'f':  return '\f';
+        case 'n':  return '\n';
+        case 'r':  return '\r';
+        case 't':  return '\t';
+        case 'u':
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                c = _stream.read();
+                int digit = Character.digit(c, 16);
+                if (c == EOF || digit < 0) {
+                    error("invalid \\u escape sequence");
+                }
+                value = (value << 4) | digit;
+            }
+            return value;
+        default:
+            error("invalid escape sequence");
+            return -1;
+        }
+    }
+
+    private int read_utf8_sequence(int c) throws IOException
+    {
+        int len = IonUTF8.getUTF8LengthFromFirstByte(c);
+        int scalar;
+        switch (len) {
+        case 2:
+            scalar = IonUTF8.twoByteScalar(c, read_continuation_byte());
+            break;
+        case 3:
+            scalar = IonUTF8.threeByteScalar(c, read_continuation_byte(), read_continuation_byte());
+            break;
+        case 4:
+            scalar = IonUTF8.fourByteScalar(c, read_continuation_byte(), read_continuation_byte(),
+                                            read_continuation_byte());
+            break;
+        default:
+            error("invalid UTF-8 starting byte");
+            return -1;
+        }
+        if (scalar > Character.MAX_CODE_POINT || IonUTF8.isSurrogate(scalar)) {
+            error("invalid UTF-8 sequence");
+        }
+        return scalar;
+    }
+
+    private int read_continuation_byte() throws IOException
+    {
+        int c = _stream.read();
+        if (c == EOF || !IonUTF8.isContinueByteUTF8(c)) {
+            error("invalid UTF-8 sequence");
+        }
+        return c;
+    }
+
+    /**
+     * Skips the rest of a container, checking it just as strictly as
+     * reading it would, but without keeping any of it.
+     *
+     * @param is_struct whether the container is an object or an array.
+     * @param first whether no values of the container have been read yet.
+     */
+    private void skip_container(boolean is_struct, boolean first)
+        throws IOException
+    {
+        // whether each container being skipped is a struct; the one we
+        // started in is at 0
+        boolean[] structs = _skipping;
+        int depth = 0;
+        structs[0] = is_struct;
+        for (;;) {
+            int c = skip_whitespace();
+            int closer = structs[depth] ? '}' : ']';
+            if (c == closer) {
+                if (depth == 0) {
+                    return;
+                }
+                depth--;
+                first = false;
+                continue;
+            }
+            if (first) {
+                first = false;
+            }
+            else if (c == ',') {
+                c = skip_whitespace();
+            }
+            else if (c == EOF) {
+                error("unexpected end of input in a container");
+            }
+            else {
+                expected("',' or '" + (char) closer + "'", c);
+            }
+
+            if (structs[depth]) {
+                if (c != '"') {
+                    expected("a field name", c);
+                }
+                skip_string_contents();
+                c = skip_whitespace();
+                if (c != ':') {
+                    expected("':'", c);
+                }
+                c = skip_whitespace();
+            }
+
+            if (c == '{' || c == '[') {
+                depth++;
+                if (depth == structs.length) {
+                    boolean[] grown = new boolean[depth * 2];
+                    System.arraycopy(structs, 0, grown, 0, depth);
+                    structs = _skipping = grown;
+                }
+                structs[depth] = (c == '{');
+                first = true;
+            }
+            else if (c == '"') {
+                skip_string_contents();
+            }
+            else {
+                skip_scalar(c);
+            }
+        }
+    }
+
+    /** Checks a number or literal, as {@link #start_value(int)} would. */
+    private void skip_scalar(int c) throws IOException
+    {
+        switch (c) {
+        case '-':
+        case '0': case '1': case '2': case '3': case '4':
+        case '5': case '6': case '7': case '8': case '9':
+            read_number(c);
+            break;
+        case 't':
+            read_keyword("true");
+            break;
+        case 'f':
+            read_keyword("false");
+            break;
+        case 'n':
+            read_keyword("null");
+            break;
+        case EOF:
+            error("unexpected end of input in a container");
+        default:
+            expected("a JSON value", c);
+        }
+    }
+
+    //=========================================================================
+    // Errors
+
+    private void expected(String expected, int c)
+    {
+        String found = (c == EOF)
+            ? "end of input"
+            : printCodePointAsString(c);
+        error("expected " + expected + " but found " + found);
+    }
+
+    private void error(String reason)
+    {
+        long offset = _stream.getPosition() - _line_start;
+        String message =
+            "Syntax error at line " + _line + " offset " + offset
+            + ": " + reason + " (this reader only accepts JSON)";
+        throw new IonReaderTextParsingException(message);
+    }
+
+    //=========================================================================
+    // Value access
+
+    public IonType getType()
+    {
+        return _value_type;
+    }
+
+    public IntegerSize getIntegerSize()
+    {
+        if (_value_type != IonType.INT) {
+            return null;
+        }
+        load_scalar_value();
+        return PrivateScalarConversions.getIntegerSize(_v.getAuthoritativeType());
+    }
+
+    public SymbolTable getSymbolTable()
+    {
+        return _system_symtab;
+    }
+
+    public String[] getTypeAnnotations()
+    {
+        return PrivateUtils.EMPTY_STRING_ARRAY;
+    }
+
+    public SymbolToken[] getTypeAnnotationSymbols()
+    {
+        return SymbolToken.EMPTY_ARRAY;
+    }
+
+    public Iterator<String> iterateTypeAnnotations()
+    {
+        return PrivateUtils.<String>emptyIterator();
+    }
+
+    public int getFieldId()
+    {
+        return SymbolTable.UNKNOWN_SYMBOL_ID;
+    }
+
+    public String getFieldName()
+    {
+        return _field_name;
+    }
+
+    public SymbolToken getFieldNameSymbol()
+    {
+        if (_field_name == null) return null;
+        return PrivateUtils.newSymbolToken(_field_name, SymbolTable.UNKNOWN_SYMBOL_ID);
+    }
+
+    public boolean isNullValue()
+    {
+        return _value_type == IonType.NULL;
+    }
+
+    /**
+     * Converts the current scalar's text into its value, if that hasn't
+     * been done yet, then casts it to the requested type.
+     */
+    private void load_or_cast_value(int value_type)
+    {
+        load_scalar_value();
+        if (!_v.hasValueOfType(value_type) && !_v.isNull()) {
+            if (!_v.can_convert(value_type)) {
+                String message = "can't cast from "
+                    + getValueTypeName(_v.getAuthoritativeType())
+                    + " to "
+                    + getValueTypeName(value_type);
+                throw new CantConvertException(message);
+            }
+            _v.cast(_v.get_conversion_fnid(value_type));
+        }
+    }
+
+    private void load_scalar_value()
+    {
+        if (!_v.isEmpty()) {
+            return;
+        }
+        if (_value_type == null || IonType.isContainer(_value_type)) {
+            throw new IllegalStateException("not positioned on a scalar value");
+        }
+        try {
+            switch (_value_type) {
+            case INT:
+                TextNumberParser.loadInteger(_text, 10, _v);
+                break;
+            case DECIMAL:
+                _v.setValue(TextNumberParser.parseDecimal(_text));
+                break;
+            case FLOAT:
+                _v.setValue(TextNumberParser.parseDouble(_text));
+                break;
+            case STRING:
+                _text.setLength(0);
+                _value_pending = false;
+                load_string_contents();
+                _v.setValue(_text.toString());
+                break;
+            default:
+                throw new IllegalStateException();
+            }
+        }
+        catch (NumberFormatException e) {
+            error(e.getMessage());
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    private void check_numeric()
+    {
+        if (_value_type != IonType.INT &&
+            _value_type != IonType.DECIMAL &&
+            _value_type != IonType.FLOAT)
+        {
+            throw new IllegalStateException();
+        }
+    }
+
+    public boolean booleanValue()
+    {
+        if (_value_type != IonType.BOOL) throw new IllegalStateException();
+        return _v.getBoolean();
+    }
+
+    public int intValue()
+    {
+        check_numeric();
+        load_or_cast_value(AS_TYPE.int_value);
+        return _v.getInt();
+    }
+
+    public long longValue()
+    {
+        check_numeric();
+        load_or_cast_value(AS_TYPE.long_value);
+        return _v.getLong();
+    }
+
+    public BigInteger bigIntegerValue()
+    {
+        check_numeric();
+        load_or_cast_value(AS_TYPE.bigInteger_value);
+        return _v.getBigInteger();
+    }
+
+    public double doubleValue()
+    {
+        check_numeric();
+        load_or_cast_value(AS_TYPE.double_value);
+        return _v.getDouble();
+    }
+
+    public BigDecimal bigDecimalValue()
+    {
+        check_numeric();
+        load_or_cast_value(AS_TYPE.decimal_value);
+        return _v.getBigDecimal();
+    }
+
+    public Decimal decimalValue()
+    {
+        check_numeric();
+        load_or_cast_value(AS_TYPE.decimal_value);
+        return _v.getDecimal();
+    }
+
+    public Date dateValue()
+    {
+        throw new IllegalStateException("JSON has no timestamps");
+    }
+
+    public Timestamp timestampValue()
+    {
+        throw new IllegalStateException("JSON has no timestamps");
+    }
+
+    public String stringValue()
+    {
+        if (_value_type == IonType.NULL) return null;
+        if (_value_type != IonType.STRING) throw new IllegalStateException();
+        load_scalar_value();
+        return _v.getString();
+    }
+
+    public SymbolToken symbolValue()
+    {
+        throw new IllegalStateException("JSON has no symbols");
+    }
+
+    public int byteSize()
+    {
+        throw new IllegalStateException("JSON has no lobs");
+    }
+
+    public byte[] newBytes()
+    {
+        throw new IllegalStateException("JSON has no lobs");
+    }
+
+    public int getBytes(byte[] buffer, int offset, int len)
+    {
+        throw new IllegalStateException("JSON has no lobs");
+    }
+}
@@ -20,6 +20,7 @@ import static software.amazon.ion.impl.IonTokenConstsX.CharacterSequence.CHAR_SE
 import static software.amazon.ion.impl.IonTokenConstsX.CharacterSequence.CHAR_SEQ_NEWLINE_SEQUENCE_1;
 import static software.amazon.ion.impl.IonTokenConstsX.CharacterSequence.CHAR_SEQ_NEWLINE_SEQUENCE_2;
 import static software.amazon.ion.impl.IonTokenConstsX.CharacterSequence.CHAR_SEQ_NEWLINE_SEQUENCE_3;
+import static software.amazon.ion.impl.PrivateUtils.ASCII_CHARSET;
 import static software.amazon.ion.util.IonTextUtils.printCodePointAsString;
 
 import java.io.IOException;
@@ -106,6 +107,9 @@ final class IonReaderTextRawTokensX
      */
     private int                 _base64_prefetch_stack;
 
+    /** Pending closing brackets while skipping containers; see skip_over_container. */
+    private byte[]              _skip_closers = new byte[16];
+
 
     /**
      * IonTokenReader constructor requires a UnifiedInputStream
@@ -1205,21 +1209,36 @@ final class IonReaderTextRawTokensX
     {
         skip_over_container(')');
     }
+    /**
+     * Skips to just past the close of the current container, whose opening
+     * bracket has been consumed.
+     * <p>
+     * This doesn't tokenize the contents: it only follows brackets, quotes,
+     * escapes and comments, enough to find the matching close, and never
+     * recurses, so nesting depth doesn't matter. A closing bracket that
+     * doesn't match the innermost open container is passed over.
+     */
     private void skip_over_container(int terminator) throws IOException
     {
         assert( terminator == '}' || terminator == ']' || terminator == ')' );
-        int c;
+
+        // The closers we're waiting for, innermost last.
+        byte[] closers = _skip_closers;
+        int depth = 0;
+        closers[depth++] = (byte) terminator;
 
         for (;;) {
-            c = skip_over_whitespace();
+            int c = read_char();
             switch (c) {
             case -1:
                 unexpected_eof();
             case '}':
             case ']':
             case ')':
-                if (c == terminator) { // no point is checking this on every char
-                    return;
+                if (c == closers[depth - 1]) {
+                    if (--depth == 0) {
+                        return;
+                    }
                 }
                 break;
             case '"':
@@ -1234,56 +1253,76 @@ final class IonReaderTextRawTokensX
                     unread_char(c);
                 }
                 break;
-            case '(':
-                skip_over_container(')');
+            case '/':
+                c = read_char();
+                if (c == '/') {
+                    skip_single_line_comment();
+                }
+                else if (c == '*') {
+                    skip_block_comment();
+                }
+                else {
+                    unread_char(c);
+                }
                 break;
+            case '(':
             case '[':
-                skip_over_container(']');
-                break;
             case '{':
-                // this consumes lobs as well since the double
-                // braces count correctly and the contents
-                // of either clobs or blobs will be just content
-                c = read_char();
                 if (c == '{') {
-                    // 2nd '{' - it's a lob of some sort - let's find out what sort
-                    c = skip_over_lob_whitespace();
-
-                    int lobType;
-                    if (c == '"') {
-                        // clob, double quoted
-                        lobType = IonTokenConstsX.TOKEN_STRING_DOUBLE_QUOTE;
-                    }
-                    else if (c == '\'') {
-                        // clob, triple quoted - or error
-                        if (!is_2_single_quotes_helper()) {
-                            error("invalid single quote in lob content");
-                        }
-                        lobType = IonTokenConstsX.TOKEN_STRING_TRIPLE_QUOTE;
-                    }
-                    else {
-                        // blob
-                        unread_char(c);
-                        lobType = IonTokenConstsX.TOKEN_OPEN_DOUBLE_BRACE;
+                    c = read_char();
+                    if (c == '{') {
+                        skip_over_lob_contents();
+                        break;
                     }
-
-                    skip_over_lob(lobType, null);
-                }
-                else if (c == '}') {
-                    // do nothing, we just opened and closed an empty struct
-                    // move on, there's nothing to see here ...
-                }
-                else {
                     unread_char(c);
-                    skip_over_container('}');
+                    c = '{';
                 }
+                if (depth == closers.length) {
+                    byte[] grown = new byte[depth * 2];
+                    System.arraycopy(closers, 0, grown, 0, depth);
+                    _skip_closers = closers = grown;
+                }
+                closers[depth++] = (byte) (c == '(' ? ')' : c + 2);
                 break;
             default:
+                // the rest of this token, and any whitespace after it,
+                // can't open or close anything
+                _stream.skipToStructural();
                 break;
             }
         }
     }
 
+    /**
+     * Skips a blob or clob whose opening double brace has been consumed.
+     * The contents of either are just content as far as brackets are
+     * concerned, but a clob's strings may contain anything.
+     */
+    private void skip_over_lob_contents() throws IOException
+    {
+        int c = skip_over_lob_whitespace();
+
+        int lobType;
+        if (c == '"') {
+            // clob, double quoted
+            lobType = IonTokenConstsX.TOKEN_STRING_DOUBLE_QUOTE;
+        }
+        else if (c == '\'') {
+            // clob, triple quoted - or error
+            if (!is_2_single_quotes_helper()) {
+                error("invalid single quote in lob content");
+            }
+            lobType = IonTokenConstsX.TOKEN_STRING_TRIPLE_QUOTE;
+        }
+        else {
+            // blob
+            unread_char(c);
+            lobType = IonTokenConstsX.TOKEN_OPEN_DOUBLE_BRACE;
+        }
+
+        skip_over_lob(lobType, null);
+    }
+
     private int skip_over_number(SavePoint sp) throws IOException
     {
         int c = read_char();
@@ -1850,6 +1889,40 @@ final class IonReaderTextRawTokensX
         return c;
     }
 
+    /**
+     * Reads an identifier straight into a String, if it's entirely within
+     * the input that's already in memory.  Identifiers are always ASCII,
+     * so this only has to find where the identifier ends.
+     *
+     * @return the identifier; or null, having consumed nothing, if its end
+     * isn't in the current page of input.
+     */
+    protected final String load_ascii_symbol_identifier()
+    {
+        UnifiedInputStreamX stream = _stream;
+        int start = stream._pos;
+        int limit = stream._limit;
+        if (stream._is_byte_data) {
+            byte[] bytes = stream._bytes;
+            for (int pos = start; pos < limit; pos++) {
+                if (!IonTokenConstsX.isValidSymbolCharacter(bytes[pos] & 0xff)) {
+                    stream._pos = pos;
+                    return new String(bytes, start, pos - start, ASCII_CHARSET);
+                }
+            }
+        }
+        else {
+            char[] chars = stream._chars;
+            for (int pos = start; pos < limit; pos++) {
+                if (!IonTokenConstsX.isValidSymbolCharacter(chars[pos])) {
+                    stream._pos = pos;
+                    return new String(chars, start, pos - start);
+                }
+            }
+        }
+        return null;
+    }
+
     protected void load_symbol_identifier(StringBuilder sb) throws IOException
     {
         int c = read_char();
@@ -1916,6 +1989,7 @@ final class IonReaderTextRawTokensX
         // quoted symbol
 
         for (;;) {
+            _stream.skipToStructural();
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1: unexpected_eof();
@@ -1997,6 +2071,7 @@ final class IonReaderTextRawTokensX
     {
         int c;
         for (;;) {
+            _stream.skipToStructural();
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1:
@@ -2015,6 +2090,50 @@ final class IonReaderTextRawTokensX
         }
     }
 
+    /**
+     * Reads the rest of a double-quoted string straight into a String, if
+     * it's all printable ASCII without escapes and its closing quote is
+     * within the input that's already in memory.  Such strings need none of
+     * the decoding, escape or newline handling of
+     * {@link #load_double_quoted_string}.
+     *
+     * @return the string's content, having consumed the closing quote; or
+     * null, having consumed nothing, if the string isn't that simple.
+     */
+    protected final String load_ascii_double_quoted_string()
+    {
+        UnifiedInputStreamX stream = _stream;
+        int start = stream._pos;
+        int limit = stream._limit;
+        if (stream._is_byte_data) {
+            byte[] bytes = stream._bytes;
+            for (int pos = start; pos < limit; pos++) {
+                int c = bytes[pos];  // negative for all non-ASCII bytes
+                if (c == '"') {
+                    stream._pos = pos + 1;
+                    return new String(bytes, start, pos - start, ASCII_CHARSET);
+                }
+                if (c < 0x20 || c == '\\') {
+                    return null;
+                }
+            }
+        }
+        else {
+            char[] chars = stream._chars;
+            for (int pos = start; pos < limit; pos++) {
+                char c = chars[pos];
+                if (c == '"') {
+                    stream._pos = pos + 1;
+                    return new String(chars, start, pos - start);
+                }
+                if (c < 0x20 || c >= 0x80 || c == '\\') {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
     protected int load_double_quoted_string(StringBuilder sb, boolean is_clob)
         throws IOException
     {
@@ -2133,6 +2252,7 @@ final class IonReaderTextRawTokensX
         // starts AFTER the 3 quotes have been consumed
         int c;
         for (;;) {
+            _stream.skipToStructural();
             c = read_char();
             switch (c) {
             case -1:
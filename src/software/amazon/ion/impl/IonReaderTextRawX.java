@@ -278,6 +278,11 @@ abstract class IonReaderTextRawX
     SavePoint           _current_value_save_point;
     boolean             _current_value_buffer_loaded;
     StringBuilder       _current_value_buffer;
+    /**
+     * The current token's text when it was read directly into a String,
+     * in which case {@link #_current_value_buffer} is still empty.
+     */
+    String              _current_value_string;
 
     ValueVariant        _v = new ValueVariant();
 
@@ -372,6 +377,20 @@ abstract class IonReaderTextRawX
         }
     }
 
+    /**
+     * Re-initializes this reader to read the given stream from its start,
+     * as if it had just been constructed over it.
+     */
+    protected final void reset_raw(UnifiedInputStreamX iis)
+    {
+        clear_current_value_buffer();
+        _v.clear();
+        // hand the save point back so that re_init() can reuse it
+        _current_value_save_point.free();
+        re_init(iis, IonType.DATAGRAM, 1, 1);
+        _nesting_parent = null;
+    }
+
     public void close()
         throws IOException
     {
@@ -392,6 +411,7 @@ abstract class IonReaderTextRawX
     protected final void clear_current_value_buffer() {
         if (_current_value_buffer_loaded) {
             _current_value_buffer.setLength(0);
+            _current_value_string = null;
             _current_value_buffer_loaded = false;
         }
         if (_current_value_save_point_loaded) {
@@ -487,7 +507,7 @@ abstract class IonReaderTextRawX
         }
         if (_value_type == null && _scanner.isUnfinishedToken()) {
             try {
-                token_contents_load(_scanner.getToken());
+                load_token_contents(_scanner.getToken());
             }
             catch (IOException e) {
                 throw new IonException(e);
@@ -733,7 +753,7 @@ abstract class IonReaderTextRawX
 
 
     private final SymbolToken parseSymbolToken(String context,
-                                                  StringBuilder sb,
+                                                  CharSequence image,
                                                   int t)
         throws IOException
     {
@@ -741,7 +761,7 @@ abstract class IonReaderTextRawX
         int sid;
 
         if (t == IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER) {
-            int kw = IonTokenConstsX.keyword(sb, 0, sb.length());
+            int kw = IonTokenConstsX.keyword(image, 0, image.length());
             switch (kw) {
                 case IonTokenConstsX.KEYWORD_FALSE:
                 case IonTokenConstsX.KEYWORD_TRUE:
@@ -750,20 +770,20 @@ abstract class IonReaderTextRawX
                     // keywords are not ok unless they're quoted
                     String reason =
                     "Cannot use unquoted keyword " +
-                        sb.toString() + " as " + context;
+                        image.toString() + " as " + context;
                     parse_error(reason);
                 case IonTokenConstsX.KEYWORD_sid:
                     text = null;
-                    sid = IonTokenConstsX.decodeSid(sb);
+                    sid = IonTokenConstsX.decodeSid(image);
                     break;
                 default:
-                    text = sb.toString();
+                    text = image.toString();
                     sid = UNKNOWN_SYMBOL_ID;
                     break;
             }
         }
         else {
-            text = sb.toString();
+            text = image.toString();
             sid = UNKNOWN_SYMBOL_ID;
         }
 
@@ -776,7 +796,7 @@ abstract class IonReaderTextRawX
         int t;
         int action, temp_state;
         boolean trailing_whitespace = false;  // TODO: there's a better way to do this
-        StringBuilder sb;
+        CharSequence  text;
 
         // FIXME: check depth and type before doing anything further
         //        if we're on a collection and at the correct depth
@@ -852,9 +872,9 @@ abstract class IonReaderTextRawX
                 //finish_value(_current_value_save_point);
                 finish_and_save_value();
 
-                sb = token_contents_load(t);
+                text = token_contents_string(t);
 
-                SymbolToken sym = parseSymbolToken("a field name", sb, t);
+                SymbolToken sym = parseSymbolToken("a field name", text, t);
                 set_fieldname(sym);
                 clear_current_value_buffer();
 
@@ -871,7 +891,7 @@ abstract class IonReaderTextRawX
             }
             case ACTION_LOAD_ANNOTATION:
             {
-                sb = token_contents_load(t);
+                text = token_contents_string(t);
 
                 trailing_whitespace = _scanner.skip_whitespace();
                 if (!_scanner.skipDoubleColon()) {
@@ -885,7 +905,7 @@ abstract class IonReaderTextRawX
                 }
 
                 // We have an annotation!
-                SymbolToken sym = parseSymbolToken("an annotation", sb, t);
+                SymbolToken sym = parseSymbolToken("an annotation", text, t);
                 append_annotation(sym);
                 clear_current_value_buffer();
 
@@ -943,8 +963,8 @@ abstract class IonReaderTextRawX
                 return;
             case ACTION_LOAD_SCALAR:
                 if (t == IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER) {
-                    sb = token_contents_load(t);
-                    _value_keyword = IonTokenConstsX.keyword(sb, 0, sb.length());
+                    text = token_contents_string(t);
+                    _value_keyword = IonTokenConstsX.keyword(text, 0, text.length());
                     switch (_value_keyword) {
                     case IonTokenConstsX.KEYWORD_NULL:
                     {
@@ -988,7 +1008,7 @@ abstract class IonReaderTextRawX
                         break;
                     case IonTokenConstsX.KEYWORD_sid:
                     {
-                        int sid = IonTokenConstsX.decodeSid(sb);
+                        int sid = IonTokenConstsX.decodeSid(text);
                         _v.setValue(sid);
                         _v.setAuthoritativeType(AS_TYPE.int_value);
                     }
@@ -1064,14 +1084,43 @@ abstract class IonReaderTextRawX
         }
     }
 
+    /**
+     * Loads the contents of the current token into the value buffer.
+     */
     protected final StringBuilder token_contents_load(int token_type) throws IOException
+    {
+        load_token_contents(token_type);
+        StringBuilder sb = _current_value_buffer;
+        if (_current_value_string != null) {
+            // the caller wants to work on the characters
+            sb.append(_current_value_string);
+            _current_value_string = null;
+        }
+        return sb;
+    }
+
+    /**
+     * Loads the contents of the current token as a String.  Short strings
+     * and identifiers that are entirely ASCII are read straight from the
+     * input into the String, without going through the value buffer.
+     */
+    protected final String token_contents_string(int token_type) throws IOException
+    {
+        load_token_contents(token_type);
+        if (_current_value_string != null) {
+            return _current_value_string;
+        }
+        return _current_value_buffer.toString();
+    }
+
+    private final void load_token_contents(int token_type) throws IOException
     {
         StringBuilder sb = _current_value_buffer;
         boolean       clob_chars_only;
         int           c;
 
         if (_current_value_buffer_loaded) {
-            return sb;
+            return;
         }
         else if (_current_value_save_point_loaded) {
             assert(!_scanner.isUnfinishedToken() && !_current_value_save_point.isClear());
@@ -1122,7 +1171,10 @@ abstract class IonReaderTextRawX
                 _value_type = _scanner.load_number(sb);
                 break;
             case IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER:
-                _scanner.load_symbol_identifier(sb);
+                _current_value_string = _scanner.load_ascii_symbol_identifier();
+                if (_current_value_string == null) {
+                    _scanner.load_symbol_identifier(sb);
+                }
                 _value_type = IonType.SYMBOL;
                 break;
             case IonTokenConstsX.TOKEN_SYMBOL_OPERATOR:
@@ -1141,6 +1193,13 @@ abstract class IonReaderTextRawX
                 break;
             case IonTokenConstsX.TOKEN_STRING_DOUBLE_QUOTE:
                 clob_chars_only = (IonType.CLOB == _value_type);
+                if (!clob_chars_only) {
+                    _current_value_string = _scanner.load_ascii_double_quoted_string();
+                    if (_current_value_string != null) {
+                        _value_type = IonType.STRING;
+                        break;
+                    }
+                }
                 c = _scanner.load_double_quoted_string(sb, clob_chars_only);
                 if (c == UnifiedInputStreamX.EOF) {
                     // String message = "EOF encountered before closing single quote";
@@ -1170,7 +1229,6 @@ abstract class IonReaderTextRawX
             _current_value_buffer_loaded = true;
             tokenValueIsFinished();
         }
-        return sb;
     }
 
     /**
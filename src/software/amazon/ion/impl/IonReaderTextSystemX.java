@@ -113,95 +113,6 @@ class IonReaderTextSystemX
         }
     }
 
-    enum Radix
-    {
-        DECIMAL
-        {
-
-            @Override
-            boolean isInt(String image, int len)
-            {
-                return valueWithinBounds(image, len, MIN_INT_IMAGE, MAX_INT_IMAGE);
-            }
-
-            @Override
-            boolean isLong(String image, int len)
-            {
-                return valueWithinBounds(image, len, MIN_LONG_IMAGE, MAX_LONG_IMAGE);
-            }
-
-        },
-        HEX
-        {
-
-            @Override
-            boolean isInt(String image, int len)
-            {
-                return valueWithinBounds(image, len, MIN_HEX_INT_IMAGE, MAX_HEX_INT_IMAGE);
-            }
-
-            @Override
-            boolean isLong(String image, int len)
-            {
-                return valueWithinBounds(image, len, MIN_HEX_LONG_IMAGE, MAX_HEX_LONG_IMAGE);
-            }
-
-        },
-        BINARY
-        {
-
-            @Override
-            boolean isInt(String image, int len)
-            {
-                return valueWithinBounds(image, len, MIN_BINARY_INT_IMAGE, MAX_BINARY_INT_IMAGE);
-            }
-
-            @Override
-            boolean isLong(String image, int len)
-            {
-                return valueWithinBounds(image, len, MIN_BINARY_LONG_IMAGE, MAX_BINARY_LONG_IMAGE);
-            }
-
-        };
-
-        private static final char[] MAX_INT_IMAGE = Integer.toString(Integer.MAX_VALUE).toCharArray();
-        private static final char[] MIN_INT_IMAGE = Integer.toString(Integer.MIN_VALUE).toCharArray();
-        private static final char[] MAX_LONG_IMAGE = Long.toString(Long.MAX_VALUE).toCharArray();
-        private static final char[] MIN_LONG_IMAGE = Long.toString(Long.MIN_VALUE).toCharArray();
-        private static final char[] MAX_BINARY_INT_IMAGE = Integer.toBinaryString(Integer.MAX_VALUE).toCharArray();
-        private static final char[] MIN_BINARY_INT_IMAGE = ("-" + Integer.toBinaryString(Integer.MIN_VALUE)).toCharArray();
-        private static final char[] MAX_BINARY_LONG_IMAGE = Long.toBinaryString(Long.MAX_VALUE).toCharArray();
-        private static final char[] MIN_BINARY_LONG_IMAGE = ("-" + Long.toBinaryString(Long.MIN_VALUE)).toCharArray();
-        private static final char[] MAX_HEX_INT_IMAGE = Integer.toHexString(Integer.MAX_VALUE).toCharArray();
-        private static final char[] MIN_HEX_INT_IMAGE = ("-" + Integer.toHexString(Integer.MIN_VALUE)).toCharArray();
-        private static final char[] MAX_HEX_LONG_IMAGE = Long.toHexString(Long.MAX_VALUE).toCharArray();
-        private static final char[] MIN_HEX_LONG_IMAGE = ("-" + Long.toHexString(Long.MIN_VALUE)).toCharArray();
-
-        abstract boolean isInt(String image, int len);
-        abstract boolean isLong(String image, int len);
-
-        private static boolean valueWithinBounds(String value, int len, char[] minImage, char[] maxImage)
-        {
-            boolean negative = value.charAt(0) == '-';
-            char[] boundaryImage = negative ? minImage : maxImage;
-            int maxImageLength = boundaryImage.length;
-            return len < maxImageLength || (len == maxImageLength && magnitudeLessThanOrEqualTo(value, len, boundaryImage));
-        }
-
-        private static boolean magnitudeLessThanOrEqualTo(String lhs, int lhsLen, char[] rhs)
-        {
-            assert lhsLen == rhs.length;
-            for (int i = lhsLen - 1; i >= 0; i--)
-            {
-                if (lhs.charAt(i) > rhs[i])
-                {
-                    return false;
-                }
-            }
-            return true;
-        }
-    }
-
     private final void load_scalar_value() throws IOException {
         // make sure we're trying to load a scalar value here
         switch(_value_type) {
@@ -221,132 +132,37 @@ class IonReaderTextSystemX
             return;
         }
 
-        StringBuilder cs = token_contents_load(_scanner.getToken());
-
         int token_type = _scanner.getToken();
 
-        if (_value_type == IonType.DECIMAL) {
-            // we do this here (instead of in the case below
-            // so that we can modify the value while it's not
-            // a string, but still in the StringBuilder
-            for (int ii=0; ii<cs.length(); ii++) {
-                int c = cs.charAt(ii);
-                if (c == 'd' || c == 'D') {
-                    cs.setCharAt(ii, 'e');
-                    break;
-                }
-            }
-        } else if (token_type == IonTokenConstsX.TOKEN_HEX || token_type == IonTokenConstsX.TOKEN_BINARY) {
-            boolean isNegative = (cs.charAt(0) == '-');
-            // prefix = is_negative ? "-0x" : "0x";
-            int pos = isNegative ? 1 : 0;
-            char caseChar = token_type == IonTokenConstsX.TOKEN_HEX ? 'x' : 'b';
-            if (cs.length() <= (isNegative ? 3 : 2) || Character.toLowerCase(cs.charAt(pos + 1)) != caseChar) {
-                parse_error("Invalid " + (caseChar == 'x' ? "hexadecimal" : "binary") + " int value.");
-            }
-            cs.deleteCharAt(pos);
-            cs.deleteCharAt(pos);
-        }
-
-
-        int          len = cs.length();
-        String       s  = cs.toString();
-
-        clear_current_value_buffer();
-
         switch (token_type) {
         case IonTokenConstsX.TOKEN_UNKNOWN_NUMERIC:
-            switch (_value_type) {
-            case INT:
-                if (Radix.DECIMAL.isInt(s, len)) {
-                    _v.setValue(Integer.parseInt(s));
-                }
-                else if (Radix.DECIMAL.isLong(s, len)) {
-                    _v.setValue(Long.parseLong(s));
-                }
-                else {
-                    _v.setValue(new BigInteger(s));
-                }
+            if (_value_type == IonType.TIMESTAMP) {
                 break;
-            case DECIMAL:
-                // note that the string was modified above when it was a charsequence
-                try {
-                _v.setValue(Decimal.valueOf(s));
-                }
-                catch (NumberFormatException e) {
-                    parse_error(e);
-                }
-                break;
-            case FLOAT:
-                try {
-                    _v.setValue(Double.parseDouble(s));
-                }
-                catch (NumberFormatException e) {
-                    parse_error(e);
-                }
-                break;
-            case TIMESTAMP:
-                _v.setValue(Timestamp.valueOf(s));
-                break;
-            default:
-                String message = "unexpected prefectched value type "
-                               + getType().toString()
-                               + " encountered handling an unquoted symbol";
-                parse_error(message);
             }
-            break;
+            // fall through
         case IonTokenConstsX.TOKEN_INT:
-            if (Radix.DECIMAL.isInt(s, len)) {
-                _v.setValue(Integer.parseInt(s));
-            }
-            else if (Radix.DECIMAL.isLong(s, len)) {
-                _v.setValue(Long.parseLong(s));
-            }
-            else {
-                _v.setValue(new BigInteger(s));
-            }
-            break;
         case IonTokenConstsX.TOKEN_BINARY:
-            if (Radix.BINARY.isInt(s, len)) {
-                _v.setValue(Integer.parseInt(s, 2));
-            }
-            else if (Radix.BINARY.isLong(s, len)) {
-                _v.setValue(Long.parseLong(s, 2));
-            }
-            else {
-                _v.setValue(new BigInteger(s, 2));
-            }
-            break;
         case IonTokenConstsX.TOKEN_HEX:
-            if (Radix.HEX.isInt(s, len)) {
-                int v_int = Integer.parseInt(s, 16);
-                _v.setValue(v_int);
-            }
-            else if (Radix.HEX.isLong(s, len)) {
-                long v_long = Long.parseLong(s, 16);
-                _v.setValue(v_long);
-            }
-            else {
-                BigInteger v_big_int = new BigInteger(s, 16);
-                _v.setValue(v_big_int);
-            }
-            break;
         case IonTokenConstsX.TOKEN_DECIMAL:
-            try {
-            _v.setValue(Decimal.valueOf(s));
-            }
-            catch (NumberFormatException e) {
-                parse_error(e);
-            }
-            break;
         case IonTokenConstsX.TOKEN_FLOAT:
-            try {
-                _v.setValue(Double.parseDouble(s));
-            }
-            catch (NumberFormatException e) {
-                parse_error(e);
-            }
+            // numbers are converted straight from the token's characters,
+            // so no String is made unless the value overflows a long
+            load_numeric_value(token_contents_load(token_type), token_type);
+            clear_current_value_buffer();
+            return;
+        default:
+            break;
+        }
+
+        // short strings and identifiers may be read directly into a String
+        String       s  = token_contents_string(token_type);
 
+        clear_current_value_buffer();
+
+        switch (token_type) {
+        case IonTokenConstsX.TOKEN_UNKNOWN_NUMERIC:
+            // only timestamps reach this point
+            _v.setValue(Timestamp.valueOf(s));
             break;
         case IonTokenConstsX.TOKEN_TIMESTAMP:
             Timestamp t = null;
@@ -428,6 +244,93 @@ class IonReaderTextSystemX
             parse_error("scalar token "+IonTokenConstsX.getTokenName(_scanner.getToken())+"isn't a recognized type");
         }
     }
+
+    /**
+     * converts the characters of a numeric token into the value,
+     * first removing any radix prefix and changing any 'd' exponent to 'e'
+     */
+    private final void load_numeric_value(StringBuilder cs, int token_type)
+    {
+        if (_value_type == IonType.DECIMAL) {
+            // we do this here so that we can modify the value
+            // while it's still in the StringBuilder
+            for (int ii=0; ii<cs.length(); ii++) {
+                int c = cs.charAt(ii);
+                if (c == 'd' || c == 'D') {
+                    cs.setCharAt(ii, 'e');
+                    break;
+                }
+            }
+        } else if (token_type == IonTokenConstsX.TOKEN_HEX || token_type == IonTokenConstsX.TOKEN_BINARY) {
+            boolean isNegative = (cs.charAt(0) == '-');
+            // prefix = is_negative ? "-0x" : "0x";
+            int pos = isNegative ? 1 : 0;
+            char caseChar = token_type == IonTokenConstsX.TOKEN_HEX ? 'x' : 'b';
+            if (cs.length() <= (isNegative ? 3 : 2) || Character.toLowerCase(cs.charAt(pos + 1)) != caseChar) {
+                parse_error("Invalid " + (caseChar == 'x' ? "hexadecimal" : "binary") + " int value.");
+            }
+            cs.deleteCharAt(pos);
+            cs.deleteCharAt(pos);
+        }
+
+        int radix = 10;
+        switch (token_type) {
+        case IonTokenConstsX.TOKEN_UNKNOWN_NUMERIC:
+            switch (_value_type) {
+            case INT:
+                TextNumberParser.loadInteger(cs, 10, _v);
+                return;
+            case DECIMAL:
+                load_decimal_value(cs);
+                return;
+            case FLOAT:
+                load_float_value(cs);
+                return;
+            default:
+                String message = "unexpected prefectched value type "
+                               + getType().toString()
+                               + " encountered handling an unquoted symbol";
+                parse_error(message);
+            }
+            return;
+        case IonTokenConstsX.TOKEN_DECIMAL:
+            load_decimal_value(cs);
+            return;
+        case IonTokenConstsX.TOKEN_FLOAT:
+            load_float_value(cs);
+            return;
+        case IonTokenConstsX.TOKEN_BINARY:
+            radix = 2;
+            break;
+        case IonTokenConstsX.TOKEN_HEX:
+            radix = 16;
+            break;
+        default:
+            break;
+        }
+        TextNumberParser.loadInteger(cs, radix, _v);
+    }
+
+    private final void load_decimal_value(StringBuilder cs)
+    {
+        try {
+            _v.setValue(TextNumberParser.parseDecimal(cs));
+        }
+        catch (NumberFormatException e) {
+            parse_error(e);
+        }
+    }
+
+    private final void load_float_value(StringBuilder cs)
+    {
+        try {
+            _v.setValue(TextNumberParser.parseDouble(cs));
+        }
+        catch (NumberFormatException e) {
+            parse_error(e);
+        }
+    }
+
     private final void cast_cached_value(int new_type)
     {
         // this should only be called when it actually has to do some work
@@ -21,6 +21,7 @@ import java.util.regex.Pattern;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonType;
 import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.ResettableReader;
 import software.amazon.ion.SeekableReader;
 import software.amazon.ion.Span;
 import software.amazon.ion.SpanProvider;
@@ -29,6 +30,7 @@ import software.amazon.ion.SymbolToken;
 import software.amazon.ion.TextSpan;
 import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.UnsupportedIonVersionException;
+import software.amazon.ion.util.IonStreamUtils;
 
 /**
  *    The text user reader add support for symbols and recognizes,
@@ -61,7 +63,7 @@ class IonReaderTextUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final PrivateLocalSymbolTableFactory _lstFactory;
 
     // IonSystem   _system; now in IonReaderTextSystemX where it could be null
@@ -168,6 +170,27 @@ class IonReaderTextUserX
         return (_eof != true);
     }
 
+    /**
+     * Re-points this reader, which must be reading a byte array, at the
+     * given bytes, as if it had just been created over them.
+     */
+    final void reset(byte[] bytes, int offset, int length)
+    {
+        if (IonStreamUtils.isGzip(bytes, offset, length)
+            || IonStreamUtils.isIonBinary(bytes, offset, length))
+        {
+            throw new IllegalArgumentException("A text reader can only be reset to text data");
+        }
+
+        UnifiedInputStreamX iis = _scanner.getSourceStream();
+        ((UnifiedInputStreamX.FromByteArray) iis).reset(bytes, offset, length);
+        _physical_start_offset = offset;
+        reset_raw(iis);
+
+        clear_system_value_stack();
+        _symbols = _system_symtab;
+    }
+
     private static boolean isIonVersionMarker(String text)
     {
         return text != null && ION_VERSION_MARKER_REGEX.matcher(text).matches();
@@ -408,6 +431,12 @@ class IonReaderTextUserX
             return facetType.cast(new SeekableReaderFacet());
         }
 
+        if (facetType == ResettableReader.class
+            && _scanner.getSourceStream() instanceof UnifiedInputStreamX.FromByteArray)
+        {
+            return facetType.cast(new ResettableReaderFacet());
+        }
+
         return super.asFacet(facetType);
     }
 
@@ -431,4 +460,14 @@ class IonReaderTextUserX
             hoistImpl(span);
         }
     }
+
+
+    private final class ResettableReaderFacet
+        implements ResettableReader
+    {
+        public void reset(byte[] data, int offset, int length)
+        {
+            IonReaderTextUserX.this.reset(data, offset, length);
+        }
+    }
 }
@@ -14,6 +14,8 @@
 
 package software.amazon.ion.impl;
 
+import static software.amazon.ion.impl.PrivateIonConstants.isHighSurrogate;
+import static software.amazon.ion.impl.PrivateIonConstants.isLowSurrogate;
 import static software.amazon.ion.impl.PrivateIonConstants.makeUnicodeScalar;
 
 import java.io.Closeable;
@@ -25,11 +27,15 @@ import software.amazon.ion.util.PrivateFastAppendable;
 /**
  * Adapts an {@link OutputStream} to implement {@link PrivateFastAppendable}.
  * <b>This always outputs UTF-8!</b>
+ * <p>
+ * Text is encoded into a reusable byte buffer that's written to the stream
+ * in large chunks.  {@link #append(CharSequence, int, int)} encodes a whole
+ * run of text at once, copying ASCII characters straight across.
  */
 final class OutputStreamFastAppendable
     implements PrivateFastAppendable, Closeable, Flushable
 {
-    private static final int MAX_BYTES_LEN = 4096;
+    private static final int MAX_BYTES_LEN = 32 * 1024;
 
     private final OutputStream _out;
 
@@ -68,11 +74,48 @@ final class OutputStreamFastAppendable
         return this;
     }
 
+    /**
+     * Encodes a run of text to UTF-8.  Surrogate pairs are encoded as the
+     * code points they represent, while any unpaired surrogate is encoded
+     * on its own, as {@link #appendUtf16(char)} does.
+     */
     public Appendable append(CharSequence csq, int start, int end)
         throws IOException
     {
-        for (int ii = start; ii < end; ++ii) {
-            append(csq.charAt(ii));
+        final byte[] buffer = _byteBuffer;
+        int ii = start;
+        while (ii < end)
+        {
+            // Copy ASCII across as long as it fits in the buffer.
+            int limit = Math.min(end, ii + buffer.length - _pos);
+            char c = 0;
+            while (ii < limit && (c = csq.charAt(ii)) < 0x80)
+            {
+                buffer[_pos++] = (byte) c;
+                ii++;
+            }
+            if (ii == limit)
+            {
+                if (ii < end)
+                {
+                    _out.write(buffer, 0, _pos);
+                    _pos = 0;
+                }
+                continue;
+            }
+
+            // c is the first non-ASCII character of the run.
+            if (isHighSurrogate(c) && ii + 1 < end
+                && isLowSurrogate(csq.charAt(ii + 1)))
+            {
+                appendUtf16Surrogate(c, csq.charAt(ii + 1));
+                ii += 2;
+            }
+            else
+            {
+                appendUtf16(c);
+                ii++;
+            }
         }
         return this;
     }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.IOException;
+import software.amazon.ion.SymbolTable;
+
+
+/**
+ * A binary writer that can take a whole value already encoded in Ion binary, such as a DOM container encoded
+ * by the lite implementation, instead of being driven through its write methods one value at a time.
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ */
+@Deprecated
+public interface PrivateEncodedValueSink
+{
+    /**
+     * Returns the symbol table that the symbols of an encoded value must be interned into, or null if the
+     * sink can't take an encoded value at its current position.
+     */
+    public SymbolTable getEncodingSymbolTable();
+
+    /**
+     * Writes a value that has been encoded against {@link #getEncodingSymbolTable()}, including its annotations.
+     * The field name set on the sink, if any, is written before it, and any annotations set on the sink are
+     * discarded.
+     *
+     * @param data      The byte array holding the encoded value.
+     * @param off       The offset of the value in the array.
+     * @param len       The length of the value.
+     * @param maxSid    The largest symbol ID used by the value.
+     */
+    public void writeEncodedValue(byte[] data, int off, int len, int maxSid) throws IOException;
+}
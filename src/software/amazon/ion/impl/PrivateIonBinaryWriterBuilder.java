@@ -23,6 +23,7 @@ import software.amazon.ion.IonWriter;
 import software.amazon.ion.SubstituteSymbolTableException;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.ValueFactory;
+import software.amazon.ion.impl.bin.PrivateBoundedBlockAllocatorProvider;
 import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder;
 import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
 import software.amazon.ion.system.IonBinaryWriterBuilder;
@@ -217,6 +218,26 @@ public class PrivateIonBinaryWriterBuilder
         return b;
     }
 
+    /**
+     * Declares a bounded pool from which built writers allocate their
+     * buffers, in place of the default unbounded pool.
+     *
+     * @param provider must not be null.
+     */
+    public void setBlockAllocatorProvider(PrivateBoundedBlockAllocatorProvider provider)
+    {
+        mutationCheck();
+        myBinaryWriterBuilder.withBlockAllocatorProvider(provider);
+    }
+
+    public PrivateIonBinaryWriterBuilder
+    withBlockAllocatorProvider(PrivateBoundedBlockAllocatorProvider provider)
+    {
+        PrivateIonBinaryWriterBuilder b = mutable();
+        b.setBlockAllocatorProvider(provider);
+        return b;
+    }
+
     @Override
     public void setImports(final SymbolTable... imports)
     {
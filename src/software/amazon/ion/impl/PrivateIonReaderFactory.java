@@ -22,12 +22,18 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.zip.GZIPInputStream;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonSystem;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.IonReaderBinaryIncrementalX.FeedInputStream;
 import software.amazon.ion.util.IonStreamUtils;
 
 /**
@@ -203,6 +209,52 @@ public final class PrivateIonReaderFactory
         }
     }
 
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             ByteBuffer buffer)
+    {
+        return makeReader(catalog, buffer, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             ByteBuffer buffer,
+                                             PrivateLocalSymbolTableFactory lstFactory)
+    {
+        if (buffer.hasArray())
+        {
+            // Heap buffers are read in place, exactly like a byte[].
+            int offset = buffer.arrayOffset() + buffer.position();
+            return makeReader(catalog, buffer.array(), offset,
+                              buffer.remaining(), lstFactory);
+        }
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(buffer);
+            return makeReader(catalog, uis, 0, lstFactory);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             Path path)
+    {
+        return makeReader(catalog, path, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             Path path,
+                                             PrivateLocalSymbolTableFactory lstFactory)
+    {
+        UnifiedInputStreamX uis = makeUnifiedStream(path);
+        try {
+            return makeReader(catalog, uis, 0, lstFactory);
+        }
+        catch (IOException e) {
+            close_quietly(uis);
+            throw new IonException(e);
+        }
+    }
+
     public static final IonReader makeReader(IonCatalog catalog,
                                              Reader chars)
     {
@@ -234,6 +286,170 @@ public final class PrivateIonReaderFactory
     }
 
 
+    /**
+     * Creates a reader that accepts only JSON text, or Ion binary data.
+     * Binary data gets the usual binary reader, since it's already as
+     * cheap to parse as anything.
+     */
+    public static final IonReader makeJsonReader(IonCatalog catalog,
+                                                 byte[] bytes,
+                                                 int offset,
+                                                 int length)
+    {
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(bytes, offset, length);
+            return makeJsonReader(catalog, uis, offset);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    public static final IonReader makeJsonReader(IonCatalog catalog,
+                                                 InputStream is)
+    {
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(is);
+            return makeJsonReader(catalog, uis, 0);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    public static final IonReader makeJsonReader(IonCatalog catalog,
+                                                 ByteBuffer buffer)
+    {
+        if (buffer.hasArray())
+        {
+            int offset = buffer.arrayOffset() + buffer.position();
+            return makeJsonReader(catalog, buffer.array(), offset,
+                                  buffer.remaining());
+        }
+        try {
+            UnifiedInputStreamX uis = makeUnifiedStream(buffer);
+            return makeJsonReader(catalog, uis, 0);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    public static final IonReader makeJsonReader(IonCatalog catalog,
+                                                 Path path)
+    {
+        UnifiedInputStreamX uis = makeUnifiedStream(path);
+        try {
+            return makeJsonReader(catalog, uis, 0);
+        }
+        catch (IOException e) {
+            close_quietly(uis);
+            throw new IonException(e);
+        }
+    }
+
+    public static final IonReader makeJsonReader(Reader chars)
+    {
+        try {
+            UnifiedInputStreamX in = makeStream(chars);
+            return new IonReaderTextJsonX(in);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+    public static final IonReader makeJsonReader(CharSequence chars)
+    {
+        UnifiedInputStreamX in = makeStream(chars);
+        return new IonReaderTextJsonX(in);
+    }
+
+
+    public static final IonReader makeIncrementalReader(IonCatalog catalog)
+    {
+        return makeIncrementalReader(catalog, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    public static final IonReader makeIncrementalReader(IonCatalog catalog,
+                                                        PrivateLocalSymbolTableFactory lstFactory)
+    {
+        try {
+            FeedInputStream feed = new FeedInputStream();
+            UnifiedInputStreamX uis = UnifiedInputStreamX.makeSkippingStream(feed);
+            return new IonReaderBinaryIncrementalX(catalog, lstFactory, uis, feed);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+
+    /**
+     * Makes a user reader over binary top-level values that were cut from
+     * the middle of a stream.  The bytes needn't start with an Ion version
+     * marker; the reader starts out in the given symbol table, as if it had
+     * read the system values that preceded them.
+     *
+     * @param symbols the local or system symbol table in effect at
+     *  {@code offset}.
+     */
+    public static final IonReader makeBinaryReader(IonCatalog catalog,
+                                                   byte[] bytes,
+                                                   int offset,
+                                                   int length,
+                                                   SymbolTable symbols)
+    {
+        // The bytes can't be GZIPped, and needn't start with the cookie.
+        UnifiedInputStreamX uis = makeStream(bytes, offset, length);
+        IonReaderBinaryUserX reader =
+            new IonReaderBinaryUserX(catalog,
+                                     LocalSymbolTable.DEFAULT_LST_FACTORY,
+                                     uis, offset);
+        reader._symbols = symbols;
+        return reader;
+    }
+
+
+    /**
+     * Makes a user reader over binary top-level values read from the
+     * middle of a stream, as {@link #makeBinaryReader(IonCatalog, byte[], int, int, SymbolTable)}
+     * does for bytes.  Spans are relative to the first byte of the stream.
+     */
+    public static final IonReader makeBinaryReader(IonCatalog catalog,
+                                                   InputStream in,
+                                                   SymbolTable symbols)
+    {
+        try {
+            UnifiedInputStreamX uis = makeStream(in);
+            IonReaderBinaryUserX reader =
+                new IonReaderBinaryUserX(catalog,
+                                         LocalSymbolTable.DEFAULT_LST_FACTORY,
+                                         uis, 0);
+            reader._symbols = symbols;
+            return reader;
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+    }
+
+
+    /**
+     * Enables caching of short decoded strings on the given reader, if it's
+     * a binary reader. Other readers are left unchanged.
+     *
+     * @return the given reader.
+     */
+    public static final IonReader enableStringCache(IonReader reader)
+    {
+        if (reader instanceof IonReaderBinaryRawX) {
+            ((IonReaderBinaryRawX) reader).enableStringCache();
+        }
+        return reader;
+    }
+
+
     public static final IonReader makeReader(IonCatalog catalog,
                                              IonValue value)
     {
@@ -270,6 +486,19 @@ public final class PrivateIonReaderFactory
         return r;
     }
 
+    private static IonReader makeJsonReader(IonCatalog catalog,
+                                            UnifiedInputStreamX uis,
+                                            int offset)
+        throws IOException
+    {
+        if (has_binary_cookie(uis)) {
+            return new IonReaderBinaryUserX(catalog,
+                                            LocalSymbolTable.DEFAULT_LST_FACTORY,
+                                            uis, offset);
+        }
+        return new IonReaderTextJsonX(uis);
+    }
+
     private static IonReader makeSystemReader(UnifiedInputStreamX uis,
                                               int offset)
         throws IOException
@@ -321,6 +550,65 @@ public final class PrivateIonReaderFactory
         return uis;
     }
 
+    /**
+     * Binary Ion in a direct, mapped, or read-only buffer is read in place.
+     * Text and gzipped data are paged in bulk, since the text scanners
+     * need arrays.
+     */
+    private static UnifiedInputStreamX makeUnifiedStream(ByteBuffer buffer)
+        throws IOException
+    {
+        byte[] cookie = new byte[BINARY_VERSION_MARKER_SIZE];
+        int len = Math.min(cookie.length, buffer.remaining());
+        for (int ii = 0; ii < len; ii++) {
+            cookie[ii] = buffer.get(buffer.position() + ii);
+        }
+        if (isIonBinary(cookie, 0, len)) {
+            return UnifiedInputStreamX.makeStream(buffer);
+        }
+        return makeUnifiedStream(new ByteBufferInputStream(buffer.duplicate()));
+    }
+
+    /**
+     * Binary Ion files are mapped a window at a time and read in place, like
+     * {@link #makeUnifiedStream(ByteBuffer)}.
+     */
+    private static UnifiedInputStreamX makeUnifiedStream(Path path)
+    {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            byte[] cookie = new byte[BINARY_VERSION_MARKER_SIZE];
+            int len = PrivateUtils.readFully(channel, 0, ByteBuffer.wrap(cookie));
+            if (isIonBinary(cookie, 0, len)) {
+                return UnifiedInputStreamX.makeStream(channel);
+            }
+            InputStream in = new ByteBufferInputStream(channel);
+            return makeUnifiedStream(in);
+        }
+        catch (IOException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                }
+                catch (IOException closeFailure) {
+                    // Report the original failure instead.
+                }
+            }
+            throw new IonException(e);
+        }
+    }
+
+    private static void close_quietly(UnifiedInputStreamX uis)
+    {
+        try {
+            uis.close();
+        }
+        catch (IOException closeFailure) {
+            // Report the original failure instead.
+        }
+    }
+
     private static final boolean has_binary_cookie(UnifiedInputStreamX uis)
         throws IOException
     {
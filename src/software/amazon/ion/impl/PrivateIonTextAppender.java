@@ -14,7 +14,6 @@
 
 package software.amazon.ion.impl;
 
-import static software.amazon.ion.impl.PrivateIonConstants.MAX_LONG_TEXT_SIZE;
 import static software.amazon.ion.impl.PrivateIonConstants.isHighSurrogate;
 import static software.amazon.ion.impl.PrivateIonConstants.isLowSurrogate;
 import static software.amazon.ion.impl.PrivateIonConstants.makeUnicodeScalar;
@@ -574,63 +573,62 @@ public final class PrivateIonTextAppender
         throws IOException
     {
         int len = text.length();
-        for (int i = 0; i < len; ++i)
+        int i = 0;
+        while (i < len)
         {
-            // Find a span of non-escaped ASCII code points so we can write
-            // them as quickly as possible.
+            // Find a span of code points that are written as they are, so
+            // the output can encode them all at once.  ASCII-only spans take
+            // the faster appendAscii path.
+            boolean ascii = true;
             char c = 0;
             int j;
             for (j = i; j < len; ++j) {
                 c = text.charAt(j);
-                // The escapes array always includes U+80 through U+FF.
-                if (c >= 0x100 || escapes[c] != null)
-                {
-                    // c is escaped and/or outside ASCII range.
-                    if (j > i) {
-                        appendAscii(text, i, j);
-                        i = j;
+                if (c < 0x80) {
+                    if (escapes[c] != null) break;
+                    continue;
+                }
+                // Always escape the C1 control codes U+80 through U+9F.
+                if (escapeNonAscii || c <= 0x9F) break;
+                if (c >= 0xD800 && c < 0xE000) {
+                    // Only well-formed surrogate pairs are written as is.
+                    if (!isHighSurrogate(c) || j + 1 == len
+                        || !isLowSurrogate(text.charAt(j + 1))) {
+                        break;
                     }
-                    break;
+                    ++j;
                 }
+                ascii = false;
+            }
+            if (j > i) {
+                if (ascii) {
+                    appendAscii(text, i, j);
+                } else {
+                    myAppendable.append(text, i, j);
+                }
+                i = j;
             }
             if (j == len) {
-                // we've reached the end of sequence; append it and break
-                appendAscii(text, i, j);
                 break;
             }
 
-            // We've found a code point that's escaped and/or non-ASCII.
+            // We've found a code point that has to be escaped, or is
+            // invalid UTF-16.
 
-            if (c < 0x80)
+            if (c < 0x100)
             {
-                // An escaped ASCII character.
+                // The escapes array always includes U+80 through U+FF.
                 assert escapes[c] != null;
                 appendAscii(escapes[c]);
             }
-            else if (c < 0x100)
-            {
-                // Non-ASCII LATIN-1; we will have an escape sequence but may
-                // not use it.
-                assert escapes[c] != null;
-
-                // Always escape the C1 control codes U+80 through U+9F.
-                if (escapeNonAscii || c <= 0x9F) {
-                    appendAscii(escapes[c]);
-                } else {
-                    appendUtf16(c);
-                }
-            }
             else if (c < 0xD800 || c >= 0xE000)
             {
                 // Not LATIN-1, but still in the BMP.
+                assert escapeNonAscii;
                 String s = Integer.toHexString(c);
-                if (escapeNonAscii) {
-                    appendAscii(HEX_4_PREFIX);
-                    appendAscii(ZERO_PADDING[4 - s.length()]);
-                    appendAscii(s);
-                } else {
-                    appendUtf16(c);
-                }
+                appendAscii(HEX_4_PREFIX);
+                appendAscii(ZERO_PADDING[4 - s.length()]);
+                appendAscii(s);
             }
             else if (isHighSurrogate(c))
             {
@@ -643,15 +641,12 @@ public final class PrivateIonTextAppender
                         " at index " + (i-1);
                     throw new IllegalArgumentException(message);
                 }
-                if (escapeNonAscii) {
-                    int cp = makeUnicodeScalar(c, c2);
-                    String s = Integer.toHexString(cp);
-                    appendAscii(HEX_8_PREFIX);
-                    appendAscii(ZERO_PADDING[8 - s.length()]);
-                    appendAscii(s);
-                } else {
-                    appendUtf16Surrogate(c, c2);
-                }
+                assert escapeNonAscii;
+                int cp = makeUnicodeScalar(c, c2);
+                String s = Integer.toHexString(cp);
+                appendAscii(HEX_8_PREFIX);
+                appendAscii(ZERO_PADDING[8 - s.length()]);
+                appendAscii(s);
             }
             else
             {
@@ -664,6 +659,7 @@ public final class PrivateIonTextAppender
                     " at index " + i;
                 throw new IllegalArgumentException(message);
             }
+            ++i;
         }
     }
 
@@ -672,34 +668,20 @@ public final class PrivateIonTextAppender
     // Numeric scalars
 
 
-    /** ONLY FOR USE BY {@link #printInt(long)}. */
-    private final char[] _fixedIntBuffer = new char[MAX_LONG_TEXT_SIZE];
+    /**
+     * Scratch space for the digits of numbers, and a view of it that can be
+     * handed to {@link #appendAscii(CharSequence, int, int)} without copying.
+     */
+    private final char[] _numberBuffer =
+        new char[TextNumberFormatter.DOUBLE_BUFFER_SIZE];
+    private final CharBuffer _numberChars = CharBuffer.wrap(_numberBuffer);
 
     public void printInt(long value)
         throws IOException
     {
-        int j = _fixedIntBuffer.length;
-        if (value == 0) {
-            _fixedIntBuffer[--j] = '0';
-        } else {
-            if (value < 0) {
-                while (value != 0) {
-                    _fixedIntBuffer[--j] = (char)(0x30 - value % 10);
-                    value /= 10;
-                }
-                _fixedIntBuffer[--j] = '-';
-            } else {
-                while (value != 0) {
-                    _fixedIntBuffer[--j] = (char)(0x30 + value % 10);
-                    value /= 10;
-                }
-            }
-        }
-
-        // Using CharBuffer avoids copying the _fixedIntBuffer into a String
-        appendAscii(CharBuffer.wrap(_fixedIntBuffer),
-                    j,
-                    _fixedIntBuffer.length);
+        int end = _numberBuffer.length;
+        int start = TextNumberFormatter.formatLong(value, _numberBuffer, end);
+        appendAscii(_numberChars, start, end);
     }
 
 
@@ -712,6 +694,12 @@ public final class PrivateIonTextAppender
             return;
         }
 
+        if (value.bitLength() < 64)
+        {
+            printInt(value.longValue());
+            return;
+        }
+
         appendAscii(value.toString());
     }
 
@@ -732,7 +720,6 @@ public final class PrivateIonTextAppender
         if (signum < 0)
         {
             appendAscii('-');
-            unscaled = unscaled.negate();
         }
         else if (value instanceof Decimal
              && ((Decimal)value).isNegativeZero())
@@ -743,21 +730,40 @@ public final class PrivateIonTextAppender
             appendAscii('-');
         }
 
-        final String unscaledText = unscaled.toString();
-        final int significantDigits = unscaledText.length();
+        // The digits of the unscaled value, without its sign, are
+        // unscaledText[textStart, textEnd).
+        // Those that fit in a long are formatted into _numberBuffer, which
+        // is then left alone until they've been appended.
+        final CharSequence unscaledText;
+        final int textStart;
+        if (unscaled.bitLength() < 64)
+        {
+            int start = TextNumberFormatter.formatLong(unscaled.longValue(),
+                                                       _numberBuffer,
+                                                       _numberBuffer.length);
+            unscaledText = _numberChars;
+            textStart = (signum < 0 ? start + 1 : start);
+        }
+        else
+        {
+            unscaledText = (signum < 0 ? unscaled.negate() : unscaled).toString();
+            textStart = 0;
+        }
+        final int textEnd = unscaledText.length();
+        final int significantDigits = textEnd - textStart;
 
         final int scale = value.scale();
         final int exponent = -scale;
 
         if (_options._decimal_as_float)
         {
-            appendAscii(unscaledText);
+            appendAscii(unscaledText, textStart, textEnd);
             appendAscii('e');
-            appendAscii(Integer.toString(exponent));
+            printInt(exponent);
         }
         else if (exponent == 0)
         {
-            appendAscii(unscaledText);
+            appendAscii(unscaledText, textStart, textEnd);
             appendAscii('.');
         }
         else if (exponent < 0)
@@ -769,31 +775,30 @@ public final class PrivateIonTextAppender
             if (adjustedExponent >= 0)
             {
                 int wholeDigits = significantDigits - scale;
-                appendAscii(unscaledText, 0, wholeDigits);
+                appendAscii(unscaledText, textStart, textStart + wholeDigits);
                 appendAscii('.');
-                appendAscii(unscaledText, wholeDigits,
-                                    significantDigits);
+                appendAscii(unscaledText, textStart + wholeDigits, textEnd);
             }
             else if (adjustedExponent >= -6)
             {
                 appendAscii("0.");
                 appendAscii("00000", 0, scale - significantDigits);
-                appendAscii(unscaledText);
+                appendAscii(unscaledText, textStart, textEnd);
             }
             else
             {
-                appendAscii(unscaledText);
+                appendAscii(unscaledText, textStart, textEnd);
                 appendAscii("d-");
-                appendAscii(Integer.toString(scale));
+                printInt(scale);
             }
         }
         else // (exponent > 0)
         {
             // We cannot move the decimal point to the right, adding
             // rightmost zeros, because that would alter the precision.
-            appendAscii(unscaledText);
+            appendAscii(unscaledText, textStart, textEnd);
             appendAscii('d');
-            appendAscii(Integer.toString(exponent));
+            printInt(exponent);
         }
     }
 
@@ -827,22 +832,8 @@ public final class PrivateIonTextAppender
         }
         else
         {
-            // Double.toString() forces a digit after the decimal point.
-            // Remove it when it's not meaningful.
-            String str = Double.toString(value);
-            if (str.endsWith(".0"))
-            {
-                appendAscii(str, 0, str.length() - 2);
-                appendAscii("e0");
-            }
-            else
-            {
-                appendAscii(str);
-                if (str.indexOf('E') == -1)
-                {
-                    appendAscii("e0");
-                }
-            }
+            int len = TextNumberFormatter.formatDouble(value, _numberBuffer);
+            appendAscii(_numberChars, 0, len);
         }
     }
 
@@ -33,5 +33,8 @@ public interface PrivateListWriter
     public void writeIntList(short[] values) throws IOException;
     public void writeIntList(int[] values) throws IOException;
     public void writeIntList(long[] values) throws IOException;
+    public void writeIntList(long[] values, int offset, int length) throws IOException;
+    public void writeFloatList(float[] values, int offset, int length) throws IOException;
+    public void writeFloatList(double[] values, int offset, int length) throws IOException;
     public void writeStringList(String[] values) throws IOException;
 }
@@ -35,6 +35,7 @@ import java.io.InputStream;
 import java.io.PushbackInputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
@@ -45,6 +46,7 @@ import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.TimeZone;
+import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonStruct;
@@ -555,6 +557,38 @@ public final class PrivateUtils
     }
 
 
+    /**
+     * Calls {@link FileChannel#read(ByteBuffer, long)} until the buffer is
+     * filled or EOF is encountered.  The channel's own position is not used
+     * or changed.
+     *
+     * @param channel   The channel to read from.
+     * @param position  The position in the channel of the first byte to read.
+     * @param buf       The buffer to read to, from its position to its limit.
+     *
+     * @return the number of bytes read from the channel.  May be less than
+     *  the buffer's remaining space if EOF is encountered before reading
+     *  that far.
+     */
+    public static int readFully(FileChannel channel, long position,
+                                ByteBuffer buf)
+    throws IOException
+    {
+        int readBytes = 0;
+        while (buf.hasRemaining())
+        {
+            int amount = channel.read(buf, position + readBytes);
+            if (amount < 0)
+            {
+                // EOF
+                return readBytes;
+            }
+            readBytes += amount;
+        }
+        return readBytes;
+    }
+
+
     public static byte[] loadFileBytes(File file)
         throws IOException
     {
@@ -718,6 +752,16 @@ public final class PrivateUtils
     }
 
 
+    public static SymbolTable newLocalSymtab(IonCatalog catalog,
+                                             IonReader reader,
+                                             boolean alreadyInStruct)
+    {
+        return LocalSymbolTable.DEFAULT_LST_FACTORY.newLocalSymtab(catalog,
+                                                                   reader,
+                                                                   alreadyInStruct);
+    }
+
+
     /**
      * As per {@link IonSystem#newSharedSymbolTable(String, int, Iterator, SymbolTable...)},
      * any duplicate or null symbol texts are skipped.
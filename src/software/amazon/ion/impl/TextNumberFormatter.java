@@ -0,0 +1,374 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.math.BigInteger;
+
+/**
+ * Writes the text of numeric values straight into a caller's
+ * {@code char[]}, without going through an intermediate {@link String}.
+ * <p>
+ * Integers are written two digits at a time from a table of digit pairs.
+ * Doubles are written with the Schubfach algorithm (R. Giulietti, "The
+ * Schubfach way to render doubles"), which finds the shortest decimal that
+ * reads back as the same double.  Its layout matches what
+ * {@link Double#toString(double)} gives, as adjusted for Ion by
+ * {@link PrivateIonTextAppender#printFloat(double)}: plain notation
+ * followed by {@code e0} for magnitudes in [10<sup>-3</sup>,
+ * 10<sup>7</sup>), and {@code d.dddE<i>n</i>} otherwise.
+ */
+final class TextNumberFormatter
+{
+    private TextNumberFormatter() { }
+
+    /**
+     * The size of buffer that {@link #formatDouble(double, char[])} needs.
+     * The text takes at most 24 characters; the digits are staged at the
+     * end of the buffer, clear of it.
+     */
+    static final int DOUBLE_BUFFER_SIZE = 48;
+
+    /** The characters of 00 through 99, in pairs. */
+    private static final char[] DIGIT_PAIRS = new char[200];
+    static
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            DIGIT_PAIRS[2 * i] = (char) ('0' + i / 10);
+            DIGIT_PAIRS[2 * i + 1] = (char) ('0' + i % 10);
+        }
+    }
+
+    //=========================================================================
+    // Integers
+
+    /**
+     * Writes a long in decimal so that it ends just before {@code end},
+     * with a leading '-' if it's negative.
+     *
+     * @return the index of the first character written.
+     */
+    static int formatLong(long value, char[] buf, int end)
+    {
+        // Work with the negated magnitude, so that Long.MIN_VALUE needs no
+        // special case.
+        long v = value < 0 ? value : -value;
+        int pos = end;
+        while (v <= -100)
+        {
+            long q = v / 100;
+            int r = (int) (q * 100 - v);
+            buf[--pos] = DIGIT_PAIRS[2 * r + 1];
+            buf[--pos] = DIGIT_PAIRS[2 * r];
+            v = q;
+        }
+        int r = (int) -v;
+        buf[--pos] = DIGIT_PAIRS[2 * r + 1];
+        if (r >= 10)
+        {
+            buf[--pos] = DIGIT_PAIRS[2 * r];
+        }
+        if (value < 0)
+        {
+            buf[--pos] = '-';
+        }
+        return pos;
+    }
+
+    //=========================================================================
+    // Doubles
+
+    /** The number of significand bits of a double, including the hidden one. */
+    private static final int P = 53;
+
+    /** The exponent of the least significant bit of the subnormals. */
+    private static final int Q_MIN = -1074;
+
+    /** The hidden bit of a normal double's significand. */
+    private static final long C_MIN = 1L << (P - 1);
+
+    private static final int BQ_MASK = 0x7FF;
+    private static final long T_MASK = C_MIN - 1;
+
+    /** Subnormal significands below this need a second digit scaled in. */
+    private static final long C_TINY = 3;
+
+    /** The range of decimal exponents that the scaling table covers. */
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    /**
+     * The high and low 63 bits of the 126-bit values g used to scale by
+     * 10<sup>-k</sup>: writing 10<sup>-k</sup> = &beta; 2<sup>r</sup> with
+     * 2<sup>125</sup> &le; &beta; &lt; 2<sup>126</sup>, g = floor(&beta;) + 1.
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+    static
+    {
+        BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++)
+        {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger g;
+            if (k <= 0)
+            {
+                BigInteger pow = BigInteger.TEN.pow(-k);
+                g = shift >= 0 ? pow.shiftLeft(shift) : pow.shiftRight(-shift);
+            }
+            else
+            {
+                g = BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+            }
+            g = g.add(BigInteger.ONE);
+            assert g.bitLength() == 126;
+            G[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+            G[2 * (k - K_MIN) + 1] = g.and(mask).longValue();
+        }
+    }
+
+    /** Returns floor(q log<sub>10</sub>2), for |q| within a few million. */
+    private static int flog10pow2(int q)
+    {
+        return (int) (q * 661971961083L >> 41);
+    }
+
+    /** Returns floor(q log<sub>10</sub>2 + log<sub>10</sub>(3/4)). */
+    private static int flog10threeQuartersPow2(int q)
+    {
+        return (int) (q * 661971961083L - 274743187321L >> 41);
+    }
+
+    /** Returns floor(e log<sub>2</sub>10). */
+    private static int flog2pow10(int e)
+    {
+        return (int) (e * 913124641741L >> 38);
+    }
+
+    /** Returns the high 64 bits of the 128-bit product, as Java 9's Math.multiplyHigh. */
+    private static long multiplyHigh(long x, long y)
+    {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * Returns floor(g cp / 2<sup>127</sup>), rounded to odd: the low bit is
+     * set when the division isn't exact.
+     */
+    private static long rop(long g1, long g0, long cp)
+    {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * Writes the text of a finite, non-zero double at the start of the
+     * buffer, which must hold {@link #DOUBLE_BUFFER_SIZE} characters.
+     *
+     * @return the number of characters written.
+     */
+    static int formatDouble(double value, char[] buf)
+    {
+        assert value != 0 && !Double.isNaN(value) && !Double.isInfinite(value);
+
+        long bits = Double.doubleToRawLongBits(value);
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+        long t = bits & T_MASK;
+        boolean negative = bits < 0;
+
+        if (bq != 0)
+        {
+            // A normal value, c 2^q with q = -mq.
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            if (0 < mq && mq < P)
+            {
+                // Integers below 2^53 are their own shortest decimal.
+                long f = c >> mq;
+                if (f << mq == c)
+                {
+                    return layout(negative, f, 0, buf);
+                }
+            }
+            return toDecimal(negative, -mq, c, 0, buf);
+        }
+        // A subnormal value.  The tiniest get a second digit, as
+        // Double.toString gives 4.9E-324 rather than 5.0E-324.
+        return t < C_TINY
+            ? toDecimal(negative, Q_MIN, 10 * t, -1, buf)
+            : toDecimal(negative, Q_MIN, t, 0, buf);
+    }
+
+    /**
+     * Finds the shortest decimal in the rounding interval of c 2<sup>q</sup>,
+     * picking the closest one when there's a choice, and lays it out.
+     */
+    private static int toDecimal(boolean negative, int q, long c, int dk, char[] buf)
+    {
+        // When c is odd the interval's bounds round to its even neighbours,
+        // so they're excluded.
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN)
+        {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        }
+        else
+        {
+            // At a power of two the gap below is half the gap above.
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G[2 * (k - K_MIN)];
+        long g0 = G[2 * (k - K_MIN) + 1];
+
+        // The value and its bounds, scaled by 10^-k and by 4.
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100)
+        {
+            // Try a digit fewer: the multiples of ten around s.
+            long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin)
+            {
+                return layout(negative, upin ? sp10 : tp10, k, buf);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win)
+        {
+            return layout(negative, uin ? s : t, k + dk, buf);
+        }
+        // Both are in the interval; take the closer, or the even one on a tie.
+        long cmp = vb - (s + t << 1);
+        return layout(negative,
+                      cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t,
+                      k + dk,
+                      buf);
+    }
+
+    /**
+     * Writes f 10<sup>e</sup> at the start of the buffer, in the layout
+     * described on this class.
+     *
+     * @return the number of characters written.
+     */
+    private static int layout(boolean negative, long f, int e, char[] buf)
+    {
+        while (f % 10 == 0)
+        {
+            f /= 10;
+            e++;
+        }
+
+        // Stage the significant digits at the end of the buffer.
+        final int digitsEnd = buf.length;
+        final int digits = formatLong(f, buf, digitsEnd);
+        final int n = digitsEnd - digits;
+
+        // The exponent in scientific notation, d.ddd 10^exp.
+        final int exp = e + n - 1;
+
+        int pos = 0;
+        if (negative)
+        {
+            buf[pos++] = '-';
+        }
+        if (exp >= 0 && exp < 7)
+        {
+            int whole = exp + 1;
+            if (n <= whole)
+            {
+                pos = copy(buf, digits, n, pos);
+                for (int i = n; i < whole; i++)
+                {
+                    buf[pos++] = '0';
+                }
+            }
+            else
+            {
+                pos = copy(buf, digits, whole, pos);
+                buf[pos++] = '.';
+                pos = copy(buf, digits + whole, n - whole, pos);
+            }
+            buf[pos++] = 'e';
+            buf[pos++] = '0';
+        }
+        else if (exp < 0 && exp >= -3)
+        {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (int i = -1; i > exp; i--)
+            {
+                buf[pos++] = '0';
+            }
+            pos = copy(buf, digits, n, pos);
+            buf[pos++] = 'e';
+            buf[pos++] = '0';
+        }
+        else
+        {
+            buf[pos++] = buf[digits];
+            buf[pos++] = '.';
+            if (n == 1)
+            {
+                buf[pos++] = '0';
+            }
+            else
+            {
+                pos = copy(buf, digits + 1, n - 1, pos);
+            }
+            buf[pos++] = 'E';
+            int expStart = formatLong(exp, buf, digits);
+            pos = copy(buf, expStart, digits - expStart, pos);
+        }
+        return pos;
+    }
+
+    private static int copy(char[] buf, int from, int len, int to)
+    {
+        System.arraycopy(buf, from, buf, to, len);
+        return to + len;
+    }
+}
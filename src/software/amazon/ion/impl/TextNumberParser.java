@@ -0,0 +1,478 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.math.BigInteger;
+import software.amazon.ion.Decimal;
+import software.amazon.ion.impl.PrivateScalarConversions.ValueVariant;
+
+/**
+ * Converts the characters of numeric tokens, as collected by the text
+ * scanner, into values without going through an intermediate
+ * {@link String} in the common case.
+ * <p>
+ * Every method here expects characters that the scanner has already
+ * validated: an optional leading '-', underscores removed, radix prefixes
+ * removed, and any 'd' decimal exponent marker replaced with 'e'.  Anything
+ * outside the fast paths (overflow, very long significands, unusual
+ * exponents or characters) is handed to the JDK parsers, which are the
+ * reference for both the values and the errors produced.
+ */
+final class TextNumberParser
+{
+    private TextNumberParser() { }
+
+    //=========================================================================
+    // Integers
+
+    /**
+     * Parses an integer in the given radix and sets it on {@code v} as an
+     * int, long, or {@link BigInteger}, whichever is the smallest that holds
+     * it.  A BigInteger is only built when the value overflows a long.
+     *
+     * @throws NumberFormatException if the characters aren't an integer.
+     */
+    static void loadInteger(CharSequence cs, int radix, ValueVariant v)
+    {
+        final int len = cs.length();
+        final boolean negative = len > 0 && cs.charAt(0) == '-';
+        int pos = negative ? 1 : 0;
+        if (pos == len)
+        {
+            v.setValue(new BigInteger(cs.toString(), radix));
+            return;
+        }
+
+        // Accumulate negatively, as Long.parseLong does, so that
+        // Long.MIN_VALUE needs no special case.
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multmin = limit / radix;
+        long result = 0;
+        for (; pos < len; pos++)
+        {
+            int digit = Character.digit(cs.charAt(pos), radix);
+            if (digit < 0 || result < multmin)
+            {
+                break;
+            }
+            result *= radix;
+            if (result < limit + digit)
+            {
+                break;
+            }
+            result -= digit;
+        }
+        if (pos < len)
+        {
+            // Overflow, or something we don't expect; BigInteger sorts out which.
+            v.setValue(new BigInteger(cs.toString(), radix));
+            return;
+        }
+
+        long value = negative ? result : -result;
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)
+        {
+            v.setValue((int) value);
+        }
+        else
+        {
+            v.setValue(value);
+        }
+    }
+
+    //=========================================================================
+    // Decimals
+
+    /** Beyond this the unscaled value might not fit in a long. */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Parses a decimal, including negative zero.  The unscaled value is
+     * accumulated in a long; when it has too many digits, or the exponent is
+     * out of range, this defers to {@link Decimal#valueOf(String)}.
+     *
+     * @throws NumberFormatException if the characters aren't a decimal.
+     */
+    static Decimal parseDecimal(CharSequence cs)
+    {
+        final int len = cs.length();
+        final boolean negative = len > 0 && cs.charAt(0) == '-';
+        int pos = negative ? 1 : 0;
+
+        long unscaled = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        for (; pos < len; pos++)
+        {
+            char c = cs.charAt(pos);
+            if (c >= '0' && c <= '9')
+            {
+                if (unscaled != 0 || c != '0')
+                {
+                    if (++significantDigits > MAX_LONG_DIGITS)
+                    {
+                        return Decimal.valueOf(cs.toString());
+                    }
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (inFraction)
+                {
+                    fractionDigits++;
+                }
+            }
+            else if (c == '.' && !inFraction)
+            {
+                inFraction = true;
+            }
+            else
+            {
+                break;
+            }
+        }
+        if (digits == 0)
+        {
+            return Decimal.valueOf(cs.toString());
+        }
+
+        long scale = fractionDigits;
+        if (pos < len)
+        {
+            char c = cs.charAt(pos);
+            if (c != 'e' && c != 'E')
+            {
+                return Decimal.valueOf(cs.toString());
+            }
+            long exponent = parseExponent(cs, pos + 1);
+            if (exponent < Integer.MIN_VALUE || exponent > Integer.MAX_VALUE)
+            {
+                // including BAD_EXPONENT; BigDecimal requires an int exponent
+                return Decimal.valueOf(cs.toString());
+            }
+            scale -= exponent;
+            if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE)
+            {
+                return Decimal.valueOf(cs.toString());
+            }
+        }
+
+        if (unscaled == 0 && negative)
+        {
+            return Decimal.negativeZero((int) scale);
+        }
+        return Decimal.valueOf(BigInteger.valueOf(negative ? -unscaled : unscaled), (int) scale);
+    }
+
+    //=========================================================================
+    // Floats
+
+    /** The most decimal digits that always fit in an unsigned long. */
+    private static final int MAX_SIGNIFICAND_DIGITS = 19;
+
+    /** Larger significands may not be exactly representable as doubles. */
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+    /** The powers of ten that are exactly representable as doubles. */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Parses a float, rounding correctly to the nearest double.
+     * <p>
+     * Values whose significand and power of ten are both exactly
+     * representable are computed with a single multiplication or division
+     * (Clinger's fast path).  Most others are computed with the Eisel-Lemire
+     * algorithm, which multiplies the significand by a 128-bit approximation
+     * of the power of ten and detects the rare cases where that might not be
+     * enough to round correctly.  Those cases, along with subnormals,
+     * overflow, and significands of more than 19 digits, are handled by
+     * {@link Double#parseDouble(String)}.
+     *
+     * @throws NumberFormatException if the characters aren't a float.
+     */
+    static double parseDouble(CharSequence cs)
+    {
+        final int len = cs.length();
+        final boolean negative = len > 0 && cs.charAt(0) == '-';
+        int pos = negative ? 1 : 0;
+
+        long significand = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        long exponent = 0;
+        boolean inFraction = false;
+        for (; pos < len; pos++)
+        {
+            char c = cs.charAt(pos);
+            if (c >= '0' && c <= '9')
+            {
+                digits++;
+                if (significantDigits < MAX_SIGNIFICAND_DIGITS)
+                {
+                    if (significand != 0 || c != '0')
+                    {
+                        significantDigits++;
+                    }
+                    significand = significand * 10 + (c - '0');
+                    if (inFraction)
+                    {
+                        exponent--;
+                    }
+                }
+                else if (c == '0')
+                {
+                    // Dropping a trailing zero is exact.
+                    if (!inFraction)
+                    {
+                        exponent++;
+                    }
+                }
+                else
+                {
+                    return Double.parseDouble(cs.toString());
+                }
+            }
+            else if (c == '.' && !inFraction)
+            {
+                inFraction = true;
+            }
+            else
+            {
+                break;
+            }
+        }
+        if (digits == 0)
+        {
+            return Double.parseDouble(cs.toString());
+        }
+        if (pos < len)
+        {
+            char c = cs.charAt(pos);
+            if (c != 'e' && c != 'E')
+            {
+                return Double.parseDouble(cs.toString());
+            }
+            long e = parseExponent(cs, pos + 1);
+            if (e == BAD_EXPONENT)
+            {
+                return Double.parseDouble(cs.toString());
+            }
+            exponent += e;
+        }
+
+        if (significand == 0)
+        {
+            return negative ? -0d : 0d;
+        }
+
+        // Clinger's fast path: both operands are exact, so the one rounding
+        // done by the operation is the correct one.  (A 19-digit significand
+        // may have wrapped negative, as it's really unsigned.)
+        if (significand > 0 && significand <= MAX_EXACT_DOUBLE_INTEGER
+            && exponent >= -22 && exponent <= 22)
+        {
+            double d = significand;
+            d = exponent < 0
+                ? d / EXACT_POWERS_OF_TEN[(int) -exponent]
+                : d * EXACT_POWERS_OF_TEN[(int) exponent];
+            return negative ? -d : d;
+        }
+
+        if (exponent >= PowersOfTen.MIN_EXPONENT && exponent <= PowersOfTen.MAX_EXPONENT)
+        {
+            long bits = eiselLemire(significand, (int) exponent);
+            if (bits != NO_RESULT)
+            {
+                return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+            }
+        }
+        return Double.parseDouble(cs.toString());
+    }
+
+    /** Never the bits of a value that {@link #eiselLemire} produces. */
+    private static final long NO_RESULT = -1L;
+
+    /**
+     * Computes the bits of the positive double nearest to
+     * {@code significand * 10^exponent}, or returns {@link #NO_RESULT} if that
+     * can't be done quickly.
+     *
+     * @param significand an unsigned, non-zero value.
+     */
+    private static long eiselLemire(long significand, int exponent)
+    {
+        // Normalize the significand so that its top bit is set.
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long man = significand << leadingZeros;
+        long exp2 = ((217706 * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        // Multiply by the high 64 bits of the power of ten, then by the low
+        // 64 bits too when the result might be off by one in its low bits.
+        int index = exponent - PowersOfTen.MIN_EXPONENT;
+        long powerHigh = PowersOfTen.HIGH[index];
+        long xHigh = multiplyHigh(man, powerHigh);
+        long xLow = man * powerHigh;
+        if ((xHigh & 0x1FF) == 0x1FF && unsignedLessThan(xLow + man, man))
+        {
+            long powerLow = PowersOfTen.LOW[index];
+            long yHigh = multiplyHigh(man, powerLow);
+            long yLow = man * powerLow;
+            long mergedHigh = xHigh;
+            long mergedLow = xLow + yHigh;
+            if (unsignedLessThan(mergedLow, xLow))
+            {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow + 1 == 0 && unsignedLessThan(yLow + man, man))
+            {
+                return NO_RESULT;
+            }
+            xHigh = mergedHigh;
+            xLow = mergedLow;
+        }
+
+        // Shift down to 54 bits, then round to 53, ties to even.
+        long msb = xHigh >>> 63;
+        long mantissa = xHigh >>> (msb + 9);
+        exp2 -= 1 ^ msb;
+        if (xLow == 0 && (xHigh & 0x1FF) == 0 && (mantissa & 3) == 1)
+        {
+            // Exactly half way, which can't be resolved with these bits.
+            return NO_RESULT;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if ((mantissa >>> 53) > 0)
+        {
+            mantissa >>>= 1;
+            exp2++;
+        }
+
+        if (exp2 <= 0 || exp2 >= 0x7FF)
+        {
+            // Subnormal, or infinite.
+            return NO_RESULT;
+        }
+        return (exp2 << 52) | (mantissa & 0x000FFFFFFFFFFFFFL);
+    }
+
+    /** The high 64 bits of the unsigned 128-bit product of two longs. */
+    private static long multiplyHigh(long x, long y)
+    {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long t = x1 * y0 + ((x0 * y0) >>> 32);
+        long w1 = (t & 0xFFFFFFFFL) + x0 * y1;
+        return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+    }
+
+    private static boolean unsignedLessThan(long a, long b)
+    {
+        return (a ^ Long.MIN_VALUE) < (b ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * 128-bit approximations, rounded down, of the powers of ten whose
+     * doubles are neither subnormal nor infinite for some 19-digit
+     * significand.  Each is normalized so that the top bit of its high half
+     * is set.  They're computed on first use, which most documents never
+     * need.
+     */
+    private static final class PowersOfTen
+    {
+        static final int MIN_EXPONENT = -342;
+        static final int MAX_EXPONENT = 308;
+
+        static final long[] HIGH = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+        static final long[] LOW = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+
+        static
+        {
+            final BigInteger ten = BigInteger.valueOf(10);
+            final BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+            BigInteger power = BigInteger.ONE;
+            for (int e = 0; e <= -MIN_EXPONENT; e++)
+            {
+                if (e <= MAX_EXPONENT)
+                {
+                    int bits = power.bitLength();
+                    BigInteger m = bits > 128 ? power.shiftRight(bits - 128) : power.shiftLeft(128 - bits);
+                    set(e, m, mask);
+                }
+                if (e > 0)
+                {
+                    // floor(2^(bits + 127) / 10^e) has exactly 128 bits.
+                    BigInteger m = BigInteger.ONE.shiftLeft(power.bitLength() + 127).divide(power);
+                    set(-e, m, mask);
+                }
+                power = power.multiply(ten);
+            }
+        }
+
+        private static void set(int exponent, BigInteger m, BigInteger mask)
+        {
+            HIGH[exponent - MIN_EXPONENT] = m.shiftRight(64).longValue();
+            LOW[exponent - MIN_EXPONENT] = m.and(mask).longValue();
+        }
+    }
+
+    //=========================================================================
+
+    /** Flags an exponent that isn't just an optional sign and digits. */
+    private static final long BAD_EXPONENT = Long.MIN_VALUE;
+
+    /**
+     * Beyond this, an exponent's exact magnitude no longer matters; saturating
+     * keeps the arithmetic from overflowing while still pushing the result out
+     * of every range the callers accept.
+     */
+    private static final long MAX_EXPONENT_MAGNITUDE = 1L << 40;
+
+    private static long parseExponent(CharSequence cs, int pos)
+    {
+        final int len = cs.length();
+        boolean negative = false;
+        if (pos < len && (cs.charAt(pos) == '-' || cs.charAt(pos) == '+'))
+        {
+            negative = cs.charAt(pos) == '-';
+            pos++;
+        }
+        if (pos == len)
+        {
+            return BAD_EXPONENT;
+        }
+        long exponent = 0;
+        for (; pos < len; pos++)
+        {
+            char c = cs.charAt(pos);
+            if (c < '0' || c > '9')
+            {
+                return BAD_EXPONENT;
+            }
+            if (exponent < MAX_EXPONENT_MAGNITUDE)
+            {
+                exponent = exponent * 10 + (c - '0');
+            }
+        }
+        return negative ? -exponent : exponent;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * An index of the bytes of Ion text that can change the scanner's state
+ * when it's skipping: quotes, backslashes, newlines, the start of comments,
+ * and brackets of all kinds.  Everything between two such bytes is
+ * whitespace or the insides of a token, which can be passed over without
+ * looking at it.
+ * <p>
+ * The index is a bitmap with one bit per byte of input.  It's built a
+ * chunk at a time, as the scanner first needs it, by testing eight bytes
+ * at a time packed into a long; the scanner then jumps from one set bit to
+ * the next.  This only suits input that is entirely in memory and doesn't
+ * change, which is the case for byte arrays.
+ * <p>
+ * Multi-byte UTF-8 sequences never contain indexed bytes, since those are
+ * all ASCII, so the index is valid for any UTF-8 input.
+ */
+final class TextStructuralIndex
+{
+    /** Number of bytes indexed at a time; a multiple of 64. */
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /** Gathers the high bit of each byte into the top byte; see {@link #pack}. */
+    private static final long GATHER = 0x0102040810204080L;
+
+    // The characters are matched in pairs where they differ by one bit,
+    // so that each pair costs only one comparison.
+    private static final long CURLY_OR_SQUARE_OPEN = '{' * ONES;   // with '['
+    private static final long CURLY_OR_SQUARE_CLOSE = '}' * ONES;  // with ']'
+    private static final long SQUARE_TO_CURLY = 0x20 * ONES;
+    private static final long PAREN = ')' * ONES;                  // with '('
+    private static final long OPEN_TO_CLOSE_PAREN = 0x01 * ONES;
+    private static final long DOUBLE_QUOTE = '"' * ONES;
+    private static final long SINGLE_QUOTE = '\'' * ONES;
+    private static final long BACKSLASH = '\\' * ONES;
+    private static final long NEWLINE = '\n' * ONES;
+    private static final long RETURN = '\r' * ONES;
+    private static final long SLASH = '/' * ONES;
+
+    private byte[]     _bytes;
+    private ByteBuffer _words;
+    private int        _start;
+    private int        _end;
+
+    /** One bit per byte from {@link #_start}; allocated on first use. */
+    private long[]     _bits;
+    /** Bytes before this (relative to {@link #_start}) have been indexed. */
+    private int        _indexed;
+
+    TextStructuralIndex(byte[] bytes, int start, int end)
+    {
+        reset(bytes, start, end);
+    }
+
+    /**
+     * Re-points this index at new data.  The bitmap is kept if it's big
+     * enough.
+     */
+    void reset(byte[] bytes, int start, int end)
+    {
+        _bytes = bytes;
+        _words = null;
+        _start = start;
+        _end = end;
+        _indexed = 0;
+    }
+
+    /**
+     * Tells whether the given byte is one that the index records.
+     */
+    static boolean isIndexed(int c)
+    {
+        switch (c)
+        {
+            case '{': case '}': case '[': case ']': case '(': case ')':
+            case '"': case '\'': case '\\': case '\n': case '\r': case '/':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Finds the first indexed byte at or after {@code pos}.
+     *
+     * @param pos an offset into the indexed array, at or after its start.
+     * @param limit an offset at or before the end of the indexed data.
+     *
+     * @return the offset of that byte, or {@code limit} if there's none
+     * before it.
+     */
+    int next(int pos, int limit)
+    {
+        assert pos >= _start && limit <= _end;
+
+        int rel = pos - _start;
+        int relLimit = limit - _start;
+        if (rel >= relLimit)
+        {
+            return limit;
+        }
+
+        int word = rel >>> 6;
+        ensureIndexed(rel);
+        long bits = _bits[word] & (-1L << (rel & 63));
+        while (bits == 0)
+        {
+            word++;
+            int wordStart = word << 6;
+            if (wordStart >= relLimit)
+            {
+                return limit;
+            }
+            ensureIndexed(wordStart);
+            bits = _bits[word];
+        }
+        int found = (word << 6) + Long.numberOfTrailingZeros(bits);
+        return found < relLimit ? found + _start : limit;
+    }
+
+    private void ensureIndexed(int rel)
+    {
+        while (rel >= _indexed)
+        {
+            indexChunk();
+        }
+    }
+
+    /**
+     * Stage one: indexes the next chunk of input, a word at a time.
+     */
+    private void indexChunk()
+    {
+        final int length = _end - _start;
+        if (_bits == null || _bits.length < (length + 63) >>> 6)
+        {
+            _bits = new long[(length + 63) >>> 6];
+        }
+        if (_words == null)
+        {
+            _words = ByteBuffer.wrap(_bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        final int chunkEnd = Math.min(_indexed + CHUNK_SIZE, length);
+        int rel = _indexed;
+
+        // Whole 64-byte blocks, eight words each.
+        for (; rel + 64 <= chunkEnd; rel += 64)
+        {
+            int offset = _start + rel;
+            long bits = 0;
+            for (int i = 0; i < 8; i++)
+            {
+                bits |= pack(matches(_words.getLong(offset + (i << 3)))) << (i << 3);
+            }
+            _bits[rel >>> 6] = bits;
+        }
+
+        // The tail of the input, a byte at a time.
+        if (rel < chunkEnd)
+        {
+            long bits = 0;
+            for (int i = 0; rel + i < chunkEnd; i++)
+            {
+                if (isIndexed(_bytes[_start + rel + i]))
+                {
+                    bits |= 1L << i;
+                }
+            }
+            _bits[rel >>> 6] = bits;
+            rel = chunkEnd;
+        }
+        _indexed = rel;
+    }
+
+    /**
+     * Tests eight bytes at once, setting the high bit of each byte of the
+     * result that corresponds to an indexed byte of the input.
+     */
+    static long matches(long word)
+    {
+        // For each candidate, a byte of x is zero exactly where the input
+        // matches.  ((x & 0x7F) + 0x7F) | x has its high bit clear only in
+        // those bytes, with no borrows between bytes, so ANDing those
+        // together leaves the high bit clear where any candidate matched.
+        long curly = word | SQUARE_TO_CURLY;
+        long acc = nonZeroBytes(curly ^ CURLY_OR_SQUARE_OPEN);
+        acc &= nonZeroBytes(curly ^ CURLY_OR_SQUARE_CLOSE);
+        acc &= nonZeroBytes((word | OPEN_TO_CLOSE_PAREN) ^ PAREN);
+        acc &= nonZeroBytes(word ^ DOUBLE_QUOTE);
+        acc &= nonZeroBytes(word ^ SINGLE_QUOTE);
+        acc &= nonZeroBytes(word ^ BACKSLASH);
+        acc &= nonZeroBytes(word ^ NEWLINE);
+        acc &= nonZeroBytes(word ^ RETURN);
+        acc &= nonZeroBytes(word ^ SLASH);
+        return ~acc & HIGH_BITS;
+    }
+
+    private static long nonZeroBytes(long x)
+    {
+        return ((x & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | x;
+    }
+
+    /**
+     * Packs the high bit of each byte of {@code highBits} into one bit per
+     * byte: bit {@code i} of the result is the high bit of byte {@code i}.
+     */
+    static long pack(long highBits)
+    {
+        return ((highBits >>> 7) * GATHER) >>> 56;
+    }
+}
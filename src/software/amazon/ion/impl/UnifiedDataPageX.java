@@ -17,6 +17,9 @@ package software.amazon.ion.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 
 /**
  * this base class and it's two children (below) manage
@@ -34,6 +37,9 @@ abstract class UnifiedDataPageX
 
     protected byte[]    _bytes;
     protected char[]    _characters;
+    // set instead of _bytes when the page reads a direct or mapped buffer
+    // in place
+    protected ByteBuffer _direct;
 
 
     public static final UnifiedDataPageX makePage(byte[] bytes, int offset, int length) {
@@ -61,6 +67,7 @@ abstract class UnifiedDataPageX
     public final    PageType getPageType() { return _page_type; }
     public final    char[]   getCharBuffer() { return _characters; }
     public final    byte[]   getByteBuffer() { return _bytes; }
+    public final    ByteBuffer getDirectBuffer() { return _direct; }
 
     private final boolean isBytes() {
         return (_page_type == PageType.BYTES);
@@ -96,6 +103,30 @@ abstract class UnifiedDataPageX
         return read;
     }
 
+    /**
+     * Maps the window of the file that starts start_offset bytes before
+     * file_position, so the bytes before file_position can be unread in
+     * place, and runs for at most window_size bytes.
+     */
+    int load(FileChannel channel, int start_offset, long file_position, int window_size) throws IOException
+    {
+        if (!isBytes()) {
+            throw new UnsupportedOperationException("character pages can't load bytes");
+        }
+        long start = file_position - start_offset;
+        long end = Math.min(channel.size(), start + window_size);
+        if (end <= file_position) {
+            return 0;
+        }
+        _direct = channel.map(MapMode.READ_ONLY, start, end - start);
+        _bytes = null;
+        _base_offset = start_offset;
+        _unread_count = 0;
+        _page_limit = (int) (end - start);
+        setFilePosition(file_position, start_offset);
+        return _page_limit - start_offset;
+    }
+
     public int getBufferLimit()    { return _page_limit; }
     public int getOriginalStartingOffset() { return _base_offset; }
 
@@ -175,15 +206,37 @@ abstract class UnifiedDataPageX
             _base_offset = offset;
             _page_limit  = offset + len;
         }
+        public Bytes(ByteBuffer direct, int offset, int len) {
+            _page_type   = PageType.BYTES;
+            _direct      = direct;
+            _base_offset = offset;
+            _page_limit  = offset + len;
+        }
+
+        /** Re-points this page at the given bytes, as if newly constructed on them. */
+        final void reset(byte[] bytes, int offset, int len) {
+            _bytes        = bytes;
+            _base_offset  = offset;
+            _page_limit   = offset + len;
+            _unread_count = 0;
+            _file_offset  = 0;
+        }
 
         @Override
         public int getValue(int offset) {
+            if (_direct != null) {
+                return (_direct.get(offset) & 0xff);
+            }
             return (_bytes[offset] & 0xff);
         }
 
         @Override
         public void putValue(int offset, int b) {
-           _bytes[_base_offset] = (byte)b;
+            // a direct page already holds the byte being unread, and
+            // may not be writable
+            if (_direct == null) {
+                _bytes[_base_offset] = (byte)b;
+            }
         }
 
         @Override
@@ -194,7 +247,14 @@ abstract class UnifiedDataPageX
             if (bytes_read > _page_limit - pageOffset) {
                 bytes_read = _page_limit - pageOffset;
             }
-            System.arraycopy(_bytes, pageOffset, bytes, offset, bytes_read);
+            if (_direct != null) {
+                ByteBuffer src = _direct.duplicate();
+                src.position(pageOffset);
+                src.get(bytes, offset, bytes_read);
+            }
+            else {
+                System.arraycopy(_bytes, pageOffset, bytes, offset, bytes_read);
+            }
 
             return bytes_read;
         }
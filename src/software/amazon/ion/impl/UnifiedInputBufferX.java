@@ -14,6 +14,7 @@
 
 package software.amazon.ion.impl;
 
+import java.nio.ByteBuffer;
 
 abstract class UnifiedInputBufferX
 {
@@ -29,6 +30,18 @@ abstract class UnifiedInputBufferX
         UnifiedInputBufferX buf = new UnifiedInputBufferX.Bytes(bytes, offset, length);
         return buf;
     }
+    public static UnifiedInputBufferX makePageBuffer(ByteBuffer direct, int offset, int length) {
+        UnifiedInputBufferX buf = new UnifiedInputBufferX.Direct(direct, offset, length);
+        return buf;
+    }
+    /**
+     * Makes a buffer whose pages are mapped from a file, rather than loaded
+     * into arrays, a window of at most windowSize bytes at a time.
+     */
+    public static UnifiedInputBufferX makeMappedPageBuffer(int windowSize) {
+        UnifiedInputBufferX buf = new UnifiedInputBufferX.Direct(windowSize);
+        return buf;
+    }
     public static UnifiedInputBufferX makePageBuffer(char[] chars, int offset, int length) {
         UnifiedInputBufferX buf = new UnifiedInputBufferX.Chars(chars, offset, length);
         return buf;
@@ -117,6 +130,12 @@ abstract class UnifiedInputBufferX
         return _buffers[pageIdx];
     }
 
+    /** Like {@link #getNextFilledPageIdx()}, but without moving to that page. */
+    protected final boolean hasNextFilledPage() {
+        int idx = _buffer_current + 1;
+        return (idx < _buffer_count && _buffers[idx] != null);
+    }
+
     protected final int getNextFilledPageIdx() {
         int idx = _buffer_current + 1;
 
@@ -267,6 +286,21 @@ abstract class UnifiedInputBufferX
             _buffer_current = 0;
             _buffer_count = 1;
         }
+        /**
+         * Re-points a buffer that wraps a byte array at the given bytes.
+         * @return the buffer's only page.
+         */
+        protected final UnifiedDataPageX reset(byte[] bytes, int offset, int length) {
+            UnifiedDataPageX.Bytes page = (UnifiedDataPageX.Bytes) _buffers[0];
+            for (int ii=1; ii<_buffers.length; ii++) {
+                _buffers[ii] = null;
+            }
+            page.reset(bytes, offset, length);
+            _page_size = length;
+            _buffer_current = 0;
+            _buffer_count = 1;
+            return page;
+        }
         @Override
         public final BufferType getType() { return BufferType.BYTES; }
 
@@ -280,6 +314,33 @@ abstract class UnifiedInputBufferX
         public final int maxValue() { return 0xff; }
 
     }
+    /**
+     * Reads direct and mapped {@link ByteBuffer}s in place, with no page
+     * arrays.
+     */
+    static class Direct extends UnifiedInputBufferX {
+        protected Direct(int windowSize) {
+            super(windowSize);
+        }
+        protected Direct(ByteBuffer direct, int offset, int length) {
+            super(length);
+            _buffers[0] = new UnifiedDataPageX.Bytes(direct, offset, length);
+            _buffer_current = 0;
+            _buffer_count = 1;
+        }
+        @Override
+        public final BufferType getType() { return BufferType.BYTES; }
+
+        @Override
+        protected final UnifiedDataPageX make_page(int page_size) {
+            // the page's buffer is mapped when the page is loaded
+            UnifiedDataPageX p = new UnifiedDataPageX.Bytes((ByteBuffer) null, 0, 0);
+            return p;
+        }
+
+        @Override
+        public final int maxValue() { return 0xff; }
+    }
     static class Chars extends UnifiedInputBufferX {
         protected Chars(int initialPageSize) {
             super(initialPageSize);
@@ -18,6 +18,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import software.amazon.ion.impl.IonReaderTextRawTokensX.IonReaderTextTokenException;
 import software.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
 
@@ -73,6 +75,8 @@ abstract class UnifiedInputStreamX
     boolean                 _eof;
     boolean                 _is_byte_data;
     boolean                 _is_stream;
+    // when set, skips past the buffered data are passed to _stream.skip()
+    boolean                 _skips_stream;
 
     UnifiedInputBufferX      _buffer;
     int                     _max_char_value;
@@ -83,12 +87,20 @@ abstract class UnifiedInputStreamX
     // source or a character source
     Reader                  _reader;
     InputStream             _stream;
+    FileChannel             _channel;
     byte[]                  _bytes;
     char[]                  _chars;
+    // set instead of _bytes when the current page is a direct or mapped
+    // buffer, which is read in place with absolute gets
+    ByteBuffer              _direct;
 
 
     UnifiedSavePointManagerX _save_points;
 
+    // only set when all of the input is in one unchanging byte array, and
+    // then only once a text scanner first skips through it
+    TextStructuralIndex      _index;
+
 
     // factories to construct an appropriate input stream
     // based on the input source
@@ -116,6 +128,31 @@ abstract class UnifiedInputStreamX
     public static UnifiedInputStreamX makeStream(InputStream stream) throws IOException {
         return new FromByteStream(stream);
     }
+    /**
+     * Makes a stream that reads the buffer, from its position to its limit,
+     * in place.  Meant for direct and read-only buffers; heap buffers can
+     * simply be read as arrays.
+     */
+    static UnifiedInputStreamX makeStream(ByteBuffer buffer) {
+        return new FromByteBuffer(buffer);
+    }
+    /**
+     * Makes a stream that maps the channel's file a window at a time and
+     * reads each window in place.  The channel is closed with the stream.
+     */
+    static UnifiedInputStreamX makeStream(FileChannel channel) throws IOException {
+        return new FromByteBuffer(channel, (int) ByteBufferInputStream.MAX_MAPPED_WINDOW);
+    }
+    /**
+     * Makes a stream that passes skips beyond its buffered data to
+     * {@link InputStream#skip(long)} instead of reading the skipped bytes.
+     * The source's skip must skip exactly as many bytes as it reports.
+     */
+    static UnifiedInputStreamX makeSkippingStream(InputStream stream) throws IOException {
+        UnifiedInputStreamX uis = new FromByteStream(stream);
+        uis._skips_stream = true;
+        return uis;
+    }
     public final InputStream getInputStream() { return _stream; }
     public final Reader      getReader()      { return _reader; }
     public final byte[]      getByteArray()   { return _bytes; }
@@ -135,10 +172,36 @@ abstract class UnifiedInputStreamX
         _buffer.clear();
     }
 
+    /**
+     * Pops and frees any save points that are still active, as needed
+     * when the stream is repositioned.
+     */
+    final void clear_active_save_points() {
+        for (;;) {
+            SavePoint sp = _save_points._active_stack;
+            if (sp == null) break;
+            _save_points.savePointPopActive(sp);
+            sp.free();
+        }
+    }
+
     public final boolean isEOF() {
         return _eof; // (_state == UIS_STATE.STATE_EOF);
     }
 
+    /**
+     * Clears EOF so that the next read tries the source again, for sources
+     * that may have more data later.
+     */
+    final void clear_eof() {
+        if (_eof) {
+            _eof = false;
+            if (_limit == -1) {
+                _limit = _pos;
+            }
+        }
+    }
+
     /**
      * used to find the current position of this stream in the
      * input source.
@@ -191,6 +254,7 @@ abstract class UnifiedInputStreamX
         _eof = false;
         if (is_byte_data()) {
             _bytes = curr.getByteBuffer();
+            _direct = curr.getDirectBuffer();
         }
         else {
             _chars = curr.getCharBuffer();
@@ -230,7 +294,11 @@ abstract class UnifiedInputStreamX
                 // the actual beginning of the input - which is an error.
                 curr.inc_unread_count();
                 if (is_byte_data()) {
-                    _bytes[_pos] = (byte)c;
+                    // direct pages are mapped with the preceding bytes
+                    // in place, so only arrays need to be written
+                    if (_direct == null) {
+                        _bytes[_pos] = (byte)c;
+                    }
                 }
                 else {
                     _chars[_pos] = (char)c;
@@ -254,7 +322,7 @@ abstract class UnifiedInputStreamX
     private final void verify_matched_unread(int c) {
         if (_debug) {
             if (is_byte_data()) {
-                assert(_bytes[_pos] == (byte)c);
+                assert(byte_at(_pos) == c);
             }
             else {
                 assert(_chars[_pos] == (char)c);
@@ -282,7 +350,7 @@ abstract class UnifiedInputStreamX
         // thing.
         if (_pos > curr.getStartingOffset()) {
             if (is_byte_data()) {
-                c = _bytes[_pos-1] & 0xff;
+                c = byte_at(_pos-1);
             }
             else {
                 c = _chars[_pos-1];
@@ -298,8 +366,13 @@ abstract class UnifiedInputStreamX
         if (_pos >= _limit) return read_helper();
         // both bytes and chars might be null if this is empty input
         // otherwise we should have 1, and only 1, of these buffers set
-        assert((_bytes == null) ^ (_chars == null));
-        return (_is_byte_data) ? (_bytes[_pos++] & 0xff) : _chars[_pos++];
+        assert((_bytes == null && _direct == null) ^ (_chars == null));
+        if (!_is_byte_data) return _chars[_pos++];
+        return (_direct == null) ? (_bytes[_pos++] & 0xff) : (_direct.get(_pos++) & 0xff);
+    }
+
+    private final int byte_at(int pos) {
+        return (_direct == null) ? (_bytes[pos] & 0xff) : (_direct.get(pos) & 0xff);
     }
 
     protected final int read_helper() throws IOException
@@ -311,7 +384,7 @@ abstract class UnifiedInputStreamX
             return EOF;
         }
 
-        int c = (is_byte_data()) ? (_bytes[_pos++] & 0xff) : _chars[_pos++];
+        int c = (is_byte_data()) ? byte_at(_pos++) : _chars[_pos++];
         return c;
     }
 
@@ -326,6 +399,33 @@ abstract class UnifiedInputStreamX
         return false;
     }
 
+    /**
+     * Advances past the bytes of the current page that can't affect a
+     * scanner that is skipping, stopping at the next one that can; see
+     * {@link TextStructuralIndex}.  Does nothing unless the input has such an
+     * index, so callers must still handle every character they read.
+     */
+    public final void skipToStructural()
+    {
+        if (_pos < _limit) {
+            if (_index == null) {
+                _index = make_structural_index();
+                if (_index == null) return;
+            }
+            _pos = _index.next(_pos, _limit);
+        }
+    }
+
+    /**
+     * Builds the index used by {@link #skipToStructural()}, or returns null
+     * if this input can't have one, leaving the scanner to read every
+     * character.
+     */
+    TextStructuralIndex make_structural_index()
+    {
+        return null;
+    }
+
     public final void skip(int skipDistance) throws IOException
     {
         int remaining = _limit - _pos;
@@ -343,6 +443,9 @@ abstract class UnifiedInputStreamX
                 }
                 _pos += ready;
                 remaining -= ready;
+                if (remaining > 0 && _skips_stream) {
+                    remaining -= skip_stream(remaining);
+                }
                 if (remaining > 0) {
                     if (refill_helper()) {
                         break;
@@ -359,6 +462,27 @@ abstract class UnifiedInputStreamX
         }
         return;
     }
+    /**
+     * Skips bytes of the source beyond the current page, when the page is
+     * used up and nothing needs to be read back later.
+     *
+     * @return the number of bytes skipped.
+     */
+    private final int skip_stream(int skipDistance) throws IOException
+    {
+        UnifiedDataPageX curr = _buffer.getCurrentPage();
+        if (curr == null || _save_points.isSavePointOpen() || _buffer.hasNextFilledPage()) {
+            return 0;
+        }
+        long position = curr.getFilePosition(_pos);
+        int skipped = (int) _stream.skip(skipDistance);
+        if (skipped > 0) {
+            // the page now ends where the skipped bytes do
+            curr.setFilePosition(position + skipped, _pos);
+        }
+        return skipped;
+    }
+
     // NB this method does not follow the contract of InputStream.read, it will return 0 at EOF
     //    It is unclear what the implication to the rest of the system to make it 'conform'
     public final int read(byte[] dst, int offset, int length) throws IOException
@@ -372,7 +496,13 @@ abstract class UnifiedInputStreamX
             if (ready > remaining) {
                 ready = remaining;
             }
-            System.arraycopy(_bytes, _pos, dst, offset, ready);
+            if (_direct == null) {
+                System.arraycopy(_bytes, _pos, dst, offset, ready);
+            }
+            else {
+                _direct.position(_pos);
+                _direct.get(dst, offset, ready);
+            }
             _pos += ready;
             offset += ready;
             remaining -= ready;
@@ -520,7 +650,10 @@ abstract class UnifiedInputStreamX
     {
         int read = 0;
         if (can_fill_new_page()) {
-            if (is_byte_data()) {
+            if (_channel != null) {
+                read = curr.load(_channel, start_pos, file_position, _buffer._page_size);
+            }
+            else if (is_byte_data()) {
                 read = curr.load(_stream, start_pos, file_position);
             }
             else {
@@ -582,6 +715,9 @@ abstract class UnifiedInputStreamX
 
 static class FromByteArray extends UnifiedInputStreamX
     {
+        private int _start;
+        private int _end;
+
         FromByteArray(byte[] bytes, int offset, int length)
         {
             _is_byte_data = true;
@@ -590,6 +726,69 @@ static class FromByteArray extends UnifiedInputStreamX
             UnifiedDataPageX curr = _buffer.getCurrentPage();
             make_page_current(curr, 0, offset, offset+length);
             super.init();
+            _start = offset;
+            _end = offset+length;
+        }
+
+        @Override
+        TextStructuralIndex make_structural_index()
+        {
+            return new TextStructuralIndex(_bytes, _start, _end);
+        }
+
+        /**
+         * Re-points this stream at the given bytes, as if newly constructed
+         * on them, but without allocating a new buffer.
+         */
+        final void reset(byte[] bytes, int offset, int length)
+        {
+            UnifiedDataPageX curr =
+                ((UnifiedInputBufferX.Bytes) _buffer).reset(bytes, offset, length);
+            clear_active_save_points();
+            make_page_current(curr, 0, offset, offset+length);
+            _start = offset;
+            _end = offset+length;
+            if (_index != null) {
+                _index.reset(bytes, offset, offset+length);
+            }
+        }
+    }
+
+    /**
+     * Reads a direct or mapped buffer in place, or a file as a series of
+     * mapped windows, so no page arrays are filled.
+     */
+    static class FromByteBuffer extends UnifiedInputStreamX
+    {
+        FromByteBuffer(ByteBuffer buffer)
+        {
+            ByteBuffer direct = buffer.slice();
+            _is_byte_data = true;
+            _is_stream = false;
+            _buffer = UnifiedInputBufferX.makePageBuffer(direct, 0, direct.limit());
+            UnifiedDataPageX curr = _buffer.getCurrentPage();
+            make_page_current(curr, 0, 0, direct.limit());
+            super.init();
+        }
+
+        FromByteBuffer(FileChannel channel, int windowSize) throws IOException
+        {
+            _is_byte_data = true;
+            _is_stream = true;
+            _channel = channel;
+            _buffer = UnifiedInputBufferX.makeMappedPageBuffer(windowSize);
+            super.init();
+            _limit = refill();
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            super.close();
+            if (_channel != null) {
+                _channel.close();
+            }
         }
     }
 
@@ -15,6 +15,8 @@
 package software.amazon.ion.impl.bin;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 
 /**
@@ -36,6 +38,46 @@ import java.io.Closeable;
         this.limit = 0;
     }
 
+    /**
+     * Views over {@link #data} for gathering writes.  They stay with the block, so that a recycled block doesn't need
+     * new ones.
+     */
+    private ByteBuffer[] views;
+    /** The number of {@link #views} handed out since {@link #releaseViews()}. */
+    private int viewsInUse;
+
+    /**
+     * Returns a view over a range of the data that is not shared with the other views handed out until
+     * {@link #releaseViews()} is called.
+     */
+    /*package*/ final ByteBuffer view(final int offset, final int length)
+    {
+        if (views == null)
+        {
+            views = new ByteBuffer[1];
+        }
+        else if (viewsInUse == views.length)
+        {
+            views = Arrays.copyOf(views, 2 * views.length);
+        }
+        ByteBuffer view = views[viewsInUse];
+        if (view == null)
+        {
+            view = ByteBuffer.wrap(data);
+            views[viewsInUse] = view;
+        }
+        viewsInUse++;
+        view.limit(offset + length);
+        view.position(offset);
+        return view;
+    }
+
+    /** Makes the views handed out by {@link #view(int, int)} available for reuse. */
+    /*package*/ final void releaseViews()
+    {
+        viewsInUse = 0;
+    }
+
     /** Resets the limit to zero. */
     public final void reset()
     {
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+
+/**
+ * Collects segments of {@link Block}s, possibly from several {@link WriteBuffer}s, and writes them to a channel with
+ * one {@link GatheringByteChannel#write(ByteBuffer[], int, int)} call, repeated only for partial writes.
+ * <p>
+ * The segments are written through views kept by their blocks, and the array holding them is reused, so a writer
+ * whose blocks are recycled by a pooling allocator can flush without allocating.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+/*package*/ final class GatheringWrite
+{
+    private ByteBuffer[]    segments = new ByteBuffer[16];
+    private Block[]         blocks = new Block[16];
+    private int             count;
+
+    /** Adds a range of a block's data to the write. */
+    public void add(final Block block, final int offset, final int length)
+    {
+        if (count == segments.length)
+        {
+            segments = Arrays.copyOf(segments, 2 * count);
+            blocks = Arrays.copyOf(blocks, 2 * count);
+        }
+        segments[count] = block.view(offset, length);
+        blocks[count] = block;
+        count++;
+    }
+
+    /**
+     * Writes all of the segments added since the last write to the channel, which must be in blocking mode: a
+     * non-blocking channel that accepts nothing would keep this retrying.
+     */
+    public void writeTo(final GatheringByteChannel channel) throws IOException
+    {
+        try
+        {
+            int first = 0;
+            while (first < count)
+            {
+                channel.write(segments, first, count - first);
+                while (first < count && !segments[first].hasRemaining())
+                {
+                    first++;
+                }
+            }
+        }
+        finally
+        {
+            clear();
+        }
+    }
+
+    /** Drops the segments added since the last write. */
+    public void clear()
+    {
+        for (int i = 0; i < count; i++)
+        {
+            blocks[i].releaseViews();
+        }
+        // don't keep the blocks' data reachable from here
+        Arrays.fill(segments, 0, count, null);
+        Arrays.fill(blocks, 0, count, null);
+        count = 0;
+    }
+}
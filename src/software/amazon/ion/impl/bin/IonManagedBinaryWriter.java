@@ -26,12 +26,15 @@ import static software.amazon.ion.SystemSymbols.VERSION_SID;
 import static software.amazon.ion.impl.bin.Symbols.systemSymbol;
 
 import software.amazon.ion.*;
+import software.amazon.ion.impl.PrivateEncodedValueSink;
 import software.amazon.ion.impl.PrivateIonWriter;
+import software.amazon.ion.impl.PrivateListWriter;
 import software.amazon.ion.impl.LSTWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.channels.GatheringByteChannel;
 import java.util.*;
 
 import software.amazon.ion.impl.PrivateUtils;
@@ -42,9 +45,13 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 
 /** Wraps {@link IonRawBinaryWriter} with symbol table management. */
 /*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter
+    implements PrivateIonManagedWriter, PrivateEncodedValueSink, PrivateListWriter
 {
     private final IonCatalog                    catalog;
     private final ArrayList<SymbolTable>        fallbackImports;
+    private final ArrayList<SymbolTable>        initialImports;
+    private final List<String>                  initialSymbols;
+    private final boolean                       isFloatBinary32Enabled;
     private boolean                             closed = false, flushed = false, newSymbols = false;
     private LSTWriter                           lstWriter;
     private IonRawBinaryWriter                  user;
@@ -52,36 +59,81 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
     private PrivateIonWriter                    currentWriter;
     private SymbolTable                         lst;
     private int                                 lstIndex, maxSysId;
+    /** When non-null, both raw writers are flushed here together. */
+    private GatheringByteChannel                channel;
+    private final GatheringWrite                gather = new GatheringWrite();
 
 
     /*package*/ IonManagedBinaryWriter(final PrivateIonManagedBinaryWriterBuilder builder,
                                        final OutputStream out)
                                        throws IOException
     {
-        super(builder.optimization);
-        symbols = new IonRawBinaryWriter(
-            builder.provider,
-            builder.symbolsBlockSize,
-            out,
-            WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
-            StreamCloseMode.NO_CLOSE,
-            StreamFlushMode.NO_FLUSH,
-            builder.preallocationMode,
-            builder.isFloatBinary32Enabled
+        this(
+            builder,
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.symbolsBlockSize,
+                out,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.NO_CLOSE,
+                StreamFlushMode.NO_FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            ),
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.userBlockSize,
+                out,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.CLOSE,
+                StreamFlushMode.FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            )
         );
-        user = new IonRawBinaryWriter(
-            builder.provider,
-            builder.userBlockSize,
-            out,
-            WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
-            StreamCloseMode.CLOSE,
-            StreamFlushMode.FLUSH,
-            builder.preallocationMode,
-            builder.isFloatBinary32Enabled
+    }
+
+    /*package*/ IonManagedBinaryWriter(final PrivateIonManagedBinaryWriterBuilder builder,
+                                       final GatheringByteChannel channel)
+                                       throws IOException
+    {
+        this(
+            builder,
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.symbolsBlockSize,
+                channel,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.NO_CLOSE,
+                StreamFlushMode.NO_FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            ),
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.userBlockSize,
+                channel,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.CLOSE,
+                StreamFlushMode.FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled
+            )
         );
+        this.channel = channel;
+    }
+
+    private IonManagedBinaryWriter(final PrivateIonManagedBinaryWriterBuilder builder,
+                                   final IonRawBinaryWriter symbols,
+                                   final IonRawBinaryWriter user)
+    {
+        super(builder.optimization);
+        this.symbols = symbols;
+        this.user = user;
 
         currentWriter = user;
         catalog = builder.catalog;
+        isFloatBinary32Enabled = builder.isFloatBinary32Enabled;
         if(builder.imports == null) {
             fallbackImports = new ArrayList<SymbolTable>();
         } else {
@@ -90,22 +142,26 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 
 
         if (builder.initialSymbolTable != null) {
-            lstIndex = builder.initialSymbolTable.getImportedMaxId();
-            ArrayList temp = new ArrayList<String>();
+            initialImports = new ArrayList<SymbolTable>(Arrays.asList(builder.initialSymbolTable.getImportedTables()));
+            initialSymbols = new ArrayList<String>();
             final Iterator<String> symbolIter = builder.initialSymbolTable.iterateDeclaredSymbolNames();
             while (symbolIter.hasNext()) {
-                temp.add(symbolIter.next());
+                initialSymbols.add(symbolIter.next());
             }
-            lstWriter = new LSTWriter(new ArrayList(Arrays.asList(builder.initialSymbolTable.getImportedTables())), temp, catalog);
-            lst = lstWriter.getSymbolTable();
-            lstIndex = lst.getImportedMaxId();
         } else {
-            lstWriter = new LSTWriter(fallbackImports, new ArrayList<String>(), catalog);
-            lst = lstWriter.getSymbolTable();
-            lstIndex = lst.getImportedMaxId();
+            initialImports = fallbackImports;
+            initialSymbols = Collections.emptyList();
         }
+        resetLocalSymbolTable();
         maxSysId = lst.getSystemSymbolTable().getMaxId();
+    }
 
+    /** Starts over with the imports and symbols of the builder's initial symbol table. */
+    private void resetLocalSymbolTable()
+    {
+        lstWriter = new LSTWriter(initialImports, initialSymbols, catalog);
+        lst = lstWriter.getSymbolTable();
+        lstIndex = lst.getImportedMaxId();
     }
 
     // Compatibility with Implementation Writer Interface
@@ -304,6 +360,124 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         user.writeBytes(data, off, len);
     }
 
+    // Bulk Lists
+
+    private static void checkSlice(final int arrayLength, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("Bad slice [" + offset + ", " + length + "] of array of length " + arrayLength);
+        }
+    }
+
+    public void writeBoolList(final boolean[] values) throws IOException {
+        stepIn(LIST);
+        for (final boolean value : values) {
+            writeBool(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final byte[] values) throws IOException {
+        stepIn(LIST);
+        for (final byte value : values) {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final short[] values) throws IOException {
+        stepIn(LIST);
+        for (final short value : values) {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final int[] values) throws IOException {
+        if (currentWriter == user) {
+            user.writeIntList(values, 0, values.length);
+            return;
+        }
+        stepIn(LIST);
+        for (final int value : values) {
+            writeInt(value);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final long[] values) throws IOException {
+        writeIntList(values, 0, values.length);
+    }
+
+    public void writeIntList(final long[] values, final int offset, final int length) throws IOException {
+        checkSlice(values.length, offset, length);
+        if (currentWriter == user) {
+            user.writeIntList(values, offset, length);
+            return;
+        }
+        stepIn(LIST);
+        for (int i = offset; i < offset + length; i++) {
+            writeInt(values[i]);
+        }
+        stepOut();
+    }
+
+    public void writeFloatList(final float[] values) throws IOException {
+        writeFloatList(values, 0, values.length);
+    }
+
+    public void writeFloatList(final float[] values, final int offset, final int length) throws IOException {
+        checkSlice(values.length, offset, length);
+        if (currentWriter == user) {
+            user.writeFloatList(values, offset, length);
+            return;
+        }
+        stepIn(LIST);
+        for (int i = offset; i < offset + length; i++) {
+            writeFloat(values[i]);
+        }
+        stepOut();
+    }
+
+    public void writeFloatList(final double[] values) throws IOException {
+        writeFloatList(values, 0, values.length);
+    }
+
+    public void writeFloatList(final double[] values, final int offset, final int length) throws IOException {
+        checkSlice(values.length, offset, length);
+        if (currentWriter == user) {
+            user.writeFloatList(values, offset, length);
+            return;
+        }
+        stepIn(LIST);
+        for (int i = offset; i < offset + length; i++) {
+            writeFloat(values[i]);
+        }
+        stepOut();
+    }
+
+    public void writeStringList(final String[] values) throws IOException {
+        stepIn(LIST);
+        for (final String value : values) {
+            writeString(value);
+        }
+        stepOut();
+    }
+
+    // Encoded Values
+
+    public SymbolTable getEncodingSymbolTable() {
+        // encoded values always use 64-bit floats
+        if (currentWriter != user || isFloatBinary32Enabled) return null;
+        return lst;
+    }
+
+    public void writeEncodedValue(byte[] data, int off, int len, int maxSid) throws IOException {
+        newSymbols |= maxSid > maxSysId;
+        // the value carries its own annotations
+        user.setTypeAnnotationSymbols();
+        user.writeBytes(data, off, len);
+    }
+
     // Stream Terminators
 
     public void flush() throws IOException {
@@ -348,8 +522,17 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
                 flushed = true;
                 newSymbols = false;
             }
-            symbols.flush();
-            user.flush();
+            if (channel != null) {
+                // the symbol table and the values it precedes go out in one gathering write
+                symbols.gatherTo(gather);
+                user.gatherTo(gather);
+                gather.writeTo(channel);
+                symbols.discardFlushed();
+                user.discardFlushed();
+            } else {
+                symbols.flush();
+                user.flush();
+            }
         }
     }
 
@@ -362,6 +545,28 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         flushed = false;
     }
 
+    public void reset(final OutputStream out) throws IOException {
+        reset(out, false);
+    }
+
+    public void reset(final OutputStream out, final boolean retainLocalSymbols) throws IOException {
+        if (closed) throw new IllegalStateException("Cannot reset a closed writer.");
+        if (getDepth() != 0) throw new IllegalStateException("IonWriter.reset() can only be called at top-level.");
+        if (out == null) throw new NullPointerException("Null output stream is not allowed.");
+        flush();
+        symbols.reset(out);
+        user.reset(out);
+        channel = null;
+        if (retainLocalSymbols) {
+            // the whole table is declared afresh in the new stream, as soon as a value needs it
+            lstIndex = lst.getImportedMaxId();
+        } else {
+            resetLocalSymbolTable();
+        }
+        flushed = false;
+        newSymbols = false;
+    }
+
     public void close() throws IOException {
         if (!closed) {
             closed = true;
@@ -41,6 +41,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -455,9 +457,12 @@ import software.amazon.ion.Timestamp;
     }
 
     private final BlockAllocator                allocator;
-    private final OutputStream                  out;
+    private OutputStream                        out;
     private final StreamCloseMode               streamCloseMode;
     private final StreamFlushMode               streamFlushMode;
+    /** When non-null, flushed data is written here rather than to {@link #out}. */
+    private GatheringByteChannel                channel;
+    private final GatheringWrite                gather;
     private final PreallocationMode             preallocationMode;
     private final boolean                       isFloatBinary32Enabled;
     private final WriteBuffer                   buffer;
@@ -484,6 +489,39 @@ import software.amazon.ion.Timestamp;
                                    final PreallocationMode preallocationMode,
                                    final boolean isFloatBinary32Enabled)
                                    throws IOException
+    {
+        this(provider, blockSize, out, null, optimization, streamCloseMode, streamFlushMode, preallocationMode,
+             isFloatBinary32Enabled);
+    }
+
+    /**
+     * Constructs a writer that flushes to a channel, handing all of the buffered blocks to it in one gathering write
+     * rather than copying them through a stream.  The channel should be in blocking mode.
+     */
+    /*package*/ IonRawBinaryWriter(final BlockAllocatorProvider provider,
+                                   final int blockSize,
+                                   final GatheringByteChannel channel,
+                                   final WriteValueOptimization optimization,
+                                   final StreamCloseMode streamCloseMode,
+                                   final StreamFlushMode streamFlushMode,
+                                   final PreallocationMode preallocationMode,
+                                   final boolean isFloatBinary32Enabled)
+                                   throws IOException
+    {
+        this(provider, blockSize, Channels.newOutputStream(channel), channel, optimization, streamCloseMode,
+             streamFlushMode, preallocationMode, isFloatBinary32Enabled);
+    }
+
+    private IonRawBinaryWriter(final BlockAllocatorProvider provider,
+                               final int blockSize,
+                               final OutputStream out,
+                               final GatheringByteChannel channel,
+                               final WriteValueOptimization optimization,
+                               final StreamCloseMode streamCloseMode,
+                               final StreamFlushMode streamFlushMode,
+                               final PreallocationMode preallocationMode,
+                               final boolean isFloatBinary32Enabled)
+                               throws IOException
     {
         super(optimization);
 
@@ -491,6 +529,8 @@ import software.amazon.ion.Timestamp;
 
         this.allocator         = provider.vendAllocator(blockSize);
         this.out               = out;
+        this.channel           = channel;
+        this.gather            = new GatheringWrite();
         this.streamCloseMode   = streamCloseMode;
         this.streamFlushMode   = streamFlushMode;
         this.preallocationMode = preallocationMode;
@@ -895,95 +935,96 @@ import software.amazon.ion.Timestamp;
     /**
      * Writes a type descriptor followed by unsigned integer value.
      * Does not check for sign.
-     * Note that this does not do {@link #prepareValue()} or {@link #finishValue()}.
+     * Note that this does not do {@link #prepareValue()}, {@link #finishValue()} or {@link #updateLength(long)}.
+     *
+     * @return the number of bytes written.
      */
-    private void writeTypedUInt(final int type, final long value)
+    private int writeTypedUInt(final int type, final long value)
     {
         if (value <= 0xFFL)
         {
-            updateLength(2);
             buffer.writeUInt8(type | 0x01);
             buffer.writeUInt8(value);
+            return 2;
         }
         else if (value <= 0xFFFFL)
         {
-            updateLength(3);
             buffer.writeUInt8(type | 0x02);
             buffer.writeUInt16(value);
+            return 3;
         }
         else if (value <= 0xFFFFFFL)
         {
-            updateLength(4);
             buffer.writeUInt8(type | 0x03);
             buffer.writeUInt24(value);
+            return 4;
         }
         else if (value <= 0xFFFFFFFFL)
         {
-            updateLength(5);
             buffer.writeUInt8(type | 0x04);
             buffer.writeUInt32(value);
+            return 5;
         }
         else if (value <= 0xFFFFFFFFFFL)
         {
-            updateLength(6);
             buffer.writeUInt8(type | 0x05);
             buffer.writeUInt40(value);
+            return 6;
         }
         else if (value <= 0xFFFFFFFFFFFFL)
         {
-            updateLength(7);
             buffer.writeUInt8(type | 0x06);
             buffer.writeUInt48(value);
+            return 7;
         }
         else if (value <= 0xFFFFFFFFFFFFFFL)
         {
-            updateLength(8);
             buffer.writeUInt8(type | 0x07);
             buffer.writeUInt56(value);
+            return 8;
         }
         else
         {
-            updateLength(9);
             buffer.writeUInt8(type | 0x08);
             buffer.writeUInt64(value);
+            return 9;
         }
     }
 
-    public void writeInt(long value) throws IOException
+    /**
+     * Writes an int value.
+     * Note that this does not do {@link #prepareValue()}, {@link #finishValue()} or {@link #updateLength(long)}.
+     *
+     * @return the number of bytes written.
+     */
+    private int writeIntValue(long value)
     {
-        prepareValue();
         if (value == 0)
         {
-            updateLength(1);
             buffer.writeByte(INT_ZERO);
+            return 1;
         }
-        else
+        if (value < 0)
         {
-            int type = POS_INT_TYPE;
-            if (value < 0)
+            if (value == Long.MIN_VALUE)
             {
-                type = NEG_INT_TYPE;
-                if (value == Long.MIN_VALUE)
-                {
-                    // XXX special case for min_value which will not play nice with signed arithmetic and fit into the positive space
-                    // XXX we keep 2's complement of Long.MIN_VALUE because it encodes to unsigned 2 ** 63 (0x8000000000000000L)
-                    // XXX WriteBuffer.writeUInt64() never looks at sign
-                    updateLength(9);
-                    buffer.writeUInt8(NEG_INT_TYPE | 0x8);
-                    buffer.writeUInt64(value);
-                }
-                else
-                {
-                    // get the magnitude, sign is already encoded
-                    value = -value;
-                    writeTypedUInt(type, value);
-                }
-            }
-            else
-            {
-                writeTypedUInt(type, value);
+                // XXX special case for min_value which will not play nice with signed arithmetic and fit into the positive space
+                // XXX we keep 2's complement of Long.MIN_VALUE because it encodes to unsigned 2 ** 63 (0x8000000000000000L)
+                // XXX WriteBuffer.writeUInt64() never looks at sign
+                buffer.writeUInt8(NEG_INT_TYPE | 0x8);
+                buffer.writeUInt64(value);
+                return 9;
             }
+            // get the magnitude, sign is already encoded
+            return writeTypedUInt(NEG_INT_TYPE, -value);
         }
+        return writeTypedUInt(POS_INT_TYPE, value);
+    }
+
+    public void writeInt(long value) throws IOException
+    {
+        prepareValue();
+        updateLength(writeIntValue(value));
         finishValue();
     }
 
@@ -1036,23 +1077,84 @@ import software.amazon.ion.Timestamp;
         finishValue();
     }
 
-    public void writeFloat(final double value) throws IOException
+    /**
+     * Writes a float value.
+     * Note that this does not do {@link #prepareValue()}, {@link #finishValue()} or {@link #updateLength(long)}.
+     *
+     * @return the number of bytes written.
+     */
+    private int writeFloatValue(final double value)
     {
-        prepareValue();
-
         if (isFloatBinary32Enabled && value == ((double) ((float) value))) {
-            updateLength(5);
             buffer.writeUInt8(FLOAT_TYPE | 4);
             buffer.writeUInt32(floatToRawIntBits((float) value));
-        } else {
-            updateLength(9);
-            buffer.writeUInt8(FLOAT_TYPE | 8);
-            buffer.writeUInt64(doubleToRawLongBits(value));
+            return 5;
         }
+        buffer.writeUInt8(FLOAT_TYPE | 8);
+        buffer.writeUInt64(doubleToRawLongBits(value));
+        return 9;
+    }
 
+    public void writeFloat(final double value) throws IOException
+    {
+        prepareValue();
+        updateLength(writeFloatValue(value));
         finishValue();
     }
 
+    // Bulk Lists
+
+    // The elements of a list have no field names or annotations, so these write them straight
+    // into the buffer and account for their length once.
+
+    /*package*/ void writeIntList(final long[] values, final int offset, final int length) throws IOException
+    {
+        stepIn(LIST);
+        long listLength = 0;
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            listLength += writeIntValue(values[i]);
+        }
+        updateLength(listLength);
+        stepOut();
+    }
+
+    /*package*/ void writeIntList(final int[] values, final int offset, final int length) throws IOException
+    {
+        stepIn(LIST);
+        long listLength = 0;
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            listLength += writeIntValue(values[i]);
+        }
+        updateLength(listLength);
+        stepOut();
+    }
+
+    /*package*/ void writeFloatList(final double[] values, final int offset, final int length) throws IOException
+    {
+        stepIn(LIST);
+        long listLength = 0;
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            listLength += writeFloatValue(values[i]);
+        }
+        updateLength(listLength);
+        stepOut();
+    }
+
+    /*package*/ void writeFloatList(final float[] values, final int offset, final int length) throws IOException
+    {
+        stepIn(LIST);
+        long listLength = 0;
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            listLength += writeFloatValue(values[i]);
+        }
+        updateLength(listLength);
+        stepOut();
+    }
+
     /** Encodes a decimal, updating the current container length context (which is probably a Decimal/Timestamp). */
     private void writeDecimalValue(final BigDecimal value)
     {
@@ -1277,7 +1379,7 @@ import software.amazon.ion.Timestamp;
         }
         final int sid = checkSid(content);
         prepareValue();
-        writeTypedUInt(SYMBOL_TYPE, sid);
+        updateLength(writeTypedUInt(SYMBOL_TYPE, sid));
         finishValue();
     }
 
@@ -1431,7 +1533,10 @@ import software.amazon.ion.Timestamp;
     public void flush() throws IOException {
         if (!closed) {
             if (!containers.isEmpty()) throw new IllegalStateException("Cannot flush within container: " + containers);
-            if (patchPoints.isEmpty()) {
+            if (channel != null) {
+                gatherTo(gather);
+                gather.writeTo(channel);
+            } else if (patchPoints.isEmpty()) {
                 // nothing to patch--write 'em out!
                 buffer.writeTo(out);
             } else {
@@ -1450,13 +1555,32 @@ import software.amazon.ion.Timestamp;
                 }
                 buffer.writeTo(out, bufferPosition, buffer.position() - bufferPosition);
             }
-            patchPoints.clear();
-            patchBuffer.reset();
-            buffer.reset();
+            discardFlushed();
             if (streamFlushMode == StreamFlushMode.FLUSH) out.flush();
         }
     }
 
+    /**
+     * Adds the buffered data, with its patches applied, to a gathering write.  The writer must be at top-level, and
+     * must not be written to until the data has been written and {@link #discardFlushed()} called.
+     */
+    /*package*/ void gatherTo(final GatheringWrite gather) {
+        long bufferPosition = 0;
+        for (final PatchPoint patch : patchPoints) {
+            buffer.addSegmentsTo(gather, bufferPosition, patch.oldPosition - bufferPosition);
+            patchBuffer.addSegmentsTo(gather, patch.patchPosition, patch.patchLength);
+            bufferPosition = patch.oldPosition + patch.oldLength;
+        }
+        buffer.addSegmentsTo(gather, bufferPosition, buffer.position() - bufferPosition);
+    }
+
+    /** Empties the buffers once their data has been written by a {@link #gatherTo(GatheringWrite)}. */
+    /*package*/ void discardFlushed() {
+        patchPoints.clear();
+        patchBuffer.reset();
+        buffer.reset();
+    }
+
     public void finish() throws IOException {
         if (!closed) {
             flush();
@@ -1464,6 +1588,27 @@ import software.amazon.ion.Timestamp;
         }
     }
 
+    /**
+     * Rebinds this writer to a new stream, as if newly constructed on it, while keeping its buffers.
+     * The writer must be at top-level with all of its data flushed.
+     */
+    /*package*/ void reset(final OutputStream out) {
+        if (closed) throw new IllegalStateException("Cannot reset a closed writer");
+        if (!containers.isEmpty()) throw new IllegalStateException("Cannot reset within container: " + containers);
+        if (buffer.position() != 0) throw new IllegalStateException("Cannot reset with unflushed data");
+        if (out == null) { throw new NullPointerException(); }
+
+        this.out     = out;
+        this.channel = null;
+
+        this.hasWrittenValuesSinceFinished    = false;
+        this.hasWrittenValuesSinceConstructed = false;
+
+        this.currentFieldName                 = null;
+        this.currentAnnotations.clear();
+        this.hasTopLevelSymbolTableAnnotation = false;
+    }
+
     public void close() throws IOException {
         if (!closed) {
             try {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import static software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.DEFAULT_BLOCK_SIZE;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lends out the fixed-size {@link Block}s of a {@link BlockAllocator} to code outside of this package,
+ * such as the DOM's binary encoder.
+ * <p>
+ * This implementation is thread-safe.
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ */
+@Deprecated
+public final class PrivateBlockPool
+{
+    /**
+     * A byte array lent out by a pool.  The owner must call {@link #close()} once it no longer needs the data.
+     * <p>
+     * This class is <b>not</b> thread-safe.
+     */
+    public static final class Chunk implements Closeable
+    {
+        /** The data backing this chunk. */
+        public final byte[] data;
+        private final Block block;
+
+        private Chunk(final Block block)
+        {
+            this.data = block.data;
+            this.block = block;
+        }
+
+        /** Returns the chunk to the pool from whence it came. */
+        public void close()
+        {
+            block.close();
+        }
+    }
+
+    /** The most bytes the default pool keeps on its free list. */
+    private static final long DEFAULT_MAX_FREE_BYTES = 32L * DEFAULT_BLOCK_SIZE;
+
+    /** How long a free block may sit in the default pool before it is dropped. */
+    private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+
+    private static final PrivateBlockPool DEFAULT = new PrivateBlockPool(
+        new PrivateBoundedBlockAllocatorProvider(DEFAULT_MAX_FREE_BYTES,
+                                                 DEFAULT_IDLE_TIMEOUT_SECONDS,
+                                                 TimeUnit.SECONDS),
+        DEFAULT_BLOCK_SIZE
+    );
+
+    /**
+     * Returns the pool shared by all of the DOM encoders, which keeps a bounded number of
+     * {@link PrivateIonManagedBinaryWriterBuilder#DEFAULT_BLOCK_SIZE} blocks for reuse.
+     */
+    public static PrivateBlockPool getDefault()
+    {
+        return DEFAULT;
+    }
+
+    /** Returns a pool that allocates a new block of the given size every time and keeps nothing for reuse. */
+    public static PrivateBlockPool unpooled(final int blockSize)
+    {
+        if (blockSize < 1)
+        {
+            throw new IllegalArgumentException("Block size cannot be less than 1: " + blockSize);
+        }
+        return new PrivateBlockPool(BlockAllocatorProviders.basicProvider(), blockSize);
+    }
+
+    private final BlockAllocator allocator;
+
+    private PrivateBlockPool(final BlockAllocatorProvider provider, final int blockSize)
+    {
+        this.allocator = provider.vendAllocator(blockSize);
+    }
+
+    /** Returns the size of the chunks handed out by {@link #allocate(int)}, when they fit. */
+    public int getBlockSize()
+    {
+        return allocator.getBlockSize();
+    }
+
+    /**
+     * Allocates a chunk of at least the given size.  Requests that don't fit in a block get an array of
+     * exactly the requested size, which isn't pooled.
+     */
+    public Chunk allocate(final int minimumSize)
+    {
+        if (minimumSize > allocator.getBlockSize())
+        {
+            return new Chunk(BlockAllocatorProviders.basicProvider().vendAllocator(minimumSize).allocateBlock());
+        }
+        return new Chunk(allocator.allocateBlock());
+    }
+}
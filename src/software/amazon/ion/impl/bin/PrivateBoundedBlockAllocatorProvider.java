@@ -0,0 +1,247 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pooling implementation of {@link BlockAllocatorProvider} that bounds the memory it retains.
+ * <p>
+ * Like {@link PooledBlockAllocatorProvider}, closed blocks go onto a global thread-safe free list for their
+ * block size, but a closed block is dropped instead once that free list holds the configured number of bytes.
+ * Blocks that have been idle on a free list for longer than the idle timeout are dropped as well, so the pool
+ * shrinks back down after a burst of large writes.  Idle blocks are evicted as blocks are allocated and closed,
+ * or explicitly by {@link #evictIdleBlocks()}; there is no background thread.
+ * <p>
+ * The counters exposed by this class are intended to help size the pool.
+ * <p>
+ * This implementation is thread-safe.
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ */
+@Deprecated
+public final class PrivateBoundedBlockAllocatorProvider extends BlockAllocatorProvider
+{
+    /** A block that remembers when it was last returned to its free list. */
+    private static abstract class PooledBlock extends Block
+    {
+        long releasedNanos;
+
+        PooledBlock(final byte[] data)
+        {
+            super(data);
+        }
+    }
+
+    /**
+     * A {@link BlockAllocator} for a particular size that has a single thread-safe, bounded free list.
+     * The most recently closed blocks are reused first, so idle blocks collect at the tail of the list.
+     * <p>
+     * This implementation is thread-safe.
+     */
+    private final class BoundedBlockAllocator extends BlockAllocator
+    {
+        private final int blockSize;
+        private final ConcurrentLinkedDeque<PooledBlock> freeBlocks;
+        private final AtomicLong freeBytes;
+
+        public BoundedBlockAllocator(final int blockSize)
+        {
+            this.blockSize = blockSize;
+            this.freeBlocks = new ConcurrentLinkedDeque<PooledBlock>();
+            this.freeBytes = new AtomicLong();
+        }
+
+        @Override
+        public Block allocateBlock()
+        {
+            evictIdle(System.nanoTime());
+
+            PooledBlock block = freeBlocks.pollFirst();
+            if (block == null)
+            {
+                allocatedBlocks.incrementAndGet();
+                block = new PooledBlock(new byte[blockSize])
+                {
+                    @Override
+                    public void close()
+                    {
+                        reset();
+                        release(this);
+                    }
+                };
+            }
+            else
+            {
+                removed();
+                reusedBlocks.incrementAndGet();
+            }
+            return block;
+        }
+
+        private void release(final PooledBlock block)
+        {
+            final long now = System.nanoTime();
+            evictIdle(now);
+
+            if (freeBytes.addAndGet(blockSize) > maxFreeBytesPerBlockSize)
+            {
+                freeBytes.addAndGet(-blockSize);
+                evictedBlocks.incrementAndGet();
+                return;
+            }
+            pooledBytes.addAndGet(blockSize);
+            block.releasedNanos = now;
+            freeBlocks.addFirst(block);
+        }
+
+        private void removed()
+        {
+            freeBytes.addAndGet(-blockSize);
+            pooledBytes.addAndGet(-blockSize);
+        }
+
+        /*package*/ void evictIdle(final long now)
+        {
+            if (idleTimeoutNanos <= 0)
+            {
+                return;
+            }
+            for (;;)
+            {
+                final PooledBlock block = freeBlocks.peekLast();
+                if (block == null || now - block.releasedNanos < idleTimeoutNanos)
+                {
+                    break;
+                }
+                // if another thread raced us for this block, it is no longer idle anyway
+                if (freeBlocks.removeLastOccurrence(block))
+                {
+                    removed();
+                    evictedBlocks.incrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public int getBlockSize()
+        {
+            return blockSize;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private final ConcurrentMap<Integer, BoundedBlockAllocator> allocators;
+    private final long maxFreeBytesPerBlockSize;
+    private final long idleTimeoutNanos;
+
+    private final AtomicLong allocatedBlocks;
+    private final AtomicLong reusedBlocks;
+    private final AtomicLong evictedBlocks;
+    private final AtomicLong pooledBytes;
+
+    /**
+     * @param maxFreeBytesPerBlockSize the most bytes to keep on the free list of any one block size;
+     *                                 blocks closed beyond this are left to the garbage collector.
+     * @param idleTimeout how long a block may sit unused on a free list before it is evicted;
+     *                    zero disables idle eviction.
+     * @param unit the unit of {@code idleTimeout}.
+     */
+    public PrivateBoundedBlockAllocatorProvider(final long maxFreeBytesPerBlockSize,
+                                                final long idleTimeout,
+                                                final TimeUnit unit)
+    {
+        if (maxFreeBytesPerBlockSize < 0)
+        {
+            throw new IllegalArgumentException("Invalid free bytes limit: " + maxFreeBytesPerBlockSize);
+        }
+        if (idleTimeout < 0)
+        {
+            throw new IllegalArgumentException("Invalid idle timeout: " + idleTimeout);
+        }
+        this.allocators = new ConcurrentHashMap<Integer, BoundedBlockAllocator>();
+        this.maxFreeBytesPerBlockSize = maxFreeBytesPerBlockSize;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.allocatedBlocks = new AtomicLong();
+        this.reusedBlocks = new AtomicLong();
+        this.evictedBlocks = new AtomicLong();
+        this.pooledBytes = new AtomicLong();
+    }
+
+    @Override
+    public BlockAllocator vendAllocator(final int blockSize)
+    {
+        if (blockSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+
+        BoundedBlockAllocator allocator = allocators.get(blockSize);
+        if (allocator == null)
+        {
+            allocator = new BoundedBlockAllocator(blockSize);
+            final BoundedBlockAllocator existingAllocator = allocators.putIfAbsent(blockSize, allocator);
+            if (existingAllocator != null)
+            {
+                allocator = existingAllocator;
+            }
+        }
+        return allocator;
+    }
+
+    /** Evicts all blocks of all sizes that have been idle for longer than the idle timeout. */
+    public void evictIdleBlocks()
+    {
+        evictIdleBlocks(System.nanoTime());
+    }
+
+    /*package*/ void evictIdleBlocks(final long now)
+    {
+        for (final BoundedBlockAllocator allocator : allocators.values())
+        {
+            allocator.evictIdle(now);
+        }
+    }
+
+    /** Returns the number of blocks that have been newly allocated because no free block was available. */
+    public long getAllocatedBlockCount()
+    {
+        return allocatedBlocks.get();
+    }
+
+    /** Returns the number of block allocations that were satisfied from a free list. */
+    public long getReusedBlockCount()
+    {
+        return reusedBlocks.get();
+    }
+
+    /** Returns the number of closed blocks that were dropped, either for exceeding the limit or for being idle. */
+    public long getEvictedBlockCount()
+    {
+        return evictedBlocks.get();
+    }
+
+    /** Returns the number of bytes currently held on the free lists of all block sizes. */
+    public long getPooledBytes()
+    {
+        return pooledBytes.get();
+    }
+}
@@ -16,6 +16,8 @@ package software.amazon.ion.impl.bin;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
@@ -50,6 +52,17 @@ public final class PrivateIonManagedBinaryWriterBuilder
                 return new PooledBlockAllocatorProvider();
             }
         },
+        /**
+         * Like {@link #POOLED}, but with free blocks cached per thread, for use by many concurrent writers.
+         */
+        THREAD_CACHED
+        {
+            @Override
+            BlockAllocatorProvider createAllocatorProvider()
+            {
+                return new ThreadCachedBlockAllocatorProvider();
+            }
+        },
         BASIC
         {
             @Override
@@ -64,7 +77,7 @@ public final class PrivateIonManagedBinaryWriterBuilder
 
     public static final int DEFAULT_BLOCK_SIZE = 32768;
 
-    /*package*/ final    BlockAllocatorProvider provider;
+    /*package*/ volatile BlockAllocatorProvider provider;
     /*package*/ volatile int                    symbolsBlockSize;
     /*package*/ volatile int                    userBlockSize;
     /*package*/ volatile PreallocationMode      preallocationMode;
@@ -126,6 +139,21 @@ public final class PrivateIonManagedBinaryWriterBuilder
         return this;
     }
 
+    /**
+     * Replaces the allocation pool given by the {@link AllocatorMode} at creation with one that bounds
+     * the memory it retains.  The provider may be shared with other builders.
+     */
+    public PrivateIonManagedBinaryWriterBuilder withBlockAllocatorProvider(
+        final PrivateBoundedBlockAllocatorProvider provider)
+    {
+        if (provider == null)
+        {
+            throw new NullPointerException("provider");
+        }
+        this.provider = provider;
+        return this;
+    }
+
     public PrivateIonManagedBinaryWriterBuilder withImports(final SymbolTable... tables)
     {
         if (tables != null)
@@ -212,11 +240,35 @@ public final class PrivateIonManagedBinaryWriterBuilder
 
     // Construction
 
+    /**
+     * Constructs a writer for the given stream.  The writer is a {@link PrivateIonManagedWriter}, so once
+     * finished with a stream it can be {@linkplain PrivateIonManagedWriter#reset(OutputStream) reset} onto the next
+     * one instead of being replaced.
+     */
     public IonWriter newWriter(final OutputStream out) throws IOException
     {
         return new IonManagedBinaryWriter(this, out);
     }
 
+    /**
+     * Constructs a writer that flushes its buffered blocks to the given channel with a single gathering write,
+     * rather than copying them through an {@link OutputStream}.  The channel is closed when the writer is closed.
+     * <p>
+     * The blocks are heap arrays, so a channel that needs direct memory, such as a file or socket channel,
+     * still copies them into its own direct buffer as it writes them.
+     *
+     * @throws IllegalArgumentException if the channel is a {@link SelectableChannel} in non-blocking mode, since a
+     *         flush must be able to write everything it has buffered.
+     */
+    public IonWriter newWriter(final GatheringByteChannel channel) throws IOException
+    {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking())
+        {
+            throw new IllegalArgumentException("Channel must be in blocking mode");
+        }
+        return new IonManagedBinaryWriter(this, channel);
+    }
+
     // Static Factories
 
     /**
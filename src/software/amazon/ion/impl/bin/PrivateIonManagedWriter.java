@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import software.amazon.ion.impl.PrivateIonWriter;
+
+/**
+ * A binary writer that manages its own local symbol tables, as created by
+ * {@link PrivateIonManagedBinaryWriterBuilder#newWriter(OutputStream)}.
+ * <p>
+ * Such a writer can be reused for any number of independent streams by calling {@link #reset(OutputStream)}
+ * after each one, which avoids the cost of constructing a new writer per stream.  The writer keeps its buffers
+ * and configuration across resets, so applications that emit many small messages should keep one writer per
+ * thread rather than one per message.
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ */
+@Deprecated
+public interface PrivateIonManagedWriter
+    extends PrivateIonWriter
+{
+    /**
+     * Finishes the current stream, as if by {@link #finish()}, and rebinds this writer to the given stream.
+     * The new stream starts with the imports and initial symbol table the writer was built with; symbols
+     * added to the local symbol table since are forgotten.
+     * <p>
+     * The previous stream is neither flushed beyond what {@code finish()} does nor closed.
+     *
+     * @param out the stream to write to from now on; must not be null.
+     *
+     * @throws IllegalStateException if this writer is not at top-level or has been closed.
+     */
+    public void reset(OutputStream out) throws IOException;
+
+    /**
+     * Flushes the current stream and rebinds this writer to the given stream.  The current stream is finished,
+     * as if by {@link #finish()}, only when the local symbol table is not retained.
+     *
+     * @param out the stream to write to from now on; must not be null.
+     * @param retainLocalSymbols if true, the new stream starts with the local symbol table as it is now,
+     *  including any imports and symbols added since the writer was built, and the table is written out in full
+     *  before the first value that uses it.  This suits streams of similar messages, whose symbols then need to
+     *  be interned only once.  Since {@link #finish()} itself discards the local symbol table, call this method
+     *  in place of {@code finish()} to carry the table over.  If false, this is the same as
+     *  {@link #reset(OutputStream)}.
+     *
+     * @throws IllegalStateException if this writer is not at top-level or has been closed.
+     */
+    public void reset(OutputStream out, boolean retainLocalSymbols) throws IOException;
+}
@@ -1093,4 +1093,20 @@ import java.util.List;
             length -= amount;
         }
     }
+
+    /** Adds a specific segment of data from the buffer to a gathering write. */
+    public void addSegmentsTo(final GatheringWrite gather, long position, long length)
+    {
+        while (length > 0)
+        {
+            final int index = index(position);
+            final int offset = offset(position);
+            final Block block = blocks.get(index);
+            final int amount = (int) Math.min(block.data.length - offset, length);
+            gather.add(block, offset, amount);
+
+            position += amount;
+            length -= amount;
+        }
+    }
 }
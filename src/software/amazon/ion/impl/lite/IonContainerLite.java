@@ -14,6 +14,9 @@
 
 package software.amazon.ion.impl.lite;
 
+import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
+
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.ListIterator;
@@ -23,13 +26,17 @@ import software.amazon.ion.IonContainer;
 import software.amazon.ion.IonDatagram;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
 import software.amazon.ion.NullValueException;
 import software.amazon.ion.ReadOnlyValueException;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.ValueVisitor;
+import software.amazon.ion.impl.PrivateEncodedValueSink;
 import software.amazon.ion.impl.PrivateIonConstants;
 import software.amazon.ion.impl.PrivateIonContainer;
+import software.amazon.ion.impl.PrivateIonWriter;
 import software.amazon.ion.impl.PrivateUtils;
+import software.amazon.ion.impl.bin.PrivateBlockPool;
 
 abstract class IonContainerLite
     extends IonValueLite
@@ -402,6 +409,58 @@ abstract class IonContainerLite
         _isLocked(true);
     }
 
+    /**
+     * Writes this container in one piece when the writer can take a value
+     * that's already encoded in binary, so its contents don't have to be
+     * written value by value.  Otherwise it's written as usual.
+     */
+    @Override
+    public void writeTo(IonWriter writer)
+    {
+        if (writer instanceof PrivateEncodedValueSink && !isNullValue())
+        {
+            PrivateEncodedValueSink sink = (PrivateEncodedValueSink) writer;
+            SymbolTable symbols = sink.getEncodingSymbolTable();
+            // The writer must see a local symbol table as it's written
+            if (symbols != null
+                && !(((PrivateIonWriter) writer).getDepth() == 0
+                     && hasTypeAnnotation(ION_SYMBOL_TABLE)))
+            {
+                writeFieldNameTo(writer, new LazySymbolTableProvider(this));
+
+                ReverseBinaryEncoder encoder =
+                    new ReverseBinaryEncoder(PrivateBlockPool.getDefault());
+                try
+                {
+                    encoder.serialize(this, symbols);
+                    encoder.writeEncodedValue(sink);
+                }
+                catch (IOException e)
+                {
+                    throw new IonException(e);
+                }
+                finally
+                {
+                    encoder.close();
+                }
+                return;
+            }
+        }
+        super.writeTo(writer);
+    }
+
+    @Override
+    void markEncoded()
+    {
+        // Everything in a marked container is already marked
+        if (_isEncoded()) return;
+
+        for (int ii=0; ii<_child_count; ii++) {
+            _children[ii].markEncoded();
+        }
+        super.markEncoded();
+    }
+
     /*
      * IonContext methods
      *
@@ -39,6 +39,7 @@ import software.amazon.ion.ValueVisitor;
 import software.amazon.ion.impl.PrivateCurriedValueFactory;
 import software.amazon.ion.impl.PrivateIonDatagram;
 import software.amazon.ion.impl.PrivateUtils;
+import software.amazon.ion.impl.bin.PrivateBlockPool;
 
 /**
  *  The datagram generally behaves as an IonSexp. A list with space
@@ -89,9 +90,11 @@ final class IonDatagramLite
     private       int                _pending_symbol_table_idx;
     private       IonSymbolLite      _ivm;
 
-    // Default buffer size for ReverseBinaryEncoder - SYNC'ed with
-    // BlockedBuffer._defaultBlockSizeMin (4 kb)
-    private static final int REVERSE_BINARY_ENCODER_INITIAL_SIZE = 4096 * 8;
+    /**
+     * The size of the binary encoding of this datagram, or -1 if it's not
+     * known.  It's kept until any of the values in the datagram change.
+     */
+    private       int                _byte_size = -1;
 
     IonDatagramLite(IonSystemLite system, IonCatalog catalog) {
         super(ContainerlessContext.wrap(system), false);
@@ -164,6 +167,8 @@ final class IonDatagramLite
                 child.makeReadOnly();
             }
         }
+        // Another thread may use this once it's read-only
+        clearEncoding();
         _isLocked(true);
     }
 
@@ -439,27 +444,67 @@ final class IonDatagramLite
 
     public int byteSize() throws IonException
     {
-        // TODO this is horrible, users will end up encoding multiple times!
-        ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.byteSize();
+        int size = _byte_size;
+        if (size < 0) {
+            // Only the size is kept; holding on to the encoding would keep
+            // its blocks out of the pool for as long as the datagram lives.
+            ReverseBinaryEncoder encoder = encode();
+            size = encoder.byteSize();
+            encoder.close();
+        }
+        return size;
     }
 
     public byte[] getBytes() throws IonException
     {
-        ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.toNewByteArray();
+        ReverseBinaryEncoder encoder = encode();
+        try {
+            return encoder.toNewByteArray();
+        }
+        finally {
+            encoder.close();
+        }
     }
 
     public int getBytes(OutputStream out) throws IOException, IonException
+    {
+        ReverseBinaryEncoder encoder = encode();
+        try {
+            return encoder.writeBytes(out);
+        }
+        finally {
+            encoder.close();
+        }
+    }
+
+    /**
+     * Encodes this datagram into blocks from the shared pool, and remembers
+     * the size of the encoding.  The caller must close the encoder.
+     */
+    private ReverseBinaryEncoder encode()
     {
         ReverseBinaryEncoder encoder =
-            new ReverseBinaryEncoder(REVERSE_BINARY_ENCODER_INITIAL_SIZE);
-        encoder.serialize(this);
-        return encoder.writeBytes(out);
+            new ReverseBinaryEncoder(PrivateBlockPool.getDefault());
+        try {
+            encoder.serialize(this);
+        }
+        catch (RuntimeException e) {
+            encoder.close();
+            throw e;
+        }
+        if (!_isLocked()) {
+            markEncoded();
+        }
+        _byte_size = encoder.byteSize();
+        return encoder;
+    }
+
+    /**
+     * Forgets the size of this datagram's encoding, because it has changed.
+     */
+    void clearEncoding()
+    {
+        _byte_size = -1;
     }
 
     // TODO: optimize this, if there's a real use case
@@ -509,6 +554,7 @@ final class IonDatagramLite
     void setSymbolTableAtIndex(int elementid, SymbolTable symbols)
     {
         assert(elementid < get_child_count());
+        clearEncoding();
         TopLevelContext context = TopLevelContext.wrap(symbols, this);
         TopLevelContext startContext = (TopLevelContext) _children[elementid].getContext();
 
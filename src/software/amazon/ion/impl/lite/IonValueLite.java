@@ -71,6 +71,7 @@ abstract class IonValueLite
     protected static final int IS_IVM             = 0x10;
     protected static final int IS_AUTO_CREATED    = 0x20;
     protected static final int IS_SYMBOL_PRESENT  = 0x40;
+    protected static final int IS_ENCODED         = 0x80;
     private   static final int ELEMENT_MASK       = 0xff;
     protected static final int ELEMENT_SHIFT      = 8; // low 8 bits is flag, upper 24 (or 48 is element id)
 
@@ -200,6 +201,21 @@ abstract class IonValueLite
         return flag;
     }
 
+    /**
+     * Set on every value of a datagram that has cached its binary encoding,
+     * so that a change to any of them can discard the cache.
+     */
+    protected final boolean _isEncoded() { return is_true(IS_ENCODED); }
+    protected final boolean _isEncoded(boolean flag) {
+        if (flag) {
+            set_flag(IS_ENCODED);
+        }
+        else {
+            clear_flag(IS_ENCODED);
+        }
+        return flag;
+    }
+
     /**
      * Lazy memoized symtab provider. Should be used when a call path
      * conditionally needs access to a value's symbol table. This provider
@@ -310,6 +326,7 @@ abstract class IonValueLite
         // as IonValue.clone() mandates that the returned value is mutable, regardless of the
         // existing 'read only' flag - we force the deep-copy back to being mutable
         clear_flag(IS_LOCKED);
+        clear_flag(IS_ENCODED);
     }
 
     public abstract void accept(ValueVisitor visitor) throws Exception;
@@ -762,6 +779,9 @@ abstract class IonValueLite
     public void makeReadOnly()
     {
         if (!_isLocked()) {
+            if (_isEncoded()) {
+                clearEncodings();
+            }
             makeReadOnlyInternal();
         }
     }
@@ -784,6 +804,41 @@ abstract class IonValueLite
         if (_isLocked()) {
             throw new ReadOnlyValueException();
         }
+        if (_isEncoded()) {
+            clearEncodings();
+        }
+    }
+
+    /**
+     * Marks this value and its contents as part of a datagram that has
+     * cached its binary encoding.
+     */
+    void markEncoded()
+    {
+        _isEncoded(true);
+    }
+
+    /**
+     * Discards the binary encoding cached by the datagram containing this
+     * value, because the value is about to change.  The containers above this
+     * value are unmarked on the way up, and since a datagram marks all of its
+     * contents when it caches its encoding, an unmarked container means there
+     * is no cached encoding above it.
+     */
+    private void clearEncodings()
+    {
+        IonValueLite value = this;
+        do {
+            value._isEncoded(false);
+            IonContainerLite parent = value._context.getContextContainer();
+            if (parent == null) {
+                if (value instanceof IonDatagramLite) {
+                    ((IonDatagramLite) value).clearEncoding();
+                }
+                return;
+            }
+            value = parent;
+        } while (value._isEncoded());
     }
 
 
@@ -882,17 +937,7 @@ abstract class IonValueLite
 
     final void writeTo(IonWriter writer, SymbolTableProvider symbolTableProvider)
     {
-        if (writer.isInStruct()
-            && ! ((PrivateIonWriter) writer).isFieldNameSet())
-        {
-            SymbolToken tok = getFieldNameSymbol(symbolTableProvider);
-            if (tok == null)
-            {
-                throw new IllegalStateException("Field name not set");
-            }
-
-            writer.setFieldNameSymbol(tok);
-        }
+        writeFieldNameTo(writer, symbolTableProvider);
 
         SymbolToken[] annotations = getTypeAnnotationSymbols(symbolTableProvider);
         writer.setTypeAnnotationSymbols(annotations);
@@ -907,6 +952,25 @@ abstract class IonValueLite
         }
     }
 
+    /**
+     * Sets this value's field name on the writer, if the writer is in a
+     * struct and its field name hasn't been set already.
+     */
+    final void writeFieldNameTo(IonWriter writer, SymbolTableProvider symbolTableProvider)
+    {
+        if (writer.isInStruct()
+            && ! ((PrivateIonWriter) writer).isFieldNameSet())
+        {
+            SymbolToken tok = getFieldNameSymbol(symbolTableProvider);
+            if (tok == null)
+            {
+                throw new IllegalStateException("Field name not set");
+            }
+
+            writer.setFieldNameSymbol(tok);
+        }
+    }
+
     abstract void writeBodyTo(IonWriter writer, SymbolTableProvider symbolTableProvider)
         throws IOException;
 
@@ -17,6 +17,7 @@ package software.amazon.ion.impl.lite;
 import software.amazon.ion.IonSystem;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.impl.PrivateIonBinaryWriterBuilder;
+import software.amazon.ion.impl.bin.PrivateBlockPool;
 import software.amazon.ion.system.IonReaderBuilder;
 import software.amazon.ion.system.IonTextWriterBuilder;
 
@@ -43,7 +44,8 @@ public final class PrivateLiteDomTrampoline
 
     public static byte[] reverseEncode(int initialSize, SymbolTable symtab)
     {
-        ReverseBinaryEncoder encoder = new ReverseBinaryEncoder(initialSize);
+        ReverseBinaryEncoder encoder =
+            new ReverseBinaryEncoder(PrivateBlockPool.unpooled(initialSize));
         encoder.serialize(symtab);
         return encoder.toNewByteArray();
     }
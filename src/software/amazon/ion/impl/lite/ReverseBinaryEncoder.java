@@ -69,6 +69,10 @@ import software.amazon.ion.IonValue;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
+import software.amazon.ion.UnknownSymbolException;
+import software.amazon.ion.impl.PrivateEncodedValueSink;
+import software.amazon.ion.impl.bin.PrivateBlockPool;
+import software.amazon.ion.impl.bin.PrivateBlockPool.Chunk;
 
 
 /**
@@ -77,9 +81,12 @@ import software.amazon.ion.Timestamp;
  * two-pass algorithm.
  * <p>
  * This reverse encoding algorithm requires a fully materialized IonDatagram
- * DOM to qualify for use. It uses a single buffer, {@link #myBuffer}, to hold
- * the entire binary-encoded data, with an integer, {@link #myOffset}, to index
- * the current position to write the bytes.
+ * DOM to qualify for use. It fills a chain of blocks from a
+ * {@link PrivateBlockPool}, each from its end towards its start.  The current
+ * block is {@link #myBuffer}, with an integer, {@link #myOffset}, to index the
+ * current position to write the bytes.  When a write doesn't fit before that
+ * position, the block is set aside and writing continues at the end of a new
+ * one, so the data already encoded is never copied.
  * <p>
  * The algorithm begins by traversing from the last top-level value to the
  * first top-level value. During this traversal, it recursively goes into the
@@ -109,9 +116,26 @@ class ReverseBinaryEncoder
     private static final int TYPE_STRUCT        = tidStruct     << 4;
     private static final int TYPE_ANNOTATIONS   = tidTypedecl   << 4;
 
+    private final PrivateBlockPool myPool;
+
+    /**
+     * The blocks that have been filled, in the order they were filled, so the
+     * last one holds the data just after the current block's.
+     */
+    private final ArrayList<Chunk> myFullChunks = new ArrayList<Chunk>();
+
+    /** The index of the first byte written to each of {@link #myFullChunks}. */
+    private int[] myFullChunkStarts = new int[8];
+
+    /** The number of bytes written to all of {@link #myFullChunks}. */
+    private int myFullChunksSize;
+
+    /** The block currently being filled. */
+    private Chunk myChunk;
+
     /**
-     * Holds the entire binary encoded data. When IonDatagram is fully encoded
-     * into binary data, this byte array will hold that data.
+     * The data of {@link #myChunk}, which holds the start of the binary
+     * encoded data.
      */
     private byte[] myBuffer;
 
@@ -128,12 +152,23 @@ class ReverseBinaryEncoder
      */
     private SymbolTable mySymbolTable;
 
+    /**
+     * Whether {@link #mySymbolTable} is a writer's symbol table that all
+     * symbols are interned into, instead of the values' own.
+     */
+    private boolean myInternAllSymbols;
+
+    /** The largest symbol ID used so far, when interning all symbols. */
+    private int myMaxSid;
+
     private IonSystem myIonSystem;
 
-    ReverseBinaryEncoder(int initialSize)
+    ReverseBinaryEncoder(PrivateBlockPool pool)
     {
-        myBuffer = new byte[initialSize];
-        myOffset = initialSize;
+        myPool = pool;
+        myChunk = pool.allocate(0);
+        myBuffer = myChunk.data;
+        myOffset = myBuffer.length;
     }
 
     /**
@@ -146,7 +181,7 @@ class ReverseBinaryEncoder
      */
     int byteSize()
     {
-        return myBuffer.length - myOffset;
+        return myFullChunksSize + myBuffer.length - myOffset;
     }
 
     /**
@@ -161,15 +196,24 @@ class ReverseBinaryEncoder
      */
     byte[] toNewByteArray()
     {
+        byte[] bytes = new byte[byteSize()];
         int length = myBuffer.length - myOffset;
-        byte[] bytes = new byte[length];
         System.arraycopy(myBuffer, myOffset, bytes, 0, length);
+        int position = length;
+        for (int i = myFullChunks.size() - 1; i >= 0; i--)
+        {
+            byte[] data = myFullChunks.get(i).data;
+            int start = myFullChunkStarts[i];
+            length = data.length - start;
+            System.arraycopy(data, start, bytes, position, length);
+            position += length;
+        }
         return bytes;
     }
 
     /**
      * Copies the current contents of the Ion binary-encoded byte array to a
-     * specified stream.
+     * specified stream, one block at a time.
      * <p>
      * This makes an unchecked assumption that {{@link #serialize(IonDatagram)}
      * is already called.
@@ -181,11 +225,34 @@ class ReverseBinaryEncoder
     int writeBytes(OutputStream out)
         throws IOException
     {
-        int length = myBuffer.length - myOffset;
-        byte[] bytes = new byte[length];
-        System.arraycopy(myBuffer, myOffset, bytes, 0, length);
-        out.write(bytes);
-        return length;
+        out.write(myBuffer, myOffset, myBuffer.length - myOffset);
+        for (int i = myFullChunks.size() - 1; i >= 0; i--)
+        {
+            byte[] data = myFullChunks.get(i).data;
+            int start = myFullChunkStarts[i];
+            out.write(data, start, data.length - start);
+        }
+        return byteSize();
+    }
+
+    /**
+     * Returns the blocks holding the encoded data to the pool. The encoder
+     * must not be used after this is called.
+     */
+    void close()
+    {
+        for (Chunk chunk : myFullChunks)
+        {
+            chunk.close();
+        }
+        myFullChunks.clear();
+        myFullChunksSize = 0;
+        if (myChunk != null)
+        {
+            myChunk.close();
+            myChunk = null;
+            myBuffer = null;
+        }
     }
 
     /**
@@ -225,22 +292,81 @@ class ReverseBinaryEncoder
     }
 
     /**
-     * Grows the current buffer and returns the updated offset.
+     * Serialize a single IonValue, including its annotations but not its
+     * field name, with its symbols interned into a writer's symbol table in
+     * place of the value's own.
      *
-     * @param offset the original offset
-     * @return the updated offset
+     * @param value must not be a datagram
+     * @param symbols the writer's local symbol table
+     *
+     * @throws IonException
      */
-    private int growBuffer(int offset)
+    void serialize(IonValue value, SymbolTable symbols)
+        throws IonException
+    {
+        myIonSystem = value.getSystem();
+        mySymbolTable = symbols;
+        myInternAllSymbols = true;
+        myMaxSid = 0;
+
+        writeIonValue(value);
+    }
+
+    /**
+     * Hands the value encoded by {@link #serialize(IonValue, SymbolTable)}
+     * to a binary writer.  The bytes are passed straight from the encoder's
+     * block when they fit in one.
+     */
+    void writeEncodedValue(PrivateEncodedValueSink sink)
+        throws IOException
+    {
+        if (myFullChunks.isEmpty())
+        {
+            sink.writeEncodedValue(myBuffer, myOffset,
+                                   myBuffer.length - myOffset, myMaxSid);
+        }
+        else
+        {
+            byte[] bytes = toNewByteArray();
+            sink.writeEncodedValue(bytes, 0, bytes.length, myMaxSid);
+        }
+    }
+
+    /**
+     * Sets the current block aside and moves on to a new one, for bytes that
+     * don't fit before the data written to the current block.
+     *
+     * @param offset the (negative) offset at which the bytes would have been
+     *  written to the current block
+     * @param length the number of bytes to be written
+     * @return the offset at which to write the bytes in the new block
+     */
+    private int growBuffer(int offset, int length)
     {
         assert offset < 0;
-        byte[] oldBuf = myBuffer;
-        int oldLen = oldBuf.length;
-        byte[] newBuf = new byte[(-offset + oldLen) << 1]; // Double the buffer
-        int oldBegin = newBuf.length - oldLen;
-        System.arraycopy(oldBuf, 0, newBuf, oldBegin, oldLen);
-        myBuffer = newBuf;
-        myOffset += oldBegin;
-        return offset + oldBegin;
+        int start = offset + length;
+        if (start == myBuffer.length)
+        {
+            // Nothing has been written to this block
+            myChunk.close();
+        }
+        else
+        {
+            int count = myFullChunks.size();
+            if (count == myFullChunkStarts.length)
+            {
+                int[] starts = new int[count << 1];
+                System.arraycopy(myFullChunkStarts, 0, starts, 0, count);
+                myFullChunkStarts = starts;
+            }
+            myFullChunks.add(myChunk);
+            myFullChunkStarts[count] = start;
+            myFullChunksSize += myBuffer.length - start;
+        }
+        myChunk = myPool.allocate(length);
+        myBuffer = myChunk.data;
+        myOffset = myBuffer.length;
+        return myOffset - length;
     }
 
     /**
@@ -253,7 +379,7 @@ class ReverseBinaryEncoder
     private void writeIonValue(IonValue value)
         throws IonException
     {
-        final int valueOffset = myBuffer.length - myOffset;
+        final int valueOffset = byteSize();
 
         switch (value.getType())
         {
@@ -289,7 +415,7 @@ class ReverseBinaryEncoder
     {
         int offset = myOffset;
         if (--offset < 0) {
-            offset = growBuffer(offset);
+            offset = growBuffer(offset, 1);
         }
         // Using narrowing primitive conversion from int to byte
         myBuffer[offset] = (byte) b;
@@ -301,7 +427,7 @@ class ReverseBinaryEncoder
         int length = bytes.length;
         int offset = myOffset;
         if ((offset -= length) < 0) {
-            offset = growBuffer(offset);
+            offset = growBuffer(offset, length);
         }
         System.arraycopy(bytes, 0, myBuffer, offset, length);
         myOffset = offset;
@@ -314,7 +440,7 @@ class ReverseBinaryEncoder
         if (v < (1L << (8 * 1)))
         {
             if (--offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 1);
             }
             myBuffer[offset] = (byte) v;
         }
@@ -322,7 +448,7 @@ class ReverseBinaryEncoder
         {
             offset -= 2;
             if (offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 2);
             }
             myBuffer[offset]   = (byte) (v >>> (8 * 1));
             myBuffer[offset+1] = (byte)  v;
@@ -331,7 +457,7 @@ class ReverseBinaryEncoder
         {
             offset -= 3;
             if (offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 3);
             }
             myBuffer[offset]   = (byte) (v >>> (8 * 2));
             myBuffer[offset+1] = (byte) (v >>> (8 * 1));
@@ -341,7 +467,7 @@ class ReverseBinaryEncoder
         {
             offset -= 4;
             if (offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 4);
             }
             myBuffer[offset]   = (byte) (v >>> (8 * 3));
             myBuffer[offset+1] = (byte) (v >>> (8 * 2));
@@ -352,7 +478,7 @@ class ReverseBinaryEncoder
         {
             offset -= 5;
             if (offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 5);
             }
             myBuffer[offset]   = (byte) (v >>> (8 * 4));
             myBuffer[offset+1] = (byte) (v >>> (8 * 3));
@@ -364,7 +490,7 @@ class ReverseBinaryEncoder
         {
             offset -= 6;
             if (offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 6);
             }
             myBuffer[offset]   = (byte) (v >>> (8 * 5));
             myBuffer[offset+1] = (byte) (v >>> (8 * 4));
@@ -377,7 +503,7 @@ class ReverseBinaryEncoder
         {
             offset -= 7;
             if (offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 7);
             }
             myBuffer[offset]   = (byte) (v >>> (8 * 6));
             myBuffer[offset+1] = (byte) (v >>> (8 * 5));
@@ -391,7 +517,7 @@ class ReverseBinaryEncoder
         {
             offset -= 8;
             if (offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 8);
             }
             myBuffer[offset]   = (byte) (v >>> (8 * 7));
             myBuffer[offset+1] = (byte) (v >>> (8 * 6));
@@ -424,14 +550,14 @@ class ReverseBinaryEncoder
         if (v < (1 << (7 * 1)))               // 1 byte - 7 bits used - 0x7f max
         {
             if (--offset < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 1);
             }
             myBuffer[offset]     = (byte) (v | 0x80 );
         }
         else if (v < (1 << (7 * 2)))          // 2 bytes - 14 bits used - 0x3fff max
         {
             if ((offset -= 2) < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 2);
             }
             myBuffer[offset]     = (byte) (v >>> (7 * 1));
             myBuffer[offset + 1] = (byte) (v | 0x80);
@@ -439,7 +565,7 @@ class ReverseBinaryEncoder
         else if (v < (1 << (7 * 3)))          // 3 bytes - 21 bits used - 0x1fffff max
         {
             if ((offset -= 3) < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 3);
             }
             myBuffer[offset]     = (byte) ( v >>> (7 * 2));
             myBuffer[offset + 1] = (byte) ((v >>> (7 * 1)) & 0x7f);
@@ -448,7 +574,7 @@ class ReverseBinaryEncoder
         else if (v < (1 << (7 * 4)))          // 4 bytes - 28 bits used - 0xfffffff max
         {
             if ((offset -= 4) < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 4);
             }
             myBuffer[offset]     = (byte) ( v >>> (7 * 3));
             myBuffer[offset + 1] = (byte) ((v >>> (7 * 2)) & 0x7f);
@@ -458,7 +584,7 @@ class ReverseBinaryEncoder
         else                                  // 5 bytes - 32 bits used - 0x7fffffff max (Integer.MAX_VALUE)
         {
             if ((offset -= 5) < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 5);
             }
             myBuffer[offset]     = (byte) ( v >>> (7 * 4));
             myBuffer[offset + 1] = (byte) ((v >>> (7 * 3)) & 0x7f);
@@ -505,7 +631,7 @@ class ReverseBinaryEncoder
             if (v < (1 << (7 * 1 - 1)))           // 1 byte - 6 bits used - 0x3f max
             {
                 if (--offset < 0) {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 1);
                 }
                 if (is_negative)
                     v |= 0x40;
@@ -514,7 +640,7 @@ class ReverseBinaryEncoder
             else if (v < (1 << (7 * 2 - 1)))      // 2 bytes - 13 bits used - 0x1fff max
             {
                 if ((offset -= 2) < 0) {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 2);
                 }
                 if (is_negative)
                     v |= 0x2000;
@@ -524,7 +650,7 @@ class ReverseBinaryEncoder
             else if (v < (1 << (7 * 3 - 1)))      // 3 bytes - 20 bits used - 0xfffff max
             {
                 if ((offset -= 3) < 0) {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 3);
                 }
                 if (is_negative)
                     v |= 0x100000;
@@ -535,7 +661,7 @@ class ReverseBinaryEncoder
             else if (v < (1 << (7 * 4 - 1)))      // 4 bytes - 27 bits used - 0x7ffffff max
             {
                 if ((offset -= 4) < 0) {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 4);
                 }
                 if (is_negative)
                     v |= 0x8000000;
@@ -547,7 +673,7 @@ class ReverseBinaryEncoder
             else                                  // 5 bytes - 31 bits used - 0x7fffffff max (Integer.MAX_VALUE)
             {
                 if ((offset -= 5) < 0) {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 5);
                 }
 
                 // This is different from the previous if-blocks because we
@@ -593,7 +719,7 @@ class ReverseBinaryEncoder
 
         int offset = myOffset;
         if (--offset < 0) {
-            offset = growBuffer(offset);
+            offset = growBuffer(offset, 1);
         }
         myBuffer[offset] = (byte) (type | length);
         myOffset = offset;
@@ -604,16 +730,16 @@ class ReverseBinaryEncoder
         SymbolToken[] annotationSymTokens = value.getTypeAnnotationSymbols();
         if (annotationSymTokens.length > 0)
         {
-            final int annotatedValueOffset = myBuffer.length - myOffset;
+            final int annotatedValueOffset = byteSize();
             int sid;
             for (int i = annotationSymTokens.length; --i >= 0;)
             {
                 sid = findSid(annotationSymTokens[i]);
                 writeVarUInt(sid);
             }
-            writeVarUInt(myBuffer.length - myOffset - annotatedValueOffset);
+            writeVarUInt(byteSize() - annotatedValueOffset);
             writePrefix(TYPE_ANNOTATIONS,
-                        myBuffer.length - myOffset - endOfValueOffset);
+                        byteSize() - endOfValueOffset);
         }
     }
 
@@ -657,7 +783,7 @@ class ReverseBinaryEncoder
             BigInteger bigInt = val.bigIntegerValue();
             int signum = bigInt.signum();
             int type;
-            final int originalOffset = myBuffer.length - myOffset;
+            final int originalOffset = byteSize();
             if (signum == 0)
             {
                 // Zero has no bytes of data at all
@@ -701,14 +827,14 @@ class ReverseBinaryEncoder
                 int actualBitLength = bits.length - offset;
                 int bufferOffset = myOffset - actualBitLength;
                 if (bufferOffset < 0) {
-                    bufferOffset = growBuffer(bufferOffset);
+                    bufferOffset = growBuffer(bufferOffset, actualBitLength);
                 }
                 System.arraycopy(bits, offset, myBuffer, bufferOffset,
                                  actualBitLength);
                 myOffset = bufferOffset;
             }
 
-            writePrefix(type, myBuffer.length - myOffset - originalOffset);
+            writePrefix(type, byteSize() - originalOffset);
         }
     }
 
@@ -725,7 +851,7 @@ class ReverseBinaryEncoder
             long bits = Double.doubleToRawLongBits(val.doubleValue());
             int offset = myOffset;
             if ((offset -= 8) < 0) {
-                offset = growBuffer(offset);
+                offset = growBuffer(offset, 8);
             }
 
             myBuffer[offset]     = (byte) (bits >>> (8 * 7));
@@ -798,10 +924,10 @@ class ReverseBinaryEncoder
         }
         else
         {
-            final int originalOffset = myBuffer.length - myOffset;
+            final int originalOffset = byteSize();
             writeIonDecimalContent(val.decimalValue());
             writePrefix(TYPE_DECIMAL,
-                        myBuffer.length - myOffset - originalOffset);
+                        byteSize() - originalOffset);
         }
     }
 
@@ -813,7 +939,7 @@ class ReverseBinaryEncoder
         }
         else
         {
-            final int originalOffset = myBuffer.length - myOffset;
+            final int originalOffset = byteSize();
 
             Timestamp t = val.timestampValue();
 
@@ -861,7 +987,7 @@ class ReverseBinaryEncoder
             }
 
             writePrefix(TYPE_TIMESTAMP,
-                        myBuffer.length - myOffset - originalOffset);
+                        byteSize() - originalOffset);
         }
     }
 
@@ -873,13 +999,13 @@ class ReverseBinaryEncoder
         }
         else
         {
-            final int originalOffset = myBuffer.length - myOffset;
+            final int originalOffset = byteSize();
             SymbolToken symToken = val.symbolValue();
             int sid = findSid(symToken);
             writeUInt(sid);
 
             writePrefix(TYPE_SYMBOL,
-                        myBuffer.length - myOffset - originalOffset);
+                        byteSize() - originalOffset);
         }
     }
 
@@ -897,6 +1023,7 @@ class ReverseBinaryEncoder
 
     private void writeIonStringContent(String str)
     {
+        final int originalOffset = byteSize();
         int strlen = str.length();
         byte[] buffer = myBuffer;
         int offset = myOffset;
@@ -908,7 +1035,7 @@ class ReverseBinaryEncoder
         offset -= strlen;
         if (offset < 0)
         {
-            offset = growBuffer(offset);
+            offset = growBuffer(offset, strlen);
             buffer = myBuffer;
         }
         offset += strlen;
@@ -933,7 +1060,7 @@ class ReverseBinaryEncoder
             {
                 if (--offset < 0)
                 {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 1);
                     buffer = myBuffer;
                 }
                 buffer[offset] = (byte) c;
@@ -942,7 +1069,7 @@ class ReverseBinaryEncoder
             {
                 if ((offset -= 2) < 0)
                 {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 2);
                     buffer = myBuffer;
                 }
                 buffer[offset]     = (byte) (0xc0 | ((c >> 6) & 0x1f));
@@ -976,7 +1103,7 @@ class ReverseBinaryEncoder
 
                 if ((offset -= 4) < 0)
                 {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 4);
                     buffer = myBuffer;
                 }
                 buffer[offset]     = (byte) (0xF0 | ((codepoint >> 18) & 0x07));
@@ -988,7 +1115,7 @@ class ReverseBinaryEncoder
             {
                 if ((offset -= 3) < 0)
                 {
-                    offset = growBuffer(offset);
+                    offset = growBuffer(offset, 3);
                     buffer = myBuffer;
                 }
                 buffer[offset]     = (byte) (0xE0 | ((c >> 12) & 0x0F));
@@ -997,10 +1124,9 @@ class ReverseBinaryEncoder
             }
         }
 
-        int length = myOffset - offset;
         myOffset = offset;
 
-        writePrefix(TYPE_STRING, length);
+        writePrefix(TYPE_STRING, byteSize() - originalOffset);
     }
 
     private void writeIonClobContent(IonClob val)
@@ -1036,7 +1162,7 @@ class ReverseBinaryEncoder
         int length = lob.length;
         int offset = myOffset - length;
         if (offset < 0) {
-            offset = growBuffer(offset);
+            offset = growBuffer(offset, length);
         }
         System.arraycopy(lob, 0, myBuffer, offset, length);
         myOffset = offset;
@@ -1072,7 +1198,7 @@ class ReverseBinaryEncoder
 
     private void writeIonSequenceContent(IonSequence seq)
     {
-        final int originalOffset = myBuffer.length - myOffset;
+        final int originalOffset = byteSize();
         IonValue[] values = seq.toArray();
 
         for (int i = values.length; --i >= 0;)
@@ -1084,11 +1210,11 @@ class ReverseBinaryEncoder
         {
             case LIST:
                 writePrefix(TYPE_LIST,
-                            myBuffer.length - myOffset - originalOffset);
+                            byteSize() - originalOffset);
                 break;
             case SEXP:
                 writePrefix(TYPE_SEXP,
-                            myBuffer.length - myOffset - originalOffset);
+                            byteSize() - originalOffset);
                 break;
             default:
                 throw new IonException(
@@ -1104,7 +1230,7 @@ class ReverseBinaryEncoder
         }
         else
         {
-            final int originalOffset = myBuffer.length - myOffset;
+            final int originalOffset = byteSize();
 
             // TODO amzn/ion-java#31 should not preserve the ordering of fields
             ArrayList<IonValue> values = new ArrayList<IonValue>();
@@ -1132,7 +1258,7 @@ class ReverseBinaryEncoder
             // Note that this 'length' field is not the same as the four-bit
             // length L in the type descriptor octet.
             writePrefix(TYPE_STRUCT,
-                        myBuffer.length - myOffset - originalOffset);
+                        byteSize() - originalOffset);
         }
     }
 
@@ -1156,12 +1282,27 @@ class ReverseBinaryEncoder
         int sid = symToken.getSid();
         String text = symToken.getText();
 
-        if (sid != UNKNOWN_SYMBOL_ID)   // sid is assigned
+        if (myInternAllSymbols)
+        {
+            if (text != null)
+            {
+                sid = mySymbolTable.intern(text).getSid();
+            }
+            else if (sid > mySymbolTable.getMaxId())
+            {
+                throw new UnknownSymbolException(sid);
+            }
+            if (sid > myMaxSid)
+            {
+                myMaxSid = sid;
+            }
+        }
+        else if (sid != UNKNOWN_SYMBOL_ID)   // sid is assigned
         {
             assert text == null ||
                    text.equals(mySymbolTable.findKnownSymbol(sid));
         }
-        else                            // sid is not assigned
+        else                                 // sid is not assigned
         {
             if (mySymbolTable.isSystemTable())
             {
@@ -1279,7 +1420,7 @@ class ReverseBinaryEncoder
     {
         assert symTab.isLocalTable();
 
-        final int originalOffset = myBuffer.length - myOffset;
+        final int originalOffset = byteSize();
 
         // Write declared local symbol strings if any exists
         writeSymbolsField(symTab);
@@ -1288,7 +1429,7 @@ class ReverseBinaryEncoder
         writeImportsField(symTab);
 
         // Write the struct prefix
-        writePrefix(TYPE_STRUCT, myBuffer.length - myOffset - originalOffset);
+        writePrefix(TYPE_STRUCT, byteSize() - originalOffset);
 
         // Write the $ion_symbol_table annotation
         byte[] ionSymbolTableByteArray = {
@@ -1297,7 +1438,7 @@ class ReverseBinaryEncoder
                };
         writeBytes(ionSymbolTableByteArray);
         writePrefix(TYPE_ANNOTATIONS,
-                    myBuffer.length - myOffset - originalOffset);
+                    byteSize() - originalOffset);
     }
 
     /**
@@ -1309,7 +1450,7 @@ class ReverseBinaryEncoder
     {
         assert symTab.isSharedTable();
 
-        final int originalOffset = myBuffer.length - myOffset;
+        final int originalOffset = byteSize();
 
         // Write the maxId as int
         int maxId = symTab.getMaxId();
@@ -1318,18 +1459,18 @@ class ReverseBinaryEncoder
         } else {
             writeUInt(maxId);
             writePrefix(TYPE_POS_INT,
-                        myBuffer.length - myOffset - originalOffset);
+                        byteSize() - originalOffset);
         }
 
         // Write the "max_id" field name
         writeByte((byte) (0x80 | MAX_ID_SID));
 
-        final int maxIdOffset = myBuffer.length - myOffset;
+        final int maxIdOffset = byteSize();
 
         // Write the version as int (version will be at least one)
         int version = symTab.getVersion();
         writeUInt(version);
-        writePrefix(TYPE_POS_INT, myBuffer.length - myOffset - maxIdOffset);
+        writePrefix(TYPE_POS_INT, byteSize() - maxIdOffset);
 
         // Write the "version" field name
         writeByte((byte) (0x80 | VERSION_SID));
@@ -1342,7 +1483,7 @@ class ReverseBinaryEncoder
         writeByte((byte) (0x80 | NAME_SID));
 
         // Write the struct prefix
-        writePrefix(TYPE_STRUCT, myBuffer.length - myOffset - originalOffset);
+        writePrefix(TYPE_STRUCT, byteSize() - originalOffset);
     }
 
     /**
@@ -1363,14 +1504,14 @@ class ReverseBinaryEncoder
             return;
         }
 
-        final int importsOffset = myBuffer.length - myOffset;
+        final int importsOffset = byteSize();
 
         for (int i = sharedSymTabs.length; --i >= 0;)
         {
             writeImport(sharedSymTabs[i]);
         }
 
-        writePrefix(TYPE_LIST, myBuffer.length - myOffset - importsOffset);
+        writePrefix(TYPE_LIST, byteSize() - importsOffset);
         writeByte((byte) (0x80 | IMPORTS_SID));
     }
 
@@ -1392,7 +1533,7 @@ class ReverseBinaryEncoder
             return;
         }
 
-        final int originalOffset = myBuffer.length - myOffset;
+        final int originalOffset = byteSize();
 
         for (int i = maxId; i > importedMaxId; i--)
         {
@@ -1404,7 +1545,7 @@ class ReverseBinaryEncoder
             }
         }
 
-        writePrefix(TYPE_LIST, myBuffer.length - myOffset - originalOffset);
+        writePrefix(TYPE_LIST, byteSize() - originalOffset);
         writeByte((byte) (0x80 | SYMBOLS_SID));
     }
 
@@ -14,11 +14,18 @@
 
 package software.amazon.ion.system;
 
+import static software.amazon.ion.impl.PrivateIonReaderFactory.enableStringCache;
+import static software.amazon.ion.impl.PrivateIonReaderFactory.makeIncrementalReader;
+import static software.amazon.ion.impl.PrivateIonReaderFactory.makeJsonReader;
 import static software.amazon.ion.impl.PrivateIonReaderFactory.makeReader;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import software.amazon.ion.IncrementalFeed;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
@@ -40,6 +47,8 @@ public class IonReaderBuilder
 {
 
     private IonCatalog catalog = null;
+    private boolean stringCache = false;
+    private boolean jsonOnly = false;
 
     private IonReaderBuilder()
     {
@@ -48,6 +57,8 @@ public class IonReaderBuilder
     private IonReaderBuilder(IonReaderBuilder that)
     {
         this.catalog = that.catalog;
+        this.stringCache = that.stringCache;
+        this.jsonOnly = that.jsonOnly;
     }
 
     /**
@@ -149,6 +160,126 @@ public class IonReaderBuilder
         return catalog;
     }
 
+    /**
+     * Declares whether built readers should reuse {@link String} instances
+     * for repeated short strings and symbol text, returning a new mutable
+     * builder if the current one is immutable.
+     *
+     * @param enabled whether to cache decoded strings.
+     *
+     * @return this builder instance, if mutable;
+     * otherwise a mutable copy of this builder.
+     *
+     * @see #setStringCache(boolean)
+     * @see #isStringCacheEnabled()
+     */
+    public IonReaderBuilder withStringCache(boolean enabled)
+    {
+        IonReaderBuilder b = mutable();
+        b.setStringCache(enabled);
+        return b;
+    }
+
+    /**
+     * Sets whether built readers should reuse {@link String} instances for
+     * repeated short strings and symbol text.
+     * <p>
+     * This trades a small, fixed amount of memory per reader for fewer
+     * allocations when the data repeats the same short values, such as
+     * enumerations or struct field names. It currently applies only to
+     * readers of Ion binary data; the default is false.
+     *
+     * @param enabled whether to cache decoded strings.
+     *
+     * @see #isStringCacheEnabled()
+     * @see #withStringCache(boolean)
+     *
+     * @throws UnsupportedOperationException if this builder is immutable.
+     */
+    public void setStringCache(boolean enabled)
+    {
+        mutationCheck();
+        this.stringCache = enabled;
+    }
+
+    /**
+     * Determines whether built readers will reuse {@link String} instances
+     * for repeated short strings and symbol text.
+     *
+     * @see #setStringCache(boolean)
+     * @see #withStringCache(boolean)
+     */
+    public boolean isStringCacheEnabled()
+    {
+        return stringCache;
+    }
+
+    /**
+     * Declares whether built readers should expect their text input to be
+     * JSON, returning a new mutable builder if the current one is immutable.
+     *
+     * @param jsonOnly whether to read text input as JSON.
+     *
+     * @return this builder instance, if mutable;
+     * otherwise a mutable copy of this builder.
+     *
+     * @see #setJsonOnly(boolean)
+     * @see #isJsonOnly()
+     */
+    public IonReaderBuilder withJsonOnly(boolean jsonOnly)
+    {
+        IonReaderBuilder b = mutable();
+        b.setJsonOnly(jsonOnly);
+        return b;
+    }
+
+    /**
+     * Sets whether built readers should expect their text input to be JSON.
+     * <p>
+     * JSON is a subset of Ion text, and is read the same way by default.
+     * When this is enabled, text is instead read by a much simpler tokenizer
+     * that understands only JSON's syntax, which is considerably faster.
+     * The resulting reader presents JSON the same way as a standard reader
+     * would: objects are structs, arrays are lists, and numbers are ints,
+     * decimals or floats depending on whether they have a fraction or an
+     * exponent. Ion syntax that isn't JSON, such as annotations, symbols,
+     * s-expressions, comments or timestamps, causes an {@link IonException}
+     * when it's reached.
+     * <p>
+     * Ion binary input is unaffected, and is read as usual. So is input
+     * from {@link #build(IonValue)} and {@link #buildIncremental()}.
+     * The default is false.
+     *
+     * @param jsonOnly whether to read text input as JSON.
+     *
+     * @see #isJsonOnly()
+     * @see #withJsonOnly(boolean)
+     *
+     * @throws UnsupportedOperationException if this builder is immutable.
+     */
+    public void setJsonOnly(boolean jsonOnly)
+    {
+        mutationCheck();
+        this.jsonOnly = jsonOnly;
+    }
+
+    /**
+     * Determines whether built readers will expect their text input to be
+     * JSON.
+     *
+     * @see #setJsonOnly(boolean)
+     * @see #withJsonOnly(boolean)
+     */
+    public boolean isJsonOnly()
+    {
+        return jsonOnly;
+    }
+
+    private IonReader configure(IonReader reader)
+    {
+        return stringCache ? enableStringCache(reader) : reader;
+    }
+
     private IonCatalog validateCatalog()
     {
         // matches behavior in IonSystemBuilder when no catalog provided
@@ -173,7 +304,7 @@ public class IonReaderBuilder
      */
     public IonReader build(byte[] ionData)
     {
-        return makeReader(validateCatalog(), ionData);
+        return build(ionData, 0, ionData.length);
     }
 
     /**
@@ -196,7 +327,12 @@ public class IonReaderBuilder
      */
     public IonReader build(byte[] ionData, int offset, int length)
     {
-        return makeReader(validateCatalog(), ionData, offset, length);
+        IonCatalog catalog = validateCatalog();
+        if (jsonOnly)
+        {
+            return configure(makeJsonReader(catalog, ionData, offset, length));
+        }
+        return configure(makeReader(catalog, ionData, offset, length));
     }
 
     /**
@@ -221,7 +357,78 @@ public class IonReaderBuilder
      */
     public IonReader build(InputStream ionData)
     {
-        return makeReader(validateCatalog(), ionData);
+        IonCatalog catalog = validateCatalog();
+        if (jsonOnly)
+        {
+            return configure(makeJsonReader(catalog, ionData));
+        }
+        return configure(makeReader(catalog, ionData));
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the given buffer of Ion data, detecting whether it's text
+     * or binary data.
+     * <p>
+     * Heap buffers are read in place, just like {@link #build(byte[])}.
+     * Ion binary in direct buffers, including those returned by
+     * {@link FileChannel#map}, and in read-only buffers is also read in
+     * place: values are decoded straight from the buffer, and nothing is
+     * copied to the heap but the strings, lobs, and big numbers that are
+     * asked for.  Ion text in such buffers is copied a page at a time into
+     * the reader's heap buffers, as an {@link InputStream} would be.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     *
+     * @param ionData the source of the Ion data, which is used only between
+     * its position and its limit. Neither the position nor the limit of
+     * the given buffer is modified, but the reader retains a reference to its
+     * content, so that data must not be modified while the reader is active.
+     * Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     */
+    public IonReader build(ByteBuffer ionData)
+    {
+        IonCatalog catalog = validateCatalog();
+        if (jsonOnly)
+        {
+            return configure(makeJsonReader(catalog, ionData));
+        }
+        return configure(makeReader(catalog, ionData));
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the Ion data in the given file, detecting whether it's
+     * text or binary data.
+     * <p>
+     * The file is memory-mapped in windows of up to 1GB, so files larger than
+     * the heap (or larger than 2GB) can be read.  Ion binary is decoded
+     * straight from the mapped windows, as {@link #build(ByteBuffer)} does;
+     * Ion text is copied a page at a time into the reader's heap buffers.
+     * The file must not be modified while the reader is active.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     *
+     * @param ionFile the file containing the Ion data, which may be either Ion
+     * binary data or UTF-8 Ion text. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it, which
+     * releases the file.
+     *
+     * @throws IonException if the file cannot be opened or mapped.
+     */
+    public IonReader build(Path ionFile)
+    {
+        IonCatalog catalog = validateCatalog();
+        if (jsonOnly)
+        {
+            return configure(makeJsonReader(catalog, ionFile));
+        }
+        return configure(makeReader(catalog, ionFile));
     }
 
     /**
@@ -243,6 +450,10 @@ public class IonReaderBuilder
      */
     public IonReader build(Reader ionText)
     {
+        if (jsonOnly)
+        {
+            return makeJsonReader(ionText);
+        }
         return makeReader(validateCatalog(), ionText);
     }
 
@@ -270,9 +481,37 @@ public class IonReaderBuilder
      */
     public IonReader build(String ionText)
     {
+        if (jsonOnly)
+        {
+            return makeJsonReader(ionText);
+        }
         return makeReader(validateCatalog(), ionText);
     }
 
+    /**
+     * Based on the builder's configuration properties, creates a new
+     * {@link IonReader} over Ion binary data that is supplied a chunk at a
+     * time through its {@link IncrementalFeed} facet, rather than pulled from
+     * a source.
+     * <p>
+     * The reader never blocks waiting for data. Values become visible as
+     * soon as enough of them has been fed, a container's children one at a
+     * time; until then {@link IonReader#next()} returns null, and may be
+     * called again after more data has been fed.
+     * <p>
+     * Unlike the other {@code build} methods, this does not auto-detect
+     * text or GZIPped data.
+     *
+     * @return a new reader instance, which supports the
+     * {@link IncrementalFeed} facet.
+     *
+     * @see IncrementalFeed
+     */
+    public IonReader buildIncremental()
+    {
+        return configure(makeIncrementalReader(validateCatalog()));
+    }
+
     private static class Mutable extends IonReaderBuilder
     {
 
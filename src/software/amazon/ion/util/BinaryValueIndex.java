@@ -0,0 +1,481 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_SIZE;
+import static software.amazon.ion.impl.PrivateUtils.readFully;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.PrivateIonReaderFactory;
+
+/**
+ * Records where each top-level value of an Ion binary stream starts and
+ * which symbol table it's read with, so that ranges of values can be
+ * decoded independently and in parallel.
+ * <p>
+ * Since binary values carry their lengths, the index is built in one pass
+ * that reads only value headers and local symbol tables, skipping over the
+ * contents of everything else.
+ * A reader over any range of values can then be made from the index with
+ * {@link #newReader(int, int)}, or the whole stream can be decoded on a
+ * {@link ForkJoinPool} with {@link #process} or {@link #load}.
+ * <p>
+ * The data must be uncompressed Ion binary.
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class BinaryValueIndex
+{
+    /**
+     * Receives the readers made by {@link BinaryValueIndex#process}.
+     */
+    public interface RangeHandler
+    {
+        /**
+         * Reads a range of top-level values.
+         *
+         * @param reader is positioned before the value at {@code from},
+         *  and has no values after the one at {@code to - 1}.
+         *  It's closed once this method returns.
+         * @param from the index of the first value.
+         * @param to the index after the last value.
+         */
+        public void handle(IonReader reader, int from, int to);
+    }
+
+
+    private final IonSystem   mySystem;
+    private final IonCatalog  myCatalog;
+
+    /** Set when the index is over a byte array. */
+    private final byte[]      myBytes;
+    private final int         myBytesOffset;
+
+    /** Set when the index is over a file. */
+    private final FileChannel myChannel;
+
+    private int    mySize;
+    private long[] myStarts = new long[64];
+    private int[]  myLengths = new int[64];
+
+    /** The symbol tables, with the index of the first value read with each. */
+    private int           mySymtabCount;
+    private int[]         mySymtabFirstValues = new int[8];
+    private SymbolTable[] mySymtabs = new SymbolTable[8];
+
+
+    private BinaryValueIndex(IonSystem system, byte[] bytes, int offset,
+                             FileChannel channel)
+    {
+        mySystem = system;
+        myCatalog = system.getCatalog();
+        myBytes = bytes;
+        myBytesOffset = offset;
+        myChannel = channel;
+    }
+
+
+    /**
+     * Indexes the top-level values in a buffer of Ion binary data.
+     *
+     * @param system creates the readers and values.
+     * @param ionData the data, which mustn't be changed while the index
+     *  is in use.
+     *
+     * @throws IllegalArgumentException if the data isn't Ion binary.
+     */
+    public static BinaryValueIndex build(IonSystem system, byte[] ionData)
+    {
+        return build(system, ionData, 0, ionData.length);
+    }
+
+
+    /**
+     * Indexes the top-level values in part of a buffer of Ion binary data.
+     *
+     * @param system creates the readers and values.
+     * @param ionData the data, which mustn't be changed while the index
+     *  is in use.
+     * @param offset the position of the Ion version marker.
+     * @param length the number of bytes of data.
+     *
+     * @throws IllegalArgumentException if the data isn't Ion binary.
+     */
+    public static BinaryValueIndex build(IonSystem system, byte[] ionData,
+                                         int offset, int length)
+    {
+        if (!IonStreamUtils.isIonBinary(ionData, offset, length))
+        {
+            throw new IllegalArgumentException("The data isn't Ion binary");
+        }
+
+        BinaryValueIndex index = new BinaryValueIndex(system, ionData, offset, null);
+        IonReader reader = system.newReader(ionData, offset, length);
+        try
+        {
+            index.add(reader);
+        }
+        finally
+        {
+            close(reader);
+        }
+        return index;
+    }
+
+
+    /**
+     * Indexes the top-level values in a file of Ion binary data.
+     * The index reads from the channel when it's built and again whenever
+     * values are decoded, so the caller must keep it open until it's done
+     * with the index.  The channel's position is changed.
+     *
+     * @param system creates the readers and values.
+     * @param ionData the data, which mustn't be changed while the index
+     *  is in use.
+     *
+     * @throws IllegalArgumentException if the data isn't Ion binary.
+     * @throws IOException if the channel throws.
+     */
+    public static BinaryValueIndex build(IonSystem system, FileChannel ionData)
+        throws IOException
+    {
+        byte[] cookie = new byte[BINARY_VERSION_MARKER_SIZE];
+        int length = readFully(ionData, 0, ByteBuffer.wrap(cookie));
+        if (!IonStreamUtils.isIonBinary(cookie, 0, length))
+        {
+            throw new IllegalArgumentException("The data isn't Ion binary");
+        }
+
+        BinaryValueIndex index = new BinaryValueIndex(system, null, 0, ionData);
+        ionData.position(0);
+        // Closing the reader mustn't close the channel.
+        InputStream in = new FilterInputStream(Channels.newInputStream(ionData))
+        {
+            @Override
+            public void close()
+            {
+            }
+        };
+        IonReader reader = system.newReader(in);
+        try
+        {
+            index.add(reader);
+        }
+        finally
+        {
+            close(reader);
+        }
+        return index;
+    }
+
+
+    private void add(IonReader reader)
+    {
+        SymbolTable symtab = null;
+        while (reader.next() != null)
+        {
+            OffsetSpan span = Spans.currentSpan(OffsetSpan.class, reader);
+            long start = span.getStartOffset();
+            long length = span.getFinishOffset() - start;
+            if (length > Integer.MAX_VALUE)
+            {
+                throw new IonException("Value at byte " + start + " is too large to index");
+            }
+
+            if (mySize == myStarts.length)
+            {
+                myStarts = Arrays.copyOf(myStarts, mySize * 2);
+                myLengths = Arrays.copyOf(myLengths, mySize * 2);
+            }
+            myStarts[mySize] = start;
+            myLengths[mySize] = (int) length;
+
+            SymbolTable current = reader.getSymbolTable();
+            if (current != symtab)
+            {
+                if (mySymtabCount == mySymtabs.length)
+                {
+                    mySymtabs = Arrays.copyOf(mySymtabs, mySymtabCount * 2);
+                    mySymtabFirstValues =
+                        Arrays.copyOf(mySymtabFirstValues, mySymtabCount * 2);
+                }
+                mySymtabs[mySymtabCount] = current;
+                mySymtabFirstValues[mySymtabCount] = mySize;
+                mySymtabCount++;
+                symtab = current;
+            }
+            mySize++;
+        }
+    }
+
+
+    /**
+     * Gets the number of top-level user values, not counting symbol tables
+     * and version markers.
+     */
+    public int size()
+    {
+        return mySize;
+    }
+
+
+    /**
+     * Gets the offset of a value from the start of the data, including any
+     * annotations.
+     *
+     * @param index the value's position among the top-level values.
+     */
+    public long getStartOffset(int index)
+    {
+        checkIndex(index, mySize);
+        return myStarts[index];
+    }
+
+
+    /**
+     * Gets the offset just past the end of a value.
+     *
+     * @param index the value's position among the top-level values.
+     */
+    public long getFinishOffset(int index)
+    {
+        checkIndex(index, mySize);
+        return myStarts[index] + myLengths[index];
+    }
+
+
+    /**
+     * Gets the symbol table that a value is read with.
+     *
+     * @param index the value's position among the top-level values.
+     */
+    public SymbolTable getSymbolTable(int index)
+    {
+        return mySymtabs[symbolTableNumber(index)];
+    }
+
+
+    /**
+     * Gets the number of the symbol table that a value is read with,
+     * counting each change of table in the stream from zero.
+     */
+    int symbolTableNumber(int index)
+    {
+        checkIndex(index, mySize);
+        int i = Arrays.binarySearch(mySymtabFirstValues, 0, mySymtabCount, index);
+        if (i < 0) i = -i - 2;
+        return i;
+    }
+
+
+    int symbolTableCount()
+    {
+        return mySymtabCount;
+    }
+
+
+    SymbolTable symbolTable(int number)
+    {
+        return mySymtabs[number];
+    }
+
+
+    private static void checkIndex(int index, int size)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+
+    /**
+     * Makes a reader over a range of top-level values.  It starts with the
+     * symbol table of the first value, and reads any symbol tables that
+     * come between the values in the range.
+     * <p>
+     * When the index is over a file, the range is read into memory.
+     *
+     * @param from the index of the first value.
+     * @param to the index after the last value.
+     *
+     * @throws IonException if the index is over a file that throws
+     *  {@link IOException}.
+     */
+    public IonReader newReader(int from, int to)
+    {
+        if (from < 0 || to > mySize || from > to)
+        {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to
+                                                + ", size " + mySize);
+        }
+        if (from == to)
+        {
+            return mySystem.newReader(new byte[0]);
+        }
+
+        long start = myStarts[from];
+        long length = myStarts[to - 1] + myLengths[to - 1] - start;
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IonException("Values " + from + " to " + to + " are too large to read at once");
+        }
+
+        SymbolTable symtab = getSymbolTable(from);
+        if (myBytes != null)
+        {
+            return PrivateIonReaderFactory.makeBinaryReader(myCatalog, myBytes,
+                                                            (int) (myBytesOffset + start),
+                                                            (int) length, symtab);
+        }
+
+        byte[] bytes = new byte[(int) length];
+        try
+        {
+            if (readFully(myChannel, start, ByteBuffer.wrap(bytes)) != bytes.length)
+            {
+                throw new IonException("The file is shorter than when it was indexed");
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+        return PrivateIonReaderFactory.makeBinaryReader(myCatalog, bytes, 0,
+                                                        bytes.length, symtab);
+    }
+
+
+    private static void close(IonReader reader)
+    {
+        try
+        {
+            reader.close();
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+    }
+
+
+    /**
+     * Reads all of the values on a pool, splitting them into ranges of at
+     * most {@code valuesPerTask} values, each read by its own reader.
+     * Returns once every range has been handled.
+     *
+     * @param pool runs the tasks.
+     * @param valuesPerTask the largest range given to the handler.
+     * @param handler is called concurrently, once for each range.
+     *
+     * @throws IllegalArgumentException if {@code valuesPerTask} is less
+     *  than one.
+     */
+    public void process(ForkJoinPool pool, int valuesPerTask, RangeHandler handler)
+    {
+        if (valuesPerTask < 1)
+        {
+            throw new IllegalArgumentException("valuesPerTask must be positive");
+        }
+        if (mySize == 0) return;
+        pool.invoke(new RangeTask(0, mySize, valuesPerTask, handler));
+    }
+
+
+    /**
+     * Decodes all of the values on a pool.
+     *
+     * @param pool runs the tasks.
+     * @param valuesPerTask the number of values decoded by each task.
+     *
+     * @return the values, in order, with no container.
+     *
+     * @see #process
+     */
+    public List<IonValue> load(ForkJoinPool pool, int valuesPerTask)
+    {
+        final IonValue[] values = new IonValue[mySize];
+        process(pool, valuesPerTask, new RangeHandler()
+        {
+            public void handle(IonReader reader, int from, int to)
+            {
+                for (int i = from; i < to; i++)
+                {
+                    reader.next();
+                    values[i] = mySystem.newValue(reader);
+                }
+            }
+        });
+        return Arrays.asList(values);
+    }
+
+
+    private final class RangeTask
+        extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int myFrom;
+        private final int myTo;
+        private final int myValuesPerTask;
+        private final RangeHandler myHandler;
+
+        RangeTask(int from, int to, int valuesPerTask, RangeHandler handler)
+        {
+            myFrom = from;
+            myTo = to;
+            myValuesPerTask = valuesPerTask;
+            myHandler = handler;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (myTo - myFrom <= myValuesPerTask)
+            {
+                IonReader reader = newReader(myFrom, myTo);
+                try
+                {
+                    myHandler.handle(reader, myFrom, myTo);
+                }
+                finally
+                {
+                    close(reader);
+                }
+            }
+            else
+            {
+                int middle = (myFrom + myTo) >>> 1;
+                invokeAll(new RangeTask(myFrom, middle, myValuesPerTask, myHandler),
+                          new RangeTask(middle, myTo, myValuesPerTask, myHandler));
+            }
+        }
+    }
+}
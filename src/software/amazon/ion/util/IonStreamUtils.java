@@ -172,6 +172,32 @@ public class IonStreamUtils
         writer.stepOut();
     }
 
+    /**
+     * writes an IonList with IonFloat values taken from a slice of
+     * an array, in the same manner as
+     * {@link #writeFloatList(IonWriter, float[])}.
+     * @param values 32 bit float values to populate the lists IonFloat's with
+     * @param offset the index of the first value to write
+     * @param length the number of values to write
+     * @throws IndexOutOfBoundsException if the slice isn't within the array
+     */
+    public static void writeFloatList(IonWriter writer, float[] values,
+                                      int offset, int length)
+        throws IOException
+    {
+        checkSlice(values.length, offset, length);
+        if (writer instanceof PrivateListWriter) {
+            ((PrivateListWriter)writer).writeFloatList(values, offset, length);
+            return;
+        }
+
+        writer.stepIn(IonType.LIST);
+        for (int ii=offset; ii<offset+length; ii++) {
+            writer.writeFloat(values[ii]);
+        }
+        writer.stepOut();
+    }
+
     /**
      * writes an IonList with a series of IonFloat values. This
      * starts a List, writes the values (without any annoations)
@@ -195,6 +221,32 @@ public class IonStreamUtils
         writer.stepOut();
     }
 
+    /**
+     * writes an IonList with IonFloat values taken from a slice of
+     * an array, in the same manner as
+     * {@link #writeFloatList(IonWriter, double[])}.
+     * @param values 64 bit float values to populate the lists IonFloat's with
+     * @param offset the index of the first value to write
+     * @param length the number of values to write
+     * @throws IndexOutOfBoundsException if the slice isn't within the array
+     */
+    public static void writeFloatList(IonWriter writer, double[] values,
+                                      int offset, int length)
+        throws IOException
+    {
+        checkSlice(values.length, offset, length);
+        if (writer instanceof PrivateListWriter) {
+            ((PrivateListWriter)writer).writeFloatList(values, offset, length);
+            return;
+        }
+
+        writer.stepIn(IonType.LIST);
+        for (int ii=offset; ii<offset+length; ii++) {
+            writer.writeFloat(values[ii]);
+        }
+        writer.stepOut();
+    }
+
 
     /**
      * writes an IonList with a series of IonInt values. This
@@ -288,6 +340,32 @@ public class IonStreamUtils
         writer.stepOut();
     }
 
+    /**
+     * writes an IonList with IonInt values taken from a slice of
+     * an array, in the same manner as
+     * {@link #writeIntList(IonWriter, long[])}.
+     * @param values signed long values to populate the lists int's with
+     * @param offset the index of the first value to write
+     * @param length the number of values to write
+     * @throws IndexOutOfBoundsException if the slice isn't within the array
+     */
+    public static void writeIntList(IonWriter writer, long[] values,
+                                    int offset, int length)
+        throws IOException
+    {
+        checkSlice(values.length, offset, length);
+        if (writer instanceof PrivateListWriter) {
+            ((PrivateListWriter)writer).writeIntList(values, offset, length);
+            return;
+        }
+
+        writer.stepIn(IonType.LIST);
+        for (int ii=offset; ii<offset+length; ii++) {
+            writer.writeInt(values[ii]);
+        }
+        writer.stepOut();
+    }
+
 
     /**
      * writes an IonList with a series of IonString values. This
@@ -311,4 +389,12 @@ public class IonStreamUtils
         }
         writer.stepOut();
     }
+
+
+    private static void checkSlice(int arrayLength, int offset, int length)
+    {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
 }
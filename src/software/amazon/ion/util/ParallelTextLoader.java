@@ -0,0 +1,402 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_SIZE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.IonValue;
+
+/**
+ * Loads large streams of Ion text using several threads.
+ * <p>
+ * The text is cut into chunks at newlines between top-level values, and
+ * the chunks are parsed concurrently by an {@link ExecutorService}, usually
+ * a {@link java.util.concurrent.ForkJoinPool}.
+ * Local symbol tables and Ion version markers are tracked across chunks, so
+ * the values are the same as those from {@link IonSystem#iterate(InputStream)}.
+ * Only a bounded number of chunks are held in memory at once.
+ * <p>
+ * This works best for data with many top-level values and a newline between
+ * them, such as logs.  A stream is only cut where a top-level value ends
+ * with a newline, so a single large value is parsed by one thread.
+ * Ion binary data can't be cut this way, and is read by the calling thread.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class ParallelTextLoader
+{
+    /**
+     * Receives the values read by {@link ParallelTextLoader}.
+     */
+    public interface ValueHandler
+    {
+        /**
+         * Receives a value that has no container.
+         *
+         * @param value the value read.
+         */
+        public void handle(IonValue value);
+    }
+
+
+    /** The default chunk size, one megabyte. */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final IonSystem       mySystem;
+    private final ExecutorService myExecutor;
+    private final int             myChunkSize;
+    private final int             myMaxChunksInFlight;
+
+
+    /**
+     * Creates a loader using {@link #DEFAULT_CHUNK_SIZE} that holds up to
+     * two chunks per available processor.
+     *
+     * @param system the system that creates the values.
+     * @param executor parses the chunks.
+     */
+    public ParallelTextLoader(IonSystem system, ExecutorService executor)
+    {
+        this(system, executor, DEFAULT_CHUNK_SIZE,
+             2 * Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * @param system the system that creates the values.
+     * @param executor parses the chunks.
+     * @param chunkSize the number of bytes after which a chunk ends at the
+     *  next newline between top-level values.
+     * @param maxChunksInFlight the number of chunks that may be parsed or
+     *  waiting to be consumed at once.
+     *
+     * @throws IllegalArgumentException if either number is less than one.
+     */
+    public ParallelTextLoader(IonSystem system, ExecutorService executor,
+                              int chunkSize, int maxChunksInFlight)
+    {
+        if (system == null || executor == null)
+        {
+            throw new NullPointerException();
+        }
+        if (chunkSize < 1)
+        {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if (maxChunksInFlight < 1)
+        {
+            throw new IllegalArgumentException("maxChunksInFlight must be positive");
+        }
+        mySystem = system;
+        myExecutor = executor;
+        myChunkSize = chunkSize;
+        myMaxChunksInFlight = maxChunksInFlight;
+    }
+
+
+    /**
+     * Creates an iterator over Ion data, returning values in the order they
+     * appear in the stream.
+     * Chunks are read from the stream on the thread calling the iterator,
+     * and parsed ahead of it by the executor.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     *
+     * @param ionData a stream of Ion data.  The caller is responsible for
+     * closing the InputStream after iteration is complete.
+     *
+     * @return a new iterator instance.
+     *
+     * @throws IonException if the source throws {@link IOException}.
+     *
+     * @see IonSystem#iterate(InputStream)
+     */
+    public Iterator<IonValue> iterate(InputStream ionData)
+    {
+        PushbackInputStream in = open(ionData);
+        if (isBinary(in))
+        {
+            return mySystem.iterate(in);
+        }
+        return new OrderedIterator(new TextChunkSplitter(in, myChunkSize));
+    }
+
+
+    /**
+     * Passes each value in the stream to a handler, in the order they
+     * appear in the stream, on the calling thread.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     *
+     * @param ionData a stream of Ion data.  The caller is responsible for
+     * closing it.
+     * @param handler receives the values.
+     *
+     * @throws IonException if the source throws {@link IOException}.
+     */
+    public void forEach(InputStream ionData, ValueHandler handler)
+    {
+        Iterator<IonValue> values = iterate(ionData);
+        while (values.hasNext())
+        {
+            handler.handle(values.next());
+        }
+    }
+
+
+    /**
+     * Passes each value in the stream to a handler, as soon as it's parsed.
+     * The handler is called by the executor's threads, concurrently and in
+     * no particular order, so it must be thread-safe.
+     * This method returns once every value has been handled.
+     * <p>
+     * If parsing or the handler throws, no more chunks are started, and the
+     * first such exception is rethrown once the chunks that were already
+     * started are done.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     *
+     * @param ionData a stream of Ion data.  The caller is responsible for
+     * closing it.
+     * @param handler receives the values.
+     *
+     * @throws IonException if the source throws {@link IOException}.
+     */
+    public void forEachUnordered(InputStream ionData, final ValueHandler handler)
+    {
+        PushbackInputStream in = open(ionData);
+        if (isBinary(in))
+        {
+            forEach(in, handler);
+            return;
+        }
+
+        TextChunkSplitter splitter = new TextChunkSplitter(in, myChunkSize);
+        final Semaphore inFlight = new Semaphore(myMaxChunksInFlight);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        try
+        {
+            while (failure.get() == null)
+            {
+                final TextChunkSplitter.Chunk chunk = splitter.next();
+                if (chunk == null) break;
+
+                inFlight.acquireUninterruptibly();
+                try
+                {
+                    myExecutor.execute(new Runnable()
+                    {
+                        public void run()
+                        {
+                            try
+                            {
+                                for (IonValue value : parse(chunk))
+                                {
+                                    handler.handle(value);
+                                }
+                            }
+                            catch (Throwable e)
+                            {
+                                failure.compareAndSet(null, e);
+                            }
+                            finally
+                            {
+                                inFlight.release();
+                            }
+                        }
+                    });
+                }
+                catch (RuntimeException e)
+                {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            failure.compareAndSet(null, new IonException(e));
+        }
+        finally
+        {
+            inFlight.acquireUninterruptibly(myMaxChunksInFlight);
+        }
+
+        rethrow(failure.get());
+    }
+
+
+    private static PushbackInputStream open(InputStream ionData)
+    {
+        try
+        {
+            return new PushbackInputStream(new GzipOrRawInputStream(ionData),
+                                           BINARY_VERSION_MARKER_SIZE);
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+    }
+
+
+    private static boolean isBinary(PushbackInputStream in)
+    {
+        byte[] cookie = new byte[BINARY_VERSION_MARKER_SIZE];
+        try
+        {
+            int length = 0;
+            while (length < cookie.length)
+            {
+                int read = in.read(cookie, length, cookie.length - length);
+                if (read < 0) break;
+                length += read;
+            }
+            in.unread(cookie, 0, length);
+            return IonStreamUtils.isIonBinary(cookie, 0, length);
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+    }
+
+
+    private List<IonValue> parse(TextChunkSplitter.Chunk chunk)
+    {
+        List<IonValue> values = new ArrayList<IonValue>();
+        try
+        {
+            Iterator<IonValue> i = mySystem.iterate(chunk.data);
+            while (i.hasNext())
+            {
+                values.add(i.next());
+            }
+        }
+        catch (IonException e)
+        {
+            throw new IonException("Error in the chunk starting at byte "
+                                   + chunk.offset + " of the input", e);
+        }
+        return values;
+    }
+
+
+    private static void rethrow(Throwable e)
+    {
+        if (e == null) return;
+        if (e instanceof RuntimeException) throw (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+        throw new IonException(e);
+    }
+
+
+    private final class OrderedIterator
+        implements Iterator<IonValue>
+    {
+        private final TextChunkSplitter myChunks;
+        private final ArrayDeque<Future<List<IonValue>>> myPending =
+            new ArrayDeque<Future<List<IonValue>>>();
+        private boolean myChunksDone;
+        private Iterator<IonValue> myCurrent;
+
+        OrderedIterator(TextChunkSplitter chunks)
+        {
+            myChunks = chunks;
+        }
+
+        private void submitChunks()
+        {
+            while (!myChunksDone && myPending.size() < myMaxChunksInFlight)
+            {
+                final TextChunkSplitter.Chunk chunk;
+                try
+                {
+                    chunk = myChunks.next();
+                }
+                catch (IOException e)
+                {
+                    throw new IonException(e);
+                }
+                if (chunk == null)
+                {
+                    myChunksDone = true;
+                    break;
+                }
+                myPending.add(myExecutor.submit(new Callable<List<IonValue>>()
+                {
+                    public List<IonValue> call()
+                    {
+                        return parse(chunk);
+                    }
+                }));
+            }
+        }
+
+        public boolean hasNext()
+        {
+            while (myCurrent == null || !myCurrent.hasNext())
+            {
+                submitChunks();
+                Future<List<IonValue>> next = myPending.poll();
+                if (next == null) return false;
+
+                try
+                {
+                    myCurrent = next.get().iterator();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IonException(e);
+                }
+                catch (ExecutionException e)
+                {
+                    myPending.clear();
+                    myChunksDone = true;
+                    rethrow(e.getCause());
+                }
+            }
+            return true;
+        }
+
+        public IonValue next()
+        {
+            if (!hasNext()) throw new NoSuchElementException();
+            return myCurrent.next();
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
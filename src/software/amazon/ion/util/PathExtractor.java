@@ -0,0 +1,605 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import software.amazon.ion.Decimal;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.SymbolToken;
+import software.amazon.ion.Timestamp;
+import software.amazon.ion.system.IonReaderBuilder;
+
+/**
+ * Finds the values at a set of paths in a stream of Ion data, in one pass
+ * over an {@link IonReader}.
+ * <p>
+ * A path is written as an Ion S-expression of components, each matching
+ * one level of nesting below a top-level value:
+ * <ul>
+ *   <li>a symbol or string matches the struct field with that name;</li>
+ *   <li>a non-negative int matches the child at that position of a list,
+ *     S-expression or struct;</li>
+ *   <li>the symbol {@code *} matches any child.  The string {@code "*"}
+ *     matches a field named {@code *}.</li>
+ * </ul>
+ * Annotations on a component, or on the path itself for the top-level
+ * value, match only values with exactly those annotations.  For example
+ * {@code (orders * price)} matches the {@code price} field of every
+ * element of the {@code orders} field of every top-level struct,
+ * {@code event::()} matches the top-level values annotated {@code event},
+ * and {@code (tags 0)} matches the first of the {@code tags}.
+ * <p>
+ * All of the paths are matched at once.  The extractor steps into a
+ * container only when some path might match inside it, and never
+ * materializes values, so with binary data the contents of everything
+ * else are skipped over without being read.
+ * <p>
+ * Instances of this class are immutable, and are safe for use by multiple
+ * threads as long as the callbacks are.
+ */
+public final class PathExtractor
+{
+    /**
+     * Receives the values that match a path.
+     */
+    public interface Callback
+    {
+        /**
+         * Called with the reader positioned on a matching value.
+         * The callback may read the value, stepping in and out of it as
+         * long as it steps out as many times as it steps in, but mustn't
+         * move the reader to another value.  Since a reader can't go back
+         * into a value it has stepped out of, the callback mustn't step into
+         * a value that other paths match inside; trying to throws an
+         * {@link IllegalStateException}.
+         *
+         * @param reader is positioned on the value.
+         *
+         * @throws IOException if the callback throws; it's rethrown as
+         *  an {@link IonException}.
+         */
+        public void onMatch(IonReader reader)
+            throws IOException;
+    }
+
+
+    /**
+     * Builds {@link PathExtractor}s.  Builders are not thread-safe.
+     */
+    public static final class Builder
+    {
+        private final List<Path> myPaths = new ArrayList<Path>();
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Adds a path to match.
+         *
+         * @param path the text of an Ion S-expression, as described by
+         *  {@link PathExtractor}.
+         * @param callback is called with each value that matches.
+         *
+         * @return this builder.
+         *
+         * @throws IllegalArgumentException if the path isn't valid.
+         */
+        public Builder withSearchPath(String path, Callback callback)
+        {
+            if (callback == null) throw new NullPointerException();
+            myPaths.add(Path.parse(path, callback));
+            return this;
+        }
+
+        /**
+         * Adds a path whose matching values are copied to a writer.
+         * Copying a container steps into it, so no other path may match
+         * inside the values that this one matches.
+         *
+         * @param path the text of an Ion S-expression, as described by
+         *  {@link PathExtractor}.
+         * @param writer receives each value that matches.
+         *
+         * @return this builder.
+         *
+         * @throws IllegalArgumentException if the path isn't valid.
+         */
+        public Builder withSearchPath(String path, final IonWriter writer)
+        {
+            if (writer == null) throw new NullPointerException();
+            return withSearchPath(path, new Callback()
+            {
+                public void onMatch(IonReader reader)
+                    throws IOException
+                {
+                    writer.writeValue(reader);
+                }
+            });
+        }
+
+        /**
+         * Builds an extractor for the paths added so far.
+         */
+        public PathExtractor build()
+        {
+            return new PathExtractor(myPaths.toArray(new Path[myPaths.size()]));
+        }
+    }
+
+
+    /**
+     * Creates a builder with no paths.
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+
+    private final Path[] myPaths;
+
+    /** The number of components of the longest path. */
+    private final int myMaxLength;
+
+
+    private PathExtractor(Path[] paths)
+    {
+        myPaths = paths;
+        int maxLength = 0;
+        for (Path path : paths)
+        {
+            maxLength = Math.max(maxLength, path.myComponents.length);
+        }
+        myMaxLength = maxLength;
+    }
+
+
+    /**
+     * Matches the paths against the values in a reader, from its current
+     * position to the end of the stream, or of the container it's stepped
+     * into.  In the latter case the container's values are treated as top
+     * level, so paths are matched relative to the container.
+     *
+     * @param reader is left at the end of the values.
+     *
+     * @throws IonException if the reader or a callback throws.
+     */
+    public void match(IonReader reader)
+    {
+        // The paths still matching at each depth, by their indexes.
+        int[][] active = new int[myMaxLength + 1][myPaths.length];
+        // The paths ending at each depth that match the current value.
+        int[][] matched = new int[myMaxLength + 1][myPaths.length];
+        int count = 0;
+        for (int i = 0; i < myPaths.length; i++)
+        {
+            active[0][count++] = i;
+        }
+
+        try
+        {
+            matchChildren(reader, active, matched, 0, count);
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+    }
+
+
+    /**
+     * Matches the values in the reader's current container.
+     *
+     * @param active the paths whose components before {@code depth} match
+     *  the container and its ancestors are {@code active[depth]}.
+     * @param matched scratch space for the paths matching each value.
+     * @param count the number of those paths.
+     */
+    private void matchChildren(IonReader reader, int[][] active,
+                               int[][] matched, int depth, int count)
+        throws IOException
+    {
+        int[] paths = active[depth];
+        int position = 0;
+        IonType type;
+        while ((type = reader.next()) != null)
+        {
+            int matchCount = 0;
+            int childCount = 0;
+            String[] annotations = null;
+            for (int i = 0; i < count; i++)
+            {
+                Path path = myPaths[paths[i]];
+                Component component;
+                if (depth == 0)
+                {
+                    component = path.myRoot;
+                }
+                else
+                {
+                    component = path.myComponents[depth - 1];
+                    if (!component.matches(reader, position)) continue;
+                }
+
+                if (component.myAnnotations != null)
+                {
+                    if (annotations == null)
+                    {
+                        annotations = reader.getTypeAnnotations();
+                    }
+                    if (!Arrays.equals(component.myAnnotations, annotations)) continue;
+                }
+
+                if (path.myComponents.length == depth)
+                {
+                    matched[depth][matchCount++] = paths[i];
+                }
+                else
+                {
+                    active[depth + 1][childCount++] = paths[i];
+                }
+            }
+
+            boolean nested = childCount != 0 && IonType.isContainer(type)
+                && !reader.isNullValue();
+            if (matchCount != 0)
+            {
+                // Don't let the callbacks hide the nested matches.
+                IonReader target = reader;
+                if (nested)
+                {
+                    target = new NoStepInReader(reader, myPaths[active[depth + 1][0]]);
+                }
+                int readerDepth = reader.getDepth();
+                for (int i = 0; i < matchCount; i++)
+                {
+                    myPaths[matched[depth][i]].myCallback.onMatch(target);
+                    if (reader.getDepth() != readerDepth)
+                    {
+                        throw new IllegalStateException("A callback didn't step out of the value");
+                    }
+                }
+            }
+
+            if (nested)
+            {
+                reader.stepIn();
+                matchChildren(reader, active, matched, depth + 1, childCount);
+                reader.stepOut();
+            }
+            position++;
+        }
+    }
+
+
+    private static final class Path
+    {
+        final String      myText;
+        /** Matches the top-level value; only its annotations are used. */
+        final Component   myRoot;
+        final Component[] myComponents;
+        final Callback    myCallback;
+
+        Path(String text, Component root, Component[] components,
+             Callback callback)
+        {
+            myText = text;
+            myRoot = root;
+            myComponents = components;
+            myCallback = callback;
+        }
+
+        static Path parse(String text, Callback callback)
+        {
+            List<Component> components = new ArrayList<Component>();
+            Component root;
+            IonReader reader = IonReaderBuilder.standard().build(text);
+            try
+            {
+                if (reader.next() != IonType.SEXP || reader.isNullValue())
+                {
+                    throw new IllegalArgumentException("A path must be an S-expression: " + text);
+                }
+                root = new Component(Component.WILDCARD, null, reader.getTypeAnnotations());
+
+                reader.stepIn();
+                IonType type;
+                while ((type = reader.next()) != null)
+                {
+                    components.add(Component.parse(reader, type, text));
+                }
+                reader.stepOut();
+
+                if (reader.next() != null)
+                {
+                    throw new IllegalArgumentException("A path must be a single S-expression: " + text);
+                }
+            }
+            catch (IonException e)
+            {
+                throw new IllegalArgumentException("Invalid path: " + text, e);
+            }
+            finally
+            {
+                try
+                {
+                    reader.close();
+                }
+                catch (IOException e)
+                {
+                    throw new IonException(e);
+                }
+            }
+            return new Path(text, root,
+                            components.toArray(new Component[components.size()]),
+                            callback);
+        }
+    }
+
+
+    private static final class Component
+    {
+        /** The {@link #myPosition} of components that match any child. */
+        static final int WILDCARD = -1;
+        /** The {@link #myPosition} of components that match a field. */
+        static final int FIELD    = -2;
+
+        final int      myPosition;
+        final String   myFieldName;
+        /** Null when any annotations match. */
+        final String[] myAnnotations;
+
+        Component(int position, String fieldName, String[] annotations)
+        {
+            myPosition = position;
+            myFieldName = fieldName;
+            myAnnotations = (annotations.length == 0 ? null : annotations);
+        }
+
+        static Component parse(IonReader reader, IonType type, String text)
+        {
+            String[] annotations = reader.getTypeAnnotations();
+            if (reader.isNullValue())
+            {
+                throw new IllegalArgumentException("Invalid path component in " + text);
+            }
+            switch (type)
+            {
+                case SYMBOL:
+                    if ("*".equals(reader.stringValue()))
+                    {
+                        return new Component(WILDCARD, null, annotations);
+                    }
+                    // Fall through
+                case STRING:
+                    return new Component(FIELD, reader.stringValue(), annotations);
+                case INT:
+                    long position = reader.longValue();
+                    if (position < 0 || position > Integer.MAX_VALUE)
+                    {
+                        throw new IllegalArgumentException("Invalid position " + position
+                                                           + " in path " + text);
+                    }
+                    return new Component((int) position, null, annotations);
+                default:
+                    throw new IllegalArgumentException("Invalid path component in " + text);
+            }
+        }
+
+        boolean matches(IonReader reader, int position)
+        {
+            switch (myPosition)
+            {
+                case WILDCARD:
+                    return true;
+                case FIELD:
+                    return reader.isInStruct()
+                        && myFieldName.equals(reader.getFieldName());
+                default:
+                    return myPosition == position;
+            }
+        }
+    }
+
+
+    /**
+     * Passed to callbacks on a value that other paths match inside, so
+     * they can read it but not step into it.
+     */
+    private static final class NoStepInReader
+        implements IonReader
+    {
+        private final IonReader myReader;
+        private final Path      myNestedPath;
+        private final int       myDepth;
+
+        NoStepInReader(IonReader reader, Path nestedPath)
+        {
+            myReader = reader;
+            myNestedPath = nestedPath;
+            myDepth = reader.getDepth();
+        }
+
+        public <T> T asFacet(Class<T> facetType)
+        {
+            return myReader.asFacet(facetType);
+        }
+
+        public void close()
+            throws IOException
+        {
+            myReader.close();
+        }
+
+        public IonType next()
+        {
+            return myReader.next();
+        }
+
+        public void stepIn()
+        {
+            if (myReader.getDepth() == myDepth)
+            {
+                throw new IllegalStateException(
+                    "A callback can't step into a value that the path "
+                    + myNestedPath.myText + " matches inside");
+            }
+            myReader.stepIn();
+        }
+
+        public void stepOut()
+        {
+            myReader.stepOut();
+        }
+
+        public int getDepth()
+        {
+            return myReader.getDepth();
+        }
+
+        public SymbolTable getSymbolTable()
+        {
+            return myReader.getSymbolTable();
+        }
+
+        public IonType getType()
+        {
+            return myReader.getType();
+        }
+
+        public IntegerSize getIntegerSize()
+        {
+            return myReader.getIntegerSize();
+        }
+
+        public String[] getTypeAnnotations()
+        {
+            return myReader.getTypeAnnotations();
+        }
+
+        public SymbolToken[] getTypeAnnotationSymbols()
+        {
+            return myReader.getTypeAnnotationSymbols();
+        }
+
+        public Iterator<String> iterateTypeAnnotations()
+        {
+            return myReader.iterateTypeAnnotations();
+        }
+
+        public String getFieldName()
+        {
+            return myReader.getFieldName();
+        }
+
+        public SymbolToken getFieldNameSymbol()
+        {
+            return myReader.getFieldNameSymbol();
+        }
+
+        public boolean isNullValue()
+        {
+            return myReader.isNullValue();
+        }
+
+        public boolean isInStruct()
+        {
+            return myReader.isInStruct();
+        }
+
+        public boolean booleanValue()
+        {
+            return myReader.booleanValue();
+        }
+
+        public int intValue()
+        {
+            return myReader.intValue();
+        }
+
+        public long longValue()
+        {
+            return myReader.longValue();
+        }
+
+        public BigInteger bigIntegerValue()
+        {
+            return myReader.bigIntegerValue();
+        }
+
+        public double doubleValue()
+        {
+            return myReader.doubleValue();
+        }
+
+        public BigDecimal bigDecimalValue()
+        {
+            return myReader.bigDecimalValue();
+        }
+
+        public Decimal decimalValue()
+        {
+            return myReader.decimalValue();
+        }
+
+        public Date dateValue()
+        {
+            return myReader.dateValue();
+        }
+
+        public Timestamp timestampValue()
+        {
+            return myReader.timestampValue();
+        }
+
+        public String stringValue()
+        {
+            return myReader.stringValue();
+        }
+
+        public SymbolToken symbolValue()
+        {
+            return myReader.symbolValue();
+        }
+
+        public int byteSize()
+        {
+            return myReader.byteSize();
+        }
+
+        public byte[] newBytes()
+        {
+            return myReader.newBytes();
+        }
+
+        public int getBytes(byte[] buffer, int offset, int len)
+        {
+            return myReader.getBytes(buffer, offset, len);
+        }
+    }
+}
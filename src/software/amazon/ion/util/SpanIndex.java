@@ -0,0 +1,647 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
+import static software.amazon.ion.SystemSymbols.SYMBOLS;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.PrivateIonReaderFactory;
+import software.amazon.ion.impl.PrivateUtils;
+
+/**
+ * A persistent index of the top-level values in a file of Ion binary data,
+ * giving random access to any value without reading the data before it.
+ * <p>
+ * The index is written once by {@link #write} to a separate file, and
+ * reopened by {@link #open}.  It records where each value starts and ends,
+ * and the local symbol table it's read with, so that a reader can be made
+ * at any value with {@link #newReader(int)}.  Finding a value's position
+ * reads a fixed-size entry from the index file, so it takes the same time
+ * however large the data is.
+ * Optionally, the index also maps the values of a field of the top-level
+ * structs to the values holding them, so that values can be found by key
+ * with {@link #find(IonValue)}.  The keys are held in memory while the index
+ * is open.
+ * <p>
+ * The index file is itself Ion binary: a header struct with the symbol
+ * tables, a list {@code [position, key]} for each key, and then a blob of
+ * sixteen bytes per value holding its start offset, length and symbol table
+ * number.
+ * <p>
+ * Since the index covers only the data that was in the file when it was
+ * written, data appended later is ignored until the index is rewritten.
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class SpanIndex
+{
+    private static final String HEADER_ANNOTATION = "ion_value_index";
+    private static final String VERSION           = "version";
+    private static final String DATA_LENGTH       = "data_length";
+    private static final String VALUE_COUNT       = "value_count";
+    private static final String KEY_FIELD         = "key_field";
+    private static final String SYMBOL_TABLES     = "symbol_tables";
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** The number of bytes of each value's entry. */
+    private static final int ENTRY_SIZE = 16;
+
+    /** The number of values read at once when collecting keys. */
+    private static final int KEY_BATCH_SIZE = 4096;
+
+
+    private final IonSystem     mySystem;
+    private final IonCatalog    myCatalog;
+    private final FileChannel   myData;
+    private final FileChannel   myIndex;
+    private final long          myEntriesStart;
+    private final int           mySize;
+    private final SymbolTable[] mySymtabs;
+    private final String        myKeyField;
+    private final Map<IonValue, Integer> myKeys;
+
+
+    private SpanIndex(IonSystem system, FileChannel data, FileChannel index,
+                      long entriesStart, int size, SymbolTable[] symtabs,
+                      String keyField, Map<IonValue, Integer> keys)
+    {
+        mySystem = system;
+        myCatalog = system.getCatalog();
+        myData = data;
+        myIndex = index;
+        myEntriesStart = entriesStart;
+        mySize = size;
+        mySymtabs = symtabs;
+        myKeyField = keyField;
+        myKeys = keys;
+    }
+
+
+    /**
+     * Indexes the top-level values in a file of Ion binary data, writing
+     * the index to a stream.
+     *
+     * @param system creates the readers and writers.
+     * @param ionData the data to index.  The channel's position is changed.
+     * @param keyField the name of the field of top-level structs whose values
+     *  are keys, or null to index only by position.  Values that aren't
+     *  structs, or that lack the field, have no key.
+     * @param index receives the index.  The caller is responsible for
+     *  closing it.
+     *
+     * @throws IllegalArgumentException if the data isn't Ion binary.
+     * @throws IOException if either stream throws.
+     */
+    public static void write(IonSystem system, FileChannel ionData,
+                             String keyField, OutputStream index)
+        throws IOException
+    {
+        BinaryValueIndex values = BinaryValueIndex.build(system, ionData);
+        int size = values.size();
+        long dataLength = (size == 0 ? 0 : values.getFinishOffset(size - 1));
+
+        // Closing the writer mustn't close the caller's stream.
+        OutputStream sink = new FilterOutputStream(index)
+        {
+            @Override
+            public void write(byte[] b, int off, int len)
+                throws IOException
+            {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close()
+                throws IOException
+            {
+                flush();
+            }
+        };
+
+        IonWriter writer = system.newBinaryWriter(sink);
+        writer.setTypeAnnotations(HEADER_ANNOTATION);
+        writer.stepIn(IonType.STRUCT);
+        {
+            writer.setFieldName(VERSION);
+            writer.writeInt(FORMAT_VERSION);
+            writer.setFieldName(DATA_LENGTH);
+            writer.writeInt(dataLength);
+            writer.setFieldName(VALUE_COUNT);
+            writer.writeInt(size);
+            writer.setFieldName(KEY_FIELD);
+            writer.writeString(keyField);
+            writer.setFieldName(SYMBOL_TABLES);
+            writer.stepIn(IonType.LIST);
+            for (int i = 0; i < values.symbolTableCount(); i++)
+            {
+                writeSymbolTable(writer, values.symbolTable(i));
+            }
+            writer.stepOut();
+        }
+        writer.stepOut();
+
+        if (keyField != null)
+        {
+            writeKeys(writer, values, keyField);
+        }
+        writer.close();
+
+        writeEntries(sink, values);
+    }
+
+
+    /**
+     * Writes the symbols of a local symbol table, including those it
+     * imports, as the symbols of a table that imports nothing, so that it
+     * can be read back without the catalog or the tables before it.
+     */
+    private static void writeSymbolTable(IonWriter writer, SymbolTable symtab)
+        throws IOException
+    {
+        if (symtab == null || !symtab.isLocalTable())
+        {
+            writer.writeNull();
+            return;
+        }
+
+        writer.setTypeAnnotations(ION_SYMBOL_TABLE);
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName(SYMBOLS);
+        writer.stepIn(IonType.LIST);
+        int maxId = symtab.getMaxId();
+        for (int sid = symtab.getSystemSymbolTable().getMaxId() + 1; sid <= maxId; sid++)
+        {
+            writer.writeString(symtab.findKnownSymbol(sid));
+        }
+        writer.stepOut();
+        writer.stepOut();
+    }
+
+
+    private static void writeKeys(IonWriter writer, BinaryValueIndex values,
+                                  String keyField)
+        throws IOException
+    {
+        for (int from = 0; from < values.size(); from += KEY_BATCH_SIZE)
+        {
+            int to = Math.min(from + KEY_BATCH_SIZE, values.size());
+            IonReader reader = values.newReader(from, to);
+            try
+            {
+                for (int i = from; i < to; i++)
+                {
+                    if (reader.next() != IonType.STRUCT) continue;
+
+                    reader.stepIn();
+                    while (reader.next() != null)
+                    {
+                        if (keyField.equals(reader.getFieldName()))
+                        {
+                            writer.stepIn(IonType.LIST);
+                            writer.writeInt(i);
+                            writer.writeValue(reader);
+                            writer.stepOut();
+                            break;
+                        }
+                    }
+                    reader.stepOut();
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+    }
+
+
+    /**
+     * Writes the entries as a blob.  They're streamed rather than written
+     * through an {@link IonWriter}, which would hold them all in memory.
+     */
+    private static void writeEntries(OutputStream index, BinaryValueIndex values)
+        throws IOException
+    {
+        long length = (long) values.size() * ENTRY_SIZE;
+        DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(index, 64 * 1024));
+
+        if (length < 14)
+        {
+            out.write(0xA0 | (int) length);
+        }
+        else
+        {
+            out.write(0xAE);
+            writeVarUInt(out, length);
+        }
+
+        for (int i = 0; i < values.size(); i++)
+        {
+            long start = values.getStartOffset(i);
+            out.writeLong(start);
+            out.writeInt((int) (values.getFinishOffset(i) - start));
+            out.writeInt(values.symbolTableNumber(i));
+        }
+        out.flush();
+    }
+
+
+    private static void writeVarUInt(OutputStream out, long value)
+        throws IOException
+    {
+        int bits = 64 - Long.numberOfLeadingZeros(value);
+        for (int shift = (bits - 1) / 7 * 7; shift > 0; shift -= 7)
+        {
+            out.write((int) (value >>> shift) & 0x7F);
+        }
+        out.write(((int) value & 0x7F) | 0x80);
+    }
+
+
+    /**
+     * Opens an index written by {@link #write}.  The index reads from both
+     * channels whenever it's used, so the caller must keep them open until
+     * it's done with the index.
+     *
+     * @param system creates the readers and values.
+     * @param ionData the indexed data, which may have been appended to
+     *  since the index was written.
+     * @param index the index.
+     *
+     * @throws IonException if the index is malformed, or the data is
+     *  shorter than when it was indexed.
+     * @throws IOException if either channel throws.
+     */
+    public static SpanIndex open(IonSystem system, FileChannel ionData,
+                                 FileChannel index)
+        throws IOException
+    {
+        IonCatalog catalog = system.getCatalog();
+        IonReader reader = system.newReader(new ChannelInputStream(index, 0));
+        try
+        {
+            if (reader.next() != IonType.STRUCT || !isHeader(reader))
+            {
+                throw new IonException("Not a value index");
+            }
+
+            int version = -1;
+            long dataLength = -1;
+            int size = -1;
+            String keyField = null;
+            SymbolTable[] symtabs = null;
+
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                String field = reader.getFieldName();
+                if (VERSION.equals(field))
+                {
+                    version = reader.intValue();
+                }
+                else if (DATA_LENGTH.equals(field))
+                {
+                    dataLength = reader.longValue();
+                }
+                else if (VALUE_COUNT.equals(field))
+                {
+                    size = reader.intValue();
+                }
+                else if (KEY_FIELD.equals(field))
+                {
+                    keyField = reader.stringValue();
+                }
+                else if (SYMBOL_TABLES.equals(field))
+                {
+                    symtabs = readSymbolTables(system, catalog, reader);
+                }
+            }
+            reader.stepOut();
+
+            if (version != FORMAT_VERSION)
+            {
+                throw new IonException("Unsupported value index version: " + version);
+            }
+            if (size < 0 || dataLength < 0 || symtabs == null)
+            {
+                throw new IonException("Malformed value index header");
+            }
+            if (ionData.size() < dataLength)
+            {
+                throw new IonException("The data is shorter than when it was indexed");
+            }
+
+            Map<IonValue, Integer> keys = new HashMap<IonValue, Integer>();
+            IonType type;
+            while ((type = reader.next()) == IonType.LIST)
+            {
+                reader.stepIn();
+                reader.next();
+                Integer position = reader.intValue();
+                reader.next();
+                IonValue key = system.newValue(reader);
+                reader.stepOut();
+
+                // The first value with a key wins.
+                if (!keys.containsKey(key))
+                {
+                    keys.put(key, position);
+                }
+            }
+            if (type != IonType.BLOB)
+            {
+                throw new IonException("Malformed value index: expected the entries");
+            }
+
+            // The entries are at the end of the blob, so they can be found
+            // without reading it.
+            OffsetSpan span = Spans.currentSpan(OffsetSpan.class, reader);
+            long entriesStart = span.getFinishOffset() - (long) size * ENTRY_SIZE;
+            if (entriesStart < span.getStartOffset())
+            {
+                throw new IonException("Malformed value index: too few entries");
+            }
+
+            return new SpanIndex(system, ionData, index, entriesStart, size,
+                                 symtabs, keyField, keys);
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+
+
+    private static boolean isHeader(IonReader reader)
+    {
+        String[] annotations = reader.getTypeAnnotations();
+        return annotations.length != 0 && HEADER_ANNOTATION.equals(annotations[0]);
+    }
+
+
+    private static SymbolTable[] readSymbolTables(IonSystem system,
+                                                  IonCatalog catalog,
+                                                  IonReader reader)
+    {
+        List<SymbolTable> symtabs = new ArrayList<SymbolTable>();
+        reader.stepIn();
+        IonType type;
+        while ((type = reader.next()) != null)
+        {
+            if (type == IonType.STRUCT && !reader.isNullValue())
+            {
+                symtabs.add(PrivateUtils.newLocalSymtab(catalog, reader, true));
+            }
+            else
+            {
+                symtabs.add(system.getSystemSymbolTable());
+            }
+        }
+        reader.stepOut();
+        return symtabs.toArray(new SymbolTable[symtabs.size()]);
+    }
+
+
+    /**
+     * Gets the number of top-level user values, not counting symbol tables
+     * and version markers.
+     */
+    public int size()
+    {
+        return mySize;
+    }
+
+
+    /**
+     * Gets the name of the field whose values are keys, or null if the
+     * index has no keys.
+     */
+    public String getKeyField()
+    {
+        return myKeyField;
+    }
+
+
+    /**
+     * Finds the first value with a key.
+     *
+     * @param key the value of the key field.
+     *
+     * @return the value's position among the top-level values, or -1 if
+     *  no value has the key.
+     */
+    public int find(IonValue key)
+    {
+        Integer position = myKeys.get(key);
+        return (position == null ? -1 : position);
+    }
+
+
+    /**
+     * Gets the offset of a value from the start of the data, including any
+     * annotations.
+     *
+     * @param index the value's position among the top-level values.
+     *
+     * @throws IonException if the index file throws {@link IOException}.
+     */
+    public long getStartOffset(int index)
+    {
+        return readEntry(index).getLong(0);
+    }
+
+
+    /**
+     * Gets the offset just past the end of a value.
+     *
+     * @param index the value's position among the top-level values.
+     *
+     * @throws IonException if the index file throws {@link IOException}.
+     */
+    public long getFinishOffset(int index)
+    {
+        ByteBuffer entry = readEntry(index);
+        return entry.getLong(0) + entry.getInt(8);
+    }
+
+
+    /**
+     * Gets the symbol table that a value is read with.  Its symbols are
+     * the same as those of the table in the data, but it imports no shared
+     * tables.
+     *
+     * @param index the value's position among the top-level values.
+     *
+     * @throws IonException if the index file throws {@link IOException}.
+     */
+    public SymbolTable getSymbolTable(int index)
+    {
+        return symbolTable(readEntry(index));
+    }
+
+
+    private SymbolTable symbolTable(ByteBuffer entry)
+    {
+        int number = entry.getInt(12);
+        if (number < 0 || number >= mySymtabs.length)
+        {
+            throw new IonException("Malformed value index: no symbol table " + number);
+        }
+        return mySymtabs[number];
+    }
+
+
+    private ByteBuffer readEntry(int index)
+    {
+        if (index < 0 || index >= mySize)
+        {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mySize);
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        long position = myEntriesStart + (long) index * ENTRY_SIZE;
+        try
+        {
+            if (PrivateUtils.readFully(myIndex, position, entry) != ENTRY_SIZE)
+            {
+                throw new IonException("The value index is truncated");
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+        return entry;
+    }
+
+
+    /**
+     * Makes a reader positioned before a value.  It reads the rest of the
+     * data after the value too, including data appended after the index
+     * was written.
+     * Spans from the reader are relative to the start of the value.
+     *
+     * @param index the value's position among the top-level values.
+     *
+     * @throws IonException if the index file throws {@link IOException}.
+     */
+    public IonReader newReader(int index)
+    {
+        ByteBuffer entry = readEntry(index);
+        InputStream in = new ChannelInputStream(myData, entry.getLong(0));
+        return PrivateIonReaderFactory.makeBinaryReader(myCatalog, in,
+                                                        symbolTable(entry));
+    }
+
+
+    /**
+     * Reads a value, with no container.
+     *
+     * @param index the value's position among the top-level values.
+     *
+     * @throws IonException if either file throws {@link IOException}.
+     */
+    public IonValue getValue(int index)
+    {
+        ByteBuffer entry = readEntry(index);
+        byte[] bytes = new byte[entry.getInt(8)];
+        try
+        {
+            if (PrivateUtils.readFully(myData, entry.getLong(0), ByteBuffer.wrap(bytes))
+                != bytes.length)
+            {
+                throw new IonException("The data is shorter than when it was indexed");
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+
+        IonReader reader =
+            PrivateIonReaderFactory.makeBinaryReader(myCatalog, bytes, 0,
+                                                     bytes.length,
+                                                     symbolTable(entry));
+        reader.next();
+        return mySystem.newValue(reader);
+    }
+
+
+    /**
+     * Reads a channel from a position without changing the channel's
+     * position, so that many can read the same channel at once.
+     */
+    private static final class ChannelInputStream
+        extends InputStream
+    {
+        private final FileChannel myChannel;
+        private long myPosition;
+
+        ChannelInputStream(FileChannel channel, long position)
+        {
+            myChannel = channel;
+            myPosition = position;
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            byte[] b = new byte[1];
+            return (read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+            throws IOException
+        {
+            if (len == 0) return 0;
+            int read = myChannel.read(ByteBuffer.wrap(b, off, len), myPosition);
+            if (read > 0) myPosition += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n)
+            throws IOException
+        {
+            long skipped = Math.max(0, Math.min(n, myChannel.size() - myPosition));
+            myPosition += skipped;
+            return skipped;
+        }
+    }
+}
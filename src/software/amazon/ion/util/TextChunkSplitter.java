@@ -0,0 +1,605 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+/**
+ * Cuts a stream of UTF-8 Ion text into chunks of whole top-level values,
+ * each of which can be parsed on its own.
+ * <p>
+ * A chunk ends at a newline that's outside of any container, string,
+ * comment or lob, once the chunk has reached the requested size.
+ * The splitter only lexes as much of the text as it needs to find those
+ * newlines: brackets, quotes, comments, and the top-level symbols that
+ * can introduce a local symbol table or an Ion version marker.
+ * <p>
+ * Each chunk starts with a copy of the local symbol tables that are in
+ * effect where it begins, so that its symbol IDs resolve as they would if
+ * the whole stream were read in one pass.  Those tables are system values,
+ * so a user-level reader of the chunk only returns the chunk's own values.
+ * <p>
+ * The splitter doesn't validate the text.  Anything it can't make sense
+ * of is left for the reader of the chunk to report.
+ */
+final class TextChunkSplitter
+{
+    /**
+     * A chunk of text: the symbol table prefix followed by the values
+     * themselves.
+     */
+    static final class Chunk
+    {
+        /** The prefix and the values, exactly filling the array. */
+        final byte[] data;
+
+        /** The offset in the input of the first byte after the prefix. */
+        final long   offset;
+
+        Chunk(byte[] data, long offset)
+        {
+            this.data = data;
+            this.offset = offset;
+        }
+    }
+
+
+    // Lexer states.
+    private static final int S_NORMAL        = 0;
+    private static final int S_SLASH         = 1;  // saw '/'
+    private static final int S_LINE_COMMENT  = 2;
+    private static final int S_BLOCK_COMMENT = 3;
+    private static final int S_BLOCK_STAR    = 4;  // saw '*' in a block comment
+    private static final int S_STRING        = 5;
+    private static final int S_STRING_ESCAPE = 6;
+    private static final int S_QUOTE1        = 7;  // saw '
+    private static final int S_QUOTE2        = 8;  // saw ''
+    private static final int S_SYMBOL        = 9;
+    private static final int S_SYMBOL_ESCAPE = 10;
+    private static final int S_LONG          = 11;
+    private static final int S_LONG_ESCAPE   = 12;
+    private static final int S_LONG_QUOTE1   = 13; // saw ' in a long string
+    private static final int S_LONG_QUOTE2   = 14; // saw '' in a long string
+    private static final int S_BRACE         = 15; // saw '{'
+    private static final int S_LOB           = 16;
+    private static final int S_LOB_BRACE     = 17; // saw '}' in a lob
+
+    // What the last significant top-level token was.
+    private static final int T_NONE   = 0;
+    private static final int T_VALUE  = 1;
+    private static final int T_COLON  = 2;
+    private static final int T_COLONS = 3;
+    private static final int T_LONG   = 4;
+
+    private static final byte[] SYMTAB   = { '$','i','o','n','_','s','y','m','b','o','l','_','t','a','b','l','e' };
+    private static final byte[] SYMTAB_3 = { '$','3' };
+    private static final byte[] IVM      = { '$','i','o','n','_','1','_','0' };
+
+    private static final int MAX_TOKEN = SYMTAB.length;
+
+    private final InputStream _in;
+    private final int         _chunkSize;
+
+    private byte[] _buf;
+    private long   _bufOffset;  // offset in the input of _buf[0]
+    private int    _start;      // start of the current chunk in _buf
+    private int    _pos;
+    private int    _limit;
+
+    private int     _state = S_NORMAL;
+    private int     _depth;
+    private boolean _inLob;
+    private int     _candidate = -1;  // where the chunk can end, if it's safe
+    private int     _cut = -1;        // where the chunk does end
+
+    private int     _lastTop = T_NONE;
+    private boolean _inIdentifier;
+    private final byte[] _token = new byte[MAX_TOKEN + 1];
+    private int     _tokenLength;
+    private boolean _symbolAnnotated;
+    private int     _lastSymbolStart;
+    private boolean _lastSymbolIsSymtab;
+    private boolean _pendingIvm;
+    private boolean _inAnnotations;
+    private int     _symtabStart = -1;
+    private boolean _inSymtab;
+
+    /** The symbol tables in effect, since the last version marker. */
+    private final ArrayList<byte[]> _context = new ArrayList<byte[]>();
+    private byte[] _contextPrefix = new byte[0];
+    private byte[] _chunkPrefix = _contextPrefix;
+
+
+    /**
+     * @param in the UTF-8 text to split.
+     * @param chunkSize the size, in bytes, after which a chunk ends at the
+     *  next safe newline.
+     */
+    TextChunkSplitter(InputStream in, int chunkSize)
+    {
+        _in = in;
+        _chunkSize = chunkSize;
+        _buf = new byte[Math.max(chunkSize + (chunkSize >> 1), 4096)];
+    }
+
+
+    /**
+     * Finds the next chunk.
+     *
+     * @return null at the end of the input.
+     */
+    Chunk next()
+        throws IOException
+    {
+        for (;;)
+        {
+            while (_pos < _limit)
+            {
+                if (step(_buf[_pos] & 0xff))
+                {
+                    _pos++;
+                }
+                if (_cut >= 0)
+                {
+                    return cut(_cut);
+                }
+            }
+            if (!fill())
+            {
+                if (_start == _limit) return null;
+                return cut(_limit);
+            }
+        }
+    }
+
+
+    private Chunk cut(int end)
+    {
+        int length = end - _start;
+        byte[] data = new byte[_chunkPrefix.length + length];
+        System.arraycopy(_chunkPrefix, 0, data, 0, _chunkPrefix.length);
+        System.arraycopy(_buf, _start, data, _chunkPrefix.length, length);
+        Chunk chunk = new Chunk(data, _bufOffset + _start);
+
+        _chunkPrefix = _contextPrefix;
+        _start = end;
+        _cut = -1;
+        return chunk;
+    }
+
+
+    private boolean fill()
+        throws IOException
+    {
+        if (_start > 0)
+        {
+            int shift = _start;
+            System.arraycopy(_buf, shift, _buf, 0, _limit - shift);
+            _bufOffset += shift;
+            _start = 0;
+            _pos -= shift;
+            _limit -= shift;
+            if (_candidate >= 0) _candidate -= shift;
+            if (_symtabStart >= 0) _symtabStart -= shift;
+            _lastSymbolStart -= shift;
+        }
+        if (_limit == _buf.length)
+        {
+            byte[] bigger = new byte[_buf.length * 2];
+            System.arraycopy(_buf, 0, bigger, 0, _limit);
+            _buf = bigger;
+        }
+        int read = _in.read(_buf, _limit, _buf.length - _limit);
+        if (read < 0) return false;
+        _limit += read;
+        return true;
+    }
+
+
+    private boolean atTop()
+    {
+        return _depth == 0 && !_inLob;
+    }
+
+
+    private static boolean isIdentifierChar(int c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+            || (c >= '0' && c <= '9') || c == '_' || c == '$';
+    }
+
+
+    /**
+     * Handles one byte of input.
+     *
+     * @return false if the byte must be handled again in the new state.
+     */
+    private boolean step(int c)
+    {
+        switch (_state)
+        {
+            case S_NORMAL:
+                return normal(c);
+            case S_SLASH:
+                _state = S_NORMAL;
+                if (c == '/') {
+                    _state = S_LINE_COMMENT;
+                    return true;
+                }
+                if (c == '*') {
+                    _state = S_BLOCK_COMMENT;
+                    return true;
+                }
+                // An operator, which is only valid in an s-expression.
+                if (atTop()) topLevelToken(T_VALUE);
+                return false;
+            case S_LINE_COMMENT:
+                if (c == '\n') {
+                    _state = S_NORMAL;
+                    return false;
+                }
+                return true;
+            case S_BLOCK_COMMENT:
+                if (c == '*') _state = S_BLOCK_STAR;
+                return true;
+            case S_BLOCK_STAR:
+                if (c == '/') {
+                    _state = S_NORMAL;
+                }
+                else if (c != '*') {
+                    _state = S_BLOCK_COMMENT;
+                }
+                return true;
+            case S_STRING:
+                if (c == '\\') {
+                    _state = S_STRING_ESCAPE;
+                }
+                else if (c == '"') {
+                    _state = _inLob ? S_LOB : S_NORMAL;
+                }
+                return true;
+            case S_STRING_ESCAPE:
+                _state = S_STRING;
+                return true;
+            case S_QUOTE1:
+                if (c == '\'') {
+                    _state = S_QUOTE2;
+                    return true;
+                }
+                if (_inLob) {
+                    _state = S_LOB;
+                    return false;
+                }
+                if (atTop()) startSymbol(_pos - 1);
+                _state = S_SYMBOL;
+                return false;
+            case S_QUOTE2:
+                if (c == '\'') {
+                    if (atTop()) topLevelToken(T_LONG);
+                    _state = S_LONG;
+                    return true;
+                }
+                if (_inLob) {
+                    _state = S_LOB;
+                    return false;
+                }
+                // The empty symbol.
+                if (atTop()) {
+                    startSymbol(_pos - 2);
+                    endSymbol(true);
+                }
+                _state = S_NORMAL;
+                return false;
+            case S_SYMBOL:
+                if (c == '\\') {
+                    _tokenLength = MAX_TOKEN + 1;
+                    _state = S_SYMBOL_ESCAPE;
+                }
+                else if (c == '\'') {
+                    if (atTop()) endSymbol(true);
+                    _state = S_NORMAL;
+                }
+                else if (atTop()) {
+                    appendToToken(c);
+                }
+                return true;
+            case S_SYMBOL_ESCAPE:
+                _state = S_SYMBOL;
+                return true;
+            case S_LONG:
+                if (c == '\\') {
+                    _state = S_LONG_ESCAPE;
+                }
+                else if (c == '\'') {
+                    _state = S_LONG_QUOTE1;
+                }
+                return true;
+            case S_LONG_ESCAPE:
+                _state = S_LONG;
+                return true;
+            case S_LONG_QUOTE1:
+                if (c == '\'') {
+                    _state = S_LONG_QUOTE2;
+                    return true;
+                }
+                _state = S_LONG;
+                return false;
+            case S_LONG_QUOTE2:
+                if (c == '\'') {
+                    _state = _inLob ? S_LOB : S_NORMAL;
+                    return true;
+                }
+                _state = S_LONG;
+                return false;
+            case S_BRACE:
+                if (c == '{') {
+                    if (atTop()) topLevelToken(T_VALUE);
+                    _inLob = true;
+                    _state = S_LOB;
+                    return true;
+                }
+                if (atTop()) {
+                    boolean annotated = (_lastTop == T_COLONS);
+                    topLevelToken(T_VALUE);
+                    _inSymtab = annotated && _symtabStart >= 0;
+                }
+                _depth++;
+                _state = S_NORMAL;
+                return false;
+            case S_LOB:
+                if (c == '"') {
+                    _state = S_STRING;
+                }
+                else if (c == '\'') {
+                    _state = S_QUOTE1;
+                }
+                else if (c == '}') {
+                    _state = S_LOB_BRACE;
+                }
+                return true;
+            case S_LOB_BRACE:
+                if (c == '}') {
+                    _inLob = false;
+                    _state = S_NORMAL;
+                    return true;
+                }
+                _state = S_LOB;
+                return false;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+
+    private boolean normal(int c)
+    {
+        if (_inIdentifier)
+        {
+            if (isIdentifierChar(c))
+            {
+                appendToToken(c);
+                return true;
+            }
+            endSymbol(false);
+        }
+
+        switch (c)
+        {
+            case ' ':
+            case '\t':
+            case '\r':
+            case 0x0B:
+            case 0x0C:
+                return true;
+            case '\n':
+                if (_depth == 0 && _candidate < 0 && _lastTop != T_COLONS
+                    && _pos + 1 - _start >= _chunkSize)
+                {
+                    _candidate = _pos + 1;
+                }
+                return true;
+            case '/':
+                _state = S_SLASH;
+                return true;
+            case '"':
+                if (_depth == 0) topLevelToken(T_VALUE);
+                _state = S_STRING;
+                return true;
+            case '\'':
+                // We don't know what this is until we've seen what follows.
+                _state = S_QUOTE1;
+                return true;
+            case '{':
+                _state = S_BRACE;
+                return true;
+            case '[':
+            case '(':
+                if (_depth == 0) topLevelToken(T_VALUE);
+                _depth++;
+                return true;
+            case '}':
+            case ']':
+            case ')':
+                if (_depth > 0)
+                {
+                    _depth--;
+                    if (_depth == 0 && _inSymtab && c == '}')
+                    {
+                        endSymtab(_pos + 1);
+                    }
+                }
+                return true;
+            case ':':
+                if (_depth == 0) topLevelToken(_lastTop == T_COLON ? T_COLONS : T_COLON);
+                return true;
+            default:
+                if (_depth == 0)
+                {
+                    if (isIdentifierChar(c))
+                    {
+                        startSymbol(_pos);
+                        _inIdentifier = true;
+                        appendToToken(c);
+                    }
+                    else
+                    {
+                        topLevelToken(T_VALUE);
+                    }
+                }
+                return true;
+        }
+    }
+
+
+    /**
+     * Notes the start of a significant token at the top level.  This is
+     * where a pending chunk boundary is either confirmed or, when the
+     * token continues the previous value, abandoned.
+     */
+    private void topLevelToken(int kind)
+    {
+        if (kind == T_COLON || kind == T_COLONS)
+        {
+            // The newline was between an annotation and its "::".
+            _candidate = -1;
+            _pendingIvm = false;
+            if (kind == T_COLONS && !_inAnnotations)
+            {
+                _inAnnotations = true;
+                _symtabStart = (_lastSymbolIsSymtab ? _lastSymbolStart : -1);
+            }
+            _lastTop = kind;
+            return;
+        }
+
+        if (kind == T_LONG && _lastTop == T_LONG)
+        {
+            // Adjacent long strings are concatenated into one value.
+            _candidate = -1;
+            return;
+        }
+
+        if (_pendingIvm)
+        {
+            _pendingIvm = false;
+            _context.clear();
+            _contextPrefix = new byte[0];
+        }
+        if (_candidate >= 0)
+        {
+            _cut = _candidate;
+            _candidate = -1;
+        }
+        if (_lastTop != T_COLONS)
+        {
+            _inAnnotations = false;
+            _symtabStart = -1;
+        }
+        _lastSymbolIsSymtab = false;
+        _lastTop = kind;
+    }
+
+
+    private void startSymbol(int start)
+    {
+        _symbolAnnotated = (_lastTop == T_COLONS);
+        topLevelToken(T_VALUE);
+        _lastSymbolStart = start;
+        _tokenLength = 0;
+    }
+
+
+    private void appendToToken(int c)
+    {
+        if (_tokenLength <= MAX_TOKEN)
+        {
+            _token[_tokenLength++] = (byte) c;
+            if (_tokenLength > MAX_TOKEN) _tokenLength = MAX_TOKEN + 1;
+        }
+    }
+
+
+    private boolean tokenIs(byte[] text)
+    {
+        if (_tokenLength != text.length) return false;
+        for (int i = 0; i < text.length; i++)
+        {
+            if (_token[i] != text[i]) return false;
+        }
+        return true;
+    }
+
+
+    private void endSymbol(boolean quoted)
+    {
+        _inIdentifier = false;
+        _lastSymbolIsSymtab = tokenIs(SYMTAB);
+        if (!quoted && !_symbolAnnotated && tokenIs(IVM))
+        {
+            // It's only a version marker if it isn't followed by "::".
+            _pendingIvm = true;
+        }
+    }
+
+
+    private void endSymtab(int end)
+    {
+        byte[] symtab = new byte[end - _symtabStart + 1];
+        System.arraycopy(_buf, _symtabStart, symtab, 0, symtab.length - 1);
+        symtab[symtab.length - 1] = '\n';
+
+        // A table that doesn't import $ion_symbol_table replaces those
+        // before it.  This test can be fooled into keeping more than is
+        // needed, which is harmless.
+        int body = 0;
+        while (symtab[body] != '{') body++;
+        if (!contains(symtab, body, SYMTAB) && !contains(symtab, body, SYMTAB_3))
+        {
+            _context.clear();
+        }
+        _context.add(symtab);
+
+        int length = 0;
+        for (byte[] table : _context) length += table.length;
+        byte[] prefix = new byte[length];
+        length = 0;
+        for (byte[] table : _context)
+        {
+            System.arraycopy(table, 0, prefix, length, table.length);
+            length += table.length;
+        }
+        _contextPrefix = prefix;
+
+        _inSymtab = false;
+        _symtabStart = -1;
+    }
+
+
+    private static boolean contains(byte[] symtab, int from, byte[] text)
+    {
+        outer:
+        for (int i = from; i + text.length <= symtab.length; i++)
+        {
+            for (int j = 0; j < text.length; j++)
+            {
+                if (symtab[i + j] != text[j]) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+}
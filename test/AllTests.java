@@ -63,33 +63,50 @@ import software.amazon.ion.impl.IonImplUtilsTest;
 import software.amazon.ion.impl.IonWriterTests;
 import software.amazon.ion.impl.IterationTest;
 import software.amazon.ion.impl.LocalSymbolTableTest;
+import software.amazon.ion.impl.MappedBinaryInputTest;
 import software.amazon.ion.impl.SharedSymbolTableTest;
 import software.amazon.ion.impl.SymbolTableTest;
+import software.amazon.ion.impl.TextNumberFormatterTest;
+import software.amazon.ion.impl.TextNumberParserTest;
+import software.amazon.ion.impl.TextStructuralIndexTest;
 import software.amazon.ion.impl.TreeReaderTest;
 import software.amazon.ion.impl.bin.IonManagedBinaryWriterTest;
+import software.amazon.ion.impl.bin.IonRawBinaryWriterGatheringTest;
 import software.amazon.ion.impl.bin.IonRawBinaryWriterTest;
 import software.amazon.ion.impl.bin.PooledBlockAllocatorProviderTest;
+import software.amazon.ion.impl.bin.PrivateBoundedBlockAllocatorProviderTest;
+import software.amazon.ion.impl.bin.ThreadCachedBlockAllocatorProviderTest;
 import software.amazon.ion.impl.bin.WriteBufferTest;
 import software.amazon.ion.impl.lite.IonContextTest;
 import software.amazon.ion.streaming.BadIonStreamingTest;
 import software.amazon.ion.streaming.BinaryStreamingTest;
+import software.amazon.ion.streaming.FieldSeekingReaderTest;
 import software.amazon.ion.streaming.GoodIonStreamingTest;
+import software.amazon.ion.streaming.IncrementalReaderTest;
 import software.amazon.ion.streaming.InputStreamReaderTest;
+import software.amazon.ion.streaming.JsonReaderTest;
 import software.amazon.ion.streaming.MiscStreamingTest;
+import software.amazon.ion.streaming.PrimitiveArrayReaderTest;
 import software.amazon.ion.streaming.ReaderDomCopyTest;
 import software.amazon.ion.streaming.ReaderIntegerSizeTest;
 import software.amazon.ion.streaming.ReaderSkippingTest;
 import software.amazon.ion.streaming.ReaderTest;
+import software.amazon.ion.streaming.ResettableReaderTest;
 import software.amazon.ion.streaming.RoundTripStreamingTest;
 import software.amazon.ion.streaming.SpanTests;
+import software.amazon.ion.streaming.TextStringLoadingTest;
 import software.amazon.ion.system.IonBinaryWriterBuilderTest;
 import software.amazon.ion.system.IonReaderBuilderTest;
 import software.amazon.ion.system.IonSystemBuilderTest;
 import software.amazon.ion.system.IonTextWriterBuilderTest;
 import software.amazon.ion.system.SimpleCatalogTest;
+import software.amazon.ion.util.BinaryValueIndexTest;
 import software.amazon.ion.util.EquivalenceTest;
 import software.amazon.ion.util.IonStreamUtilsTest;
 import software.amazon.ion.util.JarInfoTest;
+import software.amazon.ion.util.ParallelTextLoaderTest;
+import software.amazon.ion.util.PathExtractorTest;
+import software.amazon.ion.util.SpanIndexTest;
 import software.amazon.ion.util.TextTest;
 
 
@@ -168,10 +185,24 @@ import software.amazon.ion.util.TextTest;
 
     IonStreamUtilsTest.class,
     TreeReaderTest.class,
+    TextNumberFormatterTest.class,
+    TextNumberParserTest.class,
+    TextStructuralIndexTest.class,
     MiscStreamingTest.class,
     BinaryStreamingTest.class,
     ReaderTest.class,
     InputStreamReaderTest.class,
+    BinaryValueIndexTest.class,
+    FieldSeekingReaderTest.class,
+    IncrementalReaderTest.class,
+    JsonReaderTest.class,
+    MappedBinaryInputTest.class,
+    ParallelTextLoaderTest.class,
+    PathExtractorTest.class,
+    PrimitiveArrayReaderTest.class,
+    ResettableReaderTest.class,
+    SpanIndexTest.class,
+    TextStringLoadingTest.class,
 
     BadIonStreamingTest.class,
     GoodIonStreamingTest.class,
@@ -191,8 +222,11 @@ import software.amazon.ion.util.TextTest;
 
     // experimental binary writer tests
     PooledBlockAllocatorProviderTest.class,
+    PrivateBoundedBlockAllocatorProviderTest.class,
+    ThreadCachedBlockAllocatorProviderTest.class,
     WriteBufferTest.class,
     IonRawBinaryWriterTest.class,
+    IonRawBinaryWriterGatheringTest.class,
     IonManagedBinaryWriterTest.class,
 
     // Hash code tests
@@ -24,6 +24,7 @@ import static software.amazon.ion.junit.IonAssert.assertIonEquals;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.Collection;
 import java.util.Iterator;
 import org.junit.Before;
@@ -283,6 +284,88 @@ public class DatagramTest
     }
 
 
+    @Test
+    public void testGetBytesAcrossBlocks()
+        throws Exception
+    {
+        // Values that span the encoder's blocks, including ones larger than a block
+        IonDatagram dg = system().newDatagram();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+        {
+            text.append(i % 7 == 0 ? "\u00e9\u4e2d\ud83d\ude00" : "abc");
+            IonStruct struct = system().newEmptyStruct();
+            struct.put("s").newString(text.substring(text.length() - 3));
+            struct.put("i").newInt(BigInteger.ONE.shiftLeft(i % 200));
+            struct.put("f").newFloat(i / 3.0);
+            dg.add(struct);
+        }
+        dg.add().newString(text.toString());
+        dg.add().newBlob(new byte[100000]);
+
+        byte[] bytes = dg.getBytes();
+        assertEquals(bytes.length, dg.byteSize());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(bytes.length, dg.getBytes(out));
+        assertArrayEquals(bytes, out.toByteArray());
+        assertIonEquals(dg, myLoader.load(bytes));
+    }
+
+
+    @Test
+    public void testByteSizeAfterChange()
+        throws Exception
+    {
+        IonDatagram dg = myLoader.load("a::{b:[1, {c:2}]} 3");
+        IonStruct nested = (IonStruct) ((IonList) ((IonStruct) dg.get(0)).get("b")).get(1);
+
+        int size = dg.byteSize();
+        assertEquals(size, dg.byteSize());
+        assertEquals(size, dg.getBytes().length);
+
+        nested.put("d").newString("more");
+        checkByteSize(dg, size);
+
+        size = dg.byteSize();
+        dg.get(0).addTypeAnnotation("another");
+        checkByteSize(dg, size);
+
+        size = dg.byteSize();
+        nested.remove("c");
+        checkByteSize(dg, size);
+
+        size = dg.byteSize();
+        dg.remove(1);
+        checkByteSize(dg, size);
+
+        // A value taken out of the datagram no longer affects it
+        size = dg.byteSize();
+        IonValue removed = dg.remove(0);
+        checkByteSize(dg, size);
+        size = dg.byteSize();
+        removed.addTypeAnnotation("gone");
+        assertEquals(size, dg.byteSize());
+
+        dg.add().newSymbol("sym");
+        checkByteSize(dg, size);
+
+        size = dg.byteSize();
+        dg.makeReadOnly();
+        assertEquals(size, dg.byteSize());
+        assertEquals(size, dg.getBytes().length);
+        assertEquals(size, dg.clone().byteSize());
+    }
+
+    private void checkByteSize(IonDatagram dg, int oldSize)
+    {
+        int size = dg.byteSize();
+        assertTrue("byte size didn't change", size != oldSize);
+        byte[] bytes = dg.getBytes();
+        assertEquals(bytes.length, size);
+        assertIonEquals(dg, myLoader.load(bytes));
+    }
+
+
     @Test
     public void testEncodingAnnotatedSymbol()
     {
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -29,6 +30,7 @@ import software.amazon.ion.IonDatagram;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonSystem;
 import software.amazon.ion.impl.PrivateUtils;
+import software.amazon.ion.system.IonReaderBuilder;
 
 /**
  * Abstracts the various ways that {@link IonReader}s can be created, so test
@@ -115,6 +117,63 @@ public enum ReaderMaker
     },
 
 
+    /**
+     * Invokes {@link IonReaderBuilder#build(ByteBuffer)} with Ion binary in
+     * a heap buffer whose position is not zero.
+     */
+    FROM_HEAP_BYTE_BUFFER_BINARY(Feature.BINARY)
+    {
+        @Override
+        public int getOffset() { return 37; }
+
+        @Override
+        public IonReader newReader(IonSystem system, byte[] ionData)
+        {
+            ionData = ensureBinary(system, ionData);
+            byte[] padded = new byte[ionData.length + 70];
+            System.arraycopy(ionData, 0, padded, 37, ionData.length);
+            ByteBuffer buffer = ByteBuffer.wrap(padded, 37, ionData.length);
+            return builder(system).build(buffer);
+        }
+    },
+
+
+    /**
+     * Invokes {@link IonReaderBuilder#build(ByteBuffer)} with Ion binary in
+     * a direct buffer.
+     */
+    FROM_DIRECT_BYTE_BUFFER_BINARY(Feature.BINARY)
+    {
+        @Override
+        public IonReader newReader(IonSystem system, byte[] ionData)
+        {
+            ionData = ensureBinary(system, ionData);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(ionData.length);
+            buffer.put(ionData);
+            buffer.flip();
+            return builder(system).build(buffer);
+        }
+    },
+
+
+    /**
+     * Invokes {@link IonReaderBuilder#build(ByteBuffer)} with Ion text in
+     * a direct buffer.
+     */
+    FROM_DIRECT_BYTE_BUFFER_TEXT(Feature.TEXT)
+    {
+        @Override
+        public IonReader newReader(IonSystem system, byte[] ionData)
+        {
+            ionData = ensureText(system, ionData);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(ionData.length);
+            buffer.put(ionData);
+            buffer.flip();
+            return builder(system).build(buffer);
+        }
+    },
+
+
     /**
      * Invokes {@link IonSystem#newReader(InputStream)} with Ion binary.
      */
@@ -212,6 +271,12 @@ public enum ReaderMaker
     }
 
 
+    private static IonReaderBuilder builder(IonSystem system)
+    {
+        return IonReaderBuilder.standard().withCatalog(system.getCatalog());
+    }
+
+
     public boolean sourceIsText()
     {
         return myFeatures.contains(Feature.TEXT);
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.streaming.ReaderCompare;
+
+/**
+ * Reads Ion binary in place from direct buffers and from files mapped in
+ * windows small enough that values, and the bytes unread before them, cross
+ * from one window to the next.
+ */
+public class MappedBinaryInputTest
+    extends IonTestCase
+{
+    private static final int[] WINDOW_SIZES = { 11, 16, 37, 64, 1 << 20 };
+
+    private byte[] binaryData()
+    {
+        IonDatagram dg = system().newDatagram();
+        for (int i = 0; i < 40; i++)
+        {
+            dg.add(system().singleValue(
+                "ann::{a:\"hello " + i + "\", b:[" + i + ", -" + (i * 997) + ", 3.5e0, 4.25,"
+                + " 2020-01-01T00:00:" + (10 + i) + "Z, sym" + i + "::\"str\", {{aGVsbG8=}},"
+                + " 12345678901234567890, \"\u00fcn\u00efc\u00f6d\u00e9 \ud834\udd1e\","
+                + " 1.5e-3, null.int, true], c:(x y z)}"));
+        }
+        return dg.getBytes();
+    }
+
+    private File writeFile(byte[] data) throws IOException
+    {
+        File file = File.createTempFile("mapped", ".10n");
+        OutputStream out = new FileOutputStream(file);
+        try
+        {
+            out.write(data);
+        }
+        finally
+        {
+            out.close();
+        }
+        return file;
+    }
+
+    private static UnifiedInputStreamX mapped(File file, int windowSize) throws IOException
+    {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return new UnifiedInputStreamX.FromByteBuffer(channel, windowSize);
+    }
+
+    private IonReader binaryReader(UnifiedInputStreamX input)
+    {
+        return new IonReaderBinaryUserX(system().getCatalog(),
+                                        LocalSymbolTable.DEFAULT_LST_FACTORY,
+                                        input, 0);
+    }
+
+    @Test
+    public void testMappedWindows() throws IOException
+    {
+        byte[] data = binaryData();
+        File file = writeFile(data);
+        try
+        {
+            for (int windowSize : WINDOW_SIZES)
+            {
+                IonReader reader = binaryReader(mapped(file, windowSize));
+                ReaderCompare.compare(system().newReader(data), reader);
+                reader.close();
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testMappedWindowsSkipped() throws IOException
+    {
+        byte[] data = binaryData();
+        File file = writeFile(data);
+        try
+        {
+            for (int windowSize : WINDOW_SIZES)
+            {
+                IonReader reader = binaryReader(mapped(file, windowSize));
+                int count = 0;
+                while (reader.next() != null)
+                {
+                    assertEquals(IonType.STRUCT, reader.getType());
+                    count++;
+                }
+                assertEquals(40, count);
+                reader.close();
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testMappedStreamReadsAndUnreads() throws IOException
+    {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 7);
+        }
+        File file = writeFile(data);
+        try
+        {
+            UnifiedInputStreamX in = mapped(file, 16);
+            for (int i = 0; i < 20; i++)
+            {
+                assertEquals(data[i] & 0xff, in.read());
+            }
+            // back across the start of the current window
+            for (int i = 19; i >= 12; i--)
+            {
+                in.unread(data[i] & 0xff);
+            }
+            assertEquals(12, in.getPosition());
+
+            byte[] bulk = new byte[50];
+            assertEquals(50, in.read(bulk, 0, bulk.length));
+            assertTrue(Arrays.equals(Arrays.copyOfRange(data, 12, 62), bulk));
+
+            in.skip(30);
+            assertEquals(92, in.getPosition());
+            for (int i = 92; i < 100; i++)
+            {
+                assertEquals(data[i] & 0xff, in.read());
+            }
+            assertEquals(UnifiedInputStreamX.EOF, in.read());
+            in.close();
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testEmptyMappedFile() throws IOException
+    {
+        File file = writeFile(new byte[0]);
+        try
+        {
+            UnifiedInputStreamX in = mapped(file, 16);
+            assertEquals(UnifiedInputStreamX.EOF, in.read());
+            in.close();
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testDirectBufferSlice() throws IOException
+    {
+        byte[] data = binaryData();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 20);
+        buffer.position(13);
+        buffer.put(data);
+        buffer.position(13);
+        buffer.limit(13 + data.length);
+
+        UnifiedInputStreamX in = UnifiedInputStreamX.makeStream(buffer);
+        assertNull(in.getByteArray());
+        IonReader reader = binaryReader(in);
+        ReaderCompare.compare(system().newReader(data), reader);
+        assertEquals(13, buffer.position());
+    }
+
+    @Test
+    public void testReadOnlyBuffer() throws IOException
+    {
+        byte[] data = binaryData();
+        ByteBuffer buffer = ByteBuffer.wrap(data).asReadOnlyBuffer();
+        IonReader reader = binaryReader(UnifiedInputStreamX.makeStream(buffer));
+        ReaderCompare.compare(system().newReader(data), reader);
+    }
+}
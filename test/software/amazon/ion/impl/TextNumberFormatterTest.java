@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.util.Random;
+import org.junit.Test;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonValue;
+
+public class TextNumberFormatterTest
+    extends IonTestCase
+{
+    private final char[] buf = new char[TextNumberFormatter.DOUBLE_BUFFER_SIZE];
+
+    private String formatLong(long value)
+    {
+        int start = TextNumberFormatter.formatLong(value, buf, buf.length);
+        return new String(buf, start, buf.length - start);
+    }
+
+    private String formatDouble(double value)
+    {
+        return new String(buf, 0, TextNumberFormatter.formatDouble(value, buf));
+    }
+
+    /** Counts the significant digits of a float's text. */
+    private static int significantDigits(String text)
+    {
+        String digits = text.replaceAll("[eE].*", "").replace("-", "").replace(".", "");
+        return digits.replaceAll("^0+", "").replaceAll("0+$", "").length();
+    }
+
+    private void checkRoundTrip(double value)
+    {
+        String text = formatDouble(value);
+        assertEquals(text, value, Double.parseDouble(text.replace("e0", "")), 0);
+        // Double.toString doesn't always find the shortest, but is never
+        // shorter, apart from the two digits we give the tiniest subnormals.
+        int expected = Math.max(2, significantDigits(Double.toString(value)));
+        assertTrue(text, significantDigits(text) <= expected);
+    }
+
+    private void checkText(String ionText)
+    {
+        IonValue value = system().singleValue(ionText);
+        assertEquals(ionText, value.toString());
+    }
+
+    //=========================================================================
+
+    @Test
+    public void testFormatLong()
+    {
+        long[] values = { 0, 1, -1, 9, 10, 99, 100, -100, 101, 1000,
+                          Integer.MAX_VALUE, Integer.MIN_VALUE,
+                          Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1 };
+        for (long value : values)
+        {
+            assertEquals(Long.toString(value), formatLong(value));
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++)
+        {
+            long value = random.nextLong() >> random.nextInt(64);
+            assertEquals(Long.toString(value), formatLong(value));
+        }
+    }
+
+    @Test
+    public void testFormatDoubleLayout()
+    {
+        assertEquals("1e0", formatDouble(1));
+        assertEquals("-1.5e0", formatDouble(-1.5));
+        assertEquals("100e0", formatDouble(100));
+        assertEquals("9999999e0", formatDouble(9999999));
+        assertEquals("1.0E7", formatDouble(1e7));
+        assertEquals("1.2345678E7", formatDouble(12345678));
+        assertEquals("0.001e0", formatDouble(0.001));
+        assertEquals("-0.00123e0", formatDouble(-0.00123));
+        assertEquals("9.9999E-4", formatDouble(0.00099999));
+        assertEquals("0.1e0", formatDouble(0.1));
+        assertEquals("3.141592653589793e0", formatDouble(Math.PI));
+        assertEquals("9.223372036854776E18", formatDouble(Long.MAX_VALUE));
+        assertEquals("1.7976931348623157E308", formatDouble(Double.MAX_VALUE));
+        assertEquals("-2.2250738585072014E-308", formatDouble(-Double.MIN_NORMAL));
+        assertEquals("4.9E-324", formatDouble(Double.MIN_VALUE));
+    }
+
+    @Test
+    public void testFormatDoubleShortest()
+    {
+        // Older JDKs give 9.999999999999999E22 and 1.0E-323 for these.
+        assertEquals("1.0E23", formatDouble(1e23));
+        assertEquals("9.9E-324", formatDouble(2 * Double.MIN_VALUE));
+    }
+
+    @Test
+    public void testFormatDoubleRoundTrip()
+    {
+        Random random = new Random(1);
+        for (int i = 0; i < 200000; i++)
+        {
+            double value;
+            switch (i % 3)
+            {
+                case 0:
+                    value = Double.longBitsToDouble(random.nextLong());
+                    break;
+                case 1:
+                    value = random.nextInt(1000000) / Math.pow(10, random.nextInt(12));
+                    break;
+                default:
+                    // Subnormals
+                    value = Double.longBitsToDouble(random.nextLong() & 0x000FFFFFFFFFFFFFL);
+                    break;
+            }
+            if (value != 0 && !Double.isNaN(value) && !Double.isInfinite(value))
+            {
+                checkRoundTrip(value);
+            }
+        }
+        for (long bits = 1; bits < 1000; bits++)
+        {
+            checkRoundTrip(Double.longBitsToDouble(bits));
+        }
+        for (int exp = -1074; exp <= 1023; exp++)
+        {
+            checkRoundTrip(Math.scalb(1.0, exp));
+        }
+    }
+
+    @Test
+    public void testPrintInt()
+    {
+        checkText("0");
+        checkText("-9223372036854775808");
+        checkText("9223372036854775807");
+        checkText("-92233720368547758080");
+        checkText("123456789012345678901234567890");
+    }
+
+    @Test
+    public void testPrintDecimal()
+    {
+        checkText("0.");
+        checkText("-0.");
+        checkText("0d-10");
+        checkText("-0d3");
+        checkText("123.");
+        checkText("-1.23");
+        checkText("-0.00123");
+        checkText("123d-20");
+        checkText("-123d5");
+        checkText("-9223372036854775808.");
+        checkText("-922337203685477580.8");
+        checkText("-92233720368547758080.1");
+        checkText("1234567890123456789012345678901234567890d-99");
+    }
+
+    @Test
+    public void testPrintFloat()
+    {
+        checkText("1e0");
+        checkText("-0e0");
+        checkText("1.0E23");
+        checkText("-4.9E-324");
+        checkText("0.5e0");
+        checkText("nan");
+        checkText("+inf");
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Test;
+import software.amazon.ion.Decimal;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.impl.PrivateScalarConversions.ValueVariant;
+
+public class TextNumberParserTest
+    extends IonTestCase
+{
+    private static final int AS_INT = PrivateScalarConversions.AS_TYPE.int_value;
+    private static final int AS_LONG = PrivateScalarConversions.AS_TYPE.long_value;
+    private static final int AS_BIG_INTEGER = PrivateScalarConversions.AS_TYPE.bigInteger_value;
+
+    private ValueVariant loadInteger(String image, int radix)
+    {
+        ValueVariant v = new ValueVariant();
+        TextNumberParser.loadInteger(image, radix, v);
+        return v;
+    }
+
+    private void checkInteger(String image, int radix, int expectedType)
+    {
+        ValueVariant v = loadInteger(image, radix);
+        assertEquals(image, expectedType, v.getAuthoritativeType());
+        BigInteger actual;
+        if (expectedType == AS_INT)
+        {
+            actual = BigInteger.valueOf(v.getInt());
+        }
+        else if (expectedType == AS_LONG)
+        {
+            actual = BigInteger.valueOf(v.getLong());
+        }
+        else
+        {
+            actual = v.getBigInteger();
+        }
+        assertEquals(image, new BigInteger(image, radix), actual);
+    }
+
+    private void checkDecimal(String image)
+    {
+        Decimal expected = Decimal.valueOf(image);
+        Decimal actual = TextNumberParser.parseDecimal(image);
+        assertEquals(image, expected, actual);
+        assertEquals(image, expected.isNegativeZero(), actual.isNegativeZero());
+    }
+
+    private void checkDouble(String image)
+    {
+        double expected = Double.parseDouble(image);
+        double actual = TextNumberParser.parseDouble(image);
+        assertEquals(image, Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+    }
+
+    @Test
+    public void testIntegerBoundaries()
+    {
+        checkInteger("0", 10, AS_INT);
+        checkInteger("-0", 10, AS_INT);
+        checkInteger("2147483647", 10, AS_INT);
+        checkInteger("-2147483648", 10, AS_INT);
+        checkInteger("2147483648", 10, AS_LONG);
+        checkInteger("-2147483649", 10, AS_LONG);
+        checkInteger("9223372036854775807", 10, AS_LONG);
+        checkInteger("9223372036854775798", 10, AS_LONG);
+        checkInteger("-9223372036854775808", 10, AS_LONG);
+        checkInteger("9223372036854775808", 10, AS_BIG_INTEGER);
+        checkInteger("-9223372036854775809", 10, AS_BIG_INTEGER);
+        checkInteger("000000000000000000000000000012", 10, AS_INT);
+        checkInteger("123456789012345678901234567890", 10, AS_BIG_INTEGER);
+    }
+
+    @Test
+    public void testHexAndBinaryBoundaries()
+    {
+        checkInteger("7fffffff", 16, AS_INT);
+        checkInteger("-80000000", 16, AS_INT);
+        checkInteger("80000000", 16, AS_LONG);
+        checkInteger("7fffffffffffffff", 16, AS_LONG);
+        checkInteger("-8000000000000000", 16, AS_LONG);
+        checkInteger("8000000000000000", 16, AS_BIG_INTEGER);
+        checkInteger("-8000000000000001", 16, AS_BIG_INTEGER);
+        checkInteger("-101", 2, AS_INT);
+        checkInteger(Long.toBinaryString(Long.MAX_VALUE), 2, AS_LONG);
+        checkInteger("1" + Long.toBinaryString(Long.MAX_VALUE), 2, AS_BIG_INTEGER);
+    }
+
+    @Test
+    public void testDecimals()
+    {
+        String[] images = {
+            "0.", "-0.", "0.0", "-0.000", "0e0", "-0e5", "-0.00e-3", "1.", "-1.5",
+            "123.456e7", "123.456e-7", "1e+2", "0.000123", "999999999999999999.",
+            "9999999999999999999.", "-1234567890123456789012345678901234567890.5",
+            "1e2147483647", "1e-2147483647",
+        };
+        for (String image : images)
+        {
+            checkDecimal(image);
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testDecimalScaleOverflow()
+    {
+        TextNumberParser.parseDecimal("1.5e-2147483647");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testDecimalExponentOverflow()
+    {
+        TextNumberParser.parseDecimal("1.5e2147483648");
+    }
+
+    @Test
+    public void testDoubles()
+    {
+        String[] images = {
+            "0e0", "-0e0", "0.0e-999999", "-0e999999999999999", "1e0", "-1.5e0",
+            "1e22", "1e23", "9007199254740993e0", "9007199254740992e0",
+            "1.7976931348623157e308", "1.7976931348623158e308", "1.8e308", "-1e400",
+            "4.9e-324", "2.2250738585072014e-308", "2.2250738585072011e-308", "1e-400",
+            "123456789012345678e-5", "1234567890123456789e0", "12345678901234567890e0",
+            "1.00000000000000000000000000000e0", "0.000000000000000000000000000001e30",
+            "2.2250738585072012e-308", "7.038531e-26", "9007199254740993.0000000000001e0",
+            "3.141592653589793238462643383279e0", "1.1754943508222875e-38",
+        };
+        for (String image : images)
+        {
+            checkDouble(image);
+        }
+    }
+
+    @Test
+    public void testRandomDoubles()
+    {
+        Random random = new Random(0x10A5EEDL);
+        for (int i = 0; i < 50000; i++)
+        {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d) || Double.isInfinite(d))
+            {
+                continue;
+            }
+            String image = Double.toString(d);
+            if (image.indexOf('E') < 0)
+            {
+                image += "e0";
+            }
+            checkDouble(image);
+            assertEquals(image, d, TextNumberParser.parseDouble(image), 0d);
+        }
+        for (int i = 0; i < 50000; i++)
+        {
+            // Random digit strings, which aren't the shortest representation
+            // of any double and so exercise rounding.
+            int digits = 1 + random.nextInt(19);
+            StringBuilder image = new StringBuilder();
+            for (int j = 0; j < digits; j++)
+            {
+                image.append((char) ('0' + random.nextInt(10)));
+                if (j == 0)
+                {
+                    image.append('.');
+                }
+            }
+            image.append('e').append(random.nextInt(700) - 350);
+            checkDouble(image.toString());
+        }
+    }
+
+    @Test
+    public void testReaderValues()
+    {
+        IonReader reader = system().newReader(
+            "2147483648 -0x80000000 0b1_0000 9223372036854775807 18446744073709551616 "
+          + "-0d0 1.5D-3 12_3.4_5 1.5e3 -0e0 1_0e1");
+
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IntegerSize.LONG, reader.getIntegerSize());
+        assertEquals(2147483648L, reader.longValue());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IntegerSize.INT, reader.getIntegerSize());
+        assertEquals(Integer.MIN_VALUE, reader.intValue());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(16, reader.intValue());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IntegerSize.LONG, reader.getIntegerSize());
+        assertEquals(Long.MAX_VALUE, reader.longValue());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IntegerSize.BIG_INTEGER, reader.getIntegerSize());
+        assertEquals(BigInteger.ONE.shiftLeft(64), reader.bigIntegerValue());
+
+        assertEquals(IonType.DECIMAL, reader.next());
+        assertTrue(reader.decimalValue().isNegativeZero());
+        assertEquals(IonType.DECIMAL, reader.next());
+        assertEquals(new BigDecimal("0.0015"), reader.bigDecimalValue());
+        assertEquals(IonType.DECIMAL, reader.next());
+        assertEquals(new BigDecimal("123.45"), reader.bigDecimalValue());
+
+        assertEquals(IonType.FLOAT, reader.next());
+        assertEquals(1500d, reader.doubleValue(), 0d);
+        assertEquals(IonType.FLOAT, reader.next());
+        assertEquals(Double.doubleToRawLongBits(-0d), Double.doubleToRawLongBits(reader.doubleValue()));
+        assertEquals(IonType.FLOAT, reader.next());
+        assertEquals(100d, reader.doubleValue(), 0d);
+        assertEquals(null, reader.next());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.util.Random;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+
+public class TextStructuralIndexTest
+    extends IonTestCase
+{
+    private static final String ALPHABET = "{}[]()\"'\\\n\r/ \tab:,_*0\u00e9";
+
+    private static byte[] randomBytes(Random random, int length)
+    {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            bytes[i] = random.nextInt(4) == 0
+                ? (byte) random.nextInt(256)
+                : (byte) ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return bytes;
+    }
+
+    private static int naiveNext(byte[] bytes, int pos, int limit)
+    {
+        while (pos < limit && !TextStructuralIndex.isIndexed(bytes[pos]))
+        {
+            pos++;
+        }
+        return pos;
+    }
+
+    @Test
+    public void testMatchesEachByte()
+    {
+        for (int b = 0; b < 256; b++)
+        {
+            for (int lane = 0; lane < 8; lane++)
+            {
+                // Surround the byte with ones that are and aren't indexed.
+                long filler = lane % 2 == 0 ? 'a' : '"';
+                long word = 0;
+                for (int i = 0; i < 8; i++)
+                {
+                    word |= (i == lane ? b : filler) << (i * 8);
+                }
+                long packed = TextStructuralIndex.pack(TextStructuralIndex.matches(word));
+                boolean expected = TextStructuralIndex.isIndexed((byte) b);
+                assertEquals("byte " + b + " lane " + lane, expected, (packed & (1L << lane)) != 0);
+                for (int i = 0; i < 8; i++)
+                {
+                    if (i != lane)
+                    {
+                        assertEquals(filler == '"', (packed & (1L << i)) != 0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNextMatchesNaiveScan()
+    {
+        Random random = new Random(1234);
+        for (int trial = 0; trial < 200; trial++)
+        {
+            int length = random.nextInt(3000);
+            int start = random.nextInt(20);
+            byte[] bytes = randomBytes(random, start + length + random.nextInt(20));
+            TextStructuralIndex index = new TextStructuralIndex(bytes, start, start + length);
+            for (int probe = 0; probe < 50; probe++)
+            {
+                int pos = start + random.nextInt(length + 1);
+                int limit = pos + random.nextInt(start + length - pos + 1);
+                assertEquals(naiveNext(bytes, pos, limit), index.next(pos, limit));
+            }
+        }
+    }
+
+    @Test
+    public void testReset()
+    {
+        Random random = new Random(5678);
+        byte[] first = randomBytes(random, 5000);
+        TextStructuralIndex index = new TextStructuralIndex(first, 0, first.length);
+        assertEquals(naiveNext(first, 4000, 5000), index.next(4000, 5000));
+
+        byte[] second = randomBytes(random, 300);
+        index.reset(second, 10, 290);
+        for (int pos = 10; pos < 290; pos++)
+        {
+            assertEquals(naiveNext(second, pos, 290), index.next(pos, 290));
+        }
+    }
+
+    /**
+     * Reads the top-level values and the first field of every struct,
+     * skipping everything else, from both bytes and chars.
+     */
+    private void checkSkipping(String text)
+    {
+        IonReader fromBytes = system().newReader(utf8(text));
+        IonReader fromChars = system().newReader(text);
+        for (;;)
+        {
+            IonType type = fromChars.next();
+            assertEquals(type, fromBytes.next());
+            if (type == null)
+            {
+                break;
+            }
+            if (type == IonType.STRUCT && !fromChars.isNullValue())
+            {
+                fromChars.stepIn();
+                fromBytes.stepIn();
+                assertEquals(fromChars.next(), fromBytes.next());
+                assertEquals(fromChars.getFieldName(), fromBytes.getFieldName());
+                fromChars.stepOut();
+                fromBytes.stepOut();
+            }
+            else if (!IonType.isContainer(type))
+            {
+                assertEquals(fromChars.getType(), fromBytes.getType());
+                assertEquals(system().newValue(fromChars), system().newValue(fromBytes));
+            }
+        }
+    }
+
+    @Test
+    public void testSkipping()
+    {
+        checkSkipping("[1, \"two ] \\\" ) \", 'three }', '''four '' ] ''' '''more''', {{ \"clob]\" }}] end");
+        checkSkipping("{a:1, b:\"}{][\", c:[{d:(e f '}')}], g:/* } */ h, i:// ]\n j} after");
+        checkSkipping("{a:x, b:\"escaped \\\\\"} {c:\"\\\n continued \u00e9\u6587\"} (a / b ) {{aGVsbG8=}}");
+        checkSkipping("{a:1, b:{c:{d:[[[(((\"deep\")))]]]}}} \"done\"");
+        checkSkipping("{a:2016-06-10T12:34:56Z, b:1.5e3, c:0xff} 3");
+    }
+
+    @Test
+    public void testSkippingLongInput()
+    {
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++)
+        {
+            text.append("{id:").append(i)
+                .append(", name:\"n").append(random.nextInt())
+                .append(" ]}\\\"\", tags:[a, 'b c', \"d\"], nested:{x:(1 2 3)}}\n");
+        }
+        checkSkipping(text.toString());
+    }
+
+    private static String skipToError(IonReader reader)
+    {
+        try
+        {
+            while (reader.next() != null)
+            {
+            }
+        }
+        catch (IonException e)
+        {
+            return e.getMessage();
+        }
+        fail("expected a syntax error");
+        return null;
+    }
+
+    @Test
+    public void testLineNumbersAfterSkipping()
+    {
+        String text = "{a:1,\n b:\"x\",\r\n c:[\n\n]}\n'''a\n''' \"\\\nb\"\n bad:: ::";
+        String message = skipToError(system().newReader(utf8(text)));
+        assertTrue(message, message.contains("line 9"));
+        assertEquals(skipToError(system().newReader(text)), message);
+    }
+
+    @Test
+    public void testIndexBuiltOnFirstSkip()
+        throws Exception
+    {
+        byte[] bytes = utf8("[1, 2] 3");
+        UnifiedInputStreamX in = UnifiedInputStreamX.makeStream(bytes, 0, bytes.length);
+        assertNull(in._index);
+        in.skipToStructural();
+        assertNotNull(in._index);
+
+        UnifiedInputStreamX chars = UnifiedInputStreamX.makeStream("[1, 2] 3");
+        chars.skipToStructural();
+        assertNull(chars._index);
+    }
+
+    @Test
+    public void testNoIndexForBinary()
+    {
+        IonReader reader = system().newReader(encode("[1, \"two\", {a:3}] 4"));
+        while (reader.next() != null)
+        {
+        }
+        UnifiedInputStreamX in = ((IonReaderBinaryRawX) reader)._input;
+        assertNull(in._index);
+    }
+
+    @Test(expected = IonException.class)
+    public void testUnterminatedString()
+    {
+        IonReader reader = system().newReader(utf8("[\"never ends ]"));
+        reader.next();
+        reader.next();
+    }
+}
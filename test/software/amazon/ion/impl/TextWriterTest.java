@@ -27,6 +27,7 @@ import software.amazon.ion.IonDatagram;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonSequence;
 import software.amazon.ion.IonStruct;
+import software.amazon.ion.IonText;
 import software.amazon.ion.IonWriter;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SystemSymbols;
@@ -201,6 +202,49 @@ public class TextWriterTest
     }
 
 
+    @Test
+    public void testNonAsciiText()
+        throws Exception
+    {
+        // Enough text to cross the output buffer a few times, mixing runs
+        // that are written as they are with characters that are escaped.
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+        {
+            buf.append("ab\u00e9\u20ac\ud83d\ude00\t\u0085");
+        }
+        String text = buf.toString();
+        String escaped = text.replace("\t", "\\t").replace("\u0085", "\\x85");
+
+        options = IonTextWriterBuilder.standard();
+        iw = makeWriter();
+        iw.writeString(text);
+        iw.writeSymbol(text);
+        IonDatagram dg = reload();
+        assertEquals(text, ((IonText) dg.get(0)).stringValue());
+        assertEquals(text, ((IonText) dg.get(1)).stringValue());
+        assertEquals("\"" + escaped + "\" '" + escaped + "'", outputString());
+
+        options = IonTextWriterBuilder.json();
+        iw = makeWriter();
+        iw.writeString(text);
+        assertEquals("\"" + text.replace("\t", "\\t").replace("\u0085", "\\u0085") + "\"",
+                     outputString());
+
+        options = IonTextWriterBuilder.standard().withCharset(IonTextWriterBuilder.ASCII);
+        iw = makeWriter();
+        iw.writeString("a\u00e9\u20ac\ud83d\ude00");
+        assertEquals("\"a\\xe9\\u20ac\\U0001f600\"", outputString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnpairedSurrogate()
+        throws Exception
+    {
+        iw = makeWriter();
+        iw.writeString("ab\u00e9\ud83d");
+    }
+
     private void expectRendering(String expected, IonDatagram original)
         throws Exception
     {
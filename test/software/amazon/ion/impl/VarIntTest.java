@@ -84,6 +84,47 @@ public class VarIntTest extends IonTestCase {
         assertNull(makeReader("C0").readVarInteger());
     }
 
+    @Test(expected = IonException.class)
+    public void overlongVarUInt() throws Exception {
+        makeReader("000000000081").readVarUInt(); // six bytes
+    }
+
+    @Test(expected = IonException.class)
+    public void truncatedVarUInt() throws Exception {
+        makeReader("7F7F").readVarUInt();
+    }
+
+    @Test(expected = IonException.class)
+    public void truncatedVarInt() throws Exception {
+        makeReader("3F7F").readVarInt();
+    }
+
+    @Test
+    public void readVarUIntFromByteArray() throws Exception {
+        IonReaderBinaryUserX reader = makeArrayReader("81" + "077F7F7FFF" + "0101FF");
+        assertEquals(1, reader.readVarUInt());
+        assertEquals(Integer.MAX_VALUE, reader.readVarUInt());
+        assertEquals(0x40FF, reader.readVarUInt());
+        assertEquals(UnifiedInputStreamX.EOF, reader.readVarUIntOrEOF());
+    }
+
+    @Test
+    public void readVarIntFromByteArray() throws Exception {
+        IonReaderBinaryUserX reader = makeArrayReader("C1" + "4800000080" + "0101FF");
+        assertEquals(-1, reader.readVarInt());
+        assertEquals(Integer.MIN_VALUE, reader.readVarInt());
+        assertEquals(0x40FF, reader.readVarInt());
+    }
+
+    private IonReaderBinaryUserX makeArrayReader(String hex) throws Exception {
+        byte[] bytes = parseHexBinary("E00100EA" + hex);
+
+        UnifiedInputStreamX uis = UnifiedInputStreamX.makeStream(bytes, 0, bytes.length);
+        uis.skip(4);
+
+        return new IonReaderBinaryUserX(new SimpleCatalog(), LocalSymbolTable.DEFAULT_LST_FACTORY, uis, 0);
+    }
+
     private IonReaderBinaryUserX makeReader(String hex) throws Exception {
         ByteArrayInputStream input = new ByteArrayInputStream(parseHexBinary("E00100EA" + hex));
 
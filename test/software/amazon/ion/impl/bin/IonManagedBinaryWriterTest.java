@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import org.junit.Test;
 import software.amazon.ion.IonContainer;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonList;
 import software.amazon.ion.IonMutableCatalog;
 import software.amazon.ion.IonSymbol;
 import software.amazon.ion.IonType;
@@ -35,9 +37,12 @@ import software.amazon.ion.IonWriter;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.SystemSymbols;
+import software.amazon.ion.impl.PrivateEncodedValueSink;
+import software.amazon.ion.impl.PrivateListWriter;
 import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
 //import static software.amazon.ion.impl.bin.Symbols;
 import software.amazon.ion.junit.Injected.Inject;
+import software.amazon.ion.util.IonStreamUtils;
 
 public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
 {
@@ -213,4 +218,222 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
         bos.toByteArray();
 
     }
+
+    private IonDatagram load(final ByteArrayOutputStream out)
+    {
+        return system().getLoader().load(out.toByteArray());
+    }
+
+    @Test
+    public void testResetOntoNewStream() throws Exception
+    {
+        writer.addTypeAnnotation("a");
+        writer.writeSymbol("hello");
+        writer.finish();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((PrivateIonManagedWriter) writer).reset(out);
+        assertEquals(14, writer.getSymbolTable().getImportedMaxId());
+        assertEquals(SymbolTable.UNKNOWN_SYMBOL_ID, writer.getSymbolTable().findSymbol("hello"));
+
+        writer.addTypeAnnotation("d");
+        writer.writeSymbol("world");
+        writer.finish();
+
+        assertEquals(load(buffer), system().getLoader().load("a::hello"));
+        assertEquals(load(out), system().getLoader().load("d::world"));
+        additionalValueAssertions(load(out).get(0));
+    }
+
+    @Test
+    public void testResetFinishesPendingValues() throws Exception
+    {
+        writer.writeSymbol("hello");
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((PrivateIonManagedWriter) writer).reset(out);
+        writer.writeInt(1);
+        writer.finish();
+
+        assertEquals(load(buffer), system().getLoader().load("hello"));
+        assertEquals(load(out), system().getLoader().load("1"));
+    }
+
+    @Test
+    public void testResetRetainingLocalSymbols() throws Exception
+    {
+        writer.writeSymbol("hello");
+        final int sid = writer.getSymbolTable().findSymbol("hello");
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((PrivateIonManagedWriter) writer).reset(out, true);
+        assertEquals(sid, writer.getSymbolTable().findSymbol("hello"));
+
+        // a value that needs no local symbols doesn't need the table
+        writer.writeInt(1);
+        writer.flush();
+        writer.writeSymbol("hello");
+        writer.finish();
+
+        final IonDatagram dg = load(out);
+        assertEquals(dg, system().getLoader().load("1 hello"));
+        additionalValueAssertions(dg.get(1));
+    }
+
+    @Test
+    public void testResetManyTimes() throws Exception
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ((PrivateIonManagedWriter) writer).reset(out, i % 2 == 0);
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("b");
+            writer.writeSymbol("sym" + i);
+            writer.stepOut();
+            writer.finish();
+            assertEquals(load(out), system().getLoader().load("{b:sym" + i + "}"));
+        }
+    }
+
+    /** A writer that takes DOM containers in one piece, which it doesn't with binary32 floats. */
+    private IonWriter createEncodedValueWriter(final OutputStream out) throws IOException
+    {
+        final IonWriter floatWriter = createWriter(new ByteArrayOutputStream());
+        final IonWriter writer = PrivateIonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withImports(floatWriter.getSymbolTable().getImportedTables())
+            .withPreallocationMode(preallocationMode)
+            .newWriter(out);
+        floatWriter.close();
+        assertNotNull(((PrivateEncodedValueSink) writer).getEncodingSymbolTable());
+        return writer;
+    }
+
+    @Test
+    public void testWriteDomContainers() throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter domWriter = createEncodedValueWriter(out);
+        final IonDatagram values = system().getLoader().load(
+            "{a:1, x:[d, e, \"s\", nested::{y:new_sym, a:null.list}], z:2.5e0}"
+            + " ann::[a, b, new2, (c d)]"
+            + " {f:{a:[new_sym, new3]}}"
+            + " null.struct");
+
+        for (final IonValue value : values)
+        {
+            value.writeTo(domWriter);
+        }
+        domWriter.stepIn(IonType.STRUCT);
+        domWriter.setFieldName("renamed");
+        values.get(1).writeTo(domWriter);
+        // the field name comes from the value
+        ((IonContainer) values.get(2)).iterator().next().writeTo(domWriter);
+        domWriter.stepOut();
+        domWriter.close();
+
+        final IonDatagram dg = load(out);
+        assertEquals(system().getLoader().load(values.toString()
+                                               + " {renamed:ann::[a, b, new2, (c d)], f:{a:[new_sym, new3]}}"),
+                     dg);
+        for (final IonValue value : dg)
+        {
+            additionalValueAssertions(value);
+        }
+    }
+
+    @Test
+    public void testWriteDomContainersAfterFlush() throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter domWriter = createEncodedValueWriter(out);
+        system().singleValue("{one:[first, a]}").writeTo(domWriter);
+        domWriter.flush();
+        // appends the new symbols to the table already written
+        system().singleValue("[first, second, {b:third}]").writeTo(domWriter);
+        domWriter.flush();
+        // uses only the symbols already written
+        system().singleValue("[second, third]").writeTo(domWriter);
+        domWriter.finish();
+        system().singleValue("[first]").writeTo(domWriter);
+        domWriter.close();
+
+        final IonDatagram dg = load(out);
+        assertEquals(system().getLoader().load("{one:[first, a]} [first, second, {b:third}] [second, third] [first]"),
+                     dg);
+    }
+
+    @Test
+    public void testWriteIntListSlice() throws Exception
+    {
+        final long[] values = {0, 1, -1, 255, -256, Long.MAX_VALUE, Long.MIN_VALUE, 7};
+        ((PrivateListWriter) writer).writeIntList(values, 1, 6);
+        assertValue("[1, -1, 255, -256, 9223372036854775807, -9223372036854775808]");
+
+        IonStreamUtils.writeIntList(writer, values, 0, 0);
+        assertValue("[]");
+    }
+
+    @Test
+    public void testWriteFloatListSlice() throws Exception
+    {
+        IonStreamUtils.writeFloatList(writer, new double[] {9, 1.5, -0.0, 1e300, 0.1}, 1, 4);
+        assertValue("[1.5e0, -0e0, 1e300, 0.1e0]");
+
+        // float32 is enabled on this writer, so these take four bytes each
+        IonStreamUtils.writeFloatList(writer, new float[] {0.25f, -2f, 3f}, 0, 2);
+        assertValue("[0.25e0, -2e0]");
+    }
+
+    @Test
+    public void testWriteListsInStruct() throws Exception
+    {
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("ints");
+        writer.addTypeAnnotation("a");
+        IonStreamUtils.writeIntList(writer, new int[] {1, -2, 3});
+        writer.setFieldName("longs");
+        IonStreamUtils.writeIntList(writer, new long[] {4, 5});
+        writer.setFieldName("floats");
+        writer.setTypeAnnotations("b", "c");
+        IonStreamUtils.writeFloatList(writer, new double[] {6.5});
+        writer.stepOut();
+        assertValue("{ints:a::[1, -2, 3], longs:[4, 5], floats:b::c::[6.5e0]}");
+    }
+
+    @Test
+    public void testWriteLargeIntList() throws Exception
+    {
+        // long enough that the list's length needs more than the preallocated bytes
+        final long[] values = new long[5000];
+        final IonList expected = system().newEmptyList();
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = (long) i * i * i - 1000000;
+            expected.add().newInt(values[i]);
+        }
+        IonStreamUtils.writeIntList(writer, values);
+        assertValue(expected.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteListBadSlice() throws Exception
+    {
+        ((PrivateListWriter) writer).writeFloatList(new double[3], 2, 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testResetInContainer() throws Exception
+    {
+        writer.stepIn(IonType.LIST);
+        ((PrivateIonManagedWriter) writer).reset(new ByteArrayOutputStream());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testResetAfterClose() throws Exception
+    {
+        writer.close();
+        ((PrivateIonManagedWriter) writer).reset(new ByteArrayOutputStream());
+    }
 }
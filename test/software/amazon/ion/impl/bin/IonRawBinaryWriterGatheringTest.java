@@ -0,0 +1,237 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonList;
+import software.amazon.ion.IonSymbol;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
+import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+
+/**
+ * Runs the raw writer tests against a writer that flushes through a {@link GatheringByteChannel}.
+ */
+public class IonRawBinaryWriterGatheringTest extends IonRawBinaryWriterTest
+{
+    /**
+     * Writes to a stream, consuming at most two buffers per call so that callers must handle partial writes.
+     */
+    private static final class StreamChannel implements GatheringByteChannel
+    {
+        private final OutputStream out;
+
+        StreamChannel(final OutputStream out)
+        {
+            this.out = out;
+        }
+
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) throws IOException
+        {
+            long written = 0;
+            for (int i = offset; i < offset + Math.min(length, 2); i++)
+            {
+                written += write(srcs[i]);
+            }
+            return written;
+        }
+
+        public long write(final ByteBuffer[] srcs) throws IOException
+        {
+            return write(srcs, 0, srcs.length);
+        }
+
+        public int write(final ByteBuffer src) throws IOException
+        {
+            final int length = src.remaining();
+            out.write(src.array(), src.arrayOffset() + src.position(), length);
+            src.position(src.limit());
+            return length;
+        }
+
+        public boolean isOpen()
+        {
+            return true;
+        }
+
+        public void close() {}
+    }
+
+    /** Consumes everything it is given, recording the buffers of each gathering write. */
+    private static final class RecordingChannel implements GatheringByteChannel
+    {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final List<List<ByteBuffer>> writes = new ArrayList<List<ByteBuffer>>();
+
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) throws IOException
+        {
+            final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+            long written = 0;
+            for (int i = offset; i < offset + length; i++)
+            {
+                buffers.add(srcs[i]);
+                written += write(srcs[i]);
+            }
+            writes.add(buffers);
+            return written;
+        }
+
+        public long write(final ByteBuffer[] srcs) throws IOException
+        {
+            return write(srcs, 0, srcs.length);
+        }
+
+        public int write(final ByteBuffer src) throws IOException
+        {
+            final int length = src.remaining();
+            out.write(src.array(), src.arrayOffset() + src.position(), length);
+            src.position(src.limit());
+            return length;
+        }
+
+        public boolean isOpen()
+        {
+            return true;
+        }
+
+        public void close() {}
+    }
+
+    @Override
+    protected IonWriter createWriter(final OutputStream out) throws IOException
+    {
+        return new IonRawBinaryWriter(
+            BlockAllocatorProviders.basicProvider(),
+            11,
+            new StreamChannel(out),
+            WriteValueOptimization.NONE,
+            StreamCloseMode.NO_CLOSE,
+            StreamFlushMode.NO_FLUSH,
+            preallocationMode,
+            true
+        );
+    }
+
+    @Test
+    public void testManagedWriterFlushesInOneWrite() throws Exception
+    {
+        final RecordingChannel channel = new RecordingChannel();
+        final IonWriter managed = PrivateIonManagedBinaryWriterBuilder
+            .create(AllocatorMode.POOLED)
+            .withUserBlockSize(16)
+            .withPreallocationMode(preallocationMode)
+            .newWriter(channel);
+        for (int i = 0; i < 20; i++)
+        {
+            managed.writeSymbol("sym" + i);
+        }
+        managed.flush();
+        // the symbol table and the values share one write
+        assertEquals(1, channel.writes.size());
+        assertTrue(channel.writes.get(0).size() > 1);
+
+        for (int i = 0; i < 20; i++)
+        {
+            managed.writeSymbol("sym" + i);
+        }
+        managed.flush();
+        assertEquals(2, channel.writes.size());
+        // the recycled blocks bring their views with them
+        final Set<ByteBuffer> first = Collections.newSetFromMap(new IdentityHashMap<ByteBuffer, Boolean>());
+        first.addAll(channel.writes.get(0));
+        for (final ByteBuffer buffer : channel.writes.get(1))
+        {
+            assertTrue(first.contains(buffer));
+        }
+        managed.close();
+
+        final IonDatagram dg = system().getLoader().load(channel.out.toByteArray());
+        assertEquals(40, dg.size());
+        assertEquals("sym19", ((IonSymbol) dg.get(39)).stringValue());
+    }
+
+    @Test
+    public void testManagedWriterToFileChannel() throws Exception
+    {
+        final File file = File.createTempFile("gathering", ".10n");
+        try
+        {
+            final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+            final IonWriter managed = PrivateIonManagedBinaryWriterBuilder
+                .create(AllocatorMode.POOLED)
+                .withUserBlockSize(16)
+                .withPreallocationMode(preallocationMode)
+                .newWriter(channel);
+            managed.stepIn(IonType.LIST);
+            for (int i = 0; i < 100; i++)
+            {
+                managed.writeSymbol("sym" + (i % 10));
+            }
+            managed.stepOut();
+            managed.close();
+            assertFalse(channel.isOpen());
+
+            final IonDatagram dg = system().getLoader().load(Files.readAllBytes(file.toPath()));
+            assertEquals(1, dg.size());
+            assertEquals(100, ((IonList) dg.get(0)).size());
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testManagedWriterRejectsNonBlockingChannel() throws Exception
+    {
+        final Pipe pipe = Pipe.open();
+        try
+        {
+            pipe.sink().configureBlocking(false);
+            PrivateIonManagedBinaryWriterBuilder
+                .create(AllocatorMode.POOLED)
+                .newWriter(pipe.sink());
+            fail("expected the non-blocking channel to be rejected");
+        }
+        catch (final IllegalArgumentException e)
+        {
+            // expected
+        }
+        finally
+        {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+}
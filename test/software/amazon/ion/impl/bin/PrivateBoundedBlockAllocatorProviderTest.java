@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.PrivateIonBinaryWriterBuilder;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class PrivateBoundedBlockAllocatorProviderTest
+{
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private PrivateBoundedBlockAllocatorProvider provider =
+        new PrivateBoundedBlockAllocatorProvider(16, 1, TimeUnit.MINUTES);
+
+    @Test
+    public void testReuseBlockAfterClose()
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block block1 = allocator.allocateBlock();
+        block1.limit = 7;
+        block1.close();
+        assertEquals(8, provider.getPooledBytes());
+
+        final Block block1Again = allocator.allocateBlock();
+        assertSame(block1, block1Again);
+        assertEquals(0, block1Again.limit);
+        assertEquals(0, provider.getPooledBytes());
+        assertEquals(1, provider.getAllocatedBlockCount());
+        assertEquals(1, provider.getReusedBlockCount());
+        assertEquals(0, provider.getEvictedBlockCount());
+    }
+
+    @Test
+    public void testFreeBytesLimit()
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block block1 = allocator.allocateBlock();
+        final Block block2 = allocator.allocateBlock();
+        final Block block3 = allocator.allocateBlock();
+        block1.close();
+        block2.close();
+        block3.close();
+        assertEquals(16, provider.getPooledBytes());
+        assertEquals(1, provider.getEvictedBlockCount());
+
+        // the limit applies to each block size separately
+        provider.vendAllocator(16).allocateBlock().close();
+        assertEquals(32, provider.getPooledBytes());
+
+        assertSame(block2, allocator.allocateBlock());
+        assertSame(block1, allocator.allocateBlock());
+        assertNotSame(block3, allocator.allocateBlock());
+        assertEquals(5, provider.getAllocatedBlockCount());
+    }
+
+    @Test
+    public void testIdleEviction()
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block block1 = allocator.allocateBlock();
+        final Block block2 = allocator.allocateBlock();
+        block1.close();
+        block2.close();
+
+        provider.evictIdleBlocks();
+        assertEquals(16, provider.getPooledBytes());
+
+        provider.evictIdleBlocks(System.nanoTime() + IDLE_NANOS);
+        assertEquals(0, provider.getPooledBytes());
+        assertEquals(2, provider.getEvictedBlockCount());
+        assertNotSame(block1, allocator.allocateBlock());
+    }
+
+    @Test
+    public void testNoIdleTimeout()
+    {
+        provider = new PrivateBoundedBlockAllocatorProvider(16, 0, TimeUnit.SECONDS);
+        provider.vendAllocator(8).allocateBlock().close();
+        provider.evictIdleBlocks(Long.MAX_VALUE);
+        assertEquals(8, provider.getPooledBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit()
+    {
+        new PrivateBoundedBlockAllocatorProvider(-1, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testBinaryWriterBuilder() throws Exception
+    {
+        provider = new PrivateBoundedBlockAllocatorProvider(1 << 20, 1, TimeUnit.MINUTES);
+        final PrivateIonBinaryWriterBuilder builder =
+            PrivateIonBinaryWriterBuilder.standard().withBlockAllocatorProvider(provider);
+
+        long allocated = 0;
+        for (int i = 0; i < 2; i++)
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final IonWriter writer = builder.build(out);
+            writer.writeString("hello");
+            writer.close();
+
+            final IonReader reader = IonReaderBuilder.standard().build(out.toByteArray());
+            assertEquals(IonType.STRING, reader.next());
+            assertEquals("hello", reader.stringValue());
+
+            if (i == 0)
+            {
+                allocated = provider.getAllocatedBlockCount();
+            }
+        }
+        // the second writer is served entirely from the pool
+        assertEquals(allocated, provider.getAllocatedBlockCount());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static software.amazon.ion.impl.bin.ThreadCachedBlockAllocatorProvider.MAGAZINE_SIZE;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class ThreadCachedBlockAllocatorProviderTest
+{
+    private final ThreadCachedBlockAllocatorProvider provider = new ThreadCachedBlockAllocatorProvider();
+
+    private static List<Block> allocate(final BlockAllocator allocator, final int count)
+    {
+        final List<Block> blocks = new ArrayList<Block>();
+        for (int i = 0; i < count; i++)
+        {
+            blocks.add(allocator.allocateBlock());
+        }
+        return blocks;
+    }
+
+    private static void close(final List<Block> blocks)
+    {
+        for (final Block block : blocks)
+        {
+            block.close();
+        }
+    }
+
+    @Test
+    public void testReuseBlockAfterClose()
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block block1 = allocator.allocateBlock();
+        final Block block2 = allocator.allocateBlock();
+        assertNotSame(block1.data, block2.data);
+        assertEquals(8, block1.data.length);
+        block1.limit = 7;
+        block1.close();
+        final Block block1Again = allocator.allocateBlock();
+        assertSame(block1, block1Again);
+        assertEquals(0, block1Again.limit);
+    }
+
+    @Test
+    public void testAllocatorsShareBlockSize()
+    {
+        assertSame(provider.vendAllocator(8), provider.vendAllocator(8));
+        assertNotSame(provider.vendAllocator(8), provider.vendAllocator(16));
+    }
+
+    @Test
+    public void testSpillAndReloadWithinThread()
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final List<Block> blocks = allocate(allocator, 5 * MAGAZINE_SIZE);
+        close(blocks);
+
+        // everything comes back, through the thread cache and the depot, without duplicates
+        final List<Block> again = allocate(allocator, 5 * MAGAZINE_SIZE);
+        final Map<Block, Boolean> seen = new IdentityHashMap<Block, Boolean>();
+        for (final Block block : again)
+        {
+            assertTrue(blocks.contains(block));
+            assertEquals(null, seen.put(block, true));
+        }
+    }
+
+    @Test
+    public void testBlocksMoveAcrossThreads() throws Exception
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        // enough that some spill over to the depot
+        final List<Block> blocks = allocate(allocator, 4 * MAGAZINE_SIZE);
+
+        final List<Block> fromOtherThread = new ArrayList<Block>();
+        final Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                close(blocks);
+                fromOtherThread.add(allocator.allocateBlock());
+            }
+        };
+        thread.start();
+        thread.join();
+
+        // the other thread kept its most recent blocks and gave the rest to the depot
+        assertSame(blocks.get(blocks.size() - 1), fromOtherThread.get(0));
+        final Block reused = allocator.allocateBlock();
+        assertTrue(blocks.contains(reused));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.profile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+
+/**
+ * Compares the throughput of the binary writer's block allocator modes when
+ * many threads share one writer builder, and so one block pool.
+ * <p>
+ * Usage: {@code BlockAllocatorTiming [writesPerThread] [threads...]}
+ */
+public class BlockAllocatorTiming
+{
+    private static final OutputStream NULL_OUTPUT = new OutputStream()
+    {
+        @Override
+        public void write(int b) {}
+
+        @Override
+        public void write(byte[] b, int off, int len) {}
+    };
+
+    private static void writeDocument(PrivateIonManagedBinaryWriterBuilder builder)
+        throws IOException
+    {
+        IonWriter writer = builder.newWriter(NULL_OUTPUT);
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("id");
+        writer.writeInt(12345);
+        writer.setFieldName("name");
+        writer.writeString("a small document");
+        writer.stepOut();
+        writer.close();
+    }
+
+    private static long time(final PrivateIonManagedBinaryWriterBuilder builder,
+                             int threadCount,
+                             final int writesPerThread)
+        throws InterruptedException
+    {
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++)
+        {
+            threads[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                        for (int j = 0; j < writesPerThread; j++)
+                        {
+                            writeDocument(builder);
+                        }
+                    }
+                    catch (Exception e)
+                    {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    public static void main(String[] args)
+        throws Exception
+    {
+        int writesPerThread = (args.length > 0 ? Integer.parseInt(args[0]) : 200000);
+        int[] threadCounts = { 1, 8, 64 };
+        if (args.length > 1)
+        {
+            threadCounts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++)
+            {
+                threadCounts[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        AllocatorMode[] modes = { AllocatorMode.POOLED, AllocatorMode.THREAD_CACHED };
+        for (int threads : threadCounts)
+        {
+            for (AllocatorMode mode : modes)
+            {
+                PrivateIonManagedBinaryWriterBuilder builder =
+                    PrivateIonManagedBinaryWriterBuilder.create(mode);
+
+                // warm up, then take the best of three runs
+                time(builder, threads, writesPerThread / 10);
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < 3; run++)
+                {
+                    best = Math.min(best, time(builder, threads, writesPerThread));
+                }
+
+                long writes = (long) threads * writesPerThread;
+                System.out.printf("%-13s threads: %2d  %8.1f ns/writer  %10.0f writers/s%n",
+                                  mode, threads,
+                                  (double) best / writes * threads,
+                                  writes * 1e9 / best);
+            }
+        }
+    }
+}
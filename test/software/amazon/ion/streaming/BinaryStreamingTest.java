@@ -16,6 +16,7 @@ package software.amazon.ion.streaming;
 import static software.amazon.ion.impl.PrivateUtils.newSymbolToken;
 import static software.amazon.ion.junit.IonAssert.expectField;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -26,6 +27,7 @@ import java.util.Iterator;
 import org.junit.Test;
 import software.amazon.ion.Decimal;
 import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonStruct;
 import software.amazon.ion.IonSystem;
@@ -36,6 +38,7 @@ import software.amazon.ion.IonWriter;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.Timestamp;
 import software.amazon.ion.junit.IonAssert;
+import software.amazon.ion.system.IonReaderBuilder;
 
 public class BinaryStreamingTest
     extends IonTestCase
@@ -894,4 +897,92 @@ new TestValue("Null.timestamp",IonType.NULL, IonType.TIMESTAMP),
         ir.stepOut();
         assertEquals(null, ir.next());
     }
+
+    private static final String MIXED_TEXT =
+        "plain ascii \u00e9\u00e8 \u4e2d\u6587 \uD83D\uDE00 at the end";
+
+    private void checkStrings(IonReader ir, String... expected)
+    {
+        for (String s : expected)
+        {
+            assertEquals(IonType.STRING, ir.next());
+            assertEquals(s, ir.stringValue());
+        }
+        assertEquals(null, ir.next());
+    }
+
+    @Test
+    public void testMultiByteStrings() throws IOException
+    {
+        StringBuilder longText = new StringBuilder();
+        while (longText.length() < 100000)
+        {
+            longText.append(MIXED_TEXT);
+        }
+        String[] values = { "", "a", MIXED_TEXT, longText.toString(), "z" };
+
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        IonWriter wr = system().newBinaryWriter(buf);
+        for (String s : values)
+        {
+            wr.writeString(s);
+        }
+        wr.close();
+        byte[] bytes = buf.toByteArray();
+
+        checkStrings(system().newReader(bytes), values);
+        // Stream input splits the long string across pages.
+        checkStrings(system().newReader(new ByteArrayInputStream(bytes)),
+                     values);
+    }
+
+    @Test
+    public void testTruncatedMultiByteString()
+    {
+        // A string of length 2 whose second char is cut off.
+        byte[] bytes = { (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+                         (byte) 0x82, 'a', (byte) 0xC3 };
+        IonReader ir = system().newReader(bytes);
+        assertEquals(IonType.STRING, ir.next());
+        try
+        {
+            ir.stringValue();
+            fail("expected exception");
+        }
+        catch (IonException e) { }
+    }
+
+    @Test
+    public void testStringCache() throws IOException
+    {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        IonWriter wr = system().newBinaryWriter(buf);
+        wr.writeString("RED");
+        wr.writeString("RED");
+        wr.writeString(MIXED_TEXT);
+        wr.writeString(MIXED_TEXT);
+        wr.close();
+        byte[] bytes = buf.toByteArray();
+
+        IonReader ir = IonReaderBuilder.standard()
+                                       .withStringCache(true)
+                                       .build(bytes);
+        assertEquals(IonType.STRING, ir.next());
+        String red = ir.stringValue();
+        assertEquals(IonType.STRING, ir.next());
+        assertSame(red, ir.stringValue());
+        assertEquals(IonType.STRING, ir.next());
+        String mixed = ir.stringValue();
+        assertEquals(MIXED_TEXT, mixed);
+        assertEquals(IonType.STRING, ir.next());
+        assertEquals(MIXED_TEXT, ir.stringValue());
+        assertNotSame(mixed, ir.stringValue()); // too long to be cached
+        assertEquals(null, ir.next());
+
+        ir = system().newReader(bytes);
+        ir.next();
+        red = ir.stringValue();
+        ir.next();
+        assertNotSame(red, ir.stringValue());
+    }
 }
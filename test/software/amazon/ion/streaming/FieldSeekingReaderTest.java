@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import org.junit.Test;
+import software.amazon.ion.FieldSeekingReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.junit.Injected.Inject;
+
+public class FieldSeekingReaderTest
+    extends ReaderFacetTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.BINARY);
+
+
+    private FieldSeekingReader fr;
+
+    @Override
+    protected void initFacets()
+    {
+        mySeekableReaderRequired = false;
+        super.initFacets();
+        fr = in.asFacet(FieldSeekingReader.class);
+        assertNotNull("FieldSeekingReader not available", fr);
+    }
+
+    @Test
+    public void testNextField()
+    {
+        read(encode("{a:1, b:[2, {c:3}], c:4, d:five} {c:6}"));
+        assertEquals(IonType.STRUCT, in.next());
+        in.stepIn();
+        assertEquals(IonType.INT, fr.nextField("c"));
+        assertEquals("c", in.getFieldName());
+        assertEquals(4, in.intValue());
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals("five", in.stringValue());
+        in.stepOut();
+
+        assertEquals(IonType.STRUCT, in.next());
+        in.stepIn();
+        assertEquals(IonType.INT, fr.nextField("c"));
+        assertEquals(6, in.intValue());
+        assertNull(fr.nextField("c"));
+        in.stepOut();
+        expectTopEof();
+    }
+
+    @Test
+    public void testRepeatedFields()
+    {
+        read(encode("{k:1, x:0, k:2, y:{k:9}, k:3}"));
+        in.next();
+        in.stepIn();
+        for (int i = 1; i <= 3; i++)
+        {
+            assertEquals(IonType.INT, fr.nextField("k"));
+            assertEquals(i, in.intValue());
+        }
+        assertNull(fr.nextField("k"));
+        assertNull(in.next());
+        in.stepOut();
+    }
+
+    @Test
+    public void testMissingField()
+    {
+        read(encode("{a:1, b:2} {a:3}"));
+        in.next();
+        in.stepIn();
+        assertNull(fr.nextField("b_not_in_symtab"));
+        assertNull(in.next());
+        in.stepOut();
+
+        in.next();
+        in.stepIn();
+        assertNull(fr.nextField("b"));
+        in.stepOut();
+        expectTopEof();
+    }
+
+    @Test
+    public void testNameDeclaredTwice()
+    {
+        // The same text at two SIDs must match either way.
+        read(encode("$ion_symbol_table::{symbols:[\"k\", \"x\", \"k\"]}"
+                    + " {$12:1, $11:2, $10:3} {$10:4}"));
+        in.next();
+        in.stepIn();
+        assertEquals(IonType.INT, fr.nextField("k"));
+        assertEquals(1, in.intValue());
+        assertEquals(IonType.INT, fr.nextField("k"));
+        assertEquals(3, in.intValue());
+        assertNull(fr.nextField("k"));
+        in.stepOut();
+
+        in.next();
+        in.stepIn();
+        assertEquals(IonType.INT, fr.nextField("k"));
+        assertEquals(4, in.intValue());
+        in.stepOut();
+    }
+
+    @Test
+    public void testSymbolTableChanges()
+    {
+        // The cached lookup must not survive a change of symbol table.
+        read(encode("$ion_symbol_table::{symbols:[\"k\", \"v\"]} {$10:$11}"
+                    + " $ion_symbol_table::{symbols:[\"v\", \"k\"]} {$10:1, $11:$10}"));
+        in.next();
+        in.stepIn();
+        assertEquals(IonType.SYMBOL, fr.nextField("k"));
+        assertEquals("v", in.stringValue());
+        in.stepOut();
+
+        in.next();
+        in.stepIn();
+        assertEquals(IonType.SYMBOL, fr.nextField("k"));
+        assertEquals("v", in.stringValue());
+        in.stepOut();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotInStruct()
+    {
+        read(encode("[a]"));
+        in.next();
+        in.stepIn();
+        fr.nextField("a");
+    }
+
+    @Test
+    public void testNotAvailableOnText()
+    {
+        expectNoFacet(FieldSeekingReader.class, system().newReader("{a:1}"));
+    }
+}
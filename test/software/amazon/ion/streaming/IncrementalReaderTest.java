@@ -0,0 +1,362 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.junit.IonAssert.assertIonEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.ion.IncrementalFeed;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class IncrementalReaderTest
+    extends IonTestCase
+{
+    private IonReader myReader;
+    private IncrementalFeed myFeed;
+
+    private void newReader()
+    {
+        myReader = IonReaderBuilder.standard()
+                                   .withCatalog(catalog())
+                                   .buildIncremental();
+        myFeed = myReader.asFacet(IncrementalFeed.class);
+        assertNotNull(myFeed);
+    }
+
+    /** Reads every value that is currently available. */
+    private void drain(List<IonValue> values)
+    {
+        while (myReader.next() != null)
+        {
+            values.add(system().newValue(myReader));
+        }
+    }
+
+    /**
+     * Copies the values fed so far to the writer, stepping in and out of
+     * containers, and returns once the reader needs more input.
+     */
+    private void copyAvailable(IonWriter writer)
+        throws IOException
+    {
+        for (;;)
+        {
+            IonType type = myReader.next();
+            if (type == null)
+            {
+                if (myFeed.isAwaitingInput()) return;
+                myReader.stepOut();
+                writer.stepOut();
+            }
+            else if (IonType.isContainer(type) && !myReader.isNullValue())
+            {
+                if (myReader.isInStruct())
+                {
+                    writer.setFieldName(myReader.getFieldName());
+                }
+                writer.setTypeAnnotations(myReader.getTypeAnnotations());
+                myReader.stepIn();
+                writer.stepIn(type);
+            }
+            else
+            {
+                writer.writeValue(myReader);
+            }
+        }
+    }
+
+    private static String longString(int length)
+    {
+        StringBuilder buf = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+        {
+            buf.append((char) ('a' + (i % 26)));
+        }
+        return buf.toString();
+    }
+
+    private IonDatagram sampleData()
+    {
+        IonDatagram dg = loader().load(
+              "a::1 b::{ c: [true, null.int, 2.5e0, 3d-1], d: (e f) } "
+            + "\"" + longString(20000) + "\" "
+            + "2016-06-10T12:00Z {{ aGVsbG8= }} "
+            + "{ g: { h: k::{ i: j }, l: m::[n, 1] } } null");
+        return dg;
+    }
+
+    private void checkChunked(int chunkSize)
+        throws IOException
+    {
+        IonDatagram expected = sampleData();
+        byte[] bytes = expected.getBytes();
+
+        newReader();
+        IonDatagram actual = system().newDatagram();
+        IonWriter writer = system().newWriter(actual);
+        for (int i = 0; i < bytes.length; i += chunkSize)
+        {
+            int len = Math.min(chunkSize, bytes.length - i);
+            myFeed.feed(bytes, i, len);
+            copyAvailable(writer);
+        }
+        writer.close();
+        assertFalse(myFeed.hasIncompleteValue());
+        assertNull(myReader.next());
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertIonEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void testFeedOneByteAtATime()
+        throws Exception
+    {
+        checkChunked(1);
+    }
+
+    @Test
+    public void testFeedSmallChunks()
+        throws Exception
+    {
+        checkChunked(3);
+        checkChunked(7);
+    }
+
+    @Test
+    public void testFeedLargeChunks()
+        throws Exception
+    {
+        checkChunked(1000);
+        checkChunked(64 * 1024);
+    }
+
+    @Test
+    public void testNextBeforeAnyData()
+    {
+        newReader();
+        assertNull(myReader.next());
+        assertNull(myReader.next());
+        assertFalse(myFeed.hasIncompleteValue());
+
+        byte[] bytes = encode("123");
+        myFeed.feed(bytes, 0, bytes.length);
+        assertEquals(IonType.INT, myReader.next());
+        assertEquals(123, myReader.intValue());
+        assertNull(myReader.next());
+    }
+
+    @Test
+    public void testIncompleteValueIsHidden()
+    {
+        byte[] bytes = encode("a::{ b: 1 } 2");
+        newReader();
+
+        // Top-level annotated values are only released whole.
+        myFeed.feed(bytes, 0, bytes.length - 3);
+        assertNull(myReader.next());
+        assertTrue(myFeed.isAwaitingInput());
+        assertTrue(myFeed.hasIncompleteValue());
+
+        myFeed.feed(bytes, bytes.length - 3, 3);
+        assertFalse(myFeed.hasIncompleteValue());
+        assertEquals(IonType.STRUCT, myReader.next());
+        assertEquals(IonType.INT, myReader.next());
+        assertNull(myReader.next());
+    }
+
+    @Test
+    public void testPartialContainer()
+    {
+        String text = longString(100);
+        byte[] bytes = encode("{ a: \"hello\", b: [1, \"" + text + "\", 3] } 4");
+        int split = indexOf(bytes, text.getBytes()) + 10;
+        newReader();
+
+        // Everything up to the middle of the long string is visible.
+        myFeed.feed(bytes, 0, split);
+        assertEquals(IonType.STRUCT, myReader.next());
+        myReader.stepIn();
+        assertEquals(IonType.STRING, myReader.next());
+        assertEquals("a", myReader.getFieldName());
+        assertEquals("hello", myReader.stringValue());
+        assertEquals(IonType.LIST, myReader.next());
+        myReader.stepIn();
+        assertEquals(IonType.INT, myReader.next());
+        assertEquals(1, myReader.intValue());
+        assertNull(myReader.next());
+        assertTrue(myFeed.isAwaitingInput());
+        assertNull(myReader.next());
+
+        myFeed.feed(bytes, split, bytes.length - split);
+        assertEquals(IonType.STRING, myReader.next());
+        assertEquals(text, myReader.stringValue());
+        assertEquals(IonType.INT, myReader.next());
+        assertNull(myReader.next());
+        assertFalse(myFeed.isAwaitingInput());
+        myReader.stepOut();
+        assertNull(myReader.next());
+        assertFalse(myFeed.isAwaitingInput());
+        myReader.stepOut();
+        assertEquals(IonType.INT, myReader.next());
+        assertEquals(4, myReader.intValue());
+        assertNull(myReader.next());
+        assertFalse(myFeed.hasIncompleteValue());
+    }
+
+    @Test
+    public void testSkipPartialContainer()
+    {
+        String text = longString(50000);
+        byte[] bytes = encode("[1, \"" + text + "\", { c: \"" + text + "\" }] [2] 3");
+        newReader();
+
+        myFeed.feed(bytes, 0, 100);
+        assertEquals(IonType.LIST, myReader.next());
+        myReader.stepIn();
+        assertEquals(IonType.INT, myReader.next());
+        assertNull(myReader.next());
+        assertTrue(myFeed.isAwaitingInput());
+        // The rest of the list is dropped as it arrives.
+        myReader.stepOut();
+        assertNull(myReader.next());
+        assertTrue(myFeed.hasIncompleteValue());
+
+        for (int i = 100; i < bytes.length; i += 1000)
+        {
+            myFeed.feed(bytes, i, Math.min(1000, bytes.length - i));
+        }
+        assertEquals(IonType.LIST, myReader.next());
+        assertEquals(IonType.INT, myReader.next());
+        assertEquals(3, myReader.intValue());
+        assertNull(myReader.next());
+        assertFalse(myFeed.hasIncompleteValue());
+    }
+
+    @Test
+    public void testNextPastPartialContainer()
+    {
+        String text = longString(50000);
+        byte[] bytes = encode("{ a: [\"" + text + "\"], b: 2 } 3");
+        newReader();
+
+        myFeed.feed(bytes, 0, 100);
+        assertEquals(IonType.STRUCT, myReader.next());
+        myReader.stepIn();
+        assertEquals(IonType.LIST, myReader.next());
+        assertNull(myReader.next());
+        assertTrue(myFeed.isAwaitingInput());
+
+        for (int i = 100; i < bytes.length; i += 1000)
+        {
+            myFeed.feed(bytes, i, Math.min(1000, bytes.length - i));
+        }
+        assertEquals(IonType.INT, myReader.next());
+        assertEquals("b", myReader.getFieldName());
+        myReader.stepOut();
+        assertEquals(IonType.INT, myReader.next());
+        assertEquals(3, myReader.intValue());
+        assertNull(myReader.next());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target)
+    {
+        outer:
+        for (int i = 0; i <= bytes.length - target.length; i++)
+        {
+            for (int j = 0; j < target.length; j++)
+            {
+                if (bytes[i + j] != target[j]) continue outer;
+            }
+            return i;
+        }
+        throw new AssertionError("not found");
+    }
+
+    @Test
+    public void testSymbolTablesAcrossFeeds()
+    {
+        // Each message carries its own local symbol table.
+        byte[] first = encode("sym1 { sym2: sym3 }");
+        byte[] second = encode("other::sym4");
+
+        newReader();
+        myFeed.feed(first, 0, first.length);
+        assertEquals(IonType.SYMBOL, myReader.next());
+        assertEquals("sym1", myReader.stringValue());
+        assertEquals(IonType.STRUCT, myReader.next());
+        myReader.stepIn();
+        assertEquals(IonType.SYMBOL, myReader.next());
+        assertEquals("sym2", myReader.getFieldName());
+        assertEquals("sym3", myReader.stringValue());
+        myReader.stepOut();
+        assertNull(myReader.next());
+
+        myFeed.feed(second, 0, second.length);
+        assertEquals(IonType.SYMBOL, myReader.next());
+        assertEquals("other", myReader.getTypeAnnotations()[0]);
+        assertEquals("sym4", myReader.stringValue());
+        assertNull(myReader.next());
+    }
+
+    @Test
+    public void testFeedByteBuffer()
+    {
+        byte[] bytes = encode("1 2 3");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+
+        newReader();
+        myFeed.feed(buffer);
+        assertFalse(buffer.hasRemaining());
+
+        List<IonValue> values = new ArrayList<IonValue>();
+        drain(values);
+        assertEquals(3, values.size());
+    }
+
+    @Test
+    public void testSkippingValues()
+    {
+        IonDatagram expected = sampleData();
+        byte[] bytes = expected.getBytes();
+
+        newReader();
+        int count = 0;
+        for (int i = 0; i < bytes.length; i += 5)
+        {
+            myFeed.feed(bytes, i, Math.min(5, bytes.length - i));
+            while (myReader.next() != null)
+            {
+                count++;
+            }
+        }
+        assertEquals(expected.size(), count);
+    }
+}
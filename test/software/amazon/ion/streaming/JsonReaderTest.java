@@ -0,0 +1,311 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Test;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class JsonReaderTest
+    extends IonTestCase
+{
+    private static final IonReaderBuilder JSON =
+        IonReaderBuilder.standard().withJsonOnly(true).immutable();
+
+    private static final String DOCUMENT =
+        "{\"name\": \"caf\\u00e9 \\\"x\\\" \u6587\\n\", \"count\": 12, \"ratio\": -0.250,\n"
+      + " \"big\": 123456789012345678901234567890, \"exp\": 1.5E-3, \"yes\": true,\n"
+      + " \"no\": false, \"none\": null, \"list\": [1, [], {}, [2, [3]], \"]}\"],\n"
+      + " \"nested\": {\"a\": {\"b\": [{\"c\": \"\\ud83d\\ude00\"}]}}, \"\": \"\\/\\b\\f\\r\\t\"}\n"
+      + "[] \"top\" 0 -0 -0.0 0e0 null\n";
+
+    private void checkSameAsStandard(String json)
+    {
+        ReaderCompare.compare(system().newReader(json), JSON.build(json));
+        ReaderCompare.compare(system().newReader(json), JSON.build(utf8(json)));
+        ReaderCompare.compare(system().newReader(json), JSON.build(new StringReader(json)));
+        ReaderCompare.compare(system().newReader(json),
+                              JSON.build(new ByteArrayInputStream(utf8(json))));
+        ReaderCompare.compare(system().newReader(json),
+                              JSON.build(ByteBuffer.wrap(utf8(json))));
+    }
+
+    @Test
+    public void testDocument()
+    {
+        checkSameAsStandard(DOCUMENT);
+        checkSameAsStandard("");
+        checkSameAsStandard("  \n\t ");
+        checkSameAsStandard("1 2\n3");
+    }
+
+    private IonDatagram load(IonReader reader)
+        throws IOException
+    {
+        IonDatagram datagram = system().newDatagram();
+        system().newWriter(datagram).writeValues(reader);
+        return datagram;
+    }
+
+    @Test
+    public void testDom()
+        throws IOException
+    {
+        assertEquals(loader().load(DOCUMENT), load(JSON.build(utf8(DOCUMENT))));
+    }
+
+    @Test
+    public void testLongDocument()
+    {
+        StringBuilder json = new StringBuilder("[");
+        Random random = new Random(99);
+        for (int i = 0; i < 3000; i++)
+        {
+            if (i > 0) json.append(",\n");
+            json.append("{\"id\": ").append(i)
+                .append(", \"name\": \"n").append(random.nextInt())
+                .append(" \\\"]}\", \"tags\": [\"a\", \"b\\\\\"], \"score\": ")
+                .append(random.nextDouble()).append('}');
+        }
+        json.append("]");
+        checkSameAsStandard(json.toString());
+    }
+
+    @Test
+    public void testNumberTypes()
+    {
+        IonReader reader = JSON.build("2147483648 -12 1.50 1e2 -2.5E+3 0.0");
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IntegerSize.LONG, reader.getIntegerSize());
+        assertEquals(2147483648L, reader.longValue());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IntegerSize.INT, reader.getIntegerSize());
+        assertEquals(-12, reader.intValue());
+        assertEquals(BigInteger.valueOf(-12), reader.bigIntegerValue());
+        assertEquals(IonType.DECIMAL, reader.next());
+        assertEquals(null, reader.getIntegerSize());
+        assertEquals("1.50", reader.bigDecimalValue().toString());
+        assertEquals(1.5d, reader.doubleValue(), 0d);
+        assertEquals(IonType.FLOAT, reader.next());
+        assertEquals(100d, reader.doubleValue(), 0d);
+        assertEquals(100L, reader.longValue());
+        assertEquals(IonType.FLOAT, reader.next());
+        assertEquals(-2500d, reader.doubleValue(), 0d);
+        assertEquals(IonType.DECIMAL, reader.next());
+        assertEquals(null, reader.next());
+    }
+
+    @Test
+    public void testSkipping() throws IOException
+    {
+        IonReader reader = JSON.build(utf8(DOCUMENT));
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("name", reader.getFieldName());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals("count", reader.getFieldName());
+        assertEquals(12, reader.intValue());
+        reader.stepOut();
+        assertEquals(IonType.LIST, reader.next());
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("top", reader.stringValue());
+
+        reader = JSON.build(DOCUMENT);
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        while (reader.next() != IonType.LIST)
+        {
+        }
+        assertEquals("list", reader.getFieldName());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IonType.LIST, reader.next());
+        assertEquals(2, reader.getDepth());
+        reader.stepOut();
+        assertEquals(1, reader.getDepth());
+        assertTrue(reader.isInStruct());
+        assertEquals(IonType.STRUCT, reader.next());
+        assertEquals("nested", reader.getFieldName());
+        reader.stepOut();
+        assertEquals(0, reader.getDepth());
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        assertEquals(null, reader.next());
+        reader.stepOut();
+        assertEquals(IonType.STRING, reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void testBinaryFallsBack()
+    {
+        byte[] binary = encode("{a:sym, b:[2016-06-10T00:00Z]}");
+        ReaderCompare.compare(system().newReader(binary), JSON.build(binary));
+    }
+
+    private void checkNotJson(String text)
+        throws IOException
+    {
+        IonReader reader = JSON.build(utf8(text));
+        try
+        {
+            load(reader);
+            fail("expected a syntax error for " + text);
+        }
+        catch (IonException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Syntax error at line"));
+            assertTrue(e.getMessage(), e.getMessage().contains("JSON"));
+        }
+    }
+
+    @Test
+    public void testNotJson()
+        throws IOException
+    {
+        String[] inputs = {
+            "a::1", "sym", "(1 2)", "'quoted'", "2016-06-10T", "/* c */ 1", "// c\n1",
+            "[1, 2,]", "{\"a\": 1,}", "{a: 1}", "1, 2", "[1 2]", "{\"a\" 1}", "01", "1.",
+            ".5", "+1", "0x10", "1d0", "nan", "null.int", "truex", "\"\\a\"", "\"\\x41\"",
+            "\"tab\there\"", "'''long'''", "{{ }}", "[1]]", "[1}", "\"unterminated", "[",
+            "{\"a\":", "-", "1e", "1e+", "\"\\u12\"",
+        };
+        for (String input : inputs)
+        {
+            checkNotJson(input);
+        }
+    }
+
+    private void checkSkippedNotJson(byte[] bytes)
+    {
+        IonReader reader = JSON.build(bytes);
+        try
+        {
+            while (reader.next() != null)
+            {
+            }
+            fail("expected a syntax error");
+        }
+        catch (IonException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Syntax error at line"));
+        }
+    }
+
+    @Test
+    public void testSkippedStringsAreChecked()
+    {
+        checkSkippedNotJson(utf8("\"tab\there\" 1"));
+        checkSkippedNotJson(utf8("[\"nul\u0000\"] 1"));
+        checkSkippedNotJson(utf8("{\"a\": \"\\q\"} 1"));
+        checkSkippedNotJson(new byte[] { '[', '"', (byte) 0xC3, '"', ']' });
+        checkSkippedNotJson(new byte[] { '"', (byte) 0xFF, '"', ' ', '1' });
+    }
+
+    private void checkSteppedOutNotJson(String text, int valuesRead)
+    {
+        IonReader reader = JSON.build(utf8(text));
+        try
+        {
+            reader.next();
+            reader.stepIn();
+            for (int i = 0; i < valuesRead; i++)
+            {
+                reader.next();
+            }
+            reader.stepOut();
+            reader.next();
+            fail("expected a syntax error for " + text);
+        }
+        catch (IonException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Syntax error at line"));
+        }
+    }
+
+    @Test
+    public void testSkippedContainersAreChecked()
+        throws IOException
+    {
+        String[] inputs = {
+            "[1, (2 3)]", "[abc::4]", "['x']", "['''l''']", "[2020-01-01T]", "[null.int]",
+            "{a:1}", "{\"a\": nan}", "[/* c */ 1]", "[1 2]", "[{{aGk=}}]", "[1, 2,]",
+            "{\"a\" 1}", "{\"a\": 1,}", "[1}", "{\"a\": [1, 2}", "[[1], [2]",
+        };
+        for (String input : inputs)
+        {
+            checkNotJson(input);
+            checkSkippedNotJson(utf8(input + " 5"));
+            checkSteppedOutNotJson(input + " 5", 0);
+        }
+
+        // skipping the rest of a container after reading part of it
+        checkSteppedOutNotJson("[1, (2 3)] 5", 1);
+        checkSteppedOutNotJson("{\"a\": 1, b: 2} 5", 1);
+        checkSteppedOutNotJson("[[1], {{aGk=}}] 5", 1);
+    }
+
+    @Test
+    public void testSkippedContainersAreRead()
+    {
+        IonReader reader = JSON.build(
+            "[{\"a\": [1, -2.5e3, \"x\"], \"b\": {}}, [], true, null] 5");
+        assertEquals(IonType.LIST, reader.next());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(5, reader.intValue());
+        assertEquals(null, reader.next());
+
+        reader = JSON.build("[[1, [2]], {\"a\": {\"b\": [3]}}, 4] 5");
+        reader.next();
+        reader.stepIn();
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepOut();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(5, reader.intValue());
+    }
+
+    @Test
+    public void testLineNumbers()
+    {
+        try
+        {
+            IonReader reader = JSON.build("[1,\n 2,\n\n oops]");
+            reader.next();
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+            }
+            fail("expected a syntax error");
+        }
+        catch (IonException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Syntax error at line 4 offset"));
+        }
+    }
+}
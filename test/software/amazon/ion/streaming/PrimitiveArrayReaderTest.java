@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.PrimitiveArrayReader;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.junit.Injected.Inject;
+import software.amazon.ion.util.IonStreamUtils;
+
+public class PrimitiveArrayReaderTest
+    extends ReaderFacetTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.BINARY);
+
+
+    private PrimitiveArrayReader pr;
+
+    @Override
+    protected void initFacets()
+    {
+        mySeekableReaderRequired = false;
+        super.initFacets();
+        pr = in.asFacet(PrimitiveArrayReader.class);
+        assertNotNull("PrimitiveArrayReader not available", pr);
+    }
+
+    private void stepIntoFirst()
+    {
+        in.next();
+        in.stepIn();
+    }
+
+    @Test
+    public void testNextLongs()
+    {
+        read(encode("[0, 1, -1, 9223372036854775807, -9223372036854775808, 300] 7"));
+        stepIntoFirst();
+        long[] values = new long[8];
+        assertEquals(4, pr.nextLongs(values, 1, 4));
+        assertEquals(0, values[1]);
+        assertEquals(1, values[2]);
+        assertEquals(-1, values[3]);
+        assertEquals(Long.MAX_VALUE, values[4]);
+        assertEquals(2, pr.nextLongs(values, 0, 8));
+        assertEquals(Long.MIN_VALUE, values[0]);
+        assertEquals(300, values[1]);
+        assertEquals(0, pr.nextLongs(values, 0, 8));
+        assertNull(in.next());
+        in.stepOut();
+
+        assertEquals(IonType.INT, in.next());
+        assertEquals(7, in.intValue());
+        expectTopEof();
+    }
+
+    @Test
+    public void testNextDoubles()
+    {
+        read(encode("(1.5e0 -0e0 0e0 1e300 -2.5e-10)"));
+        stepIntoFirst();
+        double[] values = new double[5];
+        assertEquals(5, pr.nextDoubles(values, 0, 5));
+        assertEquals(1.5, values[0], 0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(values[1]));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(values[2]));
+        assertEquals(1e300, values[3], 0);
+        assertEquals(-2.5e-10, values[4], 0);
+        assertEquals(0, pr.nextDoubles(values, 0, 5));
+        in.stepOut();
+        expectTopEof();
+    }
+
+    @Test
+    public void testNextFloats()
+    {
+        read(encode("[0.25e0, -3e0, 1e300]"));
+        stepIntoFirst();
+        float[] values = new float[4];
+        assertEquals(3, pr.nextFloats(values, 0, 4));
+        assertEquals(0.25f, values[0], 0);
+        assertEquals(-3f, values[1], 0);
+        assertEquals(Float.POSITIVE_INFINITY, values[2], 0);
+    }
+
+    @Test
+    public void testMixedWithNext()
+    {
+        read(encode("[1, a::2, 3, 4, 5]"));
+        stepIntoFirst();
+        assertEquals(IonType.INT, in.next());
+        assertEquals(1, in.intValue());
+
+        // the annotated value is read the slow way
+        long[] values = new long[2];
+        assertEquals(2, pr.nextLongs(values, 0, 2));
+        assertEquals(2, values[0]);
+        assertEquals(3, values[1]);
+
+        assertEquals(IonType.INT, in.next());
+        assertEquals(4, in.intValue());
+        assertEquals(1, pr.nextLongs(values, 0, 2));
+        assertEquals(5, values[0]);
+        assertNull(in.next());
+        in.stepOut();
+        expectTopEof();
+    }
+
+    @Test
+    public void testInNestedContainer()
+    {
+        read(encode("{a:[[1e0, 2e0], 3e0]}"));
+        stepIntoFirst();
+        in.next();
+        in.stepIn();
+        in.next();
+        in.stepIn();
+        double[] values = new double[4];
+        assertEquals(2, pr.nextDoubles(values, 0, 4));
+        in.stepOut();
+        assertEquals(1, pr.nextDoubles(values, 2, 2));
+        assertEquals(3.0, values[2], 0);
+        in.stepOut();
+        in.stepOut();
+        expectTopEof();
+    }
+
+    @Test
+    public void testLargeList()
+        throws Exception
+    {
+        final float[] expected = new float[10000];
+        for (int i = 0; i < expected.length; i++)
+        {
+            expected[i] = i / 7f - 100;
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = system().newBinaryWriter(out);
+        IonStreamUtils.writeFloatList(writer, expected);
+        writer.close();
+
+        read(out.toByteArray());
+        stepIntoFirst();
+        final float[] actual = new float[expected.length];
+        int count = 0;
+        int n;
+        while ((n = pr.nextFloats(actual, count, Math.min(999, actual.length - count))) > 0)
+        {
+            count += n;
+        }
+        assertEquals(expected.length, count);
+        for (int i = 0; i < expected.length; i++)
+        {
+            assertEquals(expected[i], actual[i], 0);
+        }
+        in.stepOut();
+        expectTopEof();
+    }
+
+    @Test(expected = IonException.class)
+    public void testWrongType()
+    {
+        read(encode("[1, 2e0]"));
+        stepIntoFirst();
+        pr.nextLongs(new long[2], 0, 2);
+    }
+
+    @Test(expected = IonException.class)
+    public void testNullValue()
+    {
+        read(encode("[1e0, null.float]"));
+        stepIntoFirst();
+        pr.nextDoubles(new double[2], 0, 2);
+    }
+
+    @Test(expected = IonException.class)
+    public void testIntTooBig()
+    {
+        read(encode("[9223372036854775808]"));
+        stepIntoFirst();
+        pr.nextLongs(new long[1], 0, 1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAtTopLevel()
+    {
+        read(encode("1 2"));
+        pr.nextLongs(new long[2], 0, 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInStruct()
+    {
+        read(encode("{a:1}"));
+        stepIntoFirst();
+        pr.nextLongs(new long[1], 0, 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBadSlice()
+    {
+        read(encode("[1]"));
+        stepIntoFirst();
+        pr.nextLongs(new long[1], 1, 1);
+    }
+
+    @Test
+    public void testNotAvailableOnText()
+    {
+        expectNoFacet(PrimitiveArrayReader.class, system().newReader("[1]"));
+    }
+}
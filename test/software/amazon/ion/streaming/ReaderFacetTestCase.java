@@ -59,6 +59,8 @@ public abstract class ReaderFacetTestCase
     {
         ReaderMaker.FROM_INPUT_STREAM_BINARY,
         ReaderMaker.FROM_INPUT_STREAM_TEXT,
+        ReaderMaker.FROM_DIRECT_BYTE_BUFFER_BINARY,
+        ReaderMaker.FROM_DIRECT_BYTE_BUFFER_TEXT,
         ReaderMaker.FROM_READER
     };
 
@@ -369,6 +369,59 @@ public class ReaderTest
         testSkippingLob("{a:1, b:{ c:", "}}");
     }
 
+    @Test
+    public void testSkippingPastBracketsInTokens()
+    {
+        read("{a:1, b:[ /* ] */ \"]\", '}', ''')''', // )\n (x / y), {{\"}\"}}], "
+           + "c:{{ aGk= }}, d:(a [] {} ({}) '''(''' ), e:2} 3");
+
+        in.next();
+        in.stepIn();
+        expectNextField("a");
+        expectNextField("b");
+        expectNextField("c");
+        expectNextField("d");
+        expectNextField("e");
+        assertEquals(2, in.intValue());
+        expectEof();
+        in.stepOut();
+
+        assertEquals(IonType.INT, in.next());
+        assertEquals(3, in.intValue());
+        expectTopEof();
+    }
+
+    @Test
+    public void testSkippingDeeplyNestedContainers()
+    {
+        // Deep enough to overflow the stack if each level recursed.
+        if (!myReaderMaker.sourceIsText()) return;
+
+        int depth = 100000;
+        StringBuilder text = new StringBuilder("{a:");
+        for (int i = 0; i < depth; i++)
+        {
+            text.append(i % 2 == 0 ? '[' : '(');
+        }
+        for (int i = depth - 1; i >= 0; i--)
+        {
+            text.append(i % 2 == 0 ? ']' : ')');
+        }
+        text.append(", b:1} 2");
+        read(text.toString());
+
+        in.next();
+        in.stepIn();
+        expectNextField("a");
+        in.stepIn();
+        assertEquals(IonType.SEXP, in.next());
+        in.stepOut();
+        expectNextField("b");
+        in.stepOut();
+        assertEquals(IonType.INT, in.next());
+        assertEquals(2, in.intValue());
+    }
+
     @Test
     public void testGetSymbolTableBeforeFirstValue()
     {
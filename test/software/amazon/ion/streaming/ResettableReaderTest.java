@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+import static software.amazon.ion.junit.IonAssert.assertIonEquals;
+
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.ReaderMaker;
+import software.amazon.ion.ResettableReader;
+import software.amazon.ion.junit.Injected.Inject;
+import software.amazon.ion.util.Spans;
+
+public class ResettableReaderTest
+    extends ReaderFacetTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS =
+    {
+        ReaderMaker.FROM_BYTES_BINARY,
+        ReaderMaker.FROM_BYTES_TEXT,
+        ReaderMaker.FROM_BYTES_OFFSET_BINARY,
+        ReaderMaker.FROM_BYTES_OFFSET_TEXT,
+        ReaderMaker.FROM_HEAP_BYTE_BUFFER_BINARY
+    };
+
+
+    private ResettableReader rr;
+
+    @Override
+    protected void initFacets()
+    {
+        super.initFacets();
+        rr = in.asFacet(ResettableReader.class);
+        assertNotNull("ResettableReader not available", rr);
+    }
+
+    /** Encodes the given text the way the current reader maker expects. */
+    private byte[] data(String ionText)
+    {
+        if (myReaderMaker.sourceIsBinary())
+        {
+            return encode(ionText);
+        }
+        return utf8(ionText);
+    }
+
+    private void reset(String ionText)
+    {
+        byte[] bytes = data(ionText);
+        rr.reset(bytes, 0, bytes.length);
+    }
+
+    private void checkValues(String ionText)
+    {
+        IonDatagram expected = loader().load(ionText);
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.get(i).getType(), in.next());
+            assertIonEquals(expected.get(i), system().newValue(in));
+        }
+        expectTopEof();
+    }
+
+    @Test
+    public void testResetAfterEof()
+    {
+        read("a::1 {b:c} \"hello\"");
+        checkValues("a::1 {b:c} \"hello\"");
+
+        reset("x::y [1, 2.0, 3e0] 2016-06-10T");
+        checkValues("x::y [1, 2.0, 3e0] 2016-06-10T");
+
+        reset("null.struct");
+        checkValues("null.struct");
+    }
+
+    @Test
+    public void testResetWithinContainer()
+    {
+        read("{a:[1, 2, {b:\"three\"}]} 4");
+        assertEquals(IonType.STRUCT, in.next());
+        in.stepIn();
+        assertEquals(IonType.LIST, in.next());
+        in.stepIn();
+        assertEquals(IonType.INT, in.next());
+
+        reset("{c:(d e)} 5");
+        expectTopLevel();
+        checkValues("{c:(d e)} 5");
+    }
+
+    @Test
+    public void testResetForgetsSymbolTable()
+    {
+        read("$ion_symbol_table::{symbols:[\"s1\", \"s2\"]} $10 $11");
+        assertEquals(IonType.SYMBOL, in.next());
+        assertEquals("s1", in.stringValue());
+        assertFalse(in.getSymbolTable().isSystemTable());
+
+        reset("other::sym");
+        assertTrue(in.getSymbolTable().isSystemTable());
+        checkValues("other::sym");
+    }
+
+    @Test
+    public void testResetAtOffset()
+    {
+        byte[] bytes = data("{f:v} [1, 2] three");
+        byte[] padded = new byte[bytes.length + 10];
+        System.arraycopy(bytes, 0, padded, 7, bytes.length);
+
+        IonReader fresh = myReaderMaker.newReader(system(), bytes);
+        fresh.next();
+        fresh.next();
+
+        read("1");
+        rr.reset(padded, 7, bytes.length);
+        in.next();
+        assertEquals(IonType.LIST, in.next());
+
+        OffsetSpan expected = Spans.currentSpan(OffsetSpan.class, fresh);
+        OffsetSpan actual = Spans.currentSpan(OffsetSpan.class, in);
+        if (expected != null)
+        {
+            assertEquals(expected.getStartOffset(), actual.getStartOffset());
+            assertEquals(expected.getFinishOffset(), actual.getFinishOffset());
+        }
+        assertIonEquals(system().newValue(fresh), system().newValue(in));
+        checkValues("three");
+    }
+
+    @Test
+    public void testResetToEmpty()
+    {
+        read("1");
+        rr.reset(new byte[0], 0, 0);
+        expectTopEof();
+
+        reset("2");
+        checkValues("2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResetToOtherFormat()
+    {
+        read("1");
+        byte[] bytes = myReaderMaker.sourceIsBinary()
+            ? utf8("2")
+            : encode("2");
+        rr.reset(bytes, 0, bytes.length);
+    }
+
+    @Test
+    public void testNotAvailableOnCharacterData()
+    {
+        expectNoFacet(ResettableReader.class, system().newReader("1"));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+
+/**
+ * Checks that strings, symbols and field names read the same way whether
+ * or not the text reader can make them straight from the input.
+ */
+public class TextStringLoadingTest
+    extends IonTestCase
+{
+    private void checkAllSources(String text)
+    {
+        byte[] binary = encode(text);
+        ReaderCompare.compare(system().newReader(binary), system().newReader(utf8(text)));
+        ReaderCompare.compare(system().newReader(binary), system().newReader(text));
+        ReaderCompare.compare(system().newReader(binary),
+                              system().newReader(new StringReader(text)));
+        ReaderCompare.compare(system().newReader(binary),
+                              system().newReader(new ByteArrayInputStream(utf8(text))));
+    }
+
+    @Test
+    public void testStrings()
+    {
+        checkAllSources("\"\" \"plain\" \"with \\\"escapes\\\"\" \"tab\there\" "
+                      + "\"caf\u00e9\" \"\u6587\u5b57\" \"\\u00e9\" \"\\\n continued\" "
+                      + "\"\u007f\" \"\ud83d\ude00\" \"'''\"");
+        checkAllSources("\"ends at the end of the input\"");
+        checkAllSources("[\"a\",\"b\"] (\"c\" \"d\")");
+    }
+
+    @Test
+    public void testSymbolsAndFieldNames()
+    {
+        checkAllSources("{a:1, \"b\":2, 'c':3, $4:4, _x$9:5, \"null\":6, 'true':7, "
+                      + "\"caf\u00e9\":8, \"\":9, \"with space\":10}");
+        checkAllSources("sym $ion_1_0 a::b::c 'quoted' '' true false nan null null.string");
+        checkAllSources("ends_with_an_identifier");
+        checkAllSources("$ion_symbol_table::{symbols:[\"s1\", \"s2\"]} $10 $11 {$10:$11}");
+    }
+
+    @Test
+    public void testAcrossPageBoundaries()
+    {
+        // Long enough to span several input pages.
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+        {
+            text.append("{field_").append(i).append(":\"value ").append(i)
+                .append(i % 7 == 0 ? " \u00e9" : "").append("\", id:sym_").append(i).append("}\n");
+        }
+        checkAllSources(text.toString());
+    }
+
+    @Test
+    public void testValuesAfterSimpleStrings()
+    {
+        IonReader reader = system().newReader(utf8("{a:\"x\", b:\"y\"} \"z\" 42"));
+        assertEquals(IonType.STRUCT, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("a", reader.getFieldName());
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("b", reader.getFieldName());
+        assertEquals("y", reader.stringValue());
+        reader.stepOut();
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("z", reader.stringValue());
+        assertEquals("z", reader.stringValue());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(42, reader.intValue());
+    }
+
+    @Test(expected = IonException.class)
+    public void testUnquotedKeywordFieldName()
+    {
+        IonReader reader = system().newReader(utf8("{null:1}"));
+        reader.next();
+        reader.stepIn();
+        reader.next();
+    }
+
+    @Test(expected = IonException.class)
+    public void testControlCharacterInString()
+    {
+        IonReader reader = system().newReader(utf8("\"bell\u0007\""));
+        reader.next();
+        reader.stringValue();
+    }
+}
@@ -15,14 +15,23 @@
 package software.amazon.ion.system;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonType;
@@ -39,6 +48,9 @@ public class IonReaderBuilderTest
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test
     public void testMutable()
     {
@@ -97,6 +109,43 @@ public class IonReaderBuilderTest
         assertSame(mutableCopy, mutableSame);
     }
 
+    @Test
+    public void testStringCacheIsCopied()
+    {
+        IonReaderBuilder mutable = IonReaderBuilder.standard();
+        assertFalse(mutable.isStringCacheEnabled());
+        IonReaderBuilder immutable = mutable.withStringCache(true).immutable();
+        mutable.setStringCache(false);
+        assertTrue(immutable.isStringCacheEnabled());
+        assertTrue(immutable.copy().isStringCacheEnabled());
+        thrown.expect(UnsupportedOperationException.class);
+        immutable.setStringCache(false);
+    }
+
+    @Test
+    public void testJsonOnlyIsCopied()
+    {
+        IonReaderBuilder mutable = IonReaderBuilder.standard();
+        assertFalse(mutable.isJsonOnly());
+        IonReaderBuilder immutable = mutable.withJsonOnly(true).immutable();
+        mutable.setJsonOnly(false);
+        assertTrue(immutable.isJsonOnly());
+        assertTrue(immutable.copy().isJsonOnly());
+        thrown.expect(UnsupportedOperationException.class);
+        immutable.setJsonOnly(false);
+    }
+
+    @Test
+    public void testPathJson() throws IOException
+    {
+        File file = tempFolder.newFile("ints.json");
+        OutputStream out = new FileOutputStream(file);
+        out.write("0 1\n2".getBytes("UTF-8"));
+        out.close();
+
+        assertInts(3, IonReaderBuilder.standard().withJsonOnly(true).build(file.toPath()));
+    }
+
     @Test
     public void testSystemFreeRoundtrip() throws IOException
     {
@@ -110,4 +159,77 @@ public class IonReaderBuilderTest
         assertEquals(42, reader.intValue());
     }
 
-}
+    private static byte[] binaryInts(int count) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = PrivateIonBinaryWriterBuilder.standard().build(out);
+        for (int i = 0; i < count; i++)
+        {
+            writer.writeInt(i);
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private static void assertInts(int count, IonReader reader) throws IOException
+    {
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(IonType.INT, reader.next());
+            assertEquals(i, reader.intValue());
+        }
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void testReadOnlyHeapByteBuffer() throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(binaryInts(3)).asReadOnlyBuffer();
+        assertInts(3, IonReaderBuilder.standard().build(buffer));
+        assertEquals("buffer position", 0, buffer.position());
+    }
+
+    @Test
+    public void testPathBinary() throws IOException
+    {
+        // Large enough to span several input pages.
+        byte[] data = binaryInts(100000);
+        File file = tempFolder.newFile("ints.10n");
+        OutputStream out = new FileOutputStream(file);
+        out.write(data);
+        out.close();
+
+        assertInts(100000, IonReaderBuilder.standard().build(file.toPath()));
+    }
+
+    @Test
+    public void testPathGzippedBinary() throws IOException
+    {
+        File file = tempFolder.newFile("ints.10n.gz");
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(file));
+        out.write(binaryInts(10));
+        out.close();
+
+        assertInts(10, IonReaderBuilder.standard().build(file.toPath()));
+    }
+
+    @Test
+    public void testPathText() throws IOException
+    {
+        File file = tempFolder.newFile("ints.ion");
+        OutputStream out = new FileOutputStream(file);
+        out.write("0 1 2".getBytes("UTF-8"));
+        out.close();
+
+        assertInts(3, IonReaderBuilder.standard().build(file.toPath()));
+    }
+
+    @Test
+    public void testEmptyPath() throws IOException
+    {
+        File file = tempFolder.newFile("empty.10n");
+        assertInts(0, IonReaderBuilder.standard().build(file.toPath()));
+    }
+
+}
\ No newline at end of file
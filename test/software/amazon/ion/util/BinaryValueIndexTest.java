@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+
+public class BinaryValueIndexTest
+    extends IonTestCase
+{
+    private final ForkJoinPool myPool = new ForkJoinPool(4);
+
+    @After
+    public void shutDownPool()
+    {
+        myPool.shutdown();
+    }
+
+    private List<IonValue> expected(byte[] data)
+    {
+        List<IonValue> values = new ArrayList<IonValue>();
+        Iterator<IonValue> i = system().iterate(data);
+        while (i.hasNext())
+        {
+            values.add(i.next());
+        }
+        return values;
+    }
+
+    /**
+     * Several local symbol tables, including appended ones, and version
+     * markers that reset them.
+     */
+    private byte[] data()
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer =
+            PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.BASIC).newWriter(out);
+        for (int table = 0; table < 6; table++)
+        {
+            for (int i = 0; i < 50; i++)
+            {
+                writer.setTypeAnnotations("a" + table);
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("id");
+                writer.writeInt(i);
+                writer.setFieldName("f" + table);
+                writer.writeSymbol("s" + table + "_" + (i % 5));
+                writer.stepOut();
+            }
+            if (table % 2 == 0)
+            {
+                writer.flush();
+            }
+            else
+            {
+                writer.finish();
+            }
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testIndex()
+        throws IOException
+    {
+        byte[] data = data();
+        List<IonValue> expected = expected(data);
+        BinaryValueIndex index = BinaryValueIndex.build(system(), data);
+        assertEquals(expected.size(), index.size());
+
+        for (int i = 0; i < index.size(); i++)
+        {
+            IonReader reader = index.newReader(i, i + 1);
+            assertNotNull(reader.next());
+            assertEquals(expected.get(i), system().newValue(reader));
+            assertNull(reader.next());
+            assertTrue(index.getStartOffset(i) < index.getFinishOffset(i));
+            assertTrue(index.getSymbolTable(i).isLocalTable());
+        }
+
+        assertEquals(expected, index.load(myPool, 7));
+        assertEquals(expected, index.load(myPool, 1));
+        assertEquals(expected, index.load(myPool, 1000));
+    }
+
+    @Test
+    public void testRangeAcrossSymbolTables()
+        throws IOException
+    {
+        byte[] data = data();
+        List<IonValue> expected = expected(data);
+        BinaryValueIndex index = BinaryValueIndex.build(system(), data);
+
+        IonReader reader = index.newReader(30, 220);
+        for (int i = 30; i < 220; i++)
+        {
+            assertNotNull(reader.next());
+            assertEquals(expected.get(i), system().newValue(reader));
+        }
+        assertNull(reader.next());
+        reader.close();
+
+        assertNull(index.newReader(5, 5).next());
+    }
+
+    @Test
+    public void testProcess()
+        throws IOException
+    {
+        byte[] data = data();
+        final int size = expected(data).size();
+        BinaryValueIndex index = BinaryValueIndex.build(system(), data);
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicInteger ranges = new AtomicInteger();
+        index.process(myPool, 10, new BinaryValueIndex.RangeHandler()
+        {
+            public void handle(IonReader reader, int from, int to)
+            {
+                assertTrue(to - from <= 10);
+                while (reader.next() != null)
+                {
+                    count.incrementAndGet();
+                }
+                ranges.incrementAndGet();
+            }
+        });
+        assertEquals(size, count.get());
+        assertTrue(ranges.get() >= size / 10);
+    }
+
+    @Test
+    public void testFile()
+        throws IOException
+    {
+        byte[] data = data();
+        File file = File.createTempFile("BinaryValueIndexTest", ".10n");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(data);
+        out.close();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try
+        {
+            FileChannel channel = raf.getChannel();
+            BinaryValueIndex index = BinaryValueIndex.build(system(), channel);
+            BinaryValueIndex fromBytes = BinaryValueIndex.build(system(), data);
+            assertEquals(fromBytes.size(), index.size());
+            for (int i = 0; i < index.size(); i++)
+            {
+                assertEquals(fromBytes.getStartOffset(i), index.getStartOffset(i));
+                assertEquals(fromBytes.getFinishOffset(i), index.getFinishOffset(i));
+            }
+            assertEquals(expected(data), index.load(myPool, 9));
+        }
+        finally
+        {
+            raf.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testText()
+    {
+        BinaryValueIndex.build(system(), utf8("{a:1}"));
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        BinaryValueIndex index = BinaryValueIndex.build(system(), encode(""));
+        assertEquals(0, index.size());
+        assertEquals(0, index.load(myPool, 10).size());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonInt;
+import software.amazon.ion.IonStruct;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonValue;
+
+public class ParallelTextLoaderTest
+    extends IonTestCase
+{
+    private final ForkJoinPool myPool = new ForkJoinPool(4);
+
+    @After
+    public void shutDownPool()
+    {
+        myPool.shutdown();
+    }
+
+    private ParallelTextLoader loader(int chunkSize)
+    {
+        return new ParallelTextLoader(system(), myPool, chunkSize, 3);
+    }
+
+    private List<IonValue> expected(String text)
+    {
+        List<IonValue> values = new ArrayList<IonValue>();
+        Iterator<IonValue> i = system().iterate(text);
+        while (i.hasNext())
+        {
+            values.add(i.next());
+        }
+        return values;
+    }
+
+    private List<IonValue> inOrder(byte[] data, int chunkSize)
+    {
+        List<IonValue> values = new ArrayList<IonValue>();
+        Iterator<IonValue> i = loader(chunkSize).iterate(new ByteArrayInputStream(data));
+        while (i.hasNext())
+        {
+            values.add(i.next());
+        }
+        return values;
+    }
+
+    private List<IonValue> unordered(byte[] data, int chunkSize)
+    {
+        final List<IonValue> values =
+            Collections.synchronizedList(new ArrayList<IonValue>());
+        loader(chunkSize).forEachUnordered(new ByteArrayInputStream(data),
+                                           new ParallelTextLoader.ValueHandler()
+        {
+            public void handle(IonValue value)
+            {
+                values.add(value);
+            }
+        });
+        return values;
+    }
+
+    private static void sort(List<IonValue> values)
+    {
+        Collections.sort(values, new Comparator<IonValue>()
+        {
+            public int compare(IonValue a, IonValue b)
+            {
+                return a.toString().compareTo(b.toString());
+            }
+        });
+    }
+
+    private void check(String text)
+    {
+        List<IonValue> expected = expected(text);
+        for (int chunkSize : new int[] { 1, 7, 100, ParallelTextLoader.DEFAULT_CHUNK_SIZE })
+        {
+            assertEquals(expected, inOrder(utf8(text), chunkSize));
+
+            List<IonValue> actual = unordered(utf8(text), chunkSize);
+            sort(actual);
+            List<IonValue> sorted = new ArrayList<IonValue>(expected);
+            sort(sorted);
+            assertEquals(sorted, actual);
+        }
+    }
+
+    @Test
+    public void testValuesAcrossLines()
+    {
+        check("");
+        check("\n\n");
+        check("1\n2\n3");
+        check("{a:\"x\\\ny\", b:[1,\n2]}\n(a / b // c\n)\n/* \n */ 'q\\'' \"\\\"\"\nlast");
+        check("{{ a/b+ //== }}\n{{ \"}}\" }}\n{{\n'''}}'''\n}}\n x");
+    }
+
+    @Test
+    public void testValuesThatContinuePastNewlines()
+    {
+        // Annotations and concatenated long strings can't be split.
+        check("a\n::b\nc::\nd\n'e'\n::\n'f'");
+        check("'''one'''\n'''two'''\n\"three\"\n'''four'''\n// comment\n'''five'''");
+        check("'''x'''\n'y'\n''\n'''z'''");
+        check("2016-06-10T12:34:56Z\n2016-06-10T\n-1.5e3\nnull.int\n+inf");
+    }
+
+    @Test
+    public void testSymbolTables()
+    {
+        StringBuilder text = new StringBuilder();
+        text.append("$ion_symbol_table::{symbols:[\"s10\", \"s11\"]}\n");
+        for (int i = 0; i < 20; i++) text.append("{$10:$11}\n");
+        text.append("$ion_symbol_table::{imports:$ion_symbol_table, symbols:[\"s12\"]}\n");
+        for (int i = 0; i < 20; i++) text.append("$12::[$10, $11]\n");
+        text.append("'$ion_symbol_table'::{symbols:[\"t10\"]}\n");
+        for (int i = 0; i < 20; i++) text.append("$10\n");
+        // The reader doesn't treat this as a symbol table.
+        text.append("$3::{symbols:[\"u10\"]}\n");
+        for (int i = 0; i < 20; i++) text.append("$10\n");
+        text.append("$ion_1_0\n");
+        for (int i = 0; i < 20; i++) text.append("a::$ion_1_0\n");
+        text.append("$ion_1_0::{}\n$ion_symbol_table::{symbols:[\"v10\"]}\n");
+        for (int i = 0; i < 20; i++) text.append("$10\n");
+        text.append("$ion_1_0 $ion_symbol_table::{symbols:[\"w10\"]}\n");
+        for (int i = 0; i < 20; i++) text.append("$10\n");
+        text.append("not::$ion_symbol_table::{symbols:[\"x10\"]}\n");
+        for (int i = 0; i < 20; i++) text.append("$10\n");
+        check(text.toString());
+    }
+
+    @Test
+    public void testManyValues()
+        throws IOException
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+        {
+            text.append("{id:").append(i).append(", name:\"n\u00e9").append(i)
+                .append("\", tags:[a, 'b c', \"]}\"], nested:{x:(1 2 ").append(i).append(")}}\n");
+        }
+        check(text.toString());
+        List<IonValue> values = inOrder(utf8(text.toString()), 1000);
+        assertEquals(5000, values.size());
+        IonStruct last = (IonStruct) values.get(4999);
+        assertEquals(4999, ((IonInt) last.get("id")).intValue());
+
+        TextChunkSplitter splitter =
+            new TextChunkSplitter(new ByteArrayInputStream(utf8(text.toString())), 10000);
+        int chunks = 0;
+        while (splitter.next() != null) chunks++;
+        assertTrue("chunks: " + chunks, chunks > 20);
+    }
+
+    @Test
+    public void testGzip()
+        throws IOException
+    {
+        String text = "{a:1}\n{b:2}\n{c:3}\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(utf8(text));
+        gzip.close();
+        assertEquals(expected(text), inOrder(out.toByteArray(), 1));
+    }
+
+    @Test
+    public void testBinary()
+    {
+        String text = "$ion_symbol_table::{symbols:[\"s\"]} {a:$10}\n[1, 2]\n";
+        assertEquals(expected(text), inOrder(encode(text), 1));
+        assertEquals(expected(text).size(), unordered(encode(text), 1).size());
+    }
+
+    @Test
+    public void testErrorInChunk()
+    {
+        String text = "1\n2\n[3\n4\n";
+        try
+        {
+            inOrder(utf8(text), 1);
+            fail("expected an error");
+        }
+        catch (IonException e) { }
+        try
+        {
+            unordered(utf8(text), 1);
+            fail("expected an error");
+        }
+        catch (IonException e) { }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadChunkSize()
+    {
+        loader(0);
+    }
+}
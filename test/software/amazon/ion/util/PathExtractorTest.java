@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonWriter;
+
+public class PathExtractorTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "{id:1, orders:[{price:10, qty:2}, {price:20}], tags:[a, b]}\n" +
+        "event::{id:2, orders:[], tags:null.list, '*':star}\n" +
+        "event::{id:3, orders:[{price:30}, note::{price:31}], tags:[c]}\n" +
+        "[x, [y, z]]\n" +
+        "other::5";
+
+    /**
+     * Collects the values that match each path, as text.
+     */
+    private final class Collector
+        implements PathExtractor.Callback
+    {
+        final List<String> myValues = new ArrayList<String>();
+
+        public void onMatch(IonReader reader)
+        {
+            myValues.add(system().newValue(reader).toString());
+        }
+    }
+
+    private List<String> extract(String path, IonReader reader)
+    {
+        Collector collector = new Collector();
+        PathExtractor.builder().withSearchPath(path, collector).build().match(reader);
+        return collector.myValues;
+    }
+
+    private void check(String path, String... expected)
+    {
+        List<String> values = new ArrayList<String>();
+        for (String value : expected)
+        {
+            values.add(system().singleValue(value).toString());
+        }
+        assertEquals(path + " over text", values, extract(path, system().newReader(DATA)));
+        assertEquals(path + " over binary", values, extract(path, system().newReader(encode(DATA))));
+    }
+
+    @Test
+    public void testFields()
+    {
+        check("(id)", "1", "2", "3");
+        check("(orders * price)", "10", "20", "30", "31");
+        check("(orders 0 price)", "10", "30");
+        check("(orders 1)", "{price:20}", "note::{price:31}");
+        check("(missing)");
+        check("(\"*\")", "star");
+    }
+
+    @Test
+    public void testPositions()
+    {
+        check("(0)", "1", "2", "3", "x");
+        // The second field of the structs is their orders.
+        check("(1 1)", "{price:20}", "note::{price:31}", "z");
+        check("(tags *)", "a", "b", "c");
+    }
+
+    @Test
+    public void testAnnotations()
+    {
+        check("event::()", "event::{id:2, orders:[], tags:null.list, '*':star}",
+              "event::{id:3, orders:[{price:30}, note::{price:31}], tags:[c]}");
+        check("event::(id)", "2", "3");
+        check("(orders note::*)", "note::{price:31}");
+        check("other::()", "other::5");
+    }
+
+    @Test
+    public void testManyPathsInOnePass()
+    {
+        final List<String> seen = new ArrayList<String>();
+        PathExtractor.Callback callback = new PathExtractor.Callback()
+        {
+            public void onMatch(IonReader reader)
+            {
+                seen.add(reader.getFieldName() + "=" + system().newValue(reader));
+            }
+        };
+        PathExtractor extractor = PathExtractor.builder()
+            .withSearchPath("(id)", callback)
+            .withSearchPath("(orders * price)", callback)
+            .withSearchPath("(orders * qty)", callback)
+            .build();
+        extractor.match(system().newReader(encode(DATA)));
+
+        List<String> expected = new ArrayList<String>();
+        for (String s : new String[] { "id=1", "price=10", "qty=2", "price=20",
+                                       "id=2", "id=3", "price=30", "price=31" })
+        {
+            expected.add(s);
+        }
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    public void testNestedMatches()
+    {
+        // A value can match one path while its children match another.
+        final List<String> seen = new ArrayList<String>();
+        PathExtractor extractor = PathExtractor.builder()
+            .withSearchPath("(orders)", new PathExtractor.Callback()
+            {
+                public void onMatch(IonReader reader)
+                {
+                    seen.add("orders:" + reader.getType());
+                }
+            })
+            .withSearchPath("(orders 0 price)", new PathExtractor.Callback()
+            {
+                public void onMatch(IonReader reader)
+                {
+                    seen.add("price:" + reader.intValue());
+                }
+            })
+            .withSearchPath("(tags)", new PathExtractor.Callback()
+            {
+                public void onMatch(IonReader reader)
+                {
+                    // Reading into the value mustn't disturb the extractor.
+                    if (reader.isNullValue()) return;
+                    reader.stepIn();
+                    int count = 0;
+                    while (reader.next() != null) count++;
+                    reader.stepOut();
+                    seen.add("tags:" + count);
+                }
+            })
+            .build();
+        extractor.match(system().newReader(encode(DATA)));
+        assertEquals("[orders:LIST, price:10, tags:2, orders:LIST, orders:LIST, price:30, tags:1]",
+                     seen.toString());
+    }
+
+    @Test
+    public void testCopyToWriter()
+        throws IOException
+    {
+        IonDatagram out = system().newDatagram();
+        IonWriter writer = system().newWriter(out);
+        PathExtractor.builder()
+            .withSearchPath("(orders * price)", writer)
+            .build()
+            .match(system().newReader(DATA));
+        writer.close();
+        assertEquals(loader().load("10 20 30 31"), out);
+    }
+
+    @Test
+    public void testCopyHidingNestedMatch()
+    {
+        final String data = "{a:{b:1}}";
+        for (IonReader reader : new IonReader[] { system().newReader(data),
+                                                  system().newReader(encode(data)) })
+        {
+            IonDatagram out = system().newDatagram();
+            Collector collector = new Collector();
+            PathExtractor extractor = PathExtractor.builder()
+                .withSearchPath("(a)", system().newWriter(out))
+                .withSearchPath("(a b)", collector)
+                .build();
+            try
+            {
+                extractor.match(reader);
+                fail("expected the copy to be refused");
+            }
+            catch (IllegalStateException e)
+            {
+                assertTrue(e.getMessage(), e.getMessage().contains("(a b)"));
+            }
+            assertTrue(collector.myValues.isEmpty());
+        }
+    }
+
+    @Test
+    public void testCopyBesideNestedMatch()
+        throws IOException
+    {
+        // Copying is fine where no other path matches inside.
+        IonDatagram out = system().newDatagram();
+        IonWriter writer = system().newWriter(out);
+        Collector collector = new Collector();
+        PathExtractor.builder()
+            .withSearchPath("(a)", writer)
+            .withSearchPath("(c b)", collector)
+            .build()
+            .match(system().newReader(encode("{a:{b:1}, c:{b:2}}")));
+        writer.close();
+        assertEquals(loader().load("{b:1}"), out);
+        assertEquals("[2]", collector.myValues.toString());
+    }
+
+    @Test
+    public void testMatchInsideContainer()
+    {
+        IonReader reader = system().newReader("[{a:1}, {a:2}] {a:3}");
+        reader.next();
+        reader.stepIn();
+        assertEquals("[1, 2]", extract("(a)", reader).toString());
+        reader.stepOut();
+        assertNotNull(reader.next());
+    }
+
+    @Test
+    public void testBadPaths()
+    {
+        for (String path : new String[] { "a", "[a]", "(a) (b)", "(-1)", "(1.5)", "(null)", "(" })
+        {
+            try
+            {
+                PathExtractor.builder().withSearchPath(path, new Collector());
+                fail("expected an error for " + path);
+            }
+            catch (IllegalArgumentException e) { }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonStruct;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder;
+import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
+
+public class SpanIndexTest
+    extends IonTestCase
+{
+    private final List<RandomAccessFile> myFiles = new ArrayList<RandomAccessFile>();
+
+    @After
+    public void closeFiles()
+        throws IOException
+    {
+        for (RandomAccessFile file : myFiles)
+        {
+            file.close();
+        }
+    }
+
+    private FileChannel channel(byte[] data)
+        throws IOException
+    {
+        File file = File.createTempFile("SpanIndexTest", ".10n");
+        file.deleteOnExit();
+        if (data != null)
+        {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(data);
+            out.close();
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        myFiles.add(raf);
+        return raf.getChannel();
+    }
+
+    private List<IonValue> expected(byte[] data)
+    {
+        List<IonValue> values = new ArrayList<IonValue>();
+        Iterator<IonValue> i = system().iterate(data);
+        while (i.hasNext())
+        {
+            values.add(i.next());
+        }
+        return values;
+    }
+
+    /**
+     * Structs keyed by {@code id}, with local symbol tables that are
+     * appended to and reset, and a value that has no key.
+     */
+    private byte[] data(int tables, int valuesPerTable)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer =
+            PrivateIonManagedBinaryWriterBuilder.create(AllocatorMode.BASIC).newWriter(out);
+        int id = 0;
+        for (int table = 0; table < tables; table++)
+        {
+            for (int i = 0; i < valuesPerTable; i++, id++)
+            {
+                writer.setTypeAnnotations("a" + table);
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("f" + table);
+                writer.writeSymbol("s" + table + "_" + (i % 5));
+                writer.setFieldName("id");
+                writer.writeSymbol("k" + id);
+                writer.stepOut();
+            }
+            writer.writeSymbol("no_key" + table);
+            if (table % 2 == 0)
+            {
+                writer.flush();
+            }
+            else
+            {
+                writer.finish();
+            }
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private SpanIndex index(FileChannel data, String keyField)
+        throws IOException
+    {
+        FileChannel index = channel(null);
+        OutputStream out = Channels.newOutputStream(index);
+        SpanIndex.write(system(), data, keyField, out);
+        out.flush();
+        return SpanIndex.open(system(), data, index);
+    }
+
+    @Test
+    public void testPositions()
+        throws IOException
+    {
+        byte[] bytes = data(6, 40);
+        List<IonValue> expected = expected(bytes);
+        FileChannel data = channel(bytes);
+        SpanIndex index = index(data, null);
+        BinaryValueIndex inMemory = BinaryValueIndex.build(system(), bytes);
+
+        assertEquals(expected.size(), index.size());
+        assertNull(index.getKeyField());
+        for (int i = 0; i < index.size(); i++)
+        {
+            assertEquals(inMemory.getStartOffset(i), index.getStartOffset(i));
+            assertEquals(inMemory.getFinishOffset(i), index.getFinishOffset(i));
+            assertEquals(expected.get(i), index.getValue(i));
+        }
+    }
+
+    @Test
+    public void testReaderContinuesPastValue()
+        throws IOException
+    {
+        byte[] bytes = data(4, 30);
+        List<IonValue> expected = expected(bytes);
+        SpanIndex index = index(channel(bytes), null);
+
+        for (int start : new int[] { 0, 17, 30, 31, 62, expected.size() - 1 })
+        {
+            IonReader reader = index.newReader(start);
+            for (int i = start; i < expected.size(); i++)
+            {
+                assertNotNull(reader.next());
+                assertEquals(expected.get(i), system().newValue(reader));
+            }
+            assertNull(reader.next());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testKeys()
+        throws IOException
+    {
+        byte[] bytes = data(5, 20);
+        SpanIndex index = index(channel(bytes), "id");
+        assertEquals("id", index.getKeyField());
+
+        for (int id = 0; id < 100; id++)
+        {
+            int position = index.find(system().newSymbol("k" + id));
+            assertTrue(position >= 0);
+            IonStruct value = (IonStruct) index.getValue(position);
+            assertEquals(system().newSymbol("k" + id), value.get("id"));
+        }
+        assertEquals(-1, index.find(system().newSymbol("k100")));
+        assertEquals(-1, index.find(system().newString("k1")));
+    }
+
+    @Test
+    public void testAppendedData()
+        throws IOException
+    {
+        byte[] bytes = data(2, 10);
+        FileChannel data = channel(bytes);
+        FileChannel indexFile = channel(null);
+        OutputStream out = Channels.newOutputStream(indexFile);
+        SpanIndex.write(system(), data, "id", out);
+        out.flush();
+
+        // Ion binary can be appended to by writing a new stream.
+        byte[] more = data(1, 5);
+        data.write(ByteBuffer.wrap(more), data.size());
+
+        SpanIndex index = SpanIndex.open(system(), data, indexFile);
+        assertEquals(expected(bytes).size(), index.size());
+        IonReader reader = index.newReader(index.size() - 1);
+        int count = 0;
+        while (reader.next() != null) count++;
+        assertEquals(1 + expected(more).size(), count);
+
+        data.truncate(index.getFinishOffset(index.size() - 1) - 1);
+        try
+        {
+            SpanIndex.open(system(), data, indexFile);
+            fail("expected an error");
+        }
+        catch (IonException e) { }
+    }
+
+    @Test
+    public void testEmpty()
+        throws IOException
+    {
+        SpanIndex index = index(channel(encode("")), "id");
+        assertEquals(0, index.size());
+        assertEquals(-1, index.find(system().newInt(0)));
+    }
+
+    @Test(expected = IonException.class)
+    public void testNotAnIndex()
+        throws IOException
+    {
+        SpanIndex.open(system(), channel(encode("1")), channel(encode("{a:1}")));
+    }
+}